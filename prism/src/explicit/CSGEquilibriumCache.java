@@ -0,0 +1,189 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded (least recently used) cache of solutions of the normal form games
+ * solved in each state during equilibria computation for CSGs.
+ * <br><br>
+ * Games are identified by a canonical {@link Key}: the type of equilibrium and criterion
+ * (where the solver depends on it), the number of actions of each player and the
+ * payoffs for all joint actions, in order of action indices.
+ * Payoffs are compared exactly, since equilibria of a game need not be equilibria
+ * of a game with slightly different payoffs. Solutions should be stored in terms
+ * of action indices (not of the actions of a particular state).
+ */
+public class CSGEquilibriumCache
+{
+	/**
+	 * Canonical representation of a normal form game.
+	 */
+	public static class Key
+	{
+		private final int type;
+		private final int[] dims;
+		private final long[] payoffs;
+		private final int hash;
+
+		/**
+		 * Create a key for a game with {@code dims[c]} actions for player {@code c},
+		 * where {@code payoffs} lists the payoffs of each joint action (for all players).
+		 * @param type Kind of game solution (e.g. type of equilibrium and criterion, if relevant)
+		 * @param dims Number of actions of each player
+		 * @param payoffs Payoffs for each joint action, in order of action indices
+		 */
+		public Key(int type, int[] dims, double[] payoffs)
+		{
+			this.type = type;
+			this.dims = dims.clone();
+			this.payoffs = new long[payoffs.length];
+			for (int i = 0; i < payoffs.length; i++) {
+				// Normalise -0.0 (e.g. from negated values when minimising)
+				this.payoffs[i] = Double.doubleToLongBits(payoffs[i] == 0.0 ? 0.0 : payoffs[i]);
+			}
+			this.hash = 31 * (31 * type + Arrays.hashCode(this.dims)) + Arrays.hashCode(this.payoffs);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o)
+		{
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return type == other.type && hash == other.hash && Arrays.equals(dims, other.dims) && Arrays.equals(payoffs, other.payoffs);
+		}
+	}
+
+	/** Stored solutions (in access order) */
+	private LinkedHashMap<Key, List<EquilibriumResult>> cache;
+	/** Maximum number of entries */
+	private int maxSize;
+
+	// Statistics
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	/**
+	 * Create a cache with at most {@code maxSize} entries.
+	 */
+	public CSGEquilibriumCache(int maxSize)
+	{
+		this.maxSize = maxSize;
+		cache = new LinkedHashMap<Key, List<EquilibriumResult>>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, List<EquilibriumResult>> eldest)
+			{
+				if (size() > CSGEquilibriumCache.this.maxSize) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Get the stored solution for a game (null if there is none).
+	 */
+	public List<EquilibriumResult> get(Key key)
+	{
+		List<EquilibriumResult> eqs = cache.get(key);
+		if (eqs == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return eqs;
+	}
+
+	/**
+	 * Store the solution for a game.
+	 */
+	public void put(Key key, List<EquilibriumResult> eqs)
+	{
+		cache.put(key, eqs);
+	}
+
+	/**
+	 * Remove all entries (statistics are kept).
+	 */
+	public void clear()
+	{
+		cache.clear();
+	}
+
+	public int size()
+	{
+		return cache.size();
+	}
+
+	public long getNumHits()
+	{
+		return hits;
+	}
+
+	public long getNumMisses()
+	{
+		return misses;
+	}
+
+	public long getNumEvictions()
+	{
+		return evictions;
+	}
+
+	/**
+	 * Get the proportion of lookups that were hits (0 if there were none).
+	 */
+	public double getHitRate()
+	{
+		long lookups = hits + misses;
+		return lookups == 0 ? 0.0 : (double) hits / lookups;
+	}
+
+	@Override
+	public String toString()
+	{
+		return hits + " hits, " + misses + " misses (hit rate " + String.format("%.1f", 100.0 * getHitRate()) + "%), "
+				+ size() + " entries, " + evictions + " evictions";
+	}
+}
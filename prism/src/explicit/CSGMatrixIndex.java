@@ -0,0 +1,274 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import prism.PrismException;
+
+/**
+ * Precomputed structure of the matrix games of a CSG, for a fixed split of its players
+ * into two coalitions: rows correspond to coalition actions of the first coalition,
+ * columns to those of the second one.
+ * <br><br>
+ * For each state, this stores the numbers of rows/columns and a dense (row, column) to choice
+ * index table, so that a matrix game can be filled in directly from the transition function,
+ * rather than by rebuilding (and hashing) the coalition actions every time.
+ * Rows/columns are numbered in order of their first appearance amongst the choices of the state
+ * (as in {@link CSGModelChecker#buildStepGame(CSG, java.util.List, Map, double[], int)}).
+ */
+public class CSGMatrixIndex
+{
+	/** The CSG */
+	protected CSG<Double> csg;
+
+	/** For each coalition, which players are in it (BitSet over 0-indexed player indices) */
+	protected BitSet[] coalitionIndexes;
+	/** For each coalition, which actions are used by players in it
+	 * (BitSet over 1-indexed action indices, and including "idle" actions) */
+	protected BitSet[] actionIndexes;
+
+	/** Number of rows (coalition actions of the first coalition) for each state */
+	protected int numRows[];
+	/** Number of columns (coalition actions of the second coalition) for each state */
+	protected int numCols[];
+	/** Start of the matrix for each state in {@code table} (array of size numStates+1) */
+	protected int tableStarts[];
+	/** Matrices for all states, each stored row by row, giving the index of the choice
+	 * for each (row, column) pair (or -1 if there is no such choice) */
+	protected int table[];
+	/** For each state, the index of the first choice in which each coalition action is used
+	 * (rows first, then columns) */
+	protected int actionChoices[];
+	/** Start of the row/column coalition actions for each state in {@code actionChoices} (array of size numStates+1) */
+	protected int actionStarts[];
+	/** States for which the choices do not correctly split into coalition actions */
+	protected BitSet invalid;
+
+	/** Max number of rows over all states */
+	protected int maxRows;
+	/** Max number of columns over all states */
+	protected int maxCols;
+
+	/**
+	 * Build the matrix game structure of {@code csg} for the coalitions
+	 * given by {@code coalitionIndexes} and {@code actionIndexes}.
+	 * @param csg The CSG
+	 * @param coalitionIndexes For each coalition, which players are in it
+	 * @param actionIndexes For each coalition, which actions (incl. idles) are used by players in it
+	 */
+	public CSGMatrixIndex(CSG<Double> csg, BitSet[] coalitionIndexes, BitSet[] actionIndexes)
+	{
+		this.csg = csg;
+		this.coalitionIndexes = new BitSet[] { (BitSet) coalitionIndexes[0].clone(), (BitSet) coalitionIndexes[1].clone() };
+		this.actionIndexes = new BitSet[] { (BitSet) actionIndexes[0].clone(), (BitSet) actionIndexes[1].clone() };
+		int numStates = csg.getNumStates();
+		int numPlayers = csg.getNumPlayers();
+		numRows = new int[numStates];
+		numCols = new int[numStates];
+		tableStarts = new int[numStates + 1];
+		actionStarts = new int[numStates + 1];
+		invalid = new BitSet();
+		maxRows = maxCols = 0;
+		// First pass: number the coalition actions of each choice
+		int numChoices = csg.getNumChoices();
+		int rowOf[] = new int[numChoices];
+		int colOf[] = new int[numChoices];
+		int firstChoices[][] = new int[2][csg.getMaxNumChoices()];
+		int sizes[] = new int[2];
+		actionChoices = new int[2 * numChoices];
+		List<Map<BitSet, Integer>> imap = Arrays.asList(new HashMap<>(), new HashMap<>());
+		BitSet indexes = new BitSet();
+		BitSet tmp = new BitSet();
+		int j = 0, numTable = 0, numActions = 0;
+		for (int s = 0; s < numStates; s++) {
+			int n = csg.getNumChoices(s);
+			imap.get(0).clear();
+			imap.get(1).clear();
+			sizes[0] = sizes[1] = 0;
+			for (int t = 0; t < n; t++) {
+				int joint[] = csg.getIndexes(s, t);
+				// Build bitset of indices of actions (incl. idle) for all players in choice t
+				indexes.clear();
+				for (int p = 0; p < numPlayers; p++) {
+					indexes.set(joint[p] != -1 ? joint[p] : csg.getIdleForPlayer(p));
+				}
+				// For each coalition, find (or add) the coalition action used in choice t
+				for (int c = 0; c < 2; c++) {
+					tmp.clear();
+					tmp.or(actionIndexes[c]);
+					tmp.and(indexes);
+					if (tmp.cardinality() != coalitionIndexes[c].cardinality()) {
+						// Should be one per player
+						invalid.set(s);
+					}
+					Integer k = imap.get(c).get(tmp);
+					if (k == null) {
+						k = sizes[c]++;
+						imap.get(c).put((BitSet) tmp.clone(), k);
+						firstChoices[c][k] = t;
+					}
+					if (c == 0)
+						rowOf[j + t] = k;
+					else
+						colOf[j + t] = k;
+				}
+			}
+			numRows[s] = sizes[0];
+			numCols[s] = sizes[1];
+			maxRows = Math.max(maxRows, sizes[0]);
+			maxCols = Math.max(maxCols, sizes[1]);
+			tableStarts[s] = numTable;
+			numTable += sizes[0] * sizes[1];
+			actionStarts[s] = numActions;
+			System.arraycopy(firstChoices[0], 0, actionChoices, numActions, sizes[0]);
+			System.arraycopy(firstChoices[1], 0, actionChoices, numActions + sizes[0], sizes[1]);
+			numActions += sizes[0] + sizes[1];
+			j += n;
+		}
+		tableStarts[numStates] = numTable;
+		actionStarts[numStates] = numActions;
+		actionChoices = Arrays.copyOf(actionChoices, numActions);
+		// Second pass: build the (row, column) -> choice tables
+		// (if several choices share a cell, the last one is used, as in buildStepGame)
+		table = new int[numTable];
+		Arrays.fill(table, -1);
+		j = 0;
+		for (int s = 0; s < numStates; s++) {
+			int n = csg.getNumChoices(s);
+			for (int t = 0; t < n; t++) {
+				table[tableStarts[s] + rowOf[j + t] * numCols[s] + colOf[j + t]] = t;
+			}
+			j += n;
+		}
+	}
+
+	/**
+	 * Is this the matrix game structure for the coalitions
+	 * given by {@code coalitionIndexes} and {@code actionIndexes}?
+	 */
+	public boolean isFor(BitSet[] coalitionIndexes, BitSet[] actionIndexes)
+	{
+		return this.coalitionIndexes[0].equals(coalitionIndexes[0]) && this.coalitionIndexes[1].equals(coalitionIndexes[1])
+				&& this.actionIndexes[0].equals(actionIndexes[0]) && this.actionIndexes[1].equals(actionIndexes[1]);
+	}
+
+	/**
+	 * Get the number of rows (coalition actions of the first coalition) of the matrix game for state {@code s}.
+	 */
+	public int getNumRows(int s)
+	{
+		return numRows[s];
+	}
+
+	/**
+	 * Get the number of columns (coalition actions of the second coalition) of the matrix game for state {@code s}.
+	 */
+	public int getNumCols(int s)
+	{
+		return numCols[s];
+	}
+
+	/**
+	 * Get the max number of rows of the matrix game across all states.
+	 */
+	public int getMaxRows()
+	{
+		return maxRows;
+	}
+
+	/**
+	 * Get the max number of columns of the matrix game across all states.
+	 */
+	public int getMaxCols()
+	{
+		return maxCols;
+	}
+
+	/**
+	 * Get the index of the choice of state {@code s} for entry ({@code row}, {@code col})
+	 * of its matrix game, or -1 if there is no such choice.
+	 */
+	public int getChoice(int s, int row, int col)
+	{
+		return table[tableStarts[s] + row * numCols[s] + col];
+	}
+
+	/**
+	 * Check that the matrix game for state {@code s} is well-formed, i.e., that each choice
+	 * comprises one action for each player and that every (row, column) pair has a choice.
+	 */
+	public void checkState(int s) throws PrismException
+	{
+		if (invalid.get(s)) {
+			throw new PrismException("Error in coalition");
+		}
+		for (int k = tableStarts[s]; k < tableStarts[s + 1]; k++) {
+			if (table[k] == -1)
+				throw new PrismException("Error in building matrix game");
+		}
+	}
+
+	/**
+	 * Get the index of a choice of state {@code s} in which coalition {@code c}
+	 * uses its {@code k}th coalition action (i.e., row or column {@code k}).
+	 */
+	public int getActionChoice(int s, int c, int k)
+	{
+		return actionChoices[actionStarts[s] + (c == 0 ? 0 : numRows[s]) + k];
+	}
+
+	/**
+	 * Get the {@code k}th coalition action of coalition {@code c} in state {@code s},
+	 * as a BitSet containing the (1-indexed) indices of the actions of the players
+	 * in the coalition (incl. idles).
+	 */
+	public BitSet getCoalitionAction(int s, int c, int k)
+	{
+		BitSet result = new BitSet();
+		int joint[] = csg.getIndexes(s, getActionChoice(s, c, k));
+		for (int p = coalitionIndexes[c].nextSetBit(0); p >= 0; p = coalitionIndexes[c].nextSetBit(p + 1)) {
+			result.set(joint[p] != -1 ? joint[p] : csg.getIdleForPlayer(p));
+		}
+		return result;
+	}
+
+	/**
+	 * Get a description of the {@code k}th coalition action of coalition {@code c} in state {@code s}.
+	 */
+	public String getCoalitionActionLabel(int s, int c, int k)
+	{
+		BitSet act = getCoalitionAction(s, c, k);
+		String result = "";
+		for (int i = act.nextSetBit(0); i >= 0; i = act.nextSetBit(i + 1)) {
+			result += "[" + csg.getActions().get(i - 1) + "]";
+		}
+		return result;
+	}
+}
@@ -35,7 +35,10 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.PrimitiveIterator;
 import java.util.Vector;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.stream.Collectors;
 
 import explicit.rewards.STPGRewards;
@@ -75,6 +78,23 @@ public class CSGModelChecker extends ProbModelChecker
 
 	protected double scaleFactor = getSettings().getDouble(PrismSettings.PRISM_ZS_LP_SCALE_FACTOR);
 
+	/**
+	 * Minimum number of states in a block for multi-threaded value iteration
+	 * (much smaller than for MDPs/games since each state update solves a matrix game)
+	 */
+	protected static final int PARALLEL_MIN_BLOCK_SIZE = 64;
+
+	/**
+	 * Number of threads to use for (Jacobi) value iteration
+	 */
+	protected int numThreads = 1;
+
+	/**
+	 * Whether to do (unbounded) value iteration Gauss-Seidel style, i.e., updating values
+	 * in place, rather than Jacobi style (see {@link #useInPlaceValIter()})
+	 */
+	protected boolean gaussSeidel = false;
+
 	// Info about the current coalitions for model checking
 	// (here, there are two, and the first always maximises)
 	
@@ -96,6 +116,10 @@ public class CSGModelChecker extends ProbModelChecker
 	protected int[] maxNumActions;
 	/** For each coalition, the average number of actions across all CSG states */
 	protected double[] avgNumActions;
+	/** For the current coalition, the (lazily built) matrix game structure of the CSG; see {@link #getMatrixIndex(CSG)} */
+	protected CSGMatrixIndex matrixIndex;
+	/** For the current coalition, the (lazily built) support matrices for qualitative analysis; see {@link #getQualitative(CSG)} */
+	protected CSGQualitative qualitative;
 
 	// Info about the current matrix game being built/solved for state s
 	// (as above, here, we assume that the first/second coalition maximise/mimimise
@@ -120,6 +144,38 @@ public class CSGModelChecker extends ProbModelChecker
 
 	protected long timerVal;
 
+	/** Solver for small matrix games (null if LpSolve is always to be used) */
+	protected MatrixGameSolver matrixGameSolver;
+
+	/**
+	 * Storage for building and solving matrix games, one state at a time:
+	 * an LpSolve instance (and, optionally, a solver for small games),
+	 * the matrix game and info about its values
+	 * (as stored in the fields minEntry and allEqual for the current matrix game).
+	 * For multi-threaded value iteration, each thread uses a separate instance.
+	 */
+	protected static class MatrixGameWorker
+	{
+		/** LpSolve instance */
+		protected LpSolve lp;
+		/** Solver for small matrix games (null if LpSolve is always to be used) */
+		protected MatrixGameSolver solver;
+		/** The matrix game */
+		protected double[][] mgame;
+		/** Minimum matrix value */
+		protected double minEntry;
+		/** True if all matrix values are equal */
+		protected boolean allEqual;
+		/** Time spent solving matrix games */
+		protected long timerVal;
+
+		protected MatrixGameWorker(LpSolve lp, MatrixGameSolver solver, double[][] mgame)
+		{
+			this.lp = lp;
+			this.solver = solver;
+			this.mgame = mgame;
+		}
+	}
 
 	/**
 	 * Create a new CSGModelChecker, inherit basic state from parent (unless null).
@@ -131,6 +187,59 @@ public class CSGModelChecker extends ProbModelChecker
 		probabilities = new HashMap<BitSet, ArrayList<Distribution<Double>>>();
 		actions = new ArrayList<ArrayList<String>>();
 		strategies = new ArrayList<ArrayList<Integer>>();
+		matrixGameSolver = new MatrixGameSolver();
+		if (settings != null) {
+			setNumThreads(settings.getInteger(PrismSettings.PRISM_NUM_THREADS));
+			setUseMatrixGameSolver(settings.getBoolean(PrismSettings.PRISM_ZS_MATRIX_GAME_SOLVER));
+			setGaussSeidel(settings.getString(PrismSettings.PRISM_CSG_SOLN_METHOD).equals("Gauss-Seidel"));
+		}
+	}
+
+	// Settings methods
+
+	/**
+	 * Set the number of threads to use for (Jacobi) value iteration.
+	 * This is only used when strategies are not being generated.
+	 * Each thread uses its own LpSolve instance, so results may differ
+	 * from those for a single thread by floating-point round-off.
+	 */
+	public void setNumThreads(int numThreads)
+	{
+		this.numThreads = numThreads;
+	}
+
+	/**
+	 * Get the number of threads to use for (Jacobi) value iteration.
+	 */
+	public int getNumThreads()
+	{
+		return numThreads;
+	}
+
+	/**
+	 * Set whether to solve small matrix games directly, with {@link MatrixGameSolver},
+	 * rather than always building and solving a linear program with LpSolve.
+	 */
+	public void setUseMatrixGameSolver(boolean useMatrixGameSolver)
+	{
+		matrixGameSolver = useMatrixGameSolver ? new MatrixGameSolver() : null;
+	}
+
+	/**
+	 * Set whether to do (unbounded) value iteration Gauss-Seidel style, i.e., updating values
+	 * in place, rather than Jacobi style (the default).
+	 */
+	public void setGaussSeidel(boolean gaussSeidel)
+	{
+		this.gaussSeidel = gaussSeidel;
+	}
+
+	/**
+	 * Get whether to do (unbounded) value iteration Gauss-Seidel style.
+	 */
+	public boolean getGaussSeidel()
+	{
+		return gaussSeidel;
 	}
 
 	// Numerical computation functions
@@ -148,7 +257,7 @@ public class CSGModelChecker extends ProbModelChecker
 	{
 		ModelCheckerResult res = new ModelCheckerResult();
 		LpSolve lp;
-		ArrayList<ArrayList<Double>> mgame = new ArrayList<ArrayList<Double>>();
+		double[][] mgame;
 		Map<Integer, BitSet> mmap = null;
 		List<List<List<Map<BitSet, Double>>>> lstrat = null;
 		List<Map<BitSet, Double>> kstrat = null;
@@ -178,9 +287,10 @@ public class CSGModelChecker extends ProbModelChecker
 			e.printStackTrace();
 			throw new PrismException(e.toString());
 		}
+		mgame = newMatrixGame(csg);
 		for (s = 0; s < csg.getNumStates(); s++) {
-			mgame = buildMatrixGame(csg, null, mmap, nsol, s, min1);
-			nsol[s] = val(lp, mgame, kstrat, mmap, s, true, min1);
+			buildMatrixGame(csg, null, mmap, nsol, s, min1, mgame);
+			nsol[s] = val(lp, mgame, matrixIndex.getNumRows(s), matrixIndex.getNumCols(s), kstrat, mmap, s, true, min1);
 			if (genStrat) {
 				updateStrategy(kstrat, lstrat, 0, s, false);
 			}
@@ -455,7 +565,7 @@ public class CSGModelChecker extends ProbModelChecker
 			throw new PrismException("Strategy synthesis for bounded properties is not supported yet.");
 		}
 		LpSolve lp;
-		ArrayList<ArrayList<Double>> mgame;
+		double[][] mgame;
 		List<List<List<Map<BitSet, Double>>>> lstrat = null;
 		List<Map<BitSet, Double>> kstrat = null;
 		Map<Integer, BitSet> mmap = null;
@@ -495,36 +605,81 @@ public class CSGModelChecker extends ProbModelChecker
 			e.printStackTrace();
 			throw new PrismException(e.toString());
 		}
+		mgame = newMatrixGame(csg);
 		known.or(no);
 		known.or(yes);
 		for (s = 0; s < csg.getNumStates(); s++) {
 			nsol[s] = ntmp[s] = no.get(s) ? 0.0 : yes.get(s) ? 1.0 : 0.0;
 		}
+		BitSet unknown = new BitSet();
+		unknown.set(0, csg.getNumStates());
+		unknown.andNot(known);
+		// If possible, only update states with a successor whose value changed
+		PredecessorRelation pre = preRel ? csg.getPredecessorRelation(this, true) : null;
+		BitSet dirty = preRel ? (BitSet) unknown.clone() : null;
+		long numUpdates = 0;
 		k = 0;
-		while (!done) {
-			for (s = 0; s < csg.getNumStates(); s++) {
-				if (!known.get(s)) {
-					mgame = buildMatrixGame(csg, null, mmap, ntmp, s, min);
-					nsol[s] = val(lp, mgame, kstrat, mmap, s, false, min);
-					// player -> iteration -> state -> indexes -> value
-					if (genStrat) {
-						updateStrategy(kstrat, lstrat, k, s, bounded);
+		// Do in-place (Gauss-Seidel) and/or topological value iteration if requested
+		// (only if there is no step bound, i.e., the limit is just the max number of iterations)
+		boolean inPlace = !bounded && limit >= maxIters && useInPlaceValIter();
+		if (inPlace) {
+			k = doValIterInPlace(csg, null, unknown, pre, dirty, nsol, min, lp, mgame, kstrat, lstrat, mmap);
+			done = true;
+		}
+		// Otherwise, do Jacobi value iteration, if worthwhile split between multiple threads
+		ParallelValIter parallel = inPlace ? null : createParallelValIter(unknown, csg.getNumStates());
+		BlockingQueue<MatrixGameWorker> workers = (parallel != null) ? newMatrixGameWorkers(csg) : null;
+		try {
+			while (!done) {
+				numUpdates += (dirty != null) ? dirty.cardinality() : unknown.cardinality();
+				if (parallel != null) {
+					done = parallelValIterStep(csg, null, parallel, workers, dirty, ntmp, nsol, min);
+				} else {
+					for (s = 0; s < csg.getNumStates(); s++) {
+						if (!known.get(s)) {
+							if (dirty != null && !dirty.get(s)) {
+								continue;
+							}
+							buildMatrixGame(csg, null, mmap, ntmp, s, min, mgame);
+							nsol[s] = val(lp, mgame, matrixIndex.getNumRows(s), matrixIndex.getNumCols(s), kstrat, mmap, s, false, min);
+							// player -> iteration -> state -> indexes -> value
+							if (genStrat) {
+								updateStrategy(kstrat, lstrat, k, s, bounded);
+							}
+						} else if (genStrat) {
+							lstrat.get(0).get(0).add(s, null);
+						}
+					}
+					done = PrismUtils.doublesAreClose(nsol, ntmp, termCritParam, termCrit == TermCrit.RELATIVE);
+				}
+				k++;
+				if (!done && k == maxIters) {
+					throw new PrismException("Could not converge after " + maxIters + " iterations");
+				} else if (k == limit) {
+					done = true;
+				} else {
+					if (dirty != null) {
+						updateDirtyStates(pre, unknown, ntmp, nsol, dirty);
+					}
+					// Swap vectors for the next iteration
+					double[] tmpsoln = ntmp;
+					ntmp = nsol;
+					nsol = tmpsoln;
+					if (dirty != null) {
+						copyNonDirtyStates(unknown, dirty, ntmp, nsol);
 					}
-				} else if (genStrat) {
-					lstrat.get(0).get(0).add(s, null);
 				}
 			}
-			k++;
-			done = PrismUtils.doublesAreClose(nsol, ntmp, termCritParam, termCrit == TermCrit.RELATIVE);
-			if (!done && k == maxIters) {
-				throw new PrismException("Could not converge after " + maxIters + " iterations");
-			} else if (k == limit) {
-				done = true;
-			} else {
-				ntmp = Arrays.copyOf(nsol, nsol.length);
+		} finally {
+			if (parallel != null) {
+				parallel.close();
+				deleteMatrixGameWorkers(workers);
 			}
 		}
 		mainLog.println("\nValue iteration converged after " + k + " iterations.");
+		if (dirty != null && !inPlace && verbosity >= 1) {
+			mainLog.println("Matrix games solved: " + numUpdates + " (of " + ((long) k * unknown.cardinality()) + " for full sweeps)");
+		}
 		timer = System.currentTimeMillis() - timer;
 		ModelCheckerResult res = new ModelCheckerResult();
 		res.soln = nsol;
@@ -551,7 +706,7 @@ public class CSGModelChecker extends ProbModelChecker
 		// TODO: confirm that the case min1==min2 is not handled  
 		LpSolve lp;
 		ModelCheckerResult res = new ModelCheckerResult();
-		ArrayList<ArrayList<Double>> mgame = new ArrayList<ArrayList<Double>>();
+		double[][] mgame;
 		List<Map<BitSet, Double>> kstrat = (genStrat) ? new ArrayList<Map<BitSet, Double>>() : null;
 		double nsol[], nsoln2[], ntmp[];
 		long timer;
@@ -572,12 +727,12 @@ public class CSGModelChecker extends ProbModelChecker
 			e.printStackTrace();
 			throw new PrismException(e.toString());
 		}
+		mgame = newMatrixGame(csg);
 		for (i = 0; i < k; i++) {
 			for (int s = 0; s < csg.getNumStates(); s++) {
-				mgame.clear();
-				mgame = buildMatrixGame(csg, null, null, nsol, s, min1);
+				buildMatrixGame(csg, null, null, nsol, s, min1, mgame);
 				try {
-					nsoln2[s] = val(lp, mgame, kstrat, null, s, true, min1);
+					nsoln2[s] = val(lp, mgame, matrixIndex.getNumRows(s), matrixIndex.getNumCols(s), kstrat, null, s, true, min1);
 				} catch (Exception e) {
 					e.printStackTrace();
 					throw new PrismException(e.toString());
@@ -976,7 +1131,7 @@ public class CSGModelChecker extends ProbModelChecker
 		}
 		ModelCheckerResult res = new ModelCheckerResult();
 		LpSolve lp;
-		ArrayList<ArrayList<Double>> mgame = new ArrayList<ArrayList<Double>>();
+		double[][] mgame;
 		List<List<List<Map<BitSet, Double>>>> lstrat = null;
 		List<Map<BitSet, Double>> kstrat = null;
 		Map<Integer, BitSet> mmap = null;
@@ -1016,6 +1171,7 @@ public class CSGModelChecker extends ProbModelChecker
 			e.printStackTrace();
 			throw new PrismException(e.toString());
 		}
+		mgame = newMatrixGame(csg);
 		if (init != null) {
 			if (known != null) {
 				for (i = 0; i < csg.getNumStates(); i++)
@@ -1031,30 +1187,68 @@ public class CSGModelChecker extends ProbModelChecker
 		unknown.set(0, csg.getNumStates());
 		unknown.andNot(target);
 		unknown.andNot(inf);
+		// If possible, only update states with a successor whose value changed
+		PredecessorRelation pre = preRel ? csg.getPredecessorRelation(this, true) : null;
+		BitSet dirty = preRel ? (BitSet) unknown.clone() : null;
+		long numUpdates = 0;
 		k = 0;
-		while (!done) {
-			for (s = 0; s < csg.getNumStates(); s++) {
-				if (unknown.get(s)) {
-					mgame = buildMatrixGame(csg, rewards, mmap, ntmp, s, min);
-					nsol[s] = val(lp, mgame, kstrat, mmap, s, true, min);
-					nsol[s] += rewards.getStateReward(s);
-					if (genStrat) {
-						// player -> iteration -> state -> indexes -> value
-						updateStrategy(kstrat, lstrat, k, s, bounded);
+		// Do in-place (Gauss-Seidel) and/or topological value iteration if requested
+		// (only if there is no step bound, i.e., the limit is just the max number of iterations)
+		boolean inPlace = !bounded && limit >= maxIters && useInPlaceValIter();
+		if (inPlace) {
+			k = doValIterInPlace(csg, rewards, unknown, pre, dirty, nsol, min, lp, mgame, kstrat, lstrat, mmap);
+			done = true;
+		}
+		// Otherwise, do Jacobi value iteration, if worthwhile split between multiple threads
+		ParallelValIter parallel = inPlace ? null : createParallelValIter(unknown, csg.getNumStates());
+		BlockingQueue<MatrixGameWorker> workers = (parallel != null) ? newMatrixGameWorkers(csg) : null;
+		try {
+			while (!done) {
+				numUpdates += (dirty != null) ? dirty.cardinality() : unknown.cardinality();
+				if (parallel != null) {
+					done = parallelValIterStep(csg, rewards, parallel, workers, dirty, ntmp, nsol, min);
+				} else {
+					for (s = 0; s < csg.getNumStates(); s++) {
+						if (unknown.get(s) && (dirty == null || dirty.get(s))) {
+							buildMatrixGame(csg, rewards, mmap, ntmp, s, min, mgame);
+							nsol[s] = val(lp, mgame, matrixIndex.getNumRows(s), matrixIndex.getNumCols(s), kstrat, mmap, s, true, min);
+							nsol[s] += rewards.getStateReward(s);
+							if (genStrat) {
+								// player -> iteration -> state -> indexes -> value
+								updateStrategy(kstrat, lstrat, k, s, bounded);
+							}
+						}
+					}
+					done = PrismUtils.doublesAreClose(nsol, ntmp, termCritParam, termCrit == TermCrit.RELATIVE);
+				}
+				k++;
+				if (!done && k == maxIters) {
+					throw new PrismException("Could not converge after " + maxIters + " iterations");
+				} else if (k == limit) {
+					done = true;
+				} else {
+					if (dirty != null) {
+						updateDirtyStates(pre, unknown, ntmp, nsol, dirty);
+					}
+					// Swap vectors for the next iteration
+					double[] tmpsoln = ntmp;
+					ntmp = nsol;
+					nsol = tmpsoln;
+					if (dirty != null) {
+						copyNonDirtyStates(unknown, dirty, ntmp, nsol);
 					}
 				}
 			}
-			k++;
-			done = PrismUtils.doublesAreClose(nsol, ntmp, termCritParam, termCrit == TermCrit.RELATIVE);
-			if (!done && k == maxIters) {
-				throw new PrismException("Could not converge after " + maxIters + " iterations");
-			} else if (k == limit) {
-				done = true;
-			} else {
-				ntmp = Arrays.copyOf(nsol, nsol.length);
+		} finally {
+			if (parallel != null) {
+				parallel.close();
+				deleteMatrixGameWorkers(workers);
 			}
 		}
 		mainLog.println("\nValue iteration converged after " + k + " iterations.");
+		if (dirty != null && !inPlace && verbosity >= 1) {
+			mainLog.println("Matrix games solved: " + numUpdates + " (of " + ((long) k * unknown.cardinality()) + " for full sweeps)");
+		}
 		timer = System.currentTimeMillis() - timer;
 		res.soln = nsol;
 		res.numIters = k;
@@ -1427,6 +1621,9 @@ public class CSGModelChecker extends ProbModelChecker
 	 */
 	public BitSet AF(CSG<Double> csg, BitSet b) throws PrismException
 	{
+		if (preRel) {
+			return getQualitative(csg).AF(null, b);
+		}
 		int n = csg.getNumStates();
 		BitSet x, y, sol1;
 		x = new BitSet();
@@ -1458,6 +1655,9 @@ public class CSGModelChecker extends ProbModelChecker
 	 */
 	public BitSet AF(CSG<Double> csg, BitSet a, BitSet b) throws PrismException
 	{
+		if (preRel) {
+			return getQualitative(csg).AF(a, b);
+		}
 		int n = csg.getNumStates();
 		BitSet x, y, sol1;
 		x = new BitSet();
@@ -1529,6 +1729,9 @@ public class CSGModelChecker extends ProbModelChecker
 	 */
 	public BitSet AFG(CSG<Double> csg, BitSet b) throws PrismException
 	{
+		if (preRel) {
+			return getQualitative(csg).AFG(b);
+		}
 		int n = csg.getNumStates();
 		BitSet x, y, z, sol1, sol2;
 		x = new BitSet();
@@ -1599,6 +1802,9 @@ public class CSGModelChecker extends ProbModelChecker
 	 */
 	public BitSet G(CSG<Double> csg, BitSet b) throws PrismException
 	{
+		if (preRel) {
+			return getQualitative(csg).G(b);
+		}
 		int n = csg.getNumStates();
 		BitSet sol1, x;
 		sol1 = new BitSet();
@@ -1675,6 +1881,39 @@ public class CSGModelChecker extends ProbModelChecker
 		findMaxRowsCols(csg);
 	}
 
+	/**
+	 * Get the matrix game structure of the CSG for the current coalition
+	 * (as stored in coalitionIndexes/actionIndexes), building it if needed.
+	 */
+	public CSGMatrixIndex getMatrixIndex(CSG<Double> csg)
+	{
+		if (matrixIndex == null || matrixIndex.csg != csg || !matrixIndex.isFor(coalitionIndexes, actionIndexes)) {
+			if (csg instanceof CSGSparse)
+				matrixIndex = ((CSGSparse) csg).getMatrixIndex(coalitionIndexes, actionIndexes);
+			else
+				matrixIndex = new CSGMatrixIndex(csg, coalitionIndexes, actionIndexes);
+		}
+		return matrixIndex;
+	}
+
+	/**
+	 * Get the support matrices of the CSG for qualitative analysis (AF, AFG, G),
+	 * for the current coalition (as stored in actionIndexes).
+	 * These are built on first use and reused (if needed, with the coalitions swapped)
+	 * while the CSG and the coalition do not change.
+	 */
+	public CSGQualitative getQualitative(CSG<Double> csg) throws PrismException
+	{
+		if (qualitative == null || !qualitative.isFor(csg, actionIndexes[0], actionIndexes[1])) {
+			if (qualitative != null && qualitative.isFor(csg, actionIndexes[1], actionIndexes[0])) {
+				qualitative = qualitative.transpose();
+			} else {
+				qualitative = new CSGQualitative(this, csg, actionIndexes[0], actionIndexes[1]);
+			}
+		}
+		return qualitative;
+	}
+
 	/**
 	 * Find the max size of the matrix game needed across any CSG state,
 	 * for the current coalition (as stored in coalitionIndexes).
@@ -1802,6 +2041,92 @@ public class CSGModelChecker extends ProbModelChecker
 		return mgame;
 	}
 
+	/**
+	 * Create storage for the matrix games of the CSG for the current coalition, i.e., large enough
+	 * for any state, to be filled in by {@link #buildMatrixGame(CSG, CSGRewards, Map, double[], int, boolean, double[][])}.
+	 */
+	public double[][] newMatrixGame(CSG<Double> csg)
+	{
+		CSGMatrixIndex index = getMatrixIndex(csg);
+		return new double[index.getMaxRows()][index.getMaxCols()];
+	}
+
+	/**
+	 * Build the matrix game to solve a CSG state s, as for
+	 * {@link #buildMatrixGame(CSG, CSGRewards, Map, double[], int, boolean)},
+	 * but using the precomputed matrix game structure for the current coalition
+	 * (see {@link #getMatrixIndex(CSG)}) and storing values in {@code mgame},
+	 * which must have at least maxRows rows and maxCols columns.
+	 * The size of the matrix game is given by the numbers of rows/columns in the matrix index.
+	 * The fields minEntry and allEqual are also updated.
+	 * 
+	 * @param csg The CSG
+	 * @param r The rewards
+	 * @param mmap Map in which to store coalition action indices
+	 * @param val Array (over states) of values to multiply by when computing matrix values
+	 * @param s Index of state to build matrix game for 
+	 * @param min Min or max values for the coalition (true=min, false=max)
+	 * @param mgame Storage for the matrix game
+	 */
+	public void buildMatrixGame(CSG<Double> csg, CSGRewards<Double> r, Map<Integer, BitSet> mmap, double[] val, int s, boolean min, double[][] mgame)
+			throws PrismException
+	{
+		MatrixGameWorker worker = new MatrixGameWorker(null, null, mgame);
+		buildMatrixGame(csg, r, mmap, val, s, min, worker);
+		minEntry = worker.minEntry;
+		allEqual = worker.allEqual;
+	}
+
+	/**
+	 * Build the matrix game to solve a CSG state s, as for
+	 * {@link #buildMatrixGame(CSG, CSGRewards, Map, double[], int, boolean, double[][])},
+	 * but storing the matrix game, and the minEntry/allEqual info, in {@code worker}.
+	 * This does not modify any fields of the model checker.
+	 */
+	protected void buildMatrixGame(CSG<Double> csg, CSGRewards<Double> r, Map<Integer, BitSet> mmap, double[] val, int s, boolean min, MatrixGameWorker worker)
+			throws PrismException
+	{
+		double[][] mgame = worker.mgame;
+		double minEntry;
+		boolean allEqual;
+		CSGMatrixIndex index = getMatrixIndex(csg);
+		int nrows = index.getNumRows(s);
+		int ncols = index.getNumCols(s);
+		double u, v;
+		int col, row, t;
+		index.checkState(s);
+		if (mmap != null) {
+			mmap.clear();
+			if (min) {
+				for (col = 0; col < ncols; col++) {
+					mmap.put(col, index.getCoalitionAction(s, 1, col));
+				}
+			} else {
+				for (row = 0; row < nrows; row++) {
+					mmap.put(row, index.getCoalitionAction(s, 0, row));
+				}
+			}
+		}
+		minEntry = Double.POSITIVE_INFINITY;
+		allEqual = true;
+		u = Double.NaN;
+		for (row = 0; row < nrows; row++) {
+			for (col = 0; col < ncols; col++) {
+				t = index.getChoice(s, row, col);
+				v = (val != null) ? csg.mvMultSingle(s, t, val) : 0.0;
+				if (r != null)
+					v += r.getTransitionReward(s, t);
+				if (!Double.isNaN(u))
+					allEqual = allEqual && Double.compare(u, v) == 0;
+				mgame[row][col] = v;
+				minEntry = (minEntry > v) ? v : minEntry;
+				u = v;
+			}
+		}
+		worker.minEntry = minEntry;
+		worker.allEqual = allEqual;
+	}
+
 	/**
 	 * Build info needed for the matrix game to solve a CSG state s.
 	 * A list of all coalition actions (comprising one action, incl. "idle",
@@ -1902,7 +2227,7 @@ public class CSGModelChecker extends ProbModelChecker
 			}
 			if (rewards != null)
 				v += rewards.get(0).getTransitionReward(s, t);
-			if (u != Double.NaN)
+			if (!Double.isNaN(u))
 				allEqual = allEqual && Double.compare(u, v) == 0;
 			utilities.get(jidx).add(0, v);
 			probabilities.get(jidx).add(0, csg.getChoice(s, t));
@@ -1933,24 +2258,66 @@ public class CSGModelChecker extends ProbModelChecker
 	public double val(LpSolve lp, ArrayList<ArrayList<Double>> mgame, List<Map<BitSet, Double>> strat, Map<Integer, BitSet> rmap, int s, boolean rew,
 			boolean min) throws PrismException
 	{
+		return val(lp, toMatrix(mgame), mgame.size(), mgame.get(0).size(), strat, rmap, s, rew, min);
+	}
+
+	/**
+	 * Solve a matrix game and return its value.
+	 * The matrix is stored in the first {@code nrows} rows and {@code ncols} columns of {@code mgame}
+	 * (whose entries may be modified).
+	 * If requested, store an optimal strategy for the coalition being solved for.   
+	 * 
+	 * @param lp LpSolve instance to use for solving
+	 * @param mgame The matrix
+	 * @param nrows Number of rows of the matrix
+	 * @param ncols Number of columns of the matrix
+	 * @param strat Storage for strategy (as map from coalition actions to probability of selection)
+	 * @param rmap List of coalition actions for the coalition to solve for
+	 *             (stored as a map from (ascending integer) indices to
+	 *             BitSets containing the indices of the actions in the coalition action)
+	 * @param s Index of state matrix game is for 
+	 * @param rew Are we solving a reward (true) or probability (false) problem?
+	 * @param min Are we minimising or maximising? (dictates which coalition to solve for) 
+	 */
+	public double val(LpSolve lp, double[][] mgame, int nrows, int ncols, List<Map<BitSet, Double>> strat, Map<Integer, BitSet> rmap, int s, boolean rew,
+			boolean min) throws PrismException
+	{
+		MatrixGameWorker worker = new MatrixGameWorker(lp, matrixGameSolver, mgame);
+		worker.minEntry = minEntry;
+		worker.allEqual = allEqual;
+		double res = val(worker, nrows, ncols, strat, rmap, s, rew, min);
+		timerVal += worker.timerVal;
+		return res;
+	}
+
+	/**
+	 * Solve a matrix game and return its value, as for
+	 * {@link #val(LpSolve, double[][], int, int, List, Map, int, boolean, boolean)},
+	 * but using the LpSolve instance, matrix game and minEntry/allEqual info stored in {@code worker}.
+	 * This does not modify any fields of the model checker, so can be called from multiple threads,
+	 * with separate workers, as long as no strategy is being generated.
+	 */
+	protected double val(MatrixGameWorker worker, int nrows, int ncols, List<Map<BitSet, Double>> strat, Map<Integer, BitSet> rmap, int s, boolean rew,
+			boolean min) throws PrismException
+	{
+		LpSolve lp = worker.lp;
+		double[][] mgame = worker.mgame;
 		long timer = System.currentTimeMillis();
-		int nrows = mgame.size(); // Number of rows
-		int ncols = mgame.get(0).size(); // Number of columns
 		double res = Double.NaN;
 		Map<BitSet, Double> d = new HashMap<BitSet, Double>();
 		// Special cases
-		if (allEqual) {
+		if (worker.allEqual) {
 			if (genStrat) {
 				d.put(rmap.get(0), 1.0);
 				strat.set(s, d);
 			}
-			return minEntry;
+			return worker.minEntry;
 		} else if (nrows == 1) {
 			int srow = 0;
 			res = Double.POSITIVE_INFINITY;
 			for (int col = 0; col < ncols; col++) {
-				if (res > mgame.get(0).get(col)) {
-					res = mgame.get(0).get(col);
+				if (res > mgame[0][col]) {
+					res = mgame[0][col];
 					srow = (min) ? col : 0;
 				}
 			}
@@ -1963,8 +2330,8 @@ public class CSGModelChecker extends ProbModelChecker
 			int scol = 0;
 			res = Double.NEGATIVE_INFINITY;
 			for (int row = 0; row < nrows; row++) {
-				if (res < mgame.get(row).get(0)) {
-					res = mgame.get(row).get(0);
+				if (res < mgame[row][0]) {
+					res = mgame[row][0];
 					scol = (min) ? 0 : row;
 				}
 			}
@@ -1976,7 +2343,7 @@ public class CSGModelChecker extends ProbModelChecker
 		} else {
 			// Should add check for trivial games
 			int infty;
-			infty = valInfinity(mgame);
+			infty = valInfinity(mgame, nrows, ncols);
 			if (infty != -1) {
 				res = Double.POSITIVE_INFINITY;
 				if (genStrat) {
@@ -1984,12 +2351,32 @@ public class CSGModelChecker extends ProbModelChecker
 				}
 				return res;
 			} else {
+				ncols = removeInfinityColumns(mgame, nrows, ncols);
+				// Try to solve the game directly first (only falling back to an LP for large games)
+				MatrixGameSolver solver = worker.solver;
+				if (solver != null && solver.solve(mgame, nrows, ncols)) {
+					res = solver.getValue();
+					// For probabilities, the value is bounded as in the LP
+					if (!rew) {
+						res = Math.min(Math.max(res, 0.0), 1.0);
+					}
+					if (genStrat) {
+						double[] probs = (min) ? solver.getColumnStrategy() : solver.getRowStrategy();
+						for (int i = 0, n = (min) ? ncols : nrows; i < n; i++) {
+							if (probs[i] > 0)
+								d.put(rmap.get(i), probs[i]);
+						}
+						strat.set(s, d);
+					}
+					worker.timerVal += System.currentTimeMillis() - timer;
+					return res;
+				}
 				try {
 					if (min)
 						lp.resizeLp(0, maxCols + 1);
 					else
 						lp.resizeLp(0, maxRows + 1);
-					buildLPLpsolve(lp, mgame, rew, min);
+					buildLPLpsolve(lp, mgame, nrows, ncols, rew, min);
 				} catch (LpSolveException e1) {
 					throw new PrismException("Exception raised by lpSolve when building linear program for state  " + s);
 				}
@@ -2023,21 +2410,17 @@ public class CSGModelChecker extends ProbModelChecker
 					mainLog.println(
 							"Exception raised by lpSolve when computing value for state " + s + ". lpSolve status: " + lp.getStatustext(lp.getStatus()));
 					mainLog.println("Rounding up entries...");
-					ArrayList<ArrayList<Double>> mcopy = new ArrayList<ArrayList<Double>>(mgame);
-					mgame.clear();
 					for (int row = 0; row < nrows; row++) {
-						mgame.add(row, new ArrayList<Double>());
 						for (int col = 0; col < ncols; col++) {
-							mgame.get(row).add(col, Precision.round(mcopy.get(row).get(col), 9, BigDecimal.ROUND_FLOOR));
+							mgame[row][col] = Precision.round(mgame[row][col], 9, BigDecimal.ROUND_FLOOR);
 						}
 					}
-					mcopy.clear();
 					try {
 						if (min)
 							lp.resizeLp(0, maxCols + 1);
 						else
 							lp.resizeLp(0, maxRows + 1);
-						buildLPLpsolve(lp, mgame, rew, min);
+						buildLPLpsolve(lp, mgame, nrows, ncols, rew, min);
 						int status = lp.solve();
 						if (status == LpSolve.OPTIMAL) {
 							res = lp.getObjective();
@@ -2061,10 +2444,25 @@ public class CSGModelChecker extends ProbModelChecker
 			}
 		}
 		timer = System.currentTimeMillis() - timer;
-		timerVal += timer;
+		worker.timerVal += timer;
 		return res;
 	}
 
+	/**
+	 * Copy a matrix game stored as a list of rows into a (new) 2D array.
+	 */
+	protected static double[][] toMatrix(ArrayList<ArrayList<Double>> mgame)
+	{
+		double[][] matrix = new double[mgame.size()][];
+		for (int row = 0; row < mgame.size(); row++) {
+			matrix[row] = new double[mgame.get(row).size()];
+			for (int col = 0; col < matrix[row].length; col++) {
+				matrix[row][col] = mgame.get(row).get(col);
+			}
+		}
+		return matrix;
+	}
+
 	/**
 	 * Deal with infinite cases in solving a matrix game.
 	 * If all values in some row are +inf, return the index of that row (it's optimal).
@@ -2110,6 +2508,60 @@ public class CSGModelChecker extends ProbModelChecker
 		return -1;
 	}
 
+	/**
+	 * Deal with infinite cases in solving a matrix game,
+	 * stored in the first {@code nrows} rows and {@code ncols} columns of {@code mgame}.
+	 * If all values in some row are +inf, return the index of that row (it's optimal).
+	 * Otherwise return -1 (see also {@link #removeInfinityColumns(double[][], int, int)}).
+	 */
+	public int valInfinity(double[][] mgame, int nrows, int ncols)
+	{
+		int row, col;
+		boolean infRow;
+		for (row = 0; row < nrows; row++) {
+			infRow = true;
+			for (col = 0; col < ncols; col++) {
+				if (mgame[row][col] != Double.POSITIVE_INFINITY) {
+					infRow = false;
+					break;
+				}
+			}
+			if (infRow)
+				return row;
+		}
+		return -1;
+	}
+
+	/**
+	 * Remove (in place) any column containing a +inf from a matrix game,
+	 * stored in the first {@code nrows} rows and {@code ncols} columns of {@code mgame},
+	 * and return the new number of columns.
+	 */
+	public int removeInfinityColumns(double[][] mgame, int nrows, int ncols)
+	{
+		BitSet hasInf = new BitSet();
+		int row, col, ncol;
+		for (row = 0; row < nrows; row++) {
+			for (col = 0; col < ncols; col++) {
+				if (mgame[row][col] == Double.POSITIVE_INFINITY) {
+					hasInf.set(col);
+				}
+			}
+		}
+		if (hasInf.isEmpty()) {
+			return ncols;
+		}
+		for (row = 0; row < nrows; row++) {
+			ncol = 0;
+			for (col = 0; col < ncols; col++) {
+				if (!hasInf.get(col)) {
+					mgame[row][ncol++] = mgame[row][col];
+				}
+			}
+		}
+		return ncols - hasInf.cardinality();
+	}
+
 	/**
 	 * Build the linear program to solve a matrix game.
 	 * 
@@ -2122,15 +2574,43 @@ public class CSGModelChecker extends ProbModelChecker
 	{
 		int nrows = (min) ? mgame.get(0).size() : mgame.size(); // Number of rows
 		int ncols = (min) ? mgame.size() : mgame.get(0).size(); // Number of columns
-		int[] vari = new int[nrows + 1]; // Indexes of variables, should be m + 1 for an m x n matrix
-		double[] row = new double[nrows + 1];
-		lp.setColName(1, "v");
-		// Sets bounds for each p variable
+		buildLPLpsolve(lp, toMatrix(mgame), mgame.size(), mgame.get(0).size(), rew, min);
+		// Name variables after coalition actions
 		for (int i = 2; i <= nrows + 1; i++) {
 			if (min)
 				lp.setColName(i, actions.get(1).get(i - 2));
 			else
 				lp.setColName(i, actions.get(0).get(i - 2));
+		}
+		// Sets name for each row (over ncols as they represent the constraints)
+		for (int k = 0; k < ncols; k++) {
+			if (min)
+				lp.setRowName(k + 1, actions.get(0).get(k));
+			else
+				lp.setRowName(k + 1, actions.get(1).get(k));
+		}
+	}
+
+	/**
+	 * Build the linear program to solve a matrix game,
+	 * stored in the first {@code mrows} rows and {@code mcols} columns of {@code mgame}.
+	 * 
+	 * @param lp LpSolve instance to use for constructing the LP
+	 * @param mgame The matrix
+	 * @param mrows Number of rows of the matrix
+	 * @param mcols Number of columns of the matrix
+	 * @param rew Are we solving a reward (true) or probability (false) problem?
+	 * @param min Are we minimising or maximising? (dictates which coalition to solve for) 
+	 */
+	public void buildLPLpsolve(LpSolve lp, double[][] mgame, int mrows, int mcols, boolean rew, boolean min) throws LpSolveException
+	{
+		int nrows = (min) ? mcols : mrows; // Number of rows
+		int ncols = (min) ? mrows : mcols; // Number of columns
+		int[] vari = new int[nrows + 1]; // Indexes of variables, should be m + 1 for an m x n matrix
+		double[] row = new double[nrows + 1];
+		lp.setColName(1, "v");
+		// Sets bounds for each p variable
+		for (int i = 2; i <= nrows + 1; i++) {
 			lp.setBounds(i, 0, 1.0);
 		}
 		// Rewards mode
@@ -2149,9 +2629,9 @@ public class CSGModelChecker extends ProbModelChecker
 				k++;
 				vari[k] = k + 1;
 				if (min)
-					row[k] = -1.0 * scaleFactor * mgame.get(j).get(i);
+					row[k] = -1.0 * scaleFactor * mgame[j][i];
 				else
-					row[k] = -1.0 * scaleFactor * mgame.get(i).get(j);
+					row[k] = -1.0 * scaleFactor * mgame[i][j];
 			}
 			if (min)
 				lp.addConstraintex(nrows + 1, row, vari, LpSolve.GE, 0.0);
@@ -2159,14 +2639,6 @@ public class CSGModelChecker extends ProbModelChecker
 				lp.addConstraintex(nrows + 1, row, vari, LpSolve.LE, 0.0);
 			k = 0;
 		}
-		// Sets name for each row (over ncols as they represent the constraints)
-		for (k = 0; k < ncols; k++) {
-			if (min)
-				lp.setRowName(k + 1, actions.get(0).get(k));
-			else
-				lp.setRowName(k + 1, actions.get(1).get(k));
-
-		}
 		for (k = 0; k < nrows + 1; k++) {
 			vari[k] = k + 1;
 			row[k] = (k > 0) ? 1 : 0;
@@ -2185,6 +2657,255 @@ public class CSGModelChecker extends ProbModelChecker
 		//lp.printLp();
 	}
 
+	/**
+	 * If it is worthwhile (multiple threads requested, no strategy generation and enough states to update),
+	 * create a helper to perform value iteration for the states {@code unknown}
+	 * in parallel; otherwise return null. The caller should close it when finished.
+	 * @param unknown States to be updated in each iteration
+	 * @param n Number of states in the model
+	 */
+	protected ParallelValIter createParallelValIter(BitSet unknown, int n)
+	{
+		if (genStrat || !ParallelValIter.isWorthwhile(numThreads, unknown, PARALLEL_MIN_BLOCK_SIZE)) {
+			return null;
+		}
+		ParallelValIter parallel = new ParallelValIter(numThreads, unknown, n, PARALLEL_MIN_BLOCK_SIZE);
+		if (verbosity >= 1) {
+			mainLog.println("Using " + numThreads + " threads (" + parallel.getNumBlocks() + " blocks of states)");
+		}
+		return parallel;
+	}
+
+	/**
+	 * Create one matrix game worker for each thread used for value iteration,
+	 * each with its own LpSolve instance and storage for matrix games of the CSG
+	 * (for the current coalition). They should be deleted with
+	 * {@link #deleteMatrixGameWorkers(BlockingQueue)} when finished.
+	 */
+	protected BlockingQueue<MatrixGameWorker> newMatrixGameWorkers(CSG<Double> csg) throws PrismException
+	{
+		BlockingQueue<MatrixGameWorker> workers = new ArrayBlockingQueue<>(numThreads);
+		try {
+			for (int i = 0; i < numThreads; i++) {
+				LpSolve lp = LpSolve.makeLp(maxCols + 1, maxRows + 1);
+				lp.setVerbose(LpSolve.CRITICAL);
+				workers.add(new MatrixGameWorker(lp, (matrixGameSolver != null) ? new MatrixGameSolver() : null, newMatrixGame(csg)));
+			}
+		} catch (LpSolveException e) {
+			deleteMatrixGameWorkers(workers);
+			throw new PrismException(e.toString());
+		}
+		return workers;
+	}
+
+	/**
+	 * Free the LpSolve instances of matrix game workers.
+	 */
+	protected void deleteMatrixGameWorkers(BlockingQueue<MatrixGameWorker> workers)
+	{
+		for (MatrixGameWorker worker : workers) {
+			worker.lp.deleteLp();
+			timerVal += worker.timerVal;
+		}
+		workers.clear();
+	}
+
+	/**
+	 * Should (unbounded) value iteration update values in place, i.e., be done Gauss-Seidel style
+	 * and/or topologically, rather than Jacobi style (the default)?
+	 * This is the case if Gauss-Seidel (see {@link #setGaussSeidel(boolean)})
+	 * or topological value iteration has been requested.
+	 */
+	protected boolean useInPlaceValIter()
+	{
+		return gaussSeidel || getDoTopologicalValueIteration();
+	}
+
+	/**
+	 * Do (unbounded) value iteration for reachability probabilities or (if {@code rewards} is non-null)
+	 * expected rewards, updating the values of states in {@code unknown} in place (Gauss-Seidel style).
+	 * If topological value iteration is enabled, the SCCs of the CSG (restricted to {@code unknown})
+	 * are solved one by one, in reverse topological order, and convergence is checked separately
+	 * for each one; an SCC comprising a single state without a self-loop needs only one update.
+	 * If a strategy is being generated, it is stored in {@code kstrat}/{@code lstrat},
+	 * as for {@link #computeReachProbsValIter(CSG, BitSet, BitSet, int, boolean, boolean)}.
+	 * @param csg The CSG
+	 * @param rewards The rewards (null for probabilities)
+	 * @param unknown States whose values are to be computed
+	 * @param pre Optionally, the predecessor relation, to only update states with a changed successor
+	 * @param dirty If {@code pre} is non-null, states to update (initially, {@code unknown}); modified
+	 * @param soln Solution vector (initialised, and updated in place)
+	 * @param min Min or max values for player 1 (true=min, false=max)
+	 * @param lp LpSolve instance to use for solving matrix games
+	 * @param mgame Storage for matrix games
+	 * @return The number of iterations performed
+	 */
+	protected int doValIterInPlace(CSG<Double> csg, CSGRewards<Double> rewards, BitSet unknown, PredecessorRelation pre, BitSet dirty, double[] soln, boolean min,
+			LpSolve lp, double[][] mgame, List<Map<BitSet, Double>> kstrat, List<List<List<Map<BitSet, Double>>>> lstrat, Map<Integer, BitSet> mmap)
+			throws PrismException
+	{
+		boolean rew = rewards != null;
+		boolean topological = getDoTopologicalValueIteration();
+		CSGMatrixIndex index = getMatrixIndex(csg);
+		// Get the sets of states to solve, in order
+		List<int[]> sccList = new ArrayList<int[]>();
+		if (topological) {
+			SCCInfo sccs = SCCComputer.computeTopologicalOrdering(this, csg, true, unknown::get);
+			for (int scc = 0; scc < sccs.getNumSCCs(); scc++) {
+				int[] states = new int[sccs.getNumStatesInSCC(scc)];
+				PrimitiveIterator.OfInt it = sccs.getStatesForSCC(scc).iterator();
+				for (int i = 0; i < states.length; i++) {
+					states[i] = it.nextInt();
+				}
+				sccList.add(states);
+			}
+		} else {
+			sccList.add(unknown.stream().toArray());
+		}
+		// Iterate over each set of states until convergence
+		int iters = 0, nonSingletons = 0;
+		long numUpdates = 0;
+		for (int[] states : sccList) {
+			boolean singleton = states.length == 1 && !csg.isSuccessor(states[0], states[0]);
+			boolean done = false;
+			int itersInSCC = 0;
+			if (!singleton) {
+				nonSingletons++;
+			}
+			while (!done) {
+				if (itersInSCC == maxIters) {
+					throw new PrismException("Could not converge after " + maxIters + " iterations");
+				}
+				itersInSCC++;
+				done = true;
+				for (int s : states) {
+					if (dirty != null) {
+						if (!dirty.get(s)) {
+							continue;
+						}
+						dirty.clear(s);
+					}
+					numUpdates++;
+					buildMatrixGame(csg, rewards, mmap, soln, s, min, mgame);
+					double v = val(lp, mgame, index.getNumRows(s), index.getNumCols(s), kstrat, mmap, s, rew, min);
+					if (rew) {
+						v += rewards.getStateReward(s);
+					}
+					if (genStrat) {
+						updateStrategy(kstrat, lstrat, 0, s, false);
+					}
+					if (v != soln[s]) {
+						done &= PrismUtils.doublesAreClose(v, soln[s], termCritParam, termCrit == TermCrit.RELATIVE);
+						soln[s] = v;
+						if (dirty != null) {
+							for (int t : pre.getPre(s)) {
+								if (unknown.get(t)) {
+									dirty.set(t);
+								}
+							}
+						}
+					}
+				}
+				done |= singleton;
+			}
+			iters += itersInSCC;
+		}
+		if (verbosity >= 1) {
+			mainLog.print("\nValue iteration (" + (topological ? "topological, " + nonSingletons + " non-singleton SCCs, " : "") + "Gauss-Seidel)");
+			mainLog.println(": " + numUpdates + " matrix games solved");
+		}
+		return iters;
+	}
+
+	/**
+	 * For incremental value iteration, compute the states that need to be updated
+	 * in the next iteration: those in {@code unknown} with a successor whose value changed
+	 * in the last iteration (from {@code solnOld} to {@code solnNew}). For any other
+	 * state, the matrix game, and so its value, would be the same as in the last iteration.
+	 * @param pre The predecessor relation of the model
+	 * @param unknown States to be updated in each (full) iteration
+	 * @param solnOld Values before the last iteration
+	 * @param solnNew Values after the last iteration
+	 * @param dirty Storage for the states to update
+	 */
+	protected void updateDirtyStates(PredecessorRelation pre, BitSet unknown, double[] solnOld, double[] solnNew, BitSet dirty)
+	{
+		dirty.clear();
+		for (int t = 0; t < solnNew.length; t++) {
+			if (solnOld[t] != solnNew[t]) {
+				for (int s : pre.getPre(t)) {
+					dirty.set(s);
+				}
+			}
+		}
+		dirty.and(unknown);
+	}
+
+	/**
+	 * For value iteration with two vectors that are swapped after each iteration,
+	 * copy the values of the states in {@code unknown} that will not be updated
+	 * in the next iteration (those not in {@code dirty}) to the vector for the new values.
+	 * Other states either keep the same value throughout, or are updated.
+	 * @param unknown States to be updated in each (full) iteration
+	 * @param dirty States to update in the next iteration
+	 * @param solnOld Values from the last iteration
+	 * @param solnNew Storage for new values (from the iteration before last)
+	 */
+	protected void copyNonDirtyStates(BitSet unknown, BitSet dirty, double[] solnOld, double[] solnNew)
+	{
+		for (int s = unknown.nextSetBit(0); s >= 0; s = unknown.nextSetBit(s + 1)) {
+			if (!dirty.get(s)) {
+				solnNew[s] = solnOld[s];
+			}
+		}
+	}
+
+	/**
+	 * Perform one (Jacobi) iteration of value iteration, in parallel, for reachability
+	 * probabilities or (if {@code rewards} is non-null) expected rewards,
+	 * and check for convergence (as done by
+	 * {@link PrismUtils#doublesAreClose(double[], double[], double, boolean)} on the whole vector).
+	 * Each block of states is processed using one of the (per-thread) {@code workers}.
+	 * @param csg The CSG
+	 * @param rewards The rewards (null for probabilities)
+	 * @param parallel Helper for parallel value iteration (see {@link #createParallelValIter(BitSet, int)})
+	 * @param workers Matrix game workers, one per thread (see {@link #newMatrixGameWorkers(CSG)})
+	 * @param dirty Optionally, the states that need updating (others keep their value in {@code solnNew})
+	 * @param solnOld Values from the previous iteration
+	 * @param solnNew Storage for new values
+	 * @param min Min or max values for player 1 (true=min, false=max)
+	 * @return whether the iteration has converged
+	 */
+	protected boolean parallelValIterStep(CSG<Double> csg, CSGRewards<Double> rewards, ParallelValIter parallel, BlockingQueue<MatrixGameWorker> workers,
+			BitSet dirty, double[] solnOld, double[] solnNew, boolean min) throws PrismException
+	{
+		CSGMatrixIndex index = getMatrixIndex(csg);
+		boolean rew = rewards != null;
+		return parallel.updateAndCheckConvergence(block -> {
+			MatrixGameWorker worker;
+			try {
+				worker = workers.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new PrismException("Interrupted during parallel value iteration");
+			}
+			try {
+				for (int s = block.nextSetBit(0); s >= 0; s = block.nextSetBit(s + 1)) {
+					if (dirty != null && !dirty.get(s)) {
+						continue;
+					}
+					buildMatrixGame(csg, rewards, null, solnOld, s, min, worker);
+					solnNew[s] = val(worker, index.getNumRows(s), index.getNumCols(s), null, null, s, rew, min);
+					if (rew) {
+						solnNew[s] += rewards.getStateReward(s);
+					}
+				}
+			} finally {
+				workers.add(worker);
+			}
+		}, solnNew, solnOld, termCritParam, termCrit == TermCrit.RELATIVE);
+	}
+
 	/**
 	 * Update the strategy
 	 *
@@ -100,22 +100,31 @@ public class CSGModelCheckerEquilibria extends CSGModelChecker
 	
 	/** SMT solver for labelled polytopes */
 	protected CSGLabeledPolytopes smtLabeleldPolytopes;
-	/** SMT solver for support enumeration */
-	protected CSGSupportEnumeration smtSupportEnumeration;
+	/** SMT solver for support enumeration (one context per thread) */
+	protected CSGSupportEnumerationParallel smtSupportEnumeration;
 	/** Numerical solver for support enumeration */
 	protected CSGSupportEnumeration nlpSupportEnumeration;
 	/** Solver for correlated equilibria */
 	protected CSGCorrelated ceSolver;
 	/** Name of the SMT solver */
 	protected String smtSolver;
+	/** Whether a warning has been given that Z3 is used for support enumeration instead of {@link #smtSolver} */
+	protected boolean warnedSupportEnumerationSolver = false;
 	/** Whether to check for the assumption for equilibria model checking */	
 	protected boolean assumptionCheck = false;
+	/** Cache of solutions of the games solved in each state (null if disabled) */
+	protected CSGEquilibriumCache eqCache;
 	/** Types and criteria for equilibria */
 	public static final int NASH = 1;
 	public static final int CORR = 2;
 	public static final int SWEQ = 3;
 	public static final int FAIR = 4;
 
+	/** Kinds of game solution stored in the cache (the criterion is added for correlated equilibria) */
+	private static final int CACHE_BIMATRIX_NASH = 0;
+	private static final int CACHE_SUPPORT_ENUM_NASH = 1;
+	private static final int CACHE_CORR = 2;
+
 	/** Different status for SMT equilibria computation */
 	public enum CSGResultStatus {
 		SAT, UNKNOWN, UNSAT;
@@ -150,6 +159,8 @@ public class CSGModelCheckerEquilibria extends CSGModelChecker
 			default:
 				throw new PrismException("Unknown SMT solver \"" + smtSolver + "\"");
 		}
+		int cacheSize = getSettings().getInteger(PrismSettings.PRISM_CSG_EQ_CACHE_SIZE);
+		eqCache = cacheSize > 0 ? new CSGEquilibriumCache(cacheSize) : null;
 	}
 	
 
@@ -1180,7 +1191,33 @@ public class CSGModelCheckerEquilibria extends CSGModelChecker
 		mainLog.println("Coalition results (initial state): (" + sol[0][csg.getFirstInitialState()] + "," + sol[1][csg.getFirstInitialState()] + ")");
 		res.soln = r;
 		res.numIters = k;
-		return res;		
+		printEquilibriumCacheStats();
+		return res;
+	}
+
+	/**
+	 * Create a new solver context for support enumeration, according to the SMT solver setting.
+	 * Each thread of support enumeration uses its own context.
+	 */
+	protected CSGSupportEnumeration newSupportEnumeration()
+	{
+		// Support enumeration is currently only implemented with Z3
+		// (a warning is given when another solver is selected)
+		return new CSGSupportEnumerationZ3(maxNumActions, numCoalitions);
+	}
+
+	/**
+	 * Shut down support enumeration (if in use), reporting statistics if required.
+	 */
+	protected void closeSupportEnumeration()
+	{
+		if (smtSupportEnumeration != null) {
+			if (verbosity >= 1) {
+				mainLog.println("Support enumeration: " + smtSupportEnumeration.getNumChecked() + " supports checked, " + smtSupportEnumeration.getNumSkipped() + " skipped");
+			}
+			smtSupportEnumeration.close();
+			smtSupportEnumeration = null;
+		}
 	}
 
 	/**
@@ -1278,14 +1315,20 @@ public class CSGModelCheckerEquilibria extends CSGModelChecker
 //				}
 			}
 			default : {
-				smtSupportEnumeration = new CSGSupportEnumerationZ3(maxNumActions, numCoalitions);
+				if (smtSupportEnumeration != null) {
+					smtSupportEnumeration.close();
+				}
+				if (!smtSolver.equals("Z3") && !warnedSupportEnumerationSolver) {
+					mainLog.printWarning("Support enumeration (used for more than two coalitions) is only implemented with Z3, so Z3 is used instead of " + smtSolver);
+					warnedSupportEnumerationSolver = true;
+				}
+				smtSupportEnumeration = new CSGSupportEnumerationParallel(numThreads, this::newSupportEnumeration, strategies, numCoalitions);
+				if (verbosity >= 1 && smtSupportEnumeration.getNumThreads() > 1) {
+					mainLog.println("Using " + smtSupportEnumeration.getNumThreads() + " threads for support enumeration");
+				}
 			}
 		}
 
-		smtSupportEnumeration.setIndexes(strategies);
-		smtSupportEnumeration.setNumPlayers(numCoalitions);
-		smtSupportEnumeration.init();
-
 		/*
 		nlpSupportEnumeration = new CSGSupportEnumerationGurobi(maxNumActions, numCoalitions);
 		nlpSupportEnumeration.setIndexes(strategies);
@@ -1348,6 +1391,7 @@ public class CSGModelCheckerEquilibria extends CSGModelChecker
 				break;
 			}
 			else if (!done && k == maxIters) {
+				closeSupportEnumeration();
 				throw new PrismException("Could not converge after " + k + " iterations");
 			}
 			else {
@@ -1358,6 +1402,7 @@ public class CSGModelCheckerEquilibria extends CSGModelChecker
 			}
 		}
 		timeTaken = System.currentTimeMillis() - timeTaken;
+		closeSupportEnumeration();
 		mainLog.println();
 		for (c = 0; c < numCoalitions; c++) {
 			mainLog.println("Result for coalition " + coalitions.get(c) + ": " + sol[c][csg.getFirstInitialState()] + " (value in the intial state).");
@@ -1372,6 +1417,7 @@ public class CSGModelCheckerEquilibria extends CSGModelChecker
 		res.soln = r;
 		res.numIters = k;
 		res.timeTaken = timeTaken /  1000.0;
+		printEquilibriumCacheStats();
 		return res;
 	}
 
@@ -1700,6 +1746,7 @@ public class CSGModelCheckerEquilibria extends CSGModelChecker
 			}
 		}
 		res.numIters = k;
+		printEquilibriumCacheStats();
 		return res;		
 	}
 	
@@ -1773,6 +1820,178 @@ public class CSGModelCheckerEquilibria extends CSGModelChecker
 		}
 	}
 	
+	/**
+	 * Computes, for the current step game, the payoffs that prove an equilibrium is social welfare optimal,
+	 * used to stop support enumeration early. These are, for each player, the maximum utility over
+	 * the joint actions whose utilities have maximal sum. Since the payoffs of any equilibrium are
+	 * a convex combination of utilities, an equilibrium reaching all of these has the maximal sum of payoffs
+	 * and any other equilibrium with the same sum has the same payoffs.
+	 */
+	protected double[] socialWelfareTarget() {
+		double[] target = new double[numCoalitions];
+		double max = Double.NEGATIVE_INFINITY;
+		double sum;
+		int p;
+		for (ArrayList<Double> u : utilities.values()) {
+			sum = 0.0;
+			for (p = 0; p < numCoalitions; p++) {
+				sum += u.get(p);
+			}
+			if (Double.compare(sum, max) > 0) {
+				max = sum;
+				for (p = 0; p < numCoalitions; p++) {
+					target[p] = u.get(p);
+				}
+			}
+			else if (Double.compare(sum, max) == 0) {
+				for (p = 0; p < numCoalitions; p++) {
+					target[p] = Math.max(target[p], u.get(p));
+				}
+			}
+		}
+		return target;
+	}
+
+	/**
+	 * Index of a joint action of the current step game in the canonical order used for the cache:
+	 * lexicographic in the index of each coalition's action (in {@code strategies}).
+	 */
+	private int jointIndex(BitSet jidx) {
+		int index = 0;
+		for (int c = 0; c < numCoalitions; c++) {
+			int a = jidx.nextSetBit(0);
+			while (!psupports.get(c).get(a)) {
+				a = jidx.nextSetBit(a + 1);
+			}
+			index = index * strategies.get(c).size() + strategies.get(c).indexOf(a);
+		}
+		return index;
+	}
+
+	/**
+	 * Builds the cache key for the current step game (as built by {@link #buildStepGame}).
+	 * 
+	 * @param type Kind of solution (and criterion, if relevant)
+	 */
+	private CSGEquilibriumCache.Key stepGameKey(int type) {
+		int[] dims = new int[numCoalitions];
+		int size = 1;
+		for (int c = 0; c < numCoalitions; c++) {
+			dims[c] = strategies.get(c).size();
+			size *= dims[c];
+		}
+		double[] payoffs = new double[size * numCoalitions];
+		Arrays.fill(payoffs, Double.NaN);
+		for (Entry<BitSet, ArrayList<Double>> entry : utilities.entrySet()) {
+			int index = jointIndex(entry.getKey());
+			for (int c = 0; c < numCoalitions; c++) {
+				payoffs[index * numCoalitions + c] = entry.getValue().get(c);
+			}
+		}
+		return new CSGEquilibriumCache.Key(type, dims, payoffs);
+	}
+
+	/**
+	 * Computes the Nash equilibria of a bimatrix game, using the cache if enabled.
+	 * Strategies are over row/column indexes and payoffs are those for {@code a} and {@code b}.
+	 * 
+	 * @param nrows Number of rows
+	 * @param ncols Number of columns
+	 * @param a Payoffs for the first player
+	 * @param b Payoffs for the second player
+	 * @throws PrismException
+	 */
+	protected List<EquilibriumResult> solveBimatrixGame(int nrows, int ncols, double[][] a, double[][] b) throws PrismException {
+		CSGEquilibriumCache.Key key = null;
+		List<EquilibriumResult> eqs;
+		if (eqCache != null) {
+			double[] payoffs = new double[2 * nrows * ncols];
+			for (int i = 0; i < nrows; i++) {
+				for (int j = 0; j < ncols; j++) {
+					payoffs[2 * (i * ncols + j)] = a[i][j];
+					payoffs[2 * (i * ncols + j) + 1] = b[i][j];
+				}
+			}
+			key = new CSGEquilibriumCache.Key(CACHE_BIMATRIX_NASH, new int[] { nrows, ncols }, payoffs);
+			eqs = eqCache.get(key);
+			if (eqs != null) {
+				return new ArrayList<>(eqs);
+			}
+		}
+		smtLabeleldPolytopes.update(nrows, ncols, a, b);
+		smtLabeleldPolytopes.computeEquilibria();
+		smtLabeleldPolytopes.compPayoffs();
+		eqs = new ArrayList<>(smtLabeleldPolytopes.getNeq());
+		for (int e = 0; e < smtLabeleldPolytopes.getNeq(); e++) {
+			ArrayList<Double> payoffs = new ArrayList<>(Arrays.asList(smtLabeleldPolytopes.getP1p()[e], smtLabeleldPolytopes.getP2p()[e]));
+			eqs.add(newEquilibriumResult(payoffs, new ArrayList<>(smtLabeleldPolytopes.getStrat().get(e))));
+		}
+		if (key != null) {
+			eqCache.put(key, eqs);
+		}
+		return eqs;
+	}
+
+	/**
+	 * Computes the optimal correlated equilibrium of the current step game for criterion {@code crit},
+	 * using the cache if enabled. The strategy is indexed as in {@code ceVarMap}.
+	 * 
+	 * @param crit Criterion (social welfare/fair)
+	 */
+	protected EquilibriumResult solveCorrelatedGame(int crit) {
+		CSGEquilibriumCache.Key key = null;
+		List<EquilibriumResult> eqs;
+		EquilibriumResult result;
+		Distribution<Double> dist;
+		if (eqCache != null) {
+			key = stepGameKey(CACHE_CORR + 4 * crit);
+			eqs = eqCache.get(key);
+			if (eqs != null) {
+				// Map the stored distribution (over canonical joint action indexes) back to ceVarMap
+				dist = new Distribution<>();
+				for (BitSet jidx : utilities.keySet()) {
+					double prob = eqs.get(0).getStrategy().get(0).get(jointIndex(jidx));
+					if (prob > 0) {
+						dist.add(ceVarMap.get(jidx), prob);
+					}
+				}
+				return newEquilibriumResult(new ArrayList<>(eqs.get(0).getPayoffVector()), new ArrayList<>(Collections.singletonList(dist)));
+			}
+		}
+		result = ceSolver.computeEquilibrium(utilities, ceConstraints, strategies, ceVarMap, crit);
+		if (key != null && result.getStatus() == CSGResultStatus.SAT) {
+			dist = new Distribution<>();
+			for (BitSet jidx : utilities.keySet()) {
+				double prob = result.getStrategy().get(0).get(ceVarMap.get(jidx));
+				if (prob > 0) {
+					dist.add(jointIndex(jidx), prob);
+				}
+			}
+			eqCache.put(key, Collections.singletonList(newEquilibriumResult(result.getPayoffVector(), new ArrayList<>(Collections.singletonList(dist)))));
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a (satisfiable) equilibrium result with the given payoffs and strategy.
+	 */
+	private static EquilibriumResult newEquilibriumResult(ArrayList<Double> payoffs, ArrayList<Distribution<Double>> strategy) {
+		EquilibriumResult result = new EquilibriumResult();
+		result.setStatus(CSGResultStatus.SAT);
+		result.setPayoffVector(payoffs);
+		result.setStrategy(strategy);
+		return result;
+	}
+
+	/**
+	 * Prints statistics for the cache of step game solutions, if enabled (and in verbose mode).
+	 */
+	protected void printEquilibriumCacheStats() {
+		if (eqCache != null && verbosity >= 1) {
+			mainLog.println("Equilibrium cache: " + eqCache);
+		}
+	}
+
 	/**
 	 * Selects the equilibrium that maximises the sum of payoffs.
 	 * 
@@ -1996,7 +2215,7 @@ public class CSGModelCheckerEquilibria extends CSGModelChecker
 			}
 		}
 		else {
-			result = ceSolver.computeEquilibrium(utilities, ceConstraints, strategies, ceVarMap, crit);
+			result = solveCorrelatedGame(crit);
 			if (result.getStatus() == CSGResultStatus.SAT) {
 				eqs[0] = 0.0;
 				for (Double d : result.getPayoffVector()) {
@@ -2108,7 +2327,7 @@ public class CSGModelCheckerEquilibria extends CSGModelChecker
 		BitSet active;
 		long time;
 		double[][] result;
-		int n, p;
+		int p;
 
 		buildStepGame(csg, rewards, mmap, val, s, min);
 		active = csg.getConcurrentPlayers(s);
@@ -2141,9 +2360,6 @@ public class CSGModelCheckerEquilibria extends CSGModelChecker
 				return findSWNEUniqueSupport(mmap, strats, eqstrat);
 			}
 
-			smtSupportEnumeration.translateAssertions(assertions, mapActionIndex);
-			//nlpSupportEnumeration.translateAssertions(assertions, mapActionIndex);
-			
 			if (allSupports.size()== 1) {
 				return findSWNEUniqueSupport(mmap, strats, eqstrat);
 			}
@@ -2152,6 +2368,25 @@ public class CSGModelCheckerEquilibria extends CSGModelChecker
 				HashSet<BitSet> unsat = new HashSet<BitSet>();
 				HashSet<BitSet> sat = new HashSet<BitSet>();
 
+				// Reuse the solution of an identical game if possible; only the equilibria
+				// found are stored (with strategies over action indexes), i.e., those for
+				// the supports checked before enumeration stopped early, as computed here
+				CSGEquilibriumCache.Key key = null;
+				List<EquilibriumResult> eqsresults = null;
+				if (eqCache != null) {
+					key = stepGameKey(CACHE_SUPPORT_ENUM_NASH);
+					eqsresults = eqCache.get(key);
+					if (eqsresults != null) {
+						for (EquilibriumResult eq : eqsresults) {
+							equilibria.add(eq.getPayoffVector());
+							if (genStrat) {
+								strats.add(extractStrategyFromEquilibrium(eq, mmap));
+							}
+						}
+						return toArray(equilibria);
+					}
+				}
+
 				//System.out.println(allSupports.size());
 				for (BitSet supp : allSupports) {
 					
@@ -2168,8 +2403,20 @@ public class CSGModelCheckerEquilibria extends CSGModelChecker
 						}
 						throw new PrismException("Problem with support");
 					}
-					
-					eqsresult = smtSupportEnumeration.computeEquilibria(supp, mapActionIndex);				
+				}
+
+				smtSupportEnumeration.translateAssertions(assertions, mapActionIndex);
+				//nlpSupportEnumeration.translateAssertions(assertions, mapActionIndex);
+				eqsresults = smtSupportEnumeration.computeEquilibria(allSupports, mapActionIndex, socialWelfareTarget());
+				if (key != null) {
+					eqCache.put(key, eqsresults.stream().filter(eq -> eq != null && eq.getStatus() == CSGResultStatus.SAT).collect(Collectors.toList()));
+				}
+				for (int i = 0; i < allSupports.size(); i++) {
+					BitSet supp = allSupports.get(i);
+					eqsresult = eqsresults.get(i);
+					if (eqsresult == null) {
+						continue;
+					}
 					//eqsresult = nlpSupportEnumeration.computeEquilibria(supp, mapActionIndex);		
 
 					
@@ -2250,11 +2497,19 @@ public class CSGModelCheckerEquilibria extends CSGModelChecker
 
 				//System.out.println("Unknown supports: " + unknown.size() + " " + (System.currentTimeMillis() - par)/1000.00 + " s");
 			}		
-			result = new double[equilibria.size()][numCoalitions];
-			for (n = 0; n < equilibria.size(); n++) {
-				for (p = 0; p < numCoalitions; p++) {
-					result[n][p] = equilibria.get(n).get(p);
-				}
+			result = toArray(equilibria);
+		}
+		return result;
+	}
+
+	/**
+	 * Converts a list of equilibria (payoff vectors) to an array.
+	 */
+	private double[][] toArray(List<ArrayList<Double>> equilibria) {
+		double[][] result = new double[equilibria.size()][numCoalitions];
+		for (int n = 0; n < equilibria.size(); n++) {
+			for (int p = 0; p < numCoalitions; p++) {
+				result[n][p] = equilibria.get(n).get(p);
 			}
 		}
 		return result;
@@ -2418,20 +2673,18 @@ public class CSGModelCheckerEquilibria extends CSGModelChecker
 					addStateRewards(result, csgRewards1, csgRewards2, s, min);
 				}
 				else { // both players have choices and matrices are not trivial, call solver
-					smtLabeleldPolytopes.update(nrows, ncols, val1s, val2s);
-					smtLabeleldPolytopes.computeEquilibria();
-					smtLabeleldPolytopes.compPayoffs();
-					result = new double[smtLabeleldPolytopes.getNeq()][2];
-					for (int e = 0; e < smtLabeleldPolytopes.getNeq(); e++) {
-						result[e][0] = smtLabeleldPolytopes.getP1p()[e];
-						result[e][1] = smtLabeleldPolytopes.getP2p()[e];
+					List<EquilibriumResult> eqs = solveBimatrixGame(nrows, ncols, val1s, val2s);
+					result = new double[eqs.size()][2];
+					for (int e = 0; e < eqs.size(); e++) {
+						result[e][0] = eqs.get(e).getPayoffVector().get(0);
+						result[e][1] = eqs.get(e).getPayoffVector().get(1);
 						if (genStrat) {
 							eqstrat = new ArrayList<Map<BitSet, Double>>();
 							for (int p = 0; p < 2; p++) {
 								eqstrat.add(p, new HashMap<BitSet, Double>());
 								//System.out.println("-- strat from solver " + nash.getStrat().get(e).get(p).getSupport());
-								for (int t : smtLabeleldPolytopes.getStrat().get(e).get(p).getSupport()) {
-									eqstrat.get(p).put(mmap.get(p).get(nmap.get(p).get(t)), smtLabeleldPolytopes.getStrat().get(e).get(p).get(t));
+								for (int t : eqs.get(e).getStrategy().get(p).getSupport()) {
+									eqstrat.get(p).put(mmap.get(p).get(nmap.get(p).get(t)), eqs.get(e).getStrategy().get(p).get(t));
 								}
 							} 
 							strats.add(e, eqstrat);
@@ -0,0 +1,412 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import prism.PrismException;
+
+/**
+ * Qualitative (almost-sure) analysis of two-coalition CSGs, i.e., the fixed points
+ * AF, AFG and G used for precomputation in {@link CSGModelChecker}
+ * (as defined in L. Alfaro and T. Henzinger, Concurrent Omega-Regular Games).
+ * <br><br>
+ * The support of the distribution for each joint action of each state (the "support matrix"
+ * of the state, with rows/columns for the actions of the first/second coalition)
+ * is computed once and stored in compressed form, as arrays of successor indices.
+ * Inner fixed points are computed with a worklist: a state is only re-evaluated when
+ * the membership of one of its successors changes, using the predecessor relation.
+ * The results are the same as for the corresponding methods of {@link CSGModelChecker}.
+ * <br><br>
+ * The matrices can also be used with the roles of the coalitions swapped
+ * (see {@link #transpose()}), which avoids rebuilding them when the coalitions are swapped.
+ */
+public class CSGQualitative
+{
+	/** The CSG */
+	private CSG<Double> csg;
+	/** Actions of the row/column coalition */
+	private BitSet rowActions, colActions;
+	/** Number of rows/columns of the matrix for each state */
+	private int[] nrows, ncols;
+	/** Start of the cells of each state (in row-major order, size numStates+1) */
+	private int[] cellStarts;
+	/** Start of the successors of each cell (size numCells+1) */
+	private int[] succStarts;
+	/** Successors of each cell */
+	private int[] succs;
+	/** Whether rows and columns are swapped */
+	private boolean transposed;
+	/** Predecessor relation of the CSG */
+	private PredecessorRelation pre;
+
+	// Scratch storage for per-state evaluation
+	private BitSet rows1 = new BitSet(), rows2 = new BitSet(), cols = new BitSet();
+
+	/**
+	 * Build the support matrices for all states of {@code csg}, for the coalitions
+	 * currently set in the model checker {@code mc}.
+	 */
+	public CSGQualitative(CSGModelChecker mc, CSG<Double> csg, BitSet rowActions, BitSet colActions) throws PrismException
+	{
+		int n = csg.getNumStates();
+		this.csg = csg;
+		this.rowActions = (BitSet) rowActions.clone();
+		this.colActions = (BitSet) colActions.clone();
+		nrows = new int[n];
+		ncols = new int[n];
+		cellStarts = new int[n + 1];
+		int numCells = 0, numSuccs = 0;
+		int[] cellSuccStarts = new int[16];
+		int[] cellSuccs = new int[16];
+		for (int s = 0; s < n; s++) {
+			ArrayList<ArrayList<Distribution<Double>>> mdist = mc.buildMatrixDist(csg, s);
+			nrows[s] = mdist.size();
+			ncols[s] = nrows[s] == 0 ? 0 : mdist.get(0).size();
+			cellStarts[s] = numCells;
+			for (int row = 0; row < nrows[s]; row++) {
+				for (int col = 0; col < ncols[s]; col++) {
+					if (numCells + 1 >= cellSuccStarts.length) {
+						cellSuccStarts = Arrays.copyOf(cellSuccStarts, 2 * cellSuccStarts.length);
+					}
+					cellSuccStarts[numCells++] = numSuccs;
+					for (int t : mdist.get(row).get(col).getSupport()) {
+						if (numSuccs == cellSuccs.length) {
+							cellSuccs = Arrays.copyOf(cellSuccs, 2 * cellSuccs.length);
+						}
+						cellSuccs[numSuccs++] = t;
+					}
+				}
+			}
+		}
+		cellStarts[n] = numCells;
+		cellSuccStarts[numCells] = numSuccs;
+		succStarts = Arrays.copyOf(cellSuccStarts, numCells + 1);
+		succs = Arrays.copyOf(cellSuccs, numSuccs);
+		pre = csg.getPredecessorRelation(mc, true);
+	}
+
+	/**
+	 * Copy constructor (sharing the matrices).
+	 */
+	private CSGQualitative(CSGQualitative other)
+	{
+		csg = other.csg;
+		rowActions = other.rowActions;
+		colActions = other.colActions;
+		nrows = other.nrows;
+		ncols = other.ncols;
+		cellStarts = other.cellStarts;
+		succStarts = other.succStarts;
+		succs = other.succs;
+		transposed = other.transposed;
+		pre = other.pre;
+	}
+
+	/**
+	 * Get a view of these matrices with the roles of the coalitions (rows/columns) swapped.
+	 */
+	public CSGQualitative transpose()
+	{
+		CSGQualitative t = new CSGQualitative(this);
+		t.transposed = !transposed;
+		BitSet tmp = t.rowActions;
+		t.rowActions = t.colActions;
+		t.colActions = tmp;
+		return t;
+	}
+
+	/**
+	 * Are these matrices for {@code csg}, with rows for the coalition with actions {@code rowActions}
+	 * and columns for the one with actions {@code colActions}?
+	 */
+	public boolean isFor(CSG<Double> csg, BitSet rowActions, BitSet colActions)
+	{
+		return this.csg == csg && this.rowActions.equals(rowActions) && this.colActions.equals(colActions);
+	}
+
+	// Per-state operations
+
+	private int getNumRows(int s)
+	{
+		return transposed ? ncols[s] : nrows[s];
+	}
+
+	private int getNumCols(int s)
+	{
+		return transposed ? nrows[s] : ncols[s];
+	}
+
+	private int cell(int s, int row, int col)
+	{
+		return transposed ? cellStarts[s] + col * ncols[s] + row : cellStarts[s] + row * ncols[s] + col;
+	}
+
+	private boolean isSubsetOf(int cell, BitSet set)
+	{
+		for (int k = succStarts[cell], end = succStarts[cell + 1]; k < end; k++) {
+			if (!set.get(succs[k])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean containsOneOf(int cell, BitSet set)
+	{
+		for (int k = succStarts[cell], end = succStarts[cell + 1]; k < end; k++) {
+			if (set.get(succs[k])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Rows of state {@code s} such that, for all columns, the column is in {@code v2}
+	 * or the successors are all in {@code y} (see {@link CSGModelChecker#A}); stored in {@code result}.
+	 * A null {@code v2} is treated as empty.
+	 */
+	private void A(int s, BitSet v2, BitSet y, BitSet result)
+	{
+		result.clear();
+		int numRows = getNumRows(s), numCols = getNumCols(s);
+		for (int row = 0; row < numRows; row++) {
+			boolean b = true;
+			for (int col = 0; col < numCols && b; col++) {
+				b = (v2 != null && v2.get(col)) || isSubsetOf(cell(s, row, col), y);
+			}
+			if (b) {
+				result.set(row);
+			}
+		}
+	}
+
+	/**
+	 * Columns of state {@code s} such that, for some row in {@code v1},
+	 * some successor is in {@code x} (see {@link CSGModelChecker#B}); stored in {@code result}.
+	 */
+	private void B(int s, BitSet v1, BitSet x, BitSet result)
+	{
+		result.clear();
+		int numCols = getNumCols(s);
+		for (int col = 0; col < numCols; col++) {
+			for (int row = v1.nextSetBit(0); row >= 0; row = v1.nextSetBit(row + 1)) {
+				if (containsOneOf(cell(s, row, col), x)) {
+					result.set(col);
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Is there a row of state {@code s} for which all successors are in {@code x}?
+	 */
+	public boolean pre1(int s, BitSet x)
+	{
+		int numRows = getNumRows(s), numCols = getNumCols(s);
+		for (int row = 0; row < numRows; row++) {
+			boolean b = true;
+			for (int col = 0; col < numCols && b; col++) {
+				b = isSubsetOf(cell(s, row, col), x);
+			}
+			if (b) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Auxiliary operator for AF, for state {@code s} (see {@link CSGModelChecker#apreXY(CSG, BitSet, BitSet)}).
+	 */
+	public boolean apreXY(int s, BitSet x, BitSet y)
+	{
+		A(s, null, y, rows1);
+		B(s, rows1, x, cols);
+		return cols.cardinality() == getNumCols(s);
+	}
+
+	/**
+	 * Auxiliary operator for AFG, for state {@code s} (see {@link CSGModelChecker#apreXYZ(CSG, BitSet, BitSet, BitSet)}).
+	 */
+	public boolean apreXYZ(int s, BitSet x, BitSet y, BitSet z)
+	{
+		// Rows safe for z (independent of v)
+		BitSet az = new BitSet();
+		A(s, null, z, az);
+		BitSet v = new BitSet();
+		v.set(0, getNumRows(s));
+		while (true) {
+			B(s, v, x, cols);
+			A(s, cols, y, rows2);
+			rows2.and(az);
+			if (rows2.equals(v)) {
+				break;
+			}
+			v.clear();
+			v.or(rows2);
+		}
+		return !v.isEmpty();
+	}
+
+	// Fixed points
+
+	/**
+	 * Eventually b, while remaining in a (optional: null means "all").
+	 */
+	public BitSet AF(BitSet a, BitSet b)
+	{
+		int n = csg.getNumStates();
+		BitSet y = new BitSet();
+		y.set(0, n);
+		while (true) {
+			BitSet x = lfpAF(a, b, y);
+			if (x.equals(y)) {
+				return y;
+			}
+			y = x;
+		}
+	}
+
+	/**
+	 * Least fixed point of x = (apreXY(x, y) and a) or b.
+	 */
+	private BitSet lfpAF(BitSet a, BitSet b, BitSet y)
+	{
+		int n = csg.getNumStates();
+		BitSet x = (BitSet) b.clone();
+		BitSet empty = new BitSet();
+		for (int s = 0; s < n; s++) {
+			if (!x.get(s) && (a == null || a.get(s)) && apreXY(s, empty, y)) {
+				x.set(s);
+			}
+		}
+		// Propagate additions backwards
+		int[] queue = new int[n];
+		int head = 0, tail = 0;
+		for (int s = x.nextSetBit(0); s >= 0; s = x.nextSetBit(s + 1)) {
+			queue[tail++] = s;
+		}
+		while (head < tail) {
+			int t = queue[head++];
+			for (int s : pre.getPre(t)) {
+				if (!x.get(s) && (a == null || a.get(s)) && apreXY(s, x, y)) {
+					x.set(s);
+					queue[tail++] = s;
+				}
+			}
+		}
+		return x;
+	}
+
+	/**
+	 * Eventually globally b.
+	 */
+	public BitSet AFG(BitSet b)
+	{
+		int n = csg.getNumStates();
+		BitSet z = new BitSet();
+		z.set(0, n);
+		while (true) {
+			BitSet x = new BitSet();
+			while (true) {
+				BitSet y = gfpAFG(b, x, z);
+				if (y.equals(x)) {
+					break;
+				}
+				x = y;
+			}
+			if (x.equals(z)) {
+				return z;
+			}
+			z = x;
+		}
+	}
+
+	/**
+	 * Greatest fixed point of y = (apreXYZ(x, y, z) and b) or (not b and apreXY(x, z)).
+	 */
+	private BitSet gfpAFG(BitSet b, BitSet x, BitSet z)
+	{
+		int n = csg.getNumStates();
+		BitSet y = new BitSet();
+		y.set(0, n);
+		BitSet ynew = new BitSet();
+		for (int s = 0; s < n; s++) {
+			ynew.set(s, b.get(s) ? apreXYZ(s, x, y, z) : apreXY(s, x, z));
+		}
+		y = ynew;
+		// Propagate removals backwards (only states in b depend on y)
+		int[] queue = new int[n];
+		int head = 0, tail = 0;
+		for (int s = y.nextClearBit(0); s < n; s = y.nextClearBit(s + 1)) {
+			queue[tail++] = s;
+		}
+		while (head < tail) {
+			int t = queue[head++];
+			for (int s : pre.getPre(t)) {
+				if (y.get(s) && b.get(s) && !apreXYZ(s, x, y, z)) {
+					y.clear(s);
+					queue[tail++] = s;
+				}
+			}
+		}
+		return y;
+	}
+
+	/**
+	 * Globally b.
+	 */
+	public BitSet G(BitSet b)
+	{
+		int n = csg.getNumStates();
+		BitSet all = new BitSet();
+		all.set(0, n);
+		BitSet x = new BitSet();
+		for (int s = b.nextSetBit(0); s >= 0 && s < n; s = b.nextSetBit(s + 1)) {
+			x.set(s, pre1(s, all));
+		}
+		// Propagate removals backwards
+		int[] queue = new int[n];
+		int head = 0, tail = 0;
+		for (int s = x.nextClearBit(0); s < n; s = x.nextClearBit(s + 1)) {
+			queue[tail++] = s;
+		}
+		while (head < tail) {
+			int t = queue[head++];
+			for (int s : pre.getPre(t)) {
+				if (x.get(s) && !pre1(s, x)) {
+					x.clear(s);
+					queue[tail++] = s;
+				}
+			}
+		}
+		return x;
+	}
+}
@@ -0,0 +1,383 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.ExplicitModelImporter;
+import prism.JointAction;
+import prism.ModelType;
+import prism.PlayerInfo;
+import prism.PlayerInfoOwner;
+import prism.PrismException;
+
+/**
+ * Sparse matrix (non-mutable) explicit-state representation of a (multi-player) concurrent stochastic game (CSG).
+ * Transitions are stored as for {@link MDPSparse} and the player action indices of each choice
+ * are stored in a single int array (one entry per choice and player).
+ * The matrix game structure for a split of the players into two coalitions
+ * is precomputed (once per split) as a {@link CSGMatrixIndex}.
+ * The catch is that you have to create the model all in one go and then can't modify it.
+ */
+public class CSGSparse extends MDPSparse implements CSG<Double>
+{
+	/** List of all action labels (shared with the model this was copied from) */
+	protected List<Object> actions;
+
+	/** Player action indices for each choice: for choice j (as indexed in choiceStarts),
+	 * entries j*numPlayers...(j+1)*numPlayers-1 give the (1-indexed) index for the action
+	 * performed by each player, and -1 indicates that the player idles. */
+	protected int jointIndexes[];
+
+	/** Indices of actions owned by each player,
+	 * i.e., a BitSet of (1-indexed) action indices for each player. */
+	protected BitSet[] indexes;
+
+	/** Indices of the actions representing "idle" for each player. */
+	protected int[] idles;
+
+	/** Player information */
+	protected PlayerInfo playerInfo;
+
+	/** Matrix game indexing, for each coalition split built so far (keyed by the players in the first coalition) */
+	protected Map<BitSet, CSGMatrixIndex> matrixIndexes;
+
+	// Constructors
+
+	/**
+	 * Copy constructor (from CSGSimple).
+	 */
+	public CSGSparse(CSGSimple<Double> csg)
+	{
+		this(csg, false);
+	}
+
+	/**
+	 * Copy constructor (from CSGSimple). Optionally, transitions within choices
+	 * are sorted (by ascending order of column index).
+	 * Note: the lists of actions/idles are shared with {@code csg}.
+	 * @param csg The CSG to copy
+	 * @param sort Whether or not to sort column indices
+	 */
+	public CSGSparse(CSGSimple<Double> csg, boolean sort)
+	{
+		super(csg, sort);
+		copyIndexes(csg, null);
+	}
+
+	/**
+	 * Copy constructor (from CSGSimple). Optionally, transitions within choices
+	 * are sorted (by ascending order of column index). Also, optionally, a state
+	 * index permutation can be provided, i.e. old state index i becomes index permut[i].
+	 * Player and coalition info is also copied across.
+	 * Note: a states list, if present, will not be permuted and should be set
+	 * separately afterwards if required.
+	 * Note: the lists of actions/idles are shared with {@code csg}.
+	 * @param csg The CSG to copy
+	 * @param sort Whether or not to sort column indices
+	 * @param permut State space permutation
+	 */
+	public CSGSparse(CSGSimple<Double> csg, boolean sort, int permut[])
+	{
+		super(csg, sort, permut);
+		copyIndexes(csg, permut);
+	}
+
+	/**
+	 * Construct an empty CSG (e.g. for subsequent explicit import)
+	 */
+	public CSGSparse()
+	{
+		super();
+		playerInfo = new PlayerInfo();
+		matrixIndexes = new HashMap<>();
+	}
+
+	/**
+	 * Helper for copy constructors: copy player/action indexing info from {@code csg},
+	 * optionally applying the state permutation {@code permut}.
+	 */
+	private void copyIndexes(CSGSimple<Double> csg, int permut[])
+	{
+		playerInfo = new PlayerInfo(csg.getPlayerInfo());
+		actions = csg.getActions();
+		indexes = csg.getIndexes();
+		idles = csg.getIdles();
+		int numPlayers = getNumPlayers();
+		jointIndexes = new int[numDistrs * numPlayers];
+		for (int s = 0; s < numStates; s++) {
+			copyJointIndexes(csg, s, permut == null ? s : permut[s]);
+		}
+		matrixIndexes = new HashMap<>();
+	}
+
+	/**
+	 * Helper for copy constructors: copy the player action indices of state {@code sOld} of {@code csg}
+	 * into those of state {@code s} of this model (whose transitions must already be stored).
+	 */
+	private void copyJointIndexes(CSGSimple<Double> csg, int sOld, int s)
+	{
+		int numPlayers = getNumPlayers();
+		int n = csg.getNumChoices(sOld);
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(csg.getIndexes(sOld, i), 0, jointIndexes, (rowStarts[s] + i) * numPlayers, numPlayers);
+		}
+	}
+
+	// Mutators (other)
+
+	/**
+	 * Copy the player info from another model
+	 */
+	public void copyPlayerInfo(PlayerInfoOwner model)
+	{
+		playerInfo = new PlayerInfo(model.getPlayerInfo());
+	}
+
+	/**
+	 * Build from an explicit importer. Transitions are stored as for {@link MDPSparse},
+	 * with each choice labelled by a {@link JointAction}; the list of actions
+	 * (in order of first appearance) and the player action indices are then derived from these.
+	 */
+	@Override
+	public void buildFromExplicitImport(ExplicitModelImporter modelImporter) throws PrismException
+	{
+		super.buildFromExplicitImport(modelImporter);
+		playerInfo = new PlayerInfo();
+		playerInfo.setPlayerNames(modelImporter.getModelInfo().getPlayerNames());
+		int numPlayers = getNumPlayers();
+		actions = new ArrayList<>();
+		indexes = new BitSet[numPlayers];
+		for (int p = 0; p < numPlayers; p++) {
+			indexes[p] = new BitSet();
+		}
+		jointIndexes = new int[numDistrs * numPlayers];
+		for (int s = 0; s < numStates; s++) {
+			int n = getNumChoices(s);
+			for (int i = 0; i < n; i++) {
+				Object action = getAction(s, i);
+				if (!(action instanceof JointAction) || ((JointAction) action).size() != numPlayers) {
+					throw new PrismException("Missing or invalid joint action for choice " + i + " of state " + s);
+				}
+				JointAction jointAction = (JointAction) action;
+				for (int p = 0; p < numPlayers; p++) {
+					int a = -1;
+					if (jointAction.get(p) != JointAction.IDLE_ACTION) {
+						a = actions.indexOf(jointAction.get(p)) + 1;
+						if (a == 0) {
+							actions.add(jointAction.get(p));
+							a = actions.size();
+						}
+						indexes[p].set(a);
+					}
+					jointIndexes[(rowStarts[s] + i) * numPlayers + p] = a;
+				}
+			}
+		}
+		// Add idle actions (as for CSGSimple.addIdleIndexes())
+		idles = new int[numPlayers];
+		for (int p = 0; p < numPlayers; p++) {
+			actions.add("<" + p + ">");
+			idles[p] = actions.size();
+		}
+		matrixIndexes = new HashMap<>();
+	}
+
+	// Accessors (for Model)
+
+	@Override
+	public ModelType getModelType()
+	{
+		return ModelType.CSG;
+	}
+
+	@Override
+	public void checkForDeadlocks(BitSet except) throws PrismException
+	{
+		for (int i = 0; i < numStates; i++) {
+			if (getNumChoices(i) == 0 && (except == null || !except.get(i)))
+				throw new PrismException("Game has a deadlock in state " + i + (statesList == null ? "" : ": " + statesList.get(i)));
+		}
+	}
+
+	// Accessors (for PlayerInfoOwner)
+
+	@Override
+	public PlayerInfo getPlayerInfo()
+	{
+		return playerInfo;
+	}
+
+	// Accessors (for CSG)
+
+	@Override
+	public List<Object> getActions()
+	{
+		return actions;
+	}
+
+	@Override
+	public int[] getIndexes(int s, int i)
+	{
+		int numPlayers = getNumPlayers();
+		int j = (rowStarts[s] + i) * numPlayers;
+		return Arrays.copyOfRange(jointIndexes, j, j + numPlayers);
+	}
+
+	/**
+	 * Get the (1-indexed) index of the action performed by player {@code p}
+	 * in choice {@code i} of state {@code s}, or -1 if the player idles.
+	 * Unlike {@link #getIndexes(int, int)}, this does not create a new array.
+	 */
+	public int getIndex(int s, int i, int p)
+	{
+		return jointIndexes[(rowStarts[s] + i) * getNumPlayers() + p];
+	}
+
+	@Override
+	public BitSet getIndexesForPlayer(int s, int p)
+	{
+		BitSet result = new BitSet();
+		int n = getNumChoices(s);
+		for (int t = 0; t < n; t++) {
+			int a = getIndex(s, t, p);
+			if (a > 0)
+				result.set(a);
+			else
+				result.set(idles[p]);
+		}
+		return result;
+	}
+
+	@Override
+	public String[] getActions(int s, int i)
+	{
+		int numPlayers = getNumPlayers();
+		String[] result = new String[numPlayers];
+		for (int p = 0; p < numPlayers; p++) {
+			int a = getIndex(s, i, p);
+			result[p] = (a > 0) ? actions.get(a - 1).toString() : "<" + p + ">";
+		}
+		return result;
+	}
+
+	@Override
+	public BitSet[] getIndexes()
+	{
+		return indexes;
+	}
+
+	@Override
+	public int[] getIdles()
+	{
+		return idles;
+	}
+
+	@Override
+	public int getIdleForPlayer(int p)
+	{
+		return idles[p];
+	}
+
+	@Override
+	public BitSet getConcurrentPlayers(int s)
+	{
+		BitSet result = new BitSet();
+		int numPlayers = getNumPlayers();
+		int n = getNumChoices(s);
+		BitSet acc = new BitSet();
+		for (int p = 0; p < numPlayers; p++) {
+			// Check whether player p has at least 2 distinct (non-idle) actions
+			acc.clear();
+			for (int t = 0; t < n; t++) {
+				int a = getIndex(s, t, p);
+				if (a > 0)
+					acc.set(a);
+			}
+			if (acc.cardinality() >= 2)
+				result.set(p);
+		}
+		return result;
+	}
+
+	@Override
+	public Distribution<Double> getChoice(int s, int i)
+	{
+		Distribution<Double> distr = Distribution.ofDouble();
+		int j = rowStarts[s] + i;
+		for (int k = choiceStarts[j]; k < choiceStarts[j + 1]; k++) {
+			distr.add(cols[k], nonZeros[k]);
+		}
+		return distr;
+	}
+
+	// Accessors (other)
+
+	/**
+	 * Get the matrix game indexing for the split of the players into the two coalitions
+	 * {@code coalitionIndexes} (see {@link CSGMatrixIndex}). This is computed the first
+	 * time it is requested for a given split and then stored.
+	 * @param coalitionIndexes For each coalition, which players are in it
+	 * @param actionIndexes For each coalition, which actions (incl. idles) are used by players in it
+	 */
+	public CSGMatrixIndex getMatrixIndex(BitSet[] coalitionIndexes, BitSet[] actionIndexes)
+	{
+		CSGMatrixIndex matrixIndex = matrixIndexes.get(coalitionIndexes[0]);
+		if (matrixIndex == null || !matrixIndex.isFor(coalitionIndexes, actionIndexes)) {
+			matrixIndex = new CSGMatrixIndex(this, coalitionIndexes, actionIndexes);
+			matrixIndexes.put((BitSet) coalitionIndexes[0].clone(), matrixIndex);
+		}
+		return matrixIndex;
+	}
+
+	// Standard methods
+
+	@Override
+	public boolean equals(Object o)
+	{
+		if (o == null || !(o instanceof CSGSparse))
+			return false;
+		if (!super.equals(o))
+			return false;
+		CSGSparse csg = (CSGSparse) o;
+		if (!Utils.intArraysAreEqual(jointIndexes, csg.jointIndexes))
+			return false;
+		return true;
+	}
+	@Override
+	public int hashCode()
+	{
+		// consistent with equals (transition probabilities are not included)
+		int hash = numStates;
+		hash = 31 * hash + Arrays.hashCode(cols);
+		hash = 31 * hash + Arrays.hashCode(choiceStarts);
+		return 31 * hash + Arrays.hashCode(jointIndexes);
+	}
+}
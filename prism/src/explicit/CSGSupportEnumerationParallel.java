@@ -0,0 +1,239 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import explicit.CSGModelCheckerEquilibria.CSGResultStatus;
+import prism.Pair;
+import prism.PrismException;
+
+/**
+ * Support enumeration for (multi-player) normal form games, checking the candidate supports
+ * on a pool of threads, independently of the solver used to check each support.
+ * <br><br>
+ * Each thread gets its own solver context, created by a factory, since the solver
+ * contexts (e.g. Z3's) are not safe for concurrent use. Results are returned in the order
+ * of the supports, whatever the order in which they were computed, so the equilibrium
+ * subsequently selected from them does not depend on the scheduling.
+ * <br><br>
+ * Optionally, enumeration stops early once an equilibrium is found whose payoffs
+ * reach a given target (for social welfare, the best payoffs over joint actions of maximal sum),
+ * since then no later support can give a better equilibrium. For determinism, in this case,
+ * results are returned for exactly the supports up to the first one (in order) that reaches the target.
+ */
+public class CSGSupportEnumerationParallel implements AutoCloseable
+{
+	/** Solver contexts not currently in use */
+	private BlockingQueue<CSGSupportEnumeration> contexts;
+	/** All solver contexts */
+	private List<CSGSupportEnumeration> allContexts;
+	/** Thread pool (null if single-threaded) */
+	private ExecutorService pool;
+
+	/** Number of supports checked by the solver (over all calls) */
+	private long numChecked = 0;
+	/** Number of supports skipped due to early termination (over all calls) */
+	private long numSkipped = 0;
+
+	/**
+	 * Create a support enumeration engine using {@code numThreads} threads,
+	 * each with a solver context created by {@code factory} and initialised
+	 * with action indexes {@code indexes} and {@code numPlayers} players.
+	 */
+	public CSGSupportEnumerationParallel(int numThreads, Supplier<CSGSupportEnumeration> factory, ArrayList<ArrayList<Integer>> indexes, int numPlayers)
+	{
+		numThreads = Math.max(numThreads, 1);
+		contexts = new ArrayBlockingQueue<>(numThreads);
+		allContexts = new ArrayList<>(numThreads);
+		for (int i = 0; i < numThreads; i++) {
+			CSGSupportEnumeration context = factory.get();
+			context.setIndexes(indexes);
+			context.setNumPlayers(numPlayers);
+			context.init();
+			contexts.add(context);
+			allContexts.add(context);
+		}
+		if (numThreads > 1) {
+			pool = Executors.newFixedThreadPool(numThreads, r -> {
+				Thread thread = new Thread(r, "support-enumeration");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	/**
+	 * Get the number of threads used.
+	 */
+	public int getNumThreads()
+	{
+		return allContexts.size();
+	}
+
+	/**
+	 * Set the utility constraints for the current game, in every solver context.
+	 */
+	public void translateAssertions(HashMap<Integer, HashMap<Integer, ArrayList<Pair<BitSet, Double>>>> assertions, HashMap<Integer, int[]> map)
+	{
+		for (CSGSupportEnumeration context : allContexts) {
+			context.translateAssertions(assertions, map);
+		}
+	}
+
+	/**
+	 * Check each of the supports {@code supports} for the current game.
+	 * The result list has one entry for each support, in the same order;
+	 * entries are null for supports skipped because of early termination.
+	 * @param supports Candidate supports (joint-action indexes)
+	 * @param map Map from action indexes to (player, action) pairs
+	 * @param target Payoffs (one per player) which, if all reached by an equilibrium, prove it is optimal
+	 * (null if enumeration should not stop early)
+	 */
+	public List<EquilibriumResult> computeEquilibria(List<BitSet> supports, HashMap<Integer, int[]> map, double[] target) throws PrismException
+	{
+		int n = supports.size();
+		List<EquilibriumResult> results = new ArrayList<>(n);
+		if (pool == null) {
+			CSGSupportEnumeration context = allContexts.get(0);
+			for (int i = 0; i < n; i++) {
+				EquilibriumResult result = context.computeEquilibria(supports.get(i), map);
+				results.add(result);
+				numChecked++;
+				if (reachesTarget(result, target)) {
+					break;
+				}
+			}
+		} else {
+			// Lowest index of a support whose equilibrium reaches the target (n if none yet);
+			// supports after this need not be checked
+			AtomicInteger first = new AtomicInteger(n);
+			AtomicInteger checked = new AtomicInteger();
+			List<Future<EquilibriumResult>> futures = new ArrayList<>(n);
+			for (int i = 0; i < n; i++) {
+				final int index = i;
+				final BitSet supp = supports.get(i);
+				futures.add(pool.submit(() -> {
+					if (index > first.get()) {
+						return null;
+					}
+					CSGSupportEnumeration context = contexts.take();
+					try {
+						EquilibriumResult result = context.computeEquilibria(supp, map);
+						checked.incrementAndGet();
+						if (reachesTarget(result, target)) {
+							first.accumulateAndGet(index, Math::min);
+						}
+						return result;
+					} finally {
+						contexts.put(context);
+					}
+				}));
+			}
+			try {
+				for (Future<EquilibriumResult> future : futures) {
+					results.add(future.get());
+				}
+			} catch (InterruptedException e) {
+				futures.forEach(f -> f.cancel(true));
+				throw new PrismException("Support enumeration was interrupted");
+			} catch (ExecutionException e) {
+				futures.forEach(f -> f.cancel(true));
+				throw new PrismException("Error during support enumeration: " + e.getCause());
+			}
+			// Discard any results computed beyond the first support reaching the target,
+			// which depend on the scheduling
+			for (int i = first.get() + 1; i < n; i++) {
+				results.set(i, null);
+			}
+			numChecked += checked.get();
+		}
+		for (int i = results.size(); i < n; i++) {
+			results.add(null);
+		}
+		for (EquilibriumResult result : results) {
+			if (result == null) {
+				numSkipped++;
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Is {@code result} an equilibrium whose payoffs all reach {@code target}?
+	 */
+	private static boolean reachesTarget(EquilibriumResult result, double[] target)
+	{
+		if (target == null || result.getStatus() != CSGResultStatus.SAT) {
+			return false;
+		}
+		List<Double> payoffs = result.getPayoffVector();
+		for (int p = 0; p < target.length; p++) {
+			if (Double.compare(payoffs.get(p), target[p]) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get the number of supports checked by the solver so far.
+	 */
+	public long getNumChecked()
+	{
+		return numChecked;
+	}
+
+	/**
+	 * Get the number of supports skipped so far, due to early termination.
+	 */
+	public long getNumSkipped()
+	{
+		return numSkipped;
+	}
+
+	/**
+	 * Shut down the thread pool.
+	 */
+	@Override
+	public void close()
+	{
+		if (pool != null) {
+			pool.shutdownNow();
+			pool = null;
+		}
+	}
+}
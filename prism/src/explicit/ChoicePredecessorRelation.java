@@ -0,0 +1,166 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import prism.PrismComponent;
+
+/**
+ * A class for storing and accessing the predecessor relation of a nondeterministic model
+ * at the level of choices, i.e., for each state {@code t}, the choices (of any state)
+ * which have {@code t} as a successor.
+ * <p>
+ * Choices are identified by a single (global) index: the choices of state {@code s}
+ * are numbered consecutively from {@link #getFirstChoice(int)}.
+ * The relation is stored in compressed (sparse) form, so it can be traversed
+ * in time linear in the number of transitions, e.g. for attractor computations in games.
+ * <p>
+ * Note: Naturally, if the model changes, the relation has to be recomputed to remain accurate.
+ */
+public class ChoicePredecessorRelation
+{
+	/** Global index of the first choice of each state (size numStates+1) */
+	private int[] choiceStarts;
+	/** State for each choice (by global index) */
+	private int[] choiceStates;
+	/** Start of the predecessor choices of each state in {@code preChoices} (size numStates+1) */
+	private int[] preStarts;
+	/** Predecessor choices (global indices), grouped by successor state */
+	private int[] preChoices;
+
+	/**
+	 * Constructor. Computes the choice predecessor relation for the given model
+	 * by considering the successors of each choice.
+	 *
+	 * @param model the model
+	 */
+	public ChoicePredecessorRelation(NondetModel<?> model)
+	{
+		int n = model.getNumStates();
+		choiceStarts = new int[n + 1];
+		for (int s = 0; s < n; s++) {
+			choiceStarts[s + 1] = choiceStarts[s] + model.getNumChoices(s);
+		}
+		int numChoices = choiceStarts[n];
+		choiceStates = new int[numChoices];
+		// First pass: count predecessors of each state
+		preStarts = new int[n + 1];
+		for (int s = 0; s < n; s++) {
+			for (int i = 0, k = model.getNumChoices(s); i < k; i++) {
+				choiceStates[choiceStarts[s] + i] = s;
+				for (SuccessorsIterator it = model.getSuccessors(s, i); it.hasNext();) {
+					preStarts[it.nextInt() + 1]++;
+				}
+			}
+		}
+		for (int t = 0; t < n; t++) {
+			preStarts[t + 1] += preStarts[t];
+		}
+		// Second pass: fill in predecessors
+		preChoices = new int[preStarts[n]];
+		int[] next = new int[n];
+		System.arraycopy(preStarts, 0, next, 0, n);
+		for (int s = 0; s < n; s++) {
+			for (int i = 0, k = model.getNumChoices(s); i < k; i++) {
+				for (SuccessorsIterator it = model.getSuccessors(s, i); it.hasNext();) {
+					preChoices[next[it.nextInt()]++] = choiceStarts[s] + i;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the total number of choices.
+	 */
+	public int getNumChoices()
+	{
+		return choiceStates.length;
+	}
+
+	/**
+	 * Get the global index of the first choice of state {@code s}
+	 * (for convenience, {@code s} can also be the number of states,
+	 * giving the total number of choices).
+	 */
+	public int getFirstChoice(int s)
+	{
+		return choiceStarts[s];
+	}
+
+	/**
+	 * Get the state to which choice {@code j} (a global index) belongs.
+	 */
+	public int getState(int j)
+	{
+		return choiceStates[j];
+	}
+
+	/**
+	 * Get the start of the predecessor choices of state {@code t},
+	 * to be used (with {@link #getPreEnd(int)}) as the index range for {@link #getPreChoice(int)}.
+	 */
+	public int getPreStart(int t)
+	{
+		return preStarts[t];
+	}
+
+	/**
+	 * Get the end (exclusive) of the predecessor choices of state {@code t}.
+	 */
+	public int getPreEnd(int t)
+	{
+		return preStarts[t + 1];
+	}
+
+	/**
+	 * Get the predecessor choice (a global index) stored at position {@code k}.
+	 */
+	public int getPreChoice(int k)
+	{
+		return preChoices[k];
+	}
+
+	/**
+	 * Static constructor to compute the choice predecessor relation for the given model.
+	 * Logs diagnostic information to the log of the given PrismComponent.
+	 *
+	 * @param parent a PrismComponent (for obtaining the log)
+	 * @param model the model for which the relation should be computed
+	 * @returns the choice predecessor relation
+	 **/
+	public static ChoicePredecessorRelation forModel(PrismComponent parent, NondetModel<?> model)
+	{
+		long timer = System.currentTimeMillis();
+
+		parent.getLog().print("Calculating choice predecessor relation for " + model.getModelType().fullName() + "...  ");
+		parent.getLog().flush();
+
+		ChoicePredecessorRelation pre = new ChoicePredecessorRelation(model);
+
+		timer = System.currentTimeMillis() - timer;
+		parent.getLog().println("done (" + timer / 1000.0 + " seconds)");
+
+		return pre;
+	}
+}
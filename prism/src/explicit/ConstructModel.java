@@ -30,14 +30,22 @@ package explicit;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import common.Interval;
 import parser.State;
 import parser.Values;
 import parser.VarList;
+import prism.Evaluator;
 import prism.ModelGenerator;
 import prism.ModelType;
 import prism.PlayerInfoOwner;
@@ -47,6 +55,7 @@ import prism.PrismException;
 import prism.PrismLog;
 import prism.PrismNotSupportedException;
 import prism.PrismPrintStreamLog;
+import prism.PrismSettings;
 import prism.ProgressDisplay;
 import prism.UndefinedConstants;
 
@@ -66,12 +75,25 @@ public class ConstructModel extends PrismComponent
 	/** Sort the reachable states before constructing the model? */
 	protected boolean sortStates = true;
 	/** Build a sparse representation, if possible?
-	 *  (e.g. MDPSparse rather than MDPSimple data structure) */
+	 *  (e.g. MDPSparse rather than MDPSimple data structure;
+	 *  for DTMCs/MDPs, this is built directly during exploration, see {@link SparseModelBuilder}) */
 	protected boolean buildSparse = true;
 	/** Should actions be attached to distributions (and used to distinguish them)? */
 	protected boolean distinguishActions = true;
 	/** Should labels be processed and attached to the model? */
 	protected boolean attachLabels = true;
+	/** Store reachable states in packed form, if possible?
+	 *  (see {@link PackedStateStorage}) */
+	protected boolean packStates = true;
+	/** Number of threads to use for state space exploration
+	 *  (if more than 1, and possible, see {@link #exploreParallel}) */
+	protected int numThreads = 1;
+
+	/** Number of states per thread explored in each batch of parallel exploration (see {@link #exploreParallel}) */
+	private static final int PARALLEL_BATCH_SIZE = 1024;
+
+	/** Number of states explored as a single task in parallel exploration (see {@link #exploreParallel}) */
+	private static final int PARALLEL_CHUNK_SIZE = 64;
 
 	// Details of built model:
 
@@ -81,6 +103,9 @@ public class ConstructModel extends PrismComponent
 	public ConstructModel(PrismComponent parent) throws PrismException
 	{
 		super(parent);
+		if (settings != null) {
+			setNumThreads(settings.getInteger(PrismSettings.PRISM_NUM_THREADS));
+		}
 	}
 
 	/**
@@ -133,6 +158,26 @@ public class ConstructModel extends PrismComponent
 		this.attachLabels = attachLabels;
 	}
 
+	/**
+	 * Store reachable states in packed form, if possible?
+	 * (see {@link PackedStateStorage})
+	 */
+	public void setPackStates(boolean packStates)
+	{
+		this.packStates = packStates;
+	}
+
+	/**
+	 * Set the number of threads to use for state space exploration.
+	 * If more than 1, states are explored in parallel where possible, i.e.,
+	 * when the model generator can be copied (see {@link ModelGenerator#isCopySupported()}).
+	 * The model built is the same, regardless of the number of threads.
+	 */
+	public void setNumThreads(int numThreads)
+	{
+		this.numThreads = numThreads;
+	}
+
 	/**
 	 * Build the set of reachable states for a model and return it.
 	 * @param modelGen The ModelGenerator interface providing the model 
@@ -182,6 +227,10 @@ public class ConstructModel extends PrismComponent
 		IDTMCSimple<Value> idtmc = null;
 		IMDPSimple<Value> imdp = null;
 		LTSSimple<Value> lts = null;
+		// Sparse model storage (if built directly)
+		SparseModelBuilder sparseBuilder = null;
+		DTMCSparseBuilder dtmcSparse = null;
+		MDPSparseBuilder mdpSparse = null;
 		Distribution<Value> distr = null;
 		Distribution<Interval<Value>> distrUnc = null;
 		// Game info
@@ -227,7 +276,15 @@ public class ConstructModel extends PrismComponent
 		}
 		
 		// Create model storage
-		if (!justReach) {
+		boolean isDbl = modelGen.getEvaluator().one() instanceof Double;
+		if (!justReach && buildSparse && isDbl && (modelType == ModelType.DTMC || modelType == ModelType.MDP)) {
+			// Where possible, build the sparse model directly
+			if (modelType == ModelType.DTMC) {
+				sparseBuilder = dtmcSparse = new DTMCSparseBuilder();
+			} else {
+				sparseBuilder = mdpSparse = new MDPSparseBuilder();
+			}
+		} else if (!justReach) {
 			// Create a (simple, mutable) model of the appropriate type
 			switch (modelType) {
 			case DTMC:
@@ -282,24 +339,36 @@ public class ConstructModel extends PrismComponent
 		}
 
 		// Initialise states storage
-		states = new IndexedSet<State>(true);
+		// (if possible, states are packed, in which case the states still to explore
+		// are just those after src in 'states', so 'explore' is not needed)
+		boolean pack = packStates && !modelGen.containsUnboundedVariables() && !modelGen.getEvaluator().exact() && PackedStateStorage.canStore(varList);
+		states = pack ? new PackedStateStorage(varList) : new IndexedSet<State>(true);
 		explore = new LinkedList<State>();
 		// Add initial state(s) to 'explore', 'states' and to the model
 		for (State initState : modelGen.getInitialStates()) {
-			explore.add(initState);
+			if (!pack)
+				explore.add(initState);
 			states.add(initState);
-			if (!justReach) {
+			if (modelSimple != null) {
 				modelSimple.addState();
 				modelSimple.addInitialState(modelSimple.getNumStates() - 1);
+			} else if (sparseBuilder != null) {
+				sparseBuilder.addInitialState(states.size() - 1);
 			}
 		}
+		src = -1;
+		// Explore in parallel, if requested and possible
+		// (this does everything done by the loop below, just differently)
+		List<ModelGenerator<Value>> modelGenCopies = createModelGeneratorCopies(modelGen);
+		if (modelGenCopies != null) {
+			src = exploreParallel(modelGen, modelGenCopies, states, pack ? null : explore, modelSimple, sparseBuilder, justReach, progress) - 1;
+		}
 
 		// Explore...
-		src = -1;
-		while (!explore.isEmpty()) {
+		while (pack ? src + 1 < states.size() : !explore.isEmpty()) {
 			// Pick next state to explore
 			// (they are stored in order found so know index is src+1)
-			state = explore.removeFirst();
+			state = pack ? ((PackedStateStorage) states).getState(src + 1) : explore.removeFirst();
 			src++;
 			// Explore all choices/transitions from this state
 			modelGen.exploreState(state);
@@ -327,7 +396,7 @@ public class ConstructModel extends PrismComponent
 				// For nondet models, collect transitions in a Distribution
 				if (!justReach && modelType.nondeterministic()) {
 					if (!modelType.uncertain()) {
-						distr = new Distribution<>(modelGen.getEvaluator());
+						distr = Distribution.create(modelGen.getEvaluator());
 					} else {
 						distrUnc = new Distribution<>(modelGen.getIntervalEvaluator());
 					}
@@ -339,9 +408,10 @@ public class ConstructModel extends PrismComponent
 					// Is this a new state?
 					if (states.add(stateNew)) {
 						// If so, add to the explore list
-						explore.add(stateNew);
+						if (!pack)
+							explore.add(stateNew);
 						// And to model
-						if (!justReach) {
+						if (modelSimple != null) {
 							modelSimple.addState();
 						}
 					}
@@ -356,7 +426,11 @@ public class ConstructModel extends PrismComponent
 					if (!justReach) {
 						switch (modelType) {
 						case DTMC:
-							dtmc.addToProbability(src, dest, modelGen.getTransitionProbability(i, j), action);
+							if (dtmcSparse != null) {
+								dtmcSparse.addToProbability(src, dest, (Double) modelGen.getTransitionProbability(i, j), action);
+							} else {
+								dtmc.addToProbability(src, dest, modelGen.getTransitionProbability(i, j), action);
+							}
 							break;
 						case CTMC:
 							ctmc.addToProbability(src, dest, modelGen.getTransitionProbability(i, j), action);
@@ -392,7 +466,13 @@ public class ConstructModel extends PrismComponent
 				int ch = -1;
 				if (!justReach) {
 					if (modelType == ModelType.MDP) {
-						if (distinguishActions) {
+						if (mdpSparse != null) {
+							if (distinguishActions) {
+								mdpSparse.addActionLabelledChoice(src, (Distribution<Double>) distr, modelGen.getChoiceAction(i));
+							} else {
+								mdpSparse.addChoice(src, (Distribution<Double>) distr);
+							}
+						} else if (distinguishActions) {
 							mdp.addActionLabelledChoice(src, distr, modelGen.getChoiceAction(i));
 						} else {
 							mdp.addChoice(src, distr);
@@ -459,7 +539,8 @@ public class ConstructModel extends PrismComponent
 		//mainLog.println(states);
 		
 		// Find/fix deadlocks (if required)
-		if (!justReach && findDeadlocks) {
+		// (for sparse models built directly, this is done when the model is built)
+		if (modelSimple != null && findDeadlocks) {
 			if (modelType != ModelType.CSG) {
 				modelSimple.findDeadlocks(fixDeadlocks);
 			}
@@ -480,10 +561,10 @@ public class ConstructModel extends PrismComponent
 			// Sort states and convert set to list
 			mainLog.println("Sorting reachable states list...");
 			permut = states.buildSortingPermutation();
-			statesList = states.toPermutedArrayList(permut);
+			statesList = pack ? ((PackedStateStorage) states).toStatesList(permut) : states.toPermutedArrayList(permut);
 			//mainLog.println("Arrays.toString(permut));
 		} else {
-			statesList = states.toArrayList();
+			statesList = pack ? ((PackedStateStorage) states).toStatesList(null) : states.toArrayList();
 		}
 		states.clear();
 		states = null;
@@ -492,8 +573,17 @@ public class ConstructModel extends PrismComponent
 
 		// Construct new explicit-state model (with correct state ordering, if desired)
 		ModelExplicit<Value> model = null;
-		if (!justReach) {
-			boolean isDbl = modelSimple.getEvaluator().one() instanceof Double; 
+		if (sparseBuilder != null) {
+			if (dtmcSparse != null) {
+				model = (ModelExplicit<Value>) dtmcSparse.build(statesList.size(), permut, findDeadlocks, fixDeadlocks);
+			} else {
+				model = (ModelExplicit<Value>) mdpSparse.build(statesList.size(), permut, findDeadlocks, fixDeadlocks);
+			}
+			model.setEvaluator(modelGen.getEvaluator());
+			model.setVarList(varList);
+			model.setStatesList(statesList);
+			model.setConstantValues(new Values(modelGen.getConstantValues()));
+		} else if (!justReach) {
 			switch (modelType) {
 			case DTMC:
 				if (buildSparse && isDbl) {
@@ -519,13 +609,25 @@ public class ConstructModel extends PrismComponent
 				model = sortStates ? new CTMDPSimple<>(ctmdp, permut) : ctmdp;
 				break;
 			case CSG:
-				model = sortStates ? new CSGSimple<>(csg, permut) : csg;
+				if (buildSparse && isDbl) {
+					model = (ModelExplicit<Value>) (sortStates ? new CSGSparse((CSGSimple<Double>) csg, true, permut) : new CSGSparse((CSGSimple<Double>) csg));
+				} else {
+					model = sortStates ? new CSGSimple<>(csg, permut) : csg;
+				}
 				break;
 			case STPG:
-				model = sortStates ? new STPGSimple<>(stpg, permut) : stpg;
+				if (buildSparse && isDbl) {
+					model = (ModelExplicit<Value>) (sortStates ? new STPGSparse((STPGSimple<Double>) stpg, true, permut) : new STPGSparse((STPGSimple<Double>) stpg));
+				} else {
+					model = sortStates ? new STPGSimple<>(stpg, permut) : stpg;
+				}
 				break;
 			case SMG:
-				model = sortStates ? new SMGSimple<>(smg, permut) : smg;
+				if (buildSparse && isDbl && SMGSparse.canStorePlayers(playerNames.size())) {
+					model = (ModelExplicit<Value>) (sortStates ? new SMGSparse((SMGSimple<Double>) smg, true, permut) : new SMGSparse((SMGSimple<Double>) smg));
+				} else {
+					model = sortStates ? new SMGSimple<>(smg, permut) : smg;
+				}
 				break;
 			case IDTMC:
 				model = (ModelExplicit<Value>) (sortStates ? new IDTMCSimple<>(idtmc, permut) : idtmc);
@@ -557,6 +659,309 @@ public class ConstructModel extends PrismComponent
 		return model;
 	}
 
+	/**
+	 * If state space exploration should (and can) be done in parallel, create and return
+	 * one copy of the model generator {@code modelGen} for each thread; otherwise return null.
+	 * Parallel exploration is used if more than one thread was requested,
+	 * the model is of a supported type and uses doubles for probabilities,
+	 * and the model generator supports copying.
+	 */
+	private <Value> List<ModelGenerator<Value>> createModelGeneratorCopies(ModelGenerator<Value> modelGen) throws PrismException
+	{
+		if (numThreads <= 1) {
+			return null;
+		}
+		switch (modelGen.getModelType()) {
+		case DTMC:
+		case CTMC:
+		case MDP:
+		case LTS:
+		case STPG:
+		case SMG:
+		case CSG:
+			break;
+		default:
+			return null;
+		}
+		if (!(modelGen.getEvaluator().one() instanceof Double) || !modelGen.isCopySupported()) {
+			return null;
+		}
+		List<ModelGenerator<Value>> copies = new ArrayList<>(numThreads);
+		for (int i = 0; i < numThreads; i++) {
+			copies.add(modelGen.createCopy());
+		}
+		return copies;
+	}
+
+	/**
+	 * Information about the outgoing transitions of a state, as found during
+	 * parallel state space exploration (see {@link #exploreParallel}).
+	 */
+	private static class ExploredState
+	{
+		/** Player owning the state (turn-based games only) */
+		int player = -1;
+		/** Start of each choice in {@code targets} (size: num choices + 1) */
+		int choiceStarts[];
+		/** Target states of all transitions */
+		State targets[];
+		/** Probabilities/rates of all transitions (null if not needed) */
+		Object probs[];
+		/** Action of each choice (null if not needed) */
+		Object choiceActions[];
+		/** Action of each transition (null if not needed) */
+		Object transitionActions[];
+		/** Player action indices for each choice (CSGs only, else null) */
+		int choiceIndexes[][];
+	}
+
+	/**
+	 * Explore the reachable states of the model provided by {@code modelGen} using multiple threads,
+	 * one for each of the (independent) copies of the generator in {@code modelGenCopies}.
+	 * On entry, {@code states} contains the initial states, which have also been added to the model.
+	 * <br><br>
+	 * States are explored breadth-first, in batches of (up to) {@link #PARALLEL_BATCH_SIZE} states per thread:
+	 * the states in a batch are explored in parallel, in chunks of {@link #PARALLEL_CHUNK_SIZE} states,
+	 * each taken by the next free thread (so that the load is balanced across threads),
+	 * and then the results are merged sequentially, in order, adding any new states to {@code states}
+	 * (and {@code explore}, if non-null, i.e., if states are not packed), and adding transitions to
+	 * {@code modelSimple} or {@code sparseBuilder} (unless {@code justReach}).
+	 * So, states are numbered exactly as for the sequential exploration in
+	 * {@link #constructModel(ModelGenerator, boolean)}, and only the transitions
+	 * of the current batch are held in memory in addition to the usual state/model storage.
+	 * @return The number of reachable states
+	 */
+	private <Value> int exploreParallel(ModelGenerator<Value> modelGen, List<ModelGenerator<Value>> modelGenCopies, StateStorage<State> states, LinkedList<State> explore, ModelSimple<?> modelSimple, SparseModelBuilder sparseBuilder, boolean justReach, ProgressDisplay progress) throws PrismException
+	{
+		ModelType modelType = modelGen.getModelType();
+		int numThreads = modelGenCopies.size();
+		int batchSize = PARALLEL_BATCH_SIZE * numThreads;
+		List<State> batch = new ArrayList<>(batchSize);
+		BlockingQueue<ModelGenerator<Value>> freeGens = new ArrayBlockingQueue<>(numThreads, false, modelGenCopies);
+		ForkJoinPool pool = new ForkJoinPool(numThreads);
+		try {
+			int src = 0;
+			while (explore == null ? src < states.size() : !explore.isEmpty()) {
+				// Get next batch of states to explore
+				// (they are stored in order found so know indices are src, src+1, ...)
+				batch.clear();
+				while (batch.size() < batchSize && (explore == null ? src + batch.size() < states.size() : !explore.isEmpty())) {
+					batch.add(explore == null ? ((PackedStateStorage) states).getState(src + batch.size()) : explore.removeFirst());
+				}
+				// Explore them in parallel, in chunks taken by whichever thread is free
+				// (each chunk uses a generator copy not currently in use by another one)
+				ExploredState explored[] = new ExploredState[batch.size()];
+				List<Callable<Void>> tasks = new ArrayList<>((batch.size() + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE);
+				for (int lo = 0; lo < batch.size(); lo += PARALLEL_CHUNK_SIZE) {
+					int from = lo;
+					int to = Math.min(lo + PARALLEL_CHUNK_SIZE, batch.size());
+					tasks.add(() -> {
+						ModelGenerator<Value> gen = freeGens.take();
+						try {
+							for (int k = from; k < to; k++) {
+								explored[k] = exploreState(gen, batch.get(k), modelType, justReach);
+							}
+						} finally {
+							freeGens.put(gen);
+						}
+						return null;
+					});
+				}
+				for (Future<Void> future : pool.invokeAll(tasks)) {
+					try {
+						future.get();
+					} catch (ExecutionException e) {
+						Throwable cause = e.getCause();
+						if (cause instanceof PrismException) {
+							throw (PrismException) cause;
+						} else if (cause instanceof RuntimeException) {
+							throw (RuntimeException) cause;
+						} else if (cause instanceof Error) {
+							throw (Error) cause;
+						}
+						throw new PrismException("Error during parallel model construction: " + cause);
+					}
+				}
+				// Merge into state/model storage, in order
+				for (int k = 0; k < explored.length; k++, src++) {
+					addExploredState(src, explored[k], states, explore, modelType, modelGen.getEvaluator(), modelSimple, sparseBuilder, justReach);
+					explored[k] = null;
+				}
+				// Print some progress info occasionally
+				progress.updateIfReady(src);
+			}
+			return src;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PrismException("Interrupted during parallel model construction");
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Explore a state using model generator {@code modelGen}, for parallel exploration
+	 * (see {@link #exploreParallel}).
+	 */
+	private <Value> ExploredState exploreState(ModelGenerator<Value> modelGen, State state, ModelType modelType, boolean justReach) throws PrismException
+	{
+		ExploredState exp = new ExploredState();
+		modelGen.exploreState(state);
+		int nc = modelGen.getNumChoices();
+		if (!justReach && modelType.multiplePlayers() && !modelType.concurrent()) {
+			exp.player = modelGen.getPlayerOwningState();
+		}
+		exp.choiceStarts = new int[nc + 1];
+		for (int i = 0; i < nc; i++) {
+			exp.choiceStarts[i + 1] = exp.choiceStarts[i] + modelGen.getNumTransitions(i);
+		}
+		int numTransitions = exp.choiceStarts[nc];
+		exp.targets = new State[numTransitions];
+		if (!justReach) {
+			exp.probs = new Object[numTransitions];
+			if (distinguishActions) {
+				switch (modelType) {
+				case DTMC:
+				case CTMC:
+					exp.transitionActions = new Object[numTransitions];
+					break;
+				case MDP:
+				case LTS:
+				case STPG:
+				case SMG:
+					exp.choiceActions = new Object[nc];
+					break;
+				default:
+					break;
+				}
+			}
+			if (modelType == ModelType.CSG) {
+				exp.choiceIndexes = new int[nc][];
+			}
+		}
+		for (int i = 0; i < nc; i++) {
+			if (exp.choiceActions != null) {
+				// (for games, the action of the first transition, as in the sequential case)
+				exp.choiceActions[i] = modelType.multiplePlayers() ? modelGen.getTransitionAction(i, 0) : modelGen.getChoiceAction(i);
+			}
+			if (exp.choiceIndexes != null) {
+				exp.choiceIndexes[i] = modelGen.getTransitionIndexes(i);
+			}
+			for (int j = 0, k = exp.choiceStarts[i]; k < exp.choiceStarts[i + 1]; j++, k++) {
+				exp.targets[k] = modelGen.computeTransitionTarget(i, j);
+				if (!justReach) {
+					exp.probs[k] = modelGen.getTransitionProbability(i, j);
+					if (exp.transitionActions != null) {
+						exp.transitionActions[k] = modelGen.getTransitionAction(i, j);
+					}
+				}
+			}
+		}
+		return exp;
+	}
+
+	/**
+	 * Add the transitions of state {@code src}, explored in parallel (see {@link #exploreParallel}),
+	 * to {@code modelSimple} or {@code sparseBuilder} (unless {@code justReach}),
+	 * first adding any new target states to {@code states} (and {@code explore}, if non-null).
+	 */
+	@SuppressWarnings("unchecked")
+	private <Value> void addExploredState(int src, ExploredState exp, StateStorage<State> states, LinkedList<State> explore, ModelType modelType, Evaluator<Value> eval, ModelSimple<?> modelSimple, SparseModelBuilder sparseBuilder, boolean justReach) throws PrismException
+	{
+		// For turn-based games, store which player owns the state
+		if (!justReach) {
+			if (modelType == ModelType.STPG) {
+				((STPGSimple<Value>) modelSimple).setPlayer(src, exp.player);
+			} else if (modelType == ModelType.SMG) {
+				((SMGSimple<Value>) modelSimple).setPlayer(src, exp.player);
+			}
+		}
+		int nc = exp.choiceStarts.length - 1;
+		for (int i = 0; i < nc; i++) {
+			Distribution<Value> distr = null;
+			if (!justReach && modelType.nondeterministic()) {
+				distr = Distribution.create(eval);
+			}
+			for (int k = exp.choiceStarts[i]; k < exp.choiceStarts[i + 1]; k++) {
+				// Is this a new state?
+				if (states.add(exp.targets[k])) {
+					// If so, add to the explore list
+					if (explore != null)
+						explore.add(exp.targets[k]);
+					// And to model
+					if (modelSimple != null) {
+						modelSimple.addState();
+					}
+				}
+				// Get index of state in state set
+				int dest = states.getIndexOfLastAdd();
+				// Add transitions to model
+				if (!justReach) {
+					Value prob = (Value) exp.probs[k];
+					Object action = exp.transitionActions == null ? null : exp.transitionActions[k];
+					switch (modelType) {
+					case DTMC:
+						if (sparseBuilder != null) {
+							((DTMCSparseBuilder) sparseBuilder).addToProbability(src, dest, (Double) prob, action);
+						} else {
+							((DTMCSimple<Value>) modelSimple).addToProbability(src, dest, prob, action);
+						}
+						break;
+					case CTMC:
+						((CTMCSimple<Value>) modelSimple).addToProbability(src, dest, prob, action);
+						break;
+					case LTS:
+						if (distinguishActions) {
+							((LTSSimple<Value>) modelSimple).addActionLabelledTransition(src, dest, exp.choiceActions[i]);
+						} else {
+							((LTSSimple<Value>) modelSimple).addTransition(src, dest);
+						}
+						break;
+					default:
+						distr.add(dest, prob);
+					}
+				}
+			}
+			// For nondet models, add collated transition to model
+			if (!justReach) {
+				switch (modelType) {
+				case MDP:
+					if (sparseBuilder != null) {
+						if (distinguishActions) {
+							((MDPSparseBuilder) sparseBuilder).addActionLabelledChoice(src, (Distribution<Double>) distr, exp.choiceActions[i]);
+						} else {
+							((MDPSparseBuilder) sparseBuilder).addChoice(src, (Distribution<Double>) distr);
+						}
+					} else if (distinguishActions) {
+						((MDPSimple<Value>) modelSimple).addActionLabelledChoice(src, distr, exp.choiceActions[i]);
+					} else {
+						((MDPSimple<Value>) modelSimple).addChoice(src, distr);
+					}
+					break;
+				case STPG:
+					if (distinguishActions) {
+						((STPGSimple<Value>) modelSimple).addActionLabelledChoice(src, distr, exp.choiceActions[i]);
+					} else {
+						((STPGSimple<Value>) modelSimple).addChoice(src, distr);
+					}
+					break;
+				case SMG:
+					if (distinguishActions) {
+						((SMGSimple<Value>) modelSimple).addActionLabelledChoice(src, distr, exp.choiceActions[i]);
+					} else {
+						((SMGSimple<Value>) modelSimple).addChoice(src, distr);
+					}
+					break;
+				case CSG:
+					((CSGSimple<Value>) modelSimple).addActionLabelledChoice(src, distr, exp.choiceIndexes[i]);
+					break;
+				default:
+					break;
+				}
+			}
+		}
+	}
+
 	private <Value> void setStateObservation(ModelGenerator<Value> modelGen, POMDPSimple<Value> pomdp, int s, State state) throws PrismException
 	{
 		// Get observation for the current state
@@ -0,0 +1,406 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map.Entry;
+
+import explicit.rewards.MCRewards;
+import io.BinaryModelImporter;
+import io.ExplicitModelImporter;
+import prism.Pair;
+import prism.PrismException;
+
+/**
+ * Sparse matrix (non-mutable) explicit-state representation of a DTMC,
+ * like {@link DTMCSparse}, but whose storage is memory-mapped from a binary model file
+ * (see {@link BinaryModelImporter}), rather than held in Java arrays.
+ * This means that the model can be loaded almost instantly and need not fit on the Java heap.
+ */
+public class DTMCMapped extends DTMCExplicit<Double>
+{
+	// Sparse matrix storing transition function (mapped)
+	/** Indices into probabilities/columns giving the start of the transitions for each state;
+	 * buffer is of size numStates+1 and last entry is always equal to getNumTransitions() */
+	private IntBuffer rows;
+	/** Column (destination) indices for each transition (buffer of size numTransitions) */
+	private IntBuffer columns;
+	/** Probabilities for each transition (buffer of size numTransitions) */
+	private DoubleBuffer probabilities;
+	/** Optionally, action label indices for each transition (buffer of size numTransitions or null) */
+	private IntBuffer actionIndices;
+	/** Action labels, indexed by the entries of actionIndices */
+	private List<String> actionNames;
+
+	/**
+	 * Construct an empty DTMC (for subsequent import from a binary model file)
+	 */
+	public DTMCMapped()
+	{
+	}
+
+	//--- Model ---
+
+	@Override
+	public List<Object> findActionsUsed()
+	{
+		if (actionIndices == null) {
+			return Collections.singletonList(null);
+		} else {
+			LinkedHashSet<Object> allActions = new LinkedHashSet<>();
+			int n = actionIndices.limit();
+			for (int i = 0; i < n; i++) {
+				allActions.add(getActionByIndex(i));
+			}
+			return new ArrayList<>(allActions);
+		}
+	}
+
+	@Override
+	public boolean onlyNullActionUsed()
+	{
+		return actionIndices == null;
+	}
+
+	@Override
+	public int getNumTransitions()
+	{
+		return rows.get(numStates);
+	}
+
+	@Override
+	public int getNumTransitions(int state)
+	{
+		return rows.get(state + 1) - rows.get(state);
+	}
+
+	@Override
+	public SuccessorsIterator getSuccessors(int state)
+	{
+		// We assume here that all the successor states for a given state are distinct
+		return new SuccessorsIterator()
+		{
+			int cur = rows.get(state);
+			final int end = rows.get(state + 1);
+
+			@Override
+			public boolean successorsAreDistinct()
+			{
+				return true;
+			}
+
+			@Override
+			public boolean hasNext()
+			{
+				return cur < end;
+			}
+
+			@Override
+			public int nextInt()
+			{
+				return columns.get(cur++);
+			}
+		};
+	}
+
+	@Override
+	public boolean isSuccessor(final int s1, final int s2)
+	{
+		for (int i = rows.get(s1), stop = rows.get(s1 + 1); i < stop; i++) {
+			if (columns.get(i) == s2) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean allSuccessorsInSet(final int state, final BitSet set)
+	{
+		for (int i = rows.get(state), stop = rows.get(state + 1); i < stop; i++) {
+			if (!set.get(columns.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean someSuccessorsInSet(final int state, final BitSet set)
+	{
+		for (int i = rows.get(state), stop = rows.get(state + 1); i < stop; i++) {
+			if (set.get(columns.get(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void findDeadlocks(boolean fix) throws PrismException
+	{
+		for (int state = 0; state < numStates; state++) {
+			if (rows.get(state) == rows.get(state + 1)) {
+				if (fix) {
+					throw new PrismException("Can't fix deadlocks in a DTMCMapped since it cannot be modified after construction");
+				}
+				deadlocks.add(state);
+			}
+		}
+	}
+
+	@Override
+	public void checkForDeadlocks(BitSet except) throws PrismException
+	{
+		for (int state = 0; state < numStates; state++) {
+			if (rows.get(state) == rows.get(state + 1) && (except == null || !except.get(state)))
+				throw new PrismException("DTMC has a deadlock in state " + state);
+		}
+	}
+
+	//--- ModelExplicit ---
+
+	@Override
+	public void buildFromExplicitImport(ExplicitModelImporter modelImporter) throws PrismException
+	{
+		if (!(modelImporter instanceof BinaryModelImporter)) {
+			throw new PrismException("DTMCMapped can only be built from a binary model file");
+		}
+		BinaryModelImporter binImporter = (BinaryModelImporter) modelImporter;
+		initialise(binImporter.getNumStates());
+		rows = binImporter.mapRowStarts();
+		columns = binImporter.mapCols();
+		probabilities = binImporter.mapNonZeros();
+		actionIndices = binImporter.mapActions();
+		actionNames = binImporter.getActionNames();
+		actionList.markNeedsRecomputing();
+	}
+
+	/**
+	 * Get the action label for the transition with index {@code i}.
+	 */
+	private Object getActionByIndex(int i)
+	{
+		if (actionIndices == null) {
+			return null;
+		}
+		int a = actionIndices.get(i);
+		return a < 0 ? null : actionNames.get(a);
+	}
+
+	//--- DTMC ---
+
+	@Override
+	public void forEachTransition(int state, TransitionConsumer<Double> consumer)
+	{
+		for (int col = rows.get(state), stop = rows.get(state + 1); col < stop; col++) {
+			consumer.accept(state, columns.get(col), probabilities.get(col));
+		}
+	}
+
+	@Override
+	public void forEachDoubleTransition(int state, DoubleTransitionConsumer consumer)
+	{
+		for (int col = rows.get(state), stop = rows.get(state + 1); col < stop; col++) {
+			consumer.accept(state, columns.get(col), probabilities.get(col));
+		}
+	}
+
+	@Override
+	public Iterator<Entry<Integer, Double>> getTransitionsIterator(final int state)
+	{
+		return new Iterator<Entry<Integer, Double>>()
+		{
+			int col = rows.get(state);
+			final int end = rows.get(state + 1);
+
+			@Override
+			public boolean hasNext()
+			{
+				return col < end;
+			}
+
+			@Override
+			public Entry<Integer, Double> next()
+			{
+				assert (col < end);
+				final int index = col;
+				col++;
+				return new AbstractMap.SimpleImmutableEntry<>(columns.get(index), probabilities.get(index));
+			}
+		};
+	}
+
+	@Override
+	public Iterator<Entry<Integer, Pair<Double, Object>>> getTransitionsAndActionsIterator(int state)
+	{
+		return new Iterator<Entry<Integer, Pair<Double, Object>>>()
+		{
+			int col = rows.get(state);
+			final int end = rows.get(state + 1);
+
+			@Override
+			public boolean hasNext()
+			{
+				return col < end;
+			}
+
+			@Override
+			public Entry<Integer, Pair<Double, Object>> next()
+			{
+				assert (col < end);
+				final int index = col;
+				col++;
+				Pair<Double, Object> probAction = new Pair<>(probabilities.get(index), getActionByIndex(index));
+				return new AbstractMap.SimpleImmutableEntry<>(columns.get(index), probAction);
+			}
+		};
+	}
+
+	@Override
+	public Iterator<Object> getActionsIterator(int s)
+	{
+		return new Iterator<>()
+		{
+			int col = rows.get(s);
+			final int end = rows.get(s + 1);
+
+			@Override
+			public boolean hasNext()
+			{
+				return col < end;
+			}
+
+			@Override
+			public Object next()
+			{
+				return getActionByIndex(col++);
+			}
+		};
+	}
+
+	@Override
+	public boolean prob0step(final int s, final BitSet u)
+	{
+		for (int i = rows.get(s), stop = rows.get(s + 1); i < stop; i++) {
+			if (u.get(columns.get(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean prob1step(final int s, final BitSet u, final BitSet v)
+	{
+		boolean hasTransitionToV = false;
+		for (int i = rows.get(s), stop = rows.get(s + 1); i < stop; i++) {
+			final int successor = columns.get(i);
+			if (!u.get(successor)) {
+				// early abort, as overall result is false
+				return false;
+			}
+			hasTransitionToV = hasTransitionToV || v.get(successor);
+		}
+		return hasTransitionToV;
+	}
+
+	@Override
+	public double mvMultSingle(final int state, final double[] vect)
+	{
+		double d = 0.0;
+		for (int i = rows.get(state), stop = rows.get(state + 1); i < stop; i++) {
+			d += probabilities.get(i) * vect[columns.get(i)];
+		}
+		return d;
+	}
+
+	@Override
+	public double mvMultJacSingle(final int state, final double[] vect)
+	{
+		double diag = 1.0;
+		double d = 0.0;
+		for (int i = rows.get(state), stop = rows.get(state + 1); i < stop; i++) {
+			final int target = columns.get(i);
+			final double probability = probabilities.get(i);
+			if (target != state) {
+				d += probability * vect[target];
+			} else {
+				diag -= probability;
+			}
+		}
+		if (diag > 0) {
+			d /= diag;
+		}
+		return d;
+	}
+
+	@Override
+	public double mvMultRewSingle(final int state, final double[] vect, final MCRewards<Double> mcRewards)
+	{
+		double d = mcRewards.getStateReward(state);
+		for (int i = rows.get(state), stop = rows.get(state + 1); i < stop; i++) {
+			d += probabilities.get(i) * vect[columns.get(i)];
+		}
+		return d;
+	}
+
+	@Override
+	public void vmMult(final double[] vect, final double[] result)
+	{
+		// Initialise result to 0
+		Arrays.fill(result, 0);
+		// Go through matrix elements (by row)
+		for (int state = 0; state < numStates; state++) {
+			for (int i = rows.get(state), stop = rows.get(state + 1); i < stop; i++) {
+				result[columns.get(i)] += probabilities.get(i) * vect[state];
+			}
+		}
+	}
+
+	//--- Object ---
+
+	@Override
+	public String toString()
+	{
+		StringBuilder s = new StringBuilder("trans: [ ");
+		for (int state = 0; state < numStates; state++) {
+			if (state > 0) {
+				s.append(", ");
+			}
+			s.append(state + ": " + new Distribution<>(getTransitionsIterator(state), getEvaluator()));
+		}
+		return s.append(" ]").toString();
+	}
+}
@@ -164,6 +164,21 @@ public class DTMCSparse extends DTMCExplicit<Double>
 		}
 	}
 
+	/**
+	 * Construct a DTMC, with {@code numStates} states, directly from its sparse matrix storage
+	 * (see {@link #rows}, {@link #columns}, {@link #probabilities} and {@link #actions}),
+	 * e.g. as built by {@link DTMCSparseBuilder}. The arrays are stored, not copied.
+	 * Initial states, deadlocks etc. should be added separately afterwards.
+	 */
+	public DTMCSparse(int numStates, int rows[], int columns[], double probabilities[], Object actions[])
+	{
+		initialise(numStates);
+		this.rows = rows;
+		this.columns = columns;
+		this.probabilities = probabilities;
+		this.actions = actions;
+	}
+
 	/**
 	 * Construct an empty DTMC (e.g. for subsequent explicit import)
 	 */
@@ -0,0 +1,198 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.Arrays;
+
+/**
+ * Incremental construction of a {@link DTMCSparse} (see {@link SparseModelBuilder}).
+ * Transitions must be added in (non-decreasing) order of source state.
+ * The resulting model is the same as first building a {@link DTMCSimple}
+ * (with {@link DTMCSimple#addToProbability(int, int, Object, Object)}) and then copying it.
+ */
+public class DTMCSparseBuilder extends SparseModelBuilder
+{
+	/** Start of the transitions for each state added so far (first numRows entries used) */
+	private int rows[];
+	/** Number of states for which transitions have been added so far (incl. states with none in between) */
+	private int numRows;
+	/** Column (destination) indices for each transition */
+	private int columns[];
+	/** Probabilities for each transition */
+	private double probabilities[];
+	/** Action labels for each transition (null until a non-null action is added) */
+	private Object actions[];
+	/** Number of transitions added so far */
+	private int numTransitions;
+
+	/**
+	 * Create a new builder (for an empty DTMC).
+	 */
+	public DTMCSparseBuilder()
+	{
+		rows = new int[INITIAL_CAPACITY];
+		columns = new int[INITIAL_CAPACITY];
+		probabilities = new double[INITIAL_CAPACITY];
+		numRows = numTransitions = 0;
+	}
+
+	/**
+	 * Add to the probability for a transition from state {@code s} to state {@code t}, labelled with {@code action}.
+	 * If such a transition (with the same action) exists already, the probabilities are summed.
+	 * The source state {@code s} cannot be less than that of any transition previously added.
+	 */
+	public void addToProbability(int s, int t, double prob, Object action)
+	{
+		if (prob == 0.0) {
+			return;
+		}
+		startRow(s);
+		// Check for existing transition
+		for (int k = rows[s]; k < numTransitions; k++) {
+			if (columns[k] == t && actionMatches(k, action)) {
+				probabilities[k] += prob;
+				return;
+			}
+		}
+		// No existing transition
+		if (numTransitions == columns.length) {
+			int capacity = newCapacity(columns.length, numTransitions + 1);
+			columns = Arrays.copyOf(columns, capacity);
+			probabilities = Arrays.copyOf(probabilities, capacity);
+			if (actions != null) {
+				actions = Arrays.copyOf(actions, capacity);
+			}
+		}
+		columns[numTransitions] = t;
+		probabilities[numTransitions] = prob;
+		if (action != null) {
+			if (actions == null) {
+				actions = new Object[columns.length];
+			}
+			actions[numTransitions] = action;
+		}
+		numTransitions++;
+	}
+
+	/**
+	 * Make sure that rows (possibly empty) have been started for all states up to {@code s}.
+	 */
+	private void startRow(int s)
+	{
+		if (s < numRows - 1) {
+			throw new IllegalArgumentException("Transitions must be added in order of source state (" + s + " after " + (numRows - 1) + ")");
+		}
+		if (s >= rows.length - 1) {
+			rows = Arrays.copyOf(rows, newCapacity(rows.length, s + 2));
+		}
+		while (numRows <= s) {
+			rows[numRows++] = numTransitions;
+		}
+	}
+
+	/**
+	 * Does transition {@code k} have action {@code action}?
+	 */
+	private boolean actionMatches(int k, Object action)
+	{
+		Object kAction = actions == null ? null : actions[k];
+		return kAction == null ? (action == null) : kAction.equals(action);
+	}
+
+	/**
+	 * Build the DTMC, with {@code numStates} states. Optionally, a state index permutation
+	 * can be provided, i.e. state index i becomes index permut[i].
+	 * Deadlock states (those with no transitions) are also found, if {@code findDeadlocks} is true,
+	 * and fixed (with a self-loop) if {@code fixDeadlocks} is true, as for {@link DTMCSimple#findDeadlocks(boolean)}.
+	 * The storage of this builder is discarded afterwards.
+	 * @param numStates Number of states
+	 * @param permut State space permutation (or null)
+	 * @param findDeadlocks Whether to find deadlock states
+	 * @param fixDeadlocks Whether to fix deadlock states
+	 */
+	public DTMCSparse build(int numStates, int permut[], boolean findDeadlocks, boolean fixDeadlocks)
+	{
+		if (numStates < numRows) {
+			throw new IllegalArgumentException("Transitions added for " + numRows + " states, not " + numStates);
+		}
+		if (numStates > 0) {
+			startRow(numStates - 1);
+		}
+		rows[numStates] = numTransitions;
+		int permutInv[] = inversePermutation(permut);
+		// Count deadlocks
+		boolean fix = findDeadlocks && fixDeadlocks;
+		int numNewTransitions = numTransitions;
+		if (fix) {
+			for (int s = 0; s < numStates; s++) {
+				if (rows[s] == rows[s + 1]) {
+					numNewTransitions++;
+				}
+			}
+		}
+		// Copy transitions, in (permuted) state order, adding self-loops to deadlocks if needed
+		int newRows[] = new int[numStates + 1];
+		int newColumns[] = new int[numNewTransitions];
+		double newProbabilities[] = new double[numNewTransitions];
+		Object newActions[] = actions == null ? null : new Object[numNewTransitions];
+		int k = 0;
+		for (int s = 0; s < numStates; s++) {
+			newRows[s] = k;
+			int sOld = permutInv == null ? s : permutInv[s];
+			int start = rows[sOld], end = rows[sOld + 1];
+			for (int l = start; l < end; l++) {
+				newColumns[k] = permut == null ? columns[l] : permut[columns[l]];
+				newProbabilities[k] = probabilities[l];
+				if (actions != null) {
+					newActions[k] = actions[l];
+				}
+				k++;
+			}
+			if (fix && start == end) {
+				newColumns[k] = s;
+				newProbabilities[k] = 1.0;
+				k++;
+			}
+		}
+		newRows[numStates] = k;
+		// Create model
+		DTMCSparse dtmc = new DTMCSparse(numStates, newRows, newColumns, newProbabilities, newActions);
+		for (int s : initialStates) {
+			dtmc.addInitialState(permut == null ? s : permut[s]);
+		}
+		if (findDeadlocks) {
+			for (int s = 0; s < numStates; s++) {
+				if (rows[s] == rows[s + 1]) {
+					dtmc.addDeadlockState(permut == null ? s : permut[s]);
+				}
+			}
+		}
+		// Discard storage
+		rows = columns = null;
+		probabilities = null;
+		actions = null;
+		return dtmc;
+	}
+}
@@ -73,9 +73,20 @@ public class Distribution<Value> implements FunctionalIterable<Entry<Integer, Va
 	 * (with an Evaluator to match the type parameter Value)
 	 */
 	public Distribution(Evaluator<Value> eval)
+	{
+		this(eval, new HashMap<>());
+	}
+
+	/**
+	 * Create an empty distribution, using the given map to store it
+	 * (with an Evaluator to match the type parameter Value).
+	 * Subclasses that store the distribution differently can pass null for the map,
+	 * in which case they must override all methods that access it.
+	 */
+	protected Distribution(Evaluator<Value> eval, HashMap<Integer, Value> map)
 	{
 		this.eval = eval;
-		this.map = new HashMap<>();
+		this.map = map;
 	}
 
 	/**
@@ -114,13 +125,28 @@ public class Distribution<Value> implements FunctionalIterable<Entry<Integer, Va
 		distr.forEach(t -> add(permut[t.getKey()], t.getValue()));
 	}
 
+	/**
+	 * Construct an empty distribution
+	 * (with an Evaluator to match the type parameter Value).
+	 * If the Evaluator is {@link Evaluator#forDouble()}, a {@link DistributionDouble}
+	 * is created, which stores probabilities more compactly.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <Value> Distribution<Value> create(Evaluator<Value> eval)
+	{
+		if (eval == (Object) Evaluator.forDouble()) {
+			return (Distribution<Value>) new DistributionDouble();
+		}
+		return new Distribution<>(eval);
+	}
+
 	/**
 	 * Construct an empty distribution
 	 * assuming an Evaluator of type Double.
 	 */
 	public static Distribution<Double> ofDouble()
 	{
-		return new Distribution<>(Evaluator.forDouble());
+		return new DistributionDouble();
 	}
 
 	/**
@@ -129,7 +155,7 @@ public class Distribution<Value> implements FunctionalIterable<Entry<Integer, Va
 	 */
 	public static Distribution<Double> ofDouble(Iterator<Entry<Integer, Double>> transitions)
 	{
-		return new Distribution<Double>(transitions, Evaluator.forDouble());
+		return new DistributionDouble(transitions);
 	}
 
 	/**
@@ -296,6 +322,14 @@ public class Distribution<Value> implements FunctionalIterable<Entry<Integer, Va
 		return new Distribution<Value>(this, map);
 	}
 
+	/**
+	 * Create a copy of this distribution (stored in the same way as this one).
+	 */
+	public Distribution<Value> copy()
+	{
+		return new Distribution<Value>(this);
+	}
+
 	/**
 	 * Get an Evaluator for the probability values stored in this distribution.
 	 * This is need, for example, to compute probability sums, check for equality to 0/1, etc.
@@ -313,15 +347,15 @@ public class Distribution<Value> implements FunctionalIterable<Entry<Integer, Va
 			return false;
 		}
 		// Check elements of distribution using evaluator equals method
-		HashMap<Integer,Value> oMap = ((Distribution<Value>) o).map;
-		if (map.size() != oMap.size()) {
+		// (accessing the other distribution via its methods, since it may be stored differently)
+		Distribution<Value> oDistr = (Distribution<Value>) o;
+		if (size() != oDistr.size()) {
 			return false;
 		}
-		for (Map.Entry<Integer,Value> entry : map.entrySet()) {
-			Integer key = entry.getKey();
+		for (Map.Entry<Integer,Value> entry : this) {
+			int key = entry.getKey();
 			Value value = entry.getValue(); // We assume nothing maps to null
-			Value oValue = oMap.get(key);
-			if (oValue == null || !getEvaluator().equals(value, oValue)) {
+			if (!oDistr.contains(key) || !getEvaluator().equals(value, oDistr.get(key))) {
 				return false;
 			}
 		}
@@ -0,0 +1,425 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import common.iterable.FunctionalIterator;
+import common.iterable.Reducible;
+import prism.Evaluator;
+import prism.PrismUtils;
+
+/**
+ * Explicit representation of a probability distribution, with probabilities stored as doubles.
+ * Rather than a {@code HashMap<Integer, Double>}, as in {@link Distribution},
+ * this uses a pair of primitive arrays, storing the indices of the support
+ * in ascending order and their probabilities. Entries are iterated over in that order.
+ * Instances are normally created with {@link Distribution#ofDouble()}
+ * or {@link Distribution#create(Evaluator)}.
+ */
+public class DistributionDouble extends Distribution<Double>
+{
+	/** Initial storage size */
+	private static final int INITIAL_CAPACITY = 2;
+
+	/** Indices in the support of the distribution (in ascending order, first {@code size} entries used) */
+	protected int indices[];
+	/** Probabilities, one for each entry of {@code indices} */
+	protected double probs[];
+	/** Size of the support of the distribution */
+	protected int size;
+
+	/**
+	 * Create an empty distribution.
+	 */
+	public DistributionDouble()
+	{
+		super(Evaluator.forDouble(), null);
+		indices = new int[INITIAL_CAPACITY];
+		probs = new double[INITIAL_CAPACITY];
+		size = 0;
+	}
+
+	/**
+	 * Construct a distribution from an iterator over transitions.
+	 */
+	public DistributionDouble(Iterator<Entry<Integer, Double>> transitions)
+	{
+		this();
+		// use #add to ensure probabilities sum up for any duplicated indices
+		transitions.forEachRemaining(t -> add(t.getKey(), t.getValue()));
+	}
+
+	/**
+	 * Copy constructor.
+	 */
+	public DistributionDouble(Distribution<Double> distr)
+	{
+		super(Evaluator.forDouble(), null);
+		int n = distr.size();
+		indices = new int[Math.max(n, 1)];
+		probs = new double[Math.max(n, 1)];
+		if (distr instanceof DistributionDouble) {
+			DistributionDouble dd = (DistributionDouble) distr;
+			System.arraycopy(dd.indices, 0, indices, 0, n);
+			System.arraycopy(dd.probs, 0, probs, 0, n);
+			size = n;
+		} else {
+			distr.forEach(t -> add(t.getKey(), t.getValue()));
+		}
+	}
+
+	/**
+	 * Construct a distribution from an existing one and an index permutation,
+	 * i.e. in which index i becomes index permut[i].
+	 */
+	public DistributionDouble(Distribution<Double> distr, int permut[])
+	{
+		super(Evaluator.forDouble(), null);
+		int n = distr.size();
+		indices = new int[Math.max(n, 1)];
+		probs = new double[Math.max(n, 1)];
+		// use #add to ensure probabilities sum up for each index
+		if (distr instanceof DistributionDouble) {
+			DistributionDouble dd = (DistributionDouble) distr;
+			for (int k = 0; k < n; k++) {
+				addProbability(permut[dd.indices[k]], dd.probs[k]);
+			}
+		} else {
+			distr.forEach(t -> add(permut[t.getKey()], t.getValue()));
+		}
+	}
+
+	/**
+	 * Find the position of index {@code j} in {@code indices},
+	 * or, if not present, {@code -(insertion point) - 1}.
+	 */
+	private int find(int j)
+	{
+		// Fast path for (the common case of) adding indices in ascending order
+		if (size == 0 || indices[size - 1] < j) {
+			return -size - 1;
+		}
+		return Arrays.binarySearch(indices, 0, size, j);
+	}
+
+	/**
+	 * Insert index {@code j} with probability {@code prob} at position {@code k}.
+	 */
+	private void insert(int k, int j, double prob)
+	{
+		if (size == indices.length) {
+			int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+			indices = Arrays.copyOf(indices, capacity);
+			probs = Arrays.copyOf(probs, capacity);
+		}
+		System.arraycopy(indices, k, indices, k + 1, size - k);
+		System.arraycopy(probs, k, probs, k + 1, size - k);
+		indices[k] = j;
+		probs[k] = prob;
+		size++;
+	}
+
+	/**
+	 * Remove the entry at position {@code k}.
+	 */
+	private void removeAt(int k)
+	{
+		System.arraycopy(indices, k + 1, indices, k, size - k - 1);
+		System.arraycopy(probs, k + 1, probs, k, size - k - 1);
+		size--;
+	}
+
+	@Override
+	public void clear()
+	{
+		size = 0;
+	}
+
+	@Override
+	public boolean add(int j, Double prob)
+	{
+		return addProbability(j, prob.doubleValue());
+	}
+
+	/**
+	 * Add non-negative {@code prob} to the probability for index {@code j}.
+	 * Return boolean {@code true} if no new transition is created,
+	 * i.e., {@code false} indicates a new transition with prob > 0.
+	 *
+	 * @return {@code true} iff p(j) != 0 || prob == 0
+	 */
+	public boolean addProbability(int j, double prob)
+	{
+		if (prob == 0.0) {
+			return true;
+		}
+		int k = find(j);
+		if (k >= 0) {
+			probs[k] += prob;
+			return true;
+		}
+		insert(-k - 1, j, prob);
+		return false;
+	}
+
+	@Override
+	public void set(int j, Double prob)
+	{
+		setProbability(j, prob.doubleValue());
+	}
+
+	/**
+	 * Set the probability for index {@code j} to {@code prob}.
+	 */
+	public void setProbability(int j, double prob)
+	{
+		int k = find(j);
+		if (prob == 0.0) {
+			if (k >= 0) {
+				removeAt(k);
+			}
+		} else if (k >= 0) {
+			probs[k] = prob;
+		} else {
+			insert(-k - 1, j, prob);
+		}
+	}
+
+	@Override
+	public Double get(int j)
+	{
+		return getProbability(j);
+	}
+
+	/**
+	 * Get the probability for index {@code j}.
+	 */
+	public double getProbability(int j)
+	{
+		int k = find(j);
+		return k >= 0 ? probs[k] : 0.0;
+	}
+
+	@Override
+	public boolean contains(int j)
+	{
+		return find(j) >= 0;
+	}
+
+	@Override
+	public boolean isSubsetOf(BitSet set)
+	{
+		for (int k = 0; k < size; k++) {
+			if (!set.get(indices[k])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean containsOneOf(BitSet set)
+	{
+		for (int k = 0; k < size; k++) {
+			if (set.get(indices[k])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Set<Integer> getSupport()
+	{
+		return new AbstractSet<Integer>()
+		{
+			@Override
+			public Iterator<Integer> iterator()
+			{
+				return new Iterator<Integer>()
+				{
+					private int k = 0;
+
+					@Override
+					public boolean hasNext()
+					{
+						return k < size;
+					}
+
+					@Override
+					public Integer next()
+					{
+						if (k >= size) {
+							throw new NoSuchElementException();
+						}
+						return indices[k++];
+					}
+				};
+			}
+
+			@Override
+			public boolean contains(Object o)
+			{
+				return o instanceof Integer && DistributionDouble.this.contains((Integer) o);
+			}
+
+			@Override
+			public int size()
+			{
+				return size;
+			}
+		};
+	}
+
+	@Override
+	public FunctionalIterator<Entry<Integer, Double>> iterator()
+	{
+		return Reducible.extend(new Iterator<Entry<Integer, Double>>()
+		{
+			private int k = 0;
+			private boolean canRemove = false;
+
+			@Override
+			public boolean hasNext()
+			{
+				return k < size;
+			}
+
+			@Override
+			public Entry<Integer, Double> next()
+			{
+				if (k >= size) {
+					throw new NoSuchElementException();
+				}
+				canRemove = true;
+				k++;
+				return new AbstractMap.SimpleImmutableEntry<>(indices[k - 1], probs[k - 1]);
+			}
+
+			@Override
+			public void remove()
+			{
+				if (!canRemove) {
+					throw new IllegalStateException();
+				}
+				removeAt(--k);
+				canRemove = false;
+			}
+		});
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	@Override
+	public int size()
+	{
+		return size;
+	}
+
+	@Override
+	public Double sum()
+	{
+		double sum = 0.0;
+		for (int k = 0; k < size; k++) {
+			sum += probs[k];
+		}
+		return sum;
+	}
+
+	@Override
+	public Double sumAllBut(int j)
+	{
+		double sum = 0.0;
+		for (int k = 0; k < size; k++) {
+			if (indices[k] != j) {
+				sum += probs[k];
+			}
+		}
+		return sum;
+	}
+
+	@Override
+	public DistributionDouble map(int map[])
+	{
+		return new DistributionDouble(this, map);
+	}
+
+	@Override
+	public DistributionDouble copy()
+	{
+		return new DistributionDouble(this);
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		if (!(o instanceof DistributionDouble)) {
+			return super.equals(o);
+		}
+		DistributionDouble dd = (DistributionDouble) o;
+		if (size != dd.size) {
+			return false;
+		}
+		for (int k = 0; k < size; k++) {
+			// We allow round-off error here (as for Evaluator.forDouble())
+			if (indices[k] != dd.indices[k] || !PrismUtils.doublesAreEqual(probs[k], dd.probs[k])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		// Simple hash code (as for Distribution)
+		return size;
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder("{");
+		for (int k = 0; k < size; k++) {
+			if (k > 0) {
+				sb.append(", ");
+			}
+			sb.append(indices[k]).append('=').append(probs[k]);
+		}
+		return sb.append('}').toString();
+	}
+}
@@ -32,10 +32,12 @@ import java.util.BitSet;
 import java.util.List;
 
 import common.Interval;
+import io.BinaryModelImporter;
 import io.ExplicitModelImporter;
 import parser.State;
 import prism.Evaluator;
 import prism.ModelInfo;
+import prism.ModelType;
 import prism.PrismComponent;
 import prism.PrismException;
 import prism.PrismNotSupportedException;
@@ -99,9 +101,11 @@ public class ExplicitFiles2Model extends PrismComponent
 		ModelExplicit<Value> model = null;
 		ModelInfo modelInfo = modelImporter.getModelInfo();
 		boolean isDbl = eval.one() instanceof Double;
+		// Binary model files can (usually) be used in place, via memory mapping
+		boolean mapped = isDbl && modelImporter instanceof BinaryModelImporter && ((BinaryModelImporter) modelImporter).canMapModel();
 		switch (modelInfo.getModelType()) {
 		case DTMC:
-			DTMC<Value> dtmc = isDbl ? (DTMC<Value>) new DTMCSparse() : new DTMCSimple<>();
+			DTMC<Value> dtmc = mapped ? (DTMC<Value>) new DTMCMapped() : isDbl ? (DTMC<Value>) new DTMCSparse() : new DTMCSimple<>();
 			model = (ModelExplicit<Value>) dtmc;
 			break;
 		case CTMC:
@@ -109,7 +113,7 @@ public class ExplicitFiles2Model extends PrismComponent
 			model = ctmc;
 			break;
 		case MDP:
-			MDP<Value> mdp = isDbl ? (MDP<Value>) new MDPSparse() : new MDPSimple<>();
+			MDP<Value> mdp = mapped ? (MDP<Value>) new MDPMapped() : isDbl ? (MDP<Value>) new MDPSparse() : new MDPSimple<>();
 			model = (ModelExplicit<Value>) mdp;
 			break;
 		case IDTMC:
@@ -124,10 +128,23 @@ public class ExplicitFiles2Model extends PrismComponent
 			LTS<Value> lts = new LTSSimple<>();
 			model = (ModelExplicit<Value>) lts;
 			break;
-		case CTMDP:
-		case PTA:
 		case SMG:
 		case STPG:
+		case CSG:
+			// Games are imported directly into sparse storage, so only for doubles
+			if (!isDbl) {
+				throw new PrismNotSupportedException("Currently, importing " + modelInfo.getModelType() + " is only supported for floating-point values");
+			}
+			if (modelInfo.getModelType() == ModelType.SMG) {
+				model = (ModelExplicit<Value>) (mapped ? new SMGMapped() : new SMGSparse());
+			} else if (modelInfo.getModelType() == ModelType.STPG) {
+				model = (ModelExplicit<Value>) (mapped ? new STPGMapped() : new STPGSparse());
+			} else {
+				model = (ModelExplicit<Value>) new CSGSparse();
+			}
+			break;
+		case CTMDP:
+		case PTA:
 			throw new PrismNotSupportedException("Currently, importing " + modelInfo.getModelType() + " is not supported");
 		}
 		if (model == null) {
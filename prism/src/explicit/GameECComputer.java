@@ -0,0 +1,234 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Lightweight computation of maximal end components (MECs) of a nondeterministic model
+ * (in particular, of a turn-based game), restricted to a subset of its states and,
+ * optionally, to a subset of the choices in each state.
+ * <br><br>
+ * This is intended for repeated use during iterative methods (e.g. end component
+ * deflation in interval iteration for games), so, unlike {@link ECComputerDefault},
+ * it works directly on the model, without building sub-models, and uses an
+ * iterative (non-recursive) SCC computation.
+ */
+public class GameECComputer
+{
+	/**
+	 * Filter for the choices that may be used within an end component.
+	 */
+	@FunctionalInterface
+	public interface ChoiceFilter
+	{
+		/**
+		 * Can choice {@code i} of state {@code s} be used?
+		 */
+		public boolean allowed(int s, int i);
+	}
+
+	/** The model */
+	private NondetModel<?> model;
+	/** The choices that may be used */
+	private ChoiceFilter filter;
+	/** Scratch storage: map from model states to local indices (-1 if not present) */
+	private int localIndex[];
+
+	/**
+	 * Compute the maximal end components of {@code model} that are contained in {@code states}
+	 * and only use choices allowed by {@code filter}.
+	 * @param model The model
+	 * @param states The states to which end components are restricted
+	 * @param filter The choices that may be used within end components
+	 * @return A list of the MECs, each represented as a BitSet
+	 */
+	public static List<BitSet> computeMECs(NondetModel<?> model, BitSet states, ChoiceFilter filter)
+	{
+		return new GameECComputer(model, filter).computeMECs(states);
+	}
+
+	private GameECComputer(NondetModel<?> model, ChoiceFilter filter)
+	{
+		this.model = model;
+		this.filter = filter;
+		localIndex = new int[model.getNumStates()];
+		Arrays.fill(localIndex, -1);
+	}
+
+	private List<BitSet> computeMECs(BitSet states)
+	{
+		List<BitSet> mecs = new ArrayList<>();
+		Deque<BitSet> candidates = new ArrayDeque<>();
+		candidates.push((BitSet) states.clone());
+		while (!candidates.isEmpty()) {
+			BitSet candidate = candidates.pop();
+			// Remove states that cannot remain in the candidate set
+			prune(candidate);
+			if (candidate.isEmpty()) {
+				continue;
+			}
+			// Split into SCCs (of the graph using remaining choices);
+			// if the candidate is a single SCC, it is an MEC
+			List<BitSet> sccs = computeSCCs(candidate);
+			if (sccs.size() == 1) {
+				mecs.add(candidate);
+			} else {
+				for (BitSet scc : sccs) {
+					candidates.push(scc);
+				}
+			}
+		}
+		return mecs;
+	}
+
+	/**
+	 * Does state {@code s} have an allowed choice that stays within {@code set}?
+	 */
+	private boolean hasChoiceInSet(int s, BitSet set)
+	{
+		for (int i = 0, numChoices = model.getNumChoices(s); i < numChoices; i++) {
+			if (filter.allowed(s, i) && model.allSuccessorsInSet(s, i, set)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Repeatedly remove from {@code set} any states with no allowed choice staying within it.
+	 */
+	private void prune(BitSet set)
+	{
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int s = set.nextSetBit(0); s >= 0; s = set.nextSetBit(s + 1)) {
+				if (!hasChoiceInSet(s, set)) {
+					set.clear(s);
+					changed = true;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Compute the SCCs of the graph over the states in {@code set} (which should already be pruned),
+	 * with edges given by the allowed choices staying within {@code set}.
+	 * Uses an iterative version of Tarjan's algorithm.
+	 */
+	private List<BitSet> computeSCCs(BitSet set)
+	{
+		// Build adjacency lists (in compressed form) over local state indices
+		int m = set.cardinality();
+		int states[] = new int[m];
+		int k = 0;
+		for (int s = set.nextSetBit(0); s >= 0; s = set.nextSetBit(s + 1)) {
+			localIndex[s] = k;
+			states[k++] = s;
+		}
+		int edgeStarts[] = new int[m + 1];
+		int edges[] = new int[Math.max(m, 16)];
+		int numEdges = 0;
+		for (int v = 0; v < m; v++) {
+			int s = states[v];
+			edgeStarts[v] = numEdges;
+			for (int i = 0, numChoices = model.getNumChoices(s); i < numChoices; i++) {
+				if (filter.allowed(s, i) && model.allSuccessorsInSet(s, i, set)) {
+					for (SuccessorsIterator it = model.getSuccessors(s, i); it.hasNext();) {
+						if (numEdges == edges.length) {
+							edges = Arrays.copyOf(edges, 2 * edges.length);
+						}
+						edges[numEdges++] = localIndex[it.nextInt()];
+					}
+				}
+			}
+		}
+		edgeStarts[m] = numEdges;
+
+		// Tarjan's algorithm, with an explicit call stack
+		List<BitSet> sccs = new ArrayList<>();
+		int index[] = new int[m];
+		int lowlink[] = new int[m];
+		int edgePos[] = new int[m];
+		boolean onStack[] = new boolean[m];
+		int stack[] = new int[m];
+		int callStack[] = new int[m];
+		int stackSize = 0, callStackSize = 0, nextIndex = 0;
+		Arrays.fill(index, -1);
+		for (int root = 0; root < m; root++) {
+			if (index[root] != -1) {
+				continue;
+			}
+			index[root] = lowlink[root] = nextIndex++;
+			edgePos[root] = edgeStarts[root];
+			stack[stackSize++] = root;
+			onStack[root] = true;
+			callStack[callStackSize++] = root;
+			while (callStackSize > 0) {
+				int v = callStack[callStackSize - 1];
+				if (edgePos[v] < edgeStarts[v + 1]) {
+					int w = edges[edgePos[v]++];
+					if (index[w] == -1) {
+						index[w] = lowlink[w] = nextIndex++;
+						edgePos[w] = edgeStarts[w];
+						stack[stackSize++] = w;
+						onStack[w] = true;
+						callStack[callStackSize++] = w;
+					} else if (onStack[w]) {
+						lowlink[v] = Math.min(lowlink[v], index[w]);
+					}
+				} else {
+					callStackSize--;
+					if (callStackSize > 0) {
+						int u = callStack[callStackSize - 1];
+						lowlink[u] = Math.min(lowlink[u], lowlink[v]);
+					}
+					if (lowlink[v] == index[v]) {
+						BitSet scc = new BitSet();
+						int w;
+						do {
+							w = stack[--stackSize];
+							onStack[w] = false;
+							scc.set(states[w]);
+						} while (w != v);
+						sccs.add(scc);
+					}
+				}
+			}
+		}
+
+		// Reset scratch storage
+		for (int v = 0; v < m; v++) {
+			localIndex[states[v]] = -1;
+		}
+		return sccs;
+	}
+}
@@ -34,6 +34,7 @@ import common.IntSet;
 import common.PeriodicTimer;
 import explicit.rewards.MCRewards;
 import explicit.rewards.MDPRewards;
+import explicit.rewards.STPGRewards;
 import prism.AccuracyFactory;
 import prism.OptionsIntervalIteration;
 import prism.PrismException;
@@ -398,6 +399,29 @@ public abstract class IterationMethod {
 	 */
 	public abstract IterationIntervalIter forMvMultRewMinMaxInterval(MDP<Double> mdp, MDPRewards<Double> rewards, boolean min, int[] strat, boolean fromBelow, boolean enforceMonotonicity, boolean checkMonotonicity) throws PrismException;
 
+	// ------------ Abstract SMG methods ----------------------------
+
+	/**
+	 * Obtain an Iteration object using mvMultMinMax (matrix-vector multiplication, followed by min/max)
+	 * in a (turn-based) game, where min/max depends on the player owning each state.
+	 * @param smg the SMG
+	 * @param min1 do min for player 1?
+	 * @param min2 do min for player 2?
+	 * @param strat optional, storage for strategy, ignored if null
+	 */
+	public abstract IterationValIter forMvMultMinMax(SMG<Double> smg, boolean min1, boolean min2, int[] strat) throws PrismException;
+
+	/**
+	 * Obtain an Iteration object using mvMultRewMinMax (matrix-vector multiplication with rewards, followed by min/max)
+	 * in a (turn-based) game, where min/max depends on the player owning each state.
+	 * @param smg the SMG
+	 * @param rewards the reward structure
+	 * @param min1 do min for player 1?
+	 * @param min2 do min for player 2?
+	 * @param strat optional, storage for strategy, ignored if null
+	 */
+	public abstract IterationValIter forMvMultRewMinMax(SMG<Double> smg, STPGRewards<Double> rewards, boolean min1, boolean min2, int[] strat) throws PrismException;
+
 	// ------------ Abstract IDTMC/MDP methods ----------------------------
 
 	/**
@@ -29,6 +29,7 @@ package explicit;
 import common.IntSet;
 import explicit.rewards.MCRewards;
 import explicit.rewards.MDPRewards;
+import explicit.rewards.STPGRewards;
 import prism.PrismException;
 
 /**
@@ -206,6 +207,49 @@ public class IterationMethodGS extends IterationMethod {
 		};
 	}
 
+	@Override
+	public IterationValIter forMvMultMinMax(SMG<Double> smg, boolean min1, boolean min2, int[] strat)
+	{
+		return new SingleVectorIterationValIter(smg) {
+			@Override
+			public boolean iterateAndCheckConvergence(IntSet states)
+			{
+				// Matrix-vector multiply
+				error = smg.mvMultGSMinMax(soln,
+				                           min1,
+				                           min2,
+				                           backwards ? states.reversedIterator() : states.iterator(),
+				                           absolute,
+				                           strat);
+
+				// Check termination
+				return (error < termCritParam);
+			}
+		};
+	}
+
+	@Override
+	public IterationValIter forMvMultRewMinMax(SMG<Double> smg, STPGRewards<Double> rewards, boolean min1, boolean min2, int[] strat)
+	{
+		return new SingleVectorIterationValIter(smg) {
+			@Override
+			public boolean iterateAndCheckConvergence(IntSet states)
+			{
+				// Matrix-vector multiply
+				error = smg.mvMultRewGSMinMax(soln,
+				                              rewards,
+				                              min1,
+				                              min2,
+				                              backwards ? states.reversedIterator() : states.iterator(),
+				                              absolute,
+				                              strat);
+
+				// Check termination
+				return (error < termCritParam);
+			}
+		};
+	}
+
 	@Override
 	public IterationValIter forMvMultMinMaxUnc(IDTMC<Double> idtmc, MinMax minMax)
 	{
@@ -29,6 +29,7 @@ package explicit;
 import common.IntSet;
 import explicit.rewards.MCRewards;
 import explicit.rewards.MDPRewards;
+import explicit.rewards.STPGRewards;
 import prism.PrismException;
 import prism.PrismNotSupportedException;
 
@@ -129,6 +130,18 @@ class IterationMethodJacobi extends IterationMethod {
 		throw new PrismNotSupportedException("Jacobi not supported for MDPs");
 	}
 
+	@Override
+	public IterationValIter forMvMultMinMax(SMG<Double> smg, boolean min1, boolean min2, int[] strat) throws PrismException
+	{
+		throw new PrismNotSupportedException("Jacobi not supported for SMGs");
+	}
+
+	@Override
+	public IterationValIter forMvMultRewMinMax(SMG<Double> smg, STPGRewards<Double> rewards, boolean min1, boolean min2, int[] strat) throws PrismException
+	{
+		throw new PrismNotSupportedException("Jacobi not supported for SMGs");
+	}
+
 	@Override
 	public IterationValIter forMvMultMinMaxUnc(IDTMC<Double> idtmc, MinMax minMax) throws PrismException
 	{
@@ -29,6 +29,7 @@ package explicit;
 import common.IntSet;
 import explicit.rewards.MCRewards;
 import explicit.rewards.MDPRewards;
+import explicit.rewards.STPGRewards;
 import prism.PrismException;
 
 /**
@@ -166,6 +167,30 @@ public class IterationMethodPower extends IterationMethod {
 		};
 	}
 
+	@Override
+	public IterationValIter forMvMultMinMax(SMG<Double> smg, boolean min1, boolean min2, int[] strat)
+	{
+		return new TwoVectorIteration(smg, null) {
+			@Override
+			public void doIterate(IntSet states)
+			{
+				smg.mvMultMinMax(soln, min1, min2, soln2, states.iterator(), strat);
+			}
+		};
+	}
+
+	@Override
+	public IterationValIter forMvMultRewMinMax(SMG<Double> smg, STPGRewards<Double> rewards, boolean min1, boolean min2, int[] strat)
+	{
+		return new TwoVectorIteration(smg, null) {
+			@Override
+			public void doIterate(IntSet states)
+			{
+				smg.mvMultRewMinMax(soln, rewards, min1, min2, soln2, states.iterator(), strat);
+			}
+		};
+	}
+
 	@Override
 	public IterationValIter forMvMultMinMaxUnc(IDTMC<Double> idtmc, MinMax minMax)
 	{
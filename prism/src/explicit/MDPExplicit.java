@@ -34,6 +34,33 @@ import strat.MDStrategy;
  */
 public abstract class MDPExplicit<Value> extends ModelExplicit<Value> implements MDP<Value>
 {
+	/** (Optionally) the stored choice predecessor relation. Becomes inaccurate after the model is changed! */
+	protected ChoicePredecessorRelation choicePredecessorRelation = null;
+
+	// Accessors (for NondetModel)
+
+	@Override
+	public ChoicePredecessorRelation getChoicePredecessorRelation(prism.PrismComponent parent, boolean storeIfNew)
+	{
+		if (choicePredecessorRelation != null) {
+			return choicePredecessorRelation;
+		}
+
+		ChoicePredecessorRelation pre = ChoicePredecessorRelation.forModel(parent, this);
+
+		if (storeIfNew) {
+			choicePredecessorRelation = pre;
+		}
+		return pre;
+	}
+
+	@Override
+	public void clearPredecessorRelation()
+	{
+		super.clearPredecessorRelation();
+		choicePredecessorRelation = null;
+	}
+
 	// Accessors (for MDP)
 
 	@Override
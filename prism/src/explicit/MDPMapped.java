@@ -0,0 +1,591 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map.Entry;
+
+import common.IterableStateSet;
+import explicit.rewards.MDPRewards;
+import io.BinaryModelImporter;
+import io.ExplicitModelImporter;
+import prism.PrismException;
+import prism.PrismUtils;
+
+/**
+ * Sparse matrix (non-mutable) explicit-state representation of an MDP,
+ * like {@link MDPSparse}, but whose storage is memory-mapped from a binary model file
+ * (see {@link BinaryModelImporter}), rather than held in Java arrays.
+ * This means that the model can be loaded almost instantly and need not fit on the Java heap.
+ */
+public class MDPMapped extends MDPExplicit<Double>
+{
+	// Sparse matrix storing transition function (mapped), as for MDPSparse
+	/** Probabilities for each transition (buffer of size numTransitions) */
+	protected DoubleBuffer nonZeros;
+	/** Column (destination) indices for each transition (buffer of size numTransitions) */
+	protected IntBuffer cols;
+	/** Indices into nonZeros/cols giving the start of the transitions for each choice (distribution);
+	 * buffer is of size numDistrs+1 and last entry is always equal to numTransitions */
+	protected IntBuffer choiceStarts;
+	/** Indices into choiceStarts giving the start of the choices for each state;
+	 * buffer is of size numStates+1 and last entry is always equal to numDistrs */
+	protected IntBuffer rowStarts;
+	/** Optionally, action label indices for each choice (buffer of size numDistrs or null) */
+	protected IntBuffer actionIndices;
+	/** Action labels, indexed by the entries of actionIndices */
+	protected List<String> actionNames;
+
+	// Other statistics
+	protected int numDistrs;
+	protected int numTransitions;
+	protected int maxNumDistrs;
+
+	/**
+	 * Construct an empty MDP (for subsequent import from a binary model file)
+	 */
+	public MDPMapped()
+	{
+	}
+
+	// Mutators (other)
+
+	@Override
+	public void initialise(int numStates)
+	{
+		super.initialise(numStates);
+		numDistrs = numTransitions = maxNumDistrs = 0;
+		actionIndices = null;
+	}
+
+	@Override
+	public void buildFromExplicitImport(ExplicitModelImporter modelImporter) throws PrismException
+	{
+		if (!(modelImporter instanceof BinaryModelImporter)) {
+			throw new PrismException(getClass().getSimpleName() + " can only be built from a binary model file");
+		}
+		BinaryModelImporter binImporter = (BinaryModelImporter) modelImporter;
+		initialise(binImporter.getNumStates());
+		rowStarts = binImporter.mapRowStarts();
+		choiceStarts = binImporter.mapChoiceStarts();
+		cols = binImporter.mapCols();
+		nonZeros = binImporter.mapNonZeros();
+		actionIndices = binImporter.mapActions();
+		actionNames = binImporter.getActionNames();
+		numDistrs = rowStarts.get(numStates);
+		numTransitions = choiceStarts.get(numDistrs);
+		actionList.markNeedsRecomputing();
+		// Compute maxNumDistrs
+		maxNumDistrs = 0;
+		for (int s = 0; s < numStates; s++) {
+			maxNumDistrs = Math.max(maxNumDistrs, getNumChoices(s));
+		}
+	}
+
+	// Accessors (for Model)
+
+	@Override
+	public List<Object> findActionsUsed()
+	{
+		if (actionIndices == null) {
+			return Collections.singletonList(null);
+		} else {
+			LinkedHashSet<Object> allActions = new LinkedHashSet<>();
+			for (int j = 0; j < numDistrs; j++) {
+				allActions.add(getActionByIndex(j));
+			}
+			return new ArrayList<>(allActions);
+		}
+	}
+
+	@Override
+	public boolean onlyNullActionUsed()
+	{
+		return actionIndices == null;
+	}
+
+	@Override
+	public int getNumTransitions()
+	{
+		return numTransitions;
+	}
+
+	@Override
+	public int getNumTransitions(int s)
+	{
+		return choiceStarts.get(rowStarts.get(s + 1)) - choiceStarts.get(rowStarts.get(s));
+	}
+
+	private SuccessorsIterator colsIterator(int start, int end, boolean distinct)
+	{
+		return new SuccessorsIterator() {
+			int cur = start;
+
+			@Override
+			public boolean successorsAreDistinct()
+			{
+				return distinct;
+			}
+
+			@Override
+			public boolean hasNext()
+			{
+				return cur < end;
+			}
+
+			@Override
+			public int nextInt()
+			{
+				return cols.get(cur++);
+			}
+		};
+	}
+
+	@Override
+	public SuccessorsIterator getSuccessors(final int s)
+	{
+		// Assumes that only non-zero entries are stored
+		int start = choiceStarts.get(rowStarts.get(s));
+		int end = choiceStarts.get(rowStarts.get(s + 1));
+		// we can guarantee that the successors are distinct if there is at most one successor...
+		boolean distinct = (start == end || start + 1 == end);
+		return colsIterator(start, end, distinct);
+	}
+
+	@Override
+	public void findDeadlocks(boolean fix) throws PrismException
+	{
+		for (int i = 0; i < numStates; i++) {
+			// Note that no distributions is a deadlock, not an empty distribution
+			if (getNumChoices(i) == 0) {
+				addDeadlockState(i);
+				if (fix) {
+					throw new PrismException("Can't fix deadlocks in an " + getClass().getSimpleName() + " since it cannot be modified after construction");
+				}
+			}
+		}
+	}
+
+	@Override
+	public void checkForDeadlocks(BitSet except) throws PrismException
+	{
+		for (int i = 0; i < numStates; i++) {
+			if (getNumChoices(i) == 0 && (except == null || !except.get(i)))
+				throw new PrismException("MDP has a deadlock in state " + i);
+		}
+	}
+
+	// Accessors (for NondetModel)
+
+	@Override
+	public int getNumChoices(int s)
+	{
+		return rowStarts.get(s + 1) - rowStarts.get(s);
+	}
+
+	@Override
+	public int getMaxNumChoices()
+	{
+		return maxNumDistrs;
+	}
+
+	@Override
+	public int getNumChoices()
+	{
+		return numDistrs;
+	}
+
+	@Override
+	public Object getAction(int s, int i)
+	{
+		return i < 0 ? null : getActionByIndex(rowStarts.get(s) + i);
+	}
+
+	/**
+	 * Get the action label for the choice with (global) index {@code j}.
+	 */
+	private Object getActionByIndex(int j)
+	{
+		if (actionIndices == null) {
+			return null;
+		}
+		int a = actionIndices.get(j);
+		return a < 0 ? null : actionNames.get(a);
+	}
+
+	@Override
+	public SuccessorsIterator getSuccessors(final int s, final int i)
+	{
+		int j = rowStarts.get(s) + i;
+		// we assume here that the successors for a single choice are distinct
+		return colsIterator(choiceStarts.get(j), choiceStarts.get(j + 1), true);
+	}
+
+	// Accessors (for MDP)
+
+	@Override
+	public int getNumTransitions(int s, int i)
+	{
+		int j = rowStarts.get(s) + i;
+		return choiceStarts.get(j + 1) - choiceStarts.get(j);
+	}
+
+	@Override
+	public void forEachTransition(int s, int i, TransitionConsumer<Double> c)
+	{
+		int j = rowStarts.get(s) + i;
+		for (int col = choiceStarts.get(j), stop = choiceStarts.get(j + 1); col < stop; col++) {
+			c.accept(s, cols.get(col), nonZeros.get(col));
+		}
+	}
+
+	@Override
+	public void forEachDoubleTransition(int s, int i, DoubleTransitionConsumer c)
+	{
+		int j = rowStarts.get(s) + i;
+		for (int col = choiceStarts.get(j), stop = choiceStarts.get(j + 1); col < stop; col++) {
+			c.accept(s, cols.get(col), nonZeros.get(col));
+		}
+	}
+
+	@Override
+	public Iterator<Entry<Integer, Double>> getTransitionsIterator(final int s, final int i)
+	{
+		return new Iterator<Entry<Integer, Double>>()
+		{
+			int col = choiceStarts.get(rowStarts.get(s) + i);
+			final int end = choiceStarts.get(rowStarts.get(s) + i + 1);
+
+			@Override
+			public boolean hasNext()
+			{
+				return col < end;
+			}
+
+			@Override
+			public Entry<Integer, Double> next()
+			{
+				assert (col < end);
+				final int k = col;
+				col++;
+				return new AbstractMap.SimpleImmutableEntry<Integer, Double>(cols.get(k), nonZeros.get(k));
+			}
+		};
+	}
+
+	@Override
+	public void prob0step(BitSet subset, BitSet u, boolean forall, BitSet result)
+	{
+		for (int i : new IterableStateSet(subset, numStates)) {
+			boolean b1 = forall; // there exists or for all
+			for (int j = rowStarts.get(i), h1 = rowStarts.get(i + 1); j < h1; j++) {
+				boolean some = false;
+				for (int k = choiceStarts.get(j), h2 = choiceStarts.get(j + 1); k < h2; k++) {
+					// Assume that only non-zero entries are stored
+					if (u.get(cols.get(k))) {
+						some = true;
+						break;
+					}
+				}
+				if (forall) {
+					if (!some) {
+						b1 = false;
+						break;
+					}
+				} else {
+					if (some) {
+						b1 = true;
+						break;
+					}
+				}
+			}
+			result.set(i, b1);
+		}
+	}
+
+	@Override
+	public void prob1step(BitSet subset, BitSet u, BitSet v, boolean forall, BitSet result)
+	{
+		for (int i : new IterableStateSet(subset, numStates)) {
+			boolean b1 = forall; // there exists or for all
+			for (int j = rowStarts.get(i), h1 = rowStarts.get(i + 1); j < h1; j++) {
+				boolean some = false;
+				boolean all = true;
+				for (int k = choiceStarts.get(j), h2 = choiceStarts.get(j + 1); k < h2; k++) {
+					// Assume that only non-zero entries are stored
+					int t = cols.get(k);
+					if (v.get(t)) {
+						some = true;
+					}
+					if (!u.get(t)) {
+						all = false;
+					}
+				}
+				if (forall) {
+					if (!(some && all)) {
+						b1 = false;
+						break;
+					}
+				} else {
+					if (some && all) {
+						b1 = true;
+						break;
+					}
+				}
+			}
+			result.set(i, b1);
+		}
+	}
+
+	@Override
+	public double mvMultMinMaxSingle(int s, double vect[], boolean min, int strat[])
+	{
+		int stratCh = -1;
+		double minmax = 0;
+		boolean first = true;
+		int l1 = rowStarts.get(s);
+		int h1 = rowStarts.get(s + 1);
+		for (int j = l1; j < h1; j++) {
+			// Compute sum for this distribution
+			double d = 0.0;
+			for (int k = choiceStarts.get(j), h2 = choiceStarts.get(j + 1); k < h2; k++) {
+				d += nonZeros.get(k) * vect[cols.get(k)];
+			}
+			// Check whether we have exceeded min/max so far
+			if (first || (min && d < minmax) || (!min && d > minmax)) {
+				minmax = d;
+				// If strategy generation is enabled, remember optimal choice
+				if (strat != null)
+					stratCh = j - l1;
+			}
+			first = false;
+		}
+		// If strategy generation is enabled, store optimal choice
+		if (strat != null & !first) {
+			// For max, only remember strictly better choices
+			if (min) {
+				strat[s] = stratCh;
+			} else if (strat[s] == -1 || minmax > vect[s]) {
+				strat[s] = stratCh;
+			}
+		}
+
+		return minmax;
+	}
+
+	@Override
+	public List<Integer> mvMultMinMaxSingleChoices(int s, double vect[], boolean min, double val)
+	{
+		List<Integer> res = new ArrayList<Integer>();
+		int l1 = rowStarts.get(s);
+		int h1 = rowStarts.get(s + 1);
+		for (int j = l1; j < h1; j++) {
+			// Compute sum for this distribution
+			double d = 0.0;
+			for (int k = choiceStarts.get(j), h2 = choiceStarts.get(j + 1); k < h2; k++) {
+				d += nonZeros.get(k) * vect[cols.get(k)];
+			}
+			// Store strategy info if value matches
+			if (PrismUtils.doublesAreEqual(val, d)) {
+				res.add(j - l1);
+			}
+		}
+		return res;
+	}
+
+	@Override
+	public double mvMultSingle(int s, int i, double vect[])
+	{
+		int j = rowStarts.get(s) + i;
+		// Compute sum for this distribution
+		double d = 0.0;
+		for (int k = choiceStarts.get(j), h2 = choiceStarts.get(j + 1); k < h2; k++) {
+			d += nonZeros.get(k) * vect[cols.get(k)];
+		}
+		return d;
+	}
+
+	@Override
+	public double mvMultJacMinMaxSingle(int s, double vect[], boolean min, int strat[])
+	{
+		int stratCh = -1;
+		double minmax = 0;
+		boolean first = true;
+		int l1 = rowStarts.get(s);
+		int h1 = rowStarts.get(s + 1);
+		for (int j = l1; j < h1; j++) {
+			double diag = 1.0;
+			// Compute sum for this distribution
+			double d = 0.0;
+			for (int k = choiceStarts.get(j), h2 = choiceStarts.get(j + 1); k < h2; k++) {
+				int t = cols.get(k);
+				if (t != s) {
+					d += nonZeros.get(k) * vect[t];
+				} else {
+					diag -= nonZeros.get(k);
+				}
+			}
+			if (diag > 0)
+				d /= diag;
+			// Check whether we have exceeded min/max so far
+			if (first || (min && d < minmax) || (!min && d > minmax)) {
+				minmax = d;
+				// If strategy generation is enabled, remember optimal choice
+				if (strat != null)
+					stratCh = j - l1;
+			}
+			first = false;
+		}
+		// If strategy generation is enabled, store optimal choice
+		if (strat != null & !first) {
+			// For max, only remember strictly better choices
+			if (min) {
+				strat[s] = stratCh;
+			} else if (strat[s] == -1 || minmax > vect[s]) {
+				strat[s] = stratCh;
+			}
+		}
+
+		return minmax;
+	}
+
+	@Override
+	public double mvMultJacSingle(int s, int i, double vect[])
+	{
+		int j = rowStarts.get(s) + i;
+		double diag = 1.0;
+		// Compute sum for this distribution
+		double d = 0.0;
+		for (int k = choiceStarts.get(j), h2 = choiceStarts.get(j + 1); k < h2; k++) {
+			int t = cols.get(k);
+			if (t != s) {
+				d += nonZeros.get(k) * vect[t];
+			} else {
+				diag -= nonZeros.get(k);
+			}
+		}
+		if (diag > 0)
+			d /= diag;
+		return d;
+	}
+
+	@Override
+	public double mvMultRewMinMaxSingle(int s, double vect[], MDPRewards<Double> mdpRewards, boolean min, int strat[])
+	{
+		int stratCh = -1;
+		double minmax = 0;
+		boolean first = true;
+		int l1 = rowStarts.get(s);
+		int h1 = rowStarts.get(s + 1);
+		for (int j = l1; j < h1; j++) {
+			// Compute sum for this distribution
+			double d = mdpRewards.getTransitionReward(s, j - l1);
+			for (int k = choiceStarts.get(j), h2 = choiceStarts.get(j + 1); k < h2; k++) {
+				d += nonZeros.get(k) * vect[cols.get(k)];
+			}
+			// Check whether we have exceeded min/max so far
+			if (first || (min && d < minmax) || (!min && d > minmax)) {
+				minmax = d;
+				// If strategy generation is enabled, remember optimal choice
+				if (strat != null)
+					stratCh = j - l1;
+			}
+			first = false;
+		}
+		// Add state reward (doesn't affect min/max)
+		minmax += mdpRewards.getStateReward(s);
+		// If strategy generation is enabled, store optimal choice
+		if (strat != null & !first) {
+			// For max, only remember strictly better choices
+			if (min) {
+				strat[s] = stratCh;
+			} else if (strat[s] == -1 || minmax > vect[s]) {
+				strat[s] = stratCh;
+			}
+		}
+
+		return minmax;
+	}
+
+	@Override
+	public List<Integer> mvMultRewMinMaxSingleChoices(int s, double vect[], MDPRewards<Double> mdpRewards, boolean min, double val)
+	{
+		List<Integer> res = new ArrayList<Integer>();
+		int l1 = rowStarts.get(s);
+		int h1 = rowStarts.get(s + 1);
+		for (int j = l1; j < h1; j++) {
+			// Compute sum for this distribution
+			double d = mdpRewards.getTransitionReward(s, j - l1);
+			for (int k = choiceStarts.get(j), h2 = choiceStarts.get(j + 1); k < h2; k++) {
+				d += nonZeros.get(k) * vect[cols.get(k)];
+			}
+			d += mdpRewards.getStateReward(s);
+			// Store strategy info if value matches
+			if (PrismUtils.doublesAreEqual(val, d)) {
+				res.add(j - l1);
+			}
+		}
+		return res;
+	}
+
+	// Standard methods
+
+	@Override
+	public String toString()
+	{
+		StringBuilder s = new StringBuilder("[ ");
+		for (int i = 0; i < numStates; i++) {
+			if (i > 0)
+				s.append(", ");
+			s.append(i + ": [");
+			int l1 = rowStarts.get(i);
+			for (int j = l1, h1 = rowStarts.get(i + 1); j < h1; j++) {
+				if (j > l1)
+					s.append(",");
+				Object o = getActionByIndex(j);
+				if (o != null)
+					s.append(o + ":");
+				s.append("{");
+				for (int k = choiceStarts.get(j), l2 = k, h2 = choiceStarts.get(j + 1); k < h2; k++) {
+					if (k > l2)
+						s.append(", ");
+					s.append(cols.get(k) + "=" + nonZeros.get(k));
+				}
+				s.append("}");
+			}
+			s.append("]");
+		}
+		s.append(" ]\n");
+		return s.toString();
+	}
+}
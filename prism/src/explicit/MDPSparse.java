@@ -381,6 +381,28 @@ public class MDPSparse extends MDPExplicit<Double>
 	{
 	}
 
+	/**
+	 * Construct an MDP, with {@code numStates} states, directly from its sparse matrix storage
+	 * (see {@link #rowStarts}, {@link #choiceStarts}, {@link #cols}, {@link #nonZeros} and {@link #actions}),
+	 * e.g. as built by {@link MDPSparseBuilder}. The arrays are stored, not copied.
+	 * Initial states, deadlocks etc. should be added separately afterwards.
+	 */
+	public MDPSparse(int numStates, int rowStarts[], int choiceStarts[], int cols[], double nonZeros[], Object actions[])
+	{
+		initialise(numStates);
+		this.rowStarts = rowStarts;
+		this.choiceStarts = choiceStarts;
+		this.cols = cols;
+		this.nonZeros = nonZeros;
+		this.actions = actions;
+		numDistrs = rowStarts[numStates];
+		numTransitions = choiceStarts[numDistrs];
+		maxNumDistrs = 0;
+		for (int s = 0; s < numStates; s++) {
+			maxNumDistrs = Math.max(maxNumDistrs, rowStarts[s + 1] - rowStarts[s]);
+		}
+	}
+
 	// Mutators (other)
 
 	@Override
@@ -0,0 +1,322 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import prism.PrismUtils;
+
+/**
+ * Incremental construction of an {@link MDPSparse} (see {@link SparseModelBuilder}).
+ * Choices must be added in (non-decreasing) order of source state.
+ * The resulting model is the same as first building an {@link MDPSimple}
+ * (with {@link MDPSimple#addChoice(int, Distribution)} or
+ * {@link MDPSimple#addActionLabelledChoice(int, Distribution, Object)}) and then copying it;
+ * in particular, duplicate choices in a state are only stored once.
+ */
+public class MDPSparseBuilder extends SparseModelBuilder
+{
+	/** Start of the choices for each state added so far (first numRows entries used) */
+	private int rowStarts[];
+	/** Number of states for which choices have been added so far (incl. states with none in between) */
+	private int numRows;
+	/** Start of the transitions for each choice added so far (first numDistrs+1 entries used) */
+	private int choiceStarts[];
+	/** Number of choices added so far */
+	private int numDistrs;
+	/** Column (destination) indices for each transition */
+	private int cols[];
+	/** Probabilities for each transition */
+	private double nonZeros[];
+	/** Action labels for each choice (null until a non-null action is added) */
+	private Object actions[];
+	/** Number of transitions added so far */
+	private int numTransitions;
+
+	/**
+	 * Create a new builder (for an empty MDP).
+	 */
+	public MDPSparseBuilder()
+	{
+		rowStarts = new int[INITIAL_CAPACITY];
+		choiceStarts = new int[INITIAL_CAPACITY];
+		cols = new int[INITIAL_CAPACITY];
+		nonZeros = new double[INITIAL_CAPACITY];
+		numRows = numDistrs = numTransitions = 0;
+	}
+
+	/**
+	 * Add a choice (distribution {@code distr}) to state {@code s},
+	 * unless an identical one (ignoring actions) already exists for {@code s}.
+	 * The source state {@code s} cannot be less than that of any choice previously added.
+	 * Returns the index of the (existing or newly added) choice.
+	 */
+	public int addChoice(int s, Distribution<Double> distr)
+	{
+		return addChoice(s, distr, null, false);
+	}
+
+	/**
+	 * Add a choice (distribution {@code distr}) labelled with {@code action} to state {@code s},
+	 * unless an identical one (with the same action) already exists for {@code s}.
+	 * The source state {@code s} cannot be less than that of any choice previously added.
+	 * Returns the index of the (existing or newly added) choice.
+	 */
+	public int addActionLabelledChoice(int s, Distribution<Double> distr, Object action)
+	{
+		return addChoice(s, distr, action, true);
+	}
+
+	/**
+	 * Add a choice to state {@code s}, if new, optionally checking actions when looking for an existing one.
+	 */
+	private int addChoice(int s, Distribution<Double> distr, Object action, boolean matchAction)
+	{
+		startRow(s);
+		// Check for existing choice
+		int rowStart = rowStarts[s];
+		for (int j = rowStart; j < numDistrs; j++) {
+			if ((!matchAction || actionMatches(j, action)) && choiceEquals(j, distr)) {
+				return j - rowStart;
+			}
+		}
+		// Add new choice
+		if (numDistrs + 1 >= choiceStarts.length) {
+			int capacity = newCapacity(choiceStarts.length, numDistrs + 2);
+			choiceStarts = Arrays.copyOf(choiceStarts, capacity);
+			if (actions != null) {
+				actions = Arrays.copyOf(actions, capacity);
+			}
+		}
+		int size = distr.size();
+		if (numTransitions + size > cols.length) {
+			int capacity = newCapacity(cols.length, numTransitions + size);
+			cols = Arrays.copyOf(cols, capacity);
+			nonZeros = Arrays.copyOf(nonZeros, capacity);
+		}
+		choiceStarts[numDistrs] = numTransitions;
+		for (Map.Entry<Integer, Double> e : distr) {
+			cols[numTransitions] = e.getKey();
+			nonZeros[numTransitions] = e.getValue();
+			numTransitions++;
+		}
+		if (action != null) {
+			if (actions == null) {
+				actions = new Object[choiceStarts.length];
+			}
+			actions[numDistrs] = action;
+		}
+		numDistrs++;
+		choiceStarts[numDistrs] = numTransitions;
+		return numDistrs - 1 - rowStart;
+	}
+
+	/**
+	 * Make sure that rows (possibly empty) have been started for all states up to {@code s}.
+	 */
+	private void startRow(int s)
+	{
+		if (s < numRows - 1) {
+			throw new IllegalArgumentException("Choices must be added in order of source state (" + s + " after " + (numRows - 1) + ")");
+		}
+		if (s >= rowStarts.length - 1) {
+			rowStarts = Arrays.copyOf(rowStarts, newCapacity(rowStarts.length, s + 2));
+		}
+		while (numRows <= s) {
+			rowStarts[numRows++] = numDistrs;
+		}
+	}
+
+	/**
+	 * Does choice {@code j} have action {@code action}?
+	 */
+	private boolean actionMatches(int j, Object action)
+	{
+		Object jAction = actions == null ? null : actions[j];
+		return jAction == null ? (action == null) : jAction.equals(action);
+	}
+
+	/**
+	 * Is choice {@code j} equal to the distribution {@code distr}?
+	 * As for {@link Distribution#equals(Object)}, round-off error in probabilities is allowed.
+	 */
+	private boolean choiceEquals(int j, Distribution<Double> distr)
+	{
+		int start = choiceStarts[j];
+		int end = choiceStarts[j + 1];
+		if (end - start != distr.size()) {
+			return false;
+		}
+		int k = start;
+		for (Map.Entry<Integer, Double> e : distr) {
+			int col = e.getKey();
+			// Entries are usually in the same order, so check the same position first
+			int l = k < end && cols[k] == col ? k : find(start, end, col);
+			if (l == -1 || !PrismUtils.doublesAreEqual(nonZeros[l], e.getValue())) {
+				return false;
+			}
+			k++;
+		}
+		return true;
+	}
+
+	/**
+	 * Find the position of column {@code col} in {@code cols} between {@code start} (inclusive)
+	 * and {@code end} (exclusive), or -1 if not present.
+	 */
+	private int find(int start, int end, int col)
+	{
+		for (int l = start; l < end; l++) {
+			if (cols[l] == col) {
+				return l;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Build the MDP, with {@code numStates} states. Optionally, a state index permutation
+	 * can be provided, i.e. state index i becomes index permut[i], in which case
+	 * transitions within choices are also sorted (by ascending order of column index).
+	 * Deadlock states (those with no choices) are also found, if {@code findDeadlocks} is true,
+	 * and fixed (with a self-loop) if {@code fixDeadlocks} is true, as for {@link MDPSimple#findDeadlocks(boolean)}.
+	 * The storage of this builder is discarded afterwards.
+	 * @param numStates Number of states
+	 * @param permut State space permutation (or null)
+	 * @param findDeadlocks Whether to find deadlock states
+	 * @param fixDeadlocks Whether to fix deadlock states
+	 */
+	public MDPSparse build(int numStates, int permut[], boolean findDeadlocks, boolean fixDeadlocks)
+	{
+		if (numStates < numRows) {
+			throw new IllegalArgumentException("Choices added for " + numRows + " states, not " + numStates);
+		}
+		if (numStates > 0) {
+			startRow(numStates - 1);
+		}
+		rowStarts[numStates] = numDistrs;
+		int permutInv[] = inversePermutation(permut);
+		// Count deadlocks
+		boolean fix = findDeadlocks && fixDeadlocks;
+		int numNewDistrs = numDistrs;
+		if (fix) {
+			for (int s = 0; s < numStates; s++) {
+				if (rowStarts[s] == rowStarts[s + 1]) {
+					numNewDistrs++;
+				}
+			}
+		}
+		int numNewTransitions = numTransitions + (numNewDistrs - numDistrs);
+		// Copy choices, in (permuted) state order, adding self-loops to deadlocks if needed
+		int newRowStarts[] = new int[numStates + 1];
+		int newChoiceStarts[] = new int[numNewDistrs + 1];
+		int newCols[] = new int[numNewTransitions];
+		double newNonZeros[] = new double[numNewTransitions];
+		Object newActions[] = actions == null ? null : new Object[numNewDistrs];
+		int j = 0, k = 0;
+		for (int s = 0; s < numStates; s++) {
+			newRowStarts[s] = j;
+			int sOld = permutInv == null ? s : permutInv[s];
+			int start = rowStarts[sOld], end = rowStarts[sOld + 1];
+			for (int jOld = start; jOld < end; jOld++) {
+				newChoiceStarts[j] = k;
+				if (actions != null) {
+					newActions[j] = actions[jOld];
+				}
+				int kStart = k;
+				for (int l = choiceStarts[jOld]; l < choiceStarts[jOld + 1]; l++) {
+					newCols[k] = permut == null ? cols[l] : permut[cols[l]];
+					newNonZeros[k] = nonZeros[l];
+					k++;
+				}
+				if (permut != null) {
+					sortChoice(newCols, newNonZeros, kStart, k);
+				}
+				j++;
+			}
+			if (fix && start == end) {
+				newChoiceStarts[j++] = k;
+				newCols[k] = s;
+				newNonZeros[k] = 1.0;
+				k++;
+			}
+		}
+		newRowStarts[numStates] = j;
+		newChoiceStarts[j] = k;
+		// Create model
+		MDPSparse mdp = new MDPSparse(numStates, newRowStarts, newChoiceStarts, newCols, newNonZeros, newActions);
+		for (int s : initialStates) {
+			mdp.addInitialState(permut == null ? s : permut[s]);
+		}
+		if (findDeadlocks) {
+			for (int s = 0; s < numStates; s++) {
+				if (rowStarts[s] == rowStarts[s + 1]) {
+					mdp.addDeadlockState(permut == null ? s : permut[s]);
+				}
+			}
+		}
+		// Discard storage
+		rowStarts = choiceStarts = cols = null;
+		nonZeros = null;
+		actions = null;
+		return mdp;
+	}
+
+	/**
+	 * Sort the transitions between {@code start} (inclusive) and {@code end} (exclusive)
+	 * by (distinct) column index.
+	 */
+	private static void sortChoice(int cols[], double nonZeros[], int start, int end)
+	{
+		if (end - start <= 32) {
+			// Insertion sort for (usual case of) small choices
+			for (int k = start + 1; k < end; k++) {
+				int col = cols[k];
+				double prob = nonZeros[k];
+				int l = k - 1;
+				while (l >= start && cols[l] > col) {
+					cols[l + 1] = cols[l];
+					nonZeros[l + 1] = nonZeros[l];
+					l--;
+				}
+				cols[l + 1] = col;
+				nonZeros[l + 1] = prob;
+			}
+		} else {
+			// Otherwise, sort (column, position) pairs
+			long keys[] = new long[end - start];
+			for (int k = start; k < end; k++) {
+				keys[k - start] = ((long) cols[k] << 32) | (k - start);
+			}
+			Arrays.sort(keys);
+			double probs[] = Arrays.copyOfRange(nonZeros, start, end);
+			for (int k = start; k < end; k++) {
+				cols[k] = (int) (keys[k - start] >>> 32);
+				nonZeros[k] = probs[(int) keys[k - start]];
+			}
+		}
+	}
+}
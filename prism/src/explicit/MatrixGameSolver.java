@@ -0,0 +1,519 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.Arrays;
+
+/**
+ * Pure-Java solver for small two-player zero-sum matrix games,
+ * used to avoid building and solving a linear program with LpSolve for each state of a CSG.
+ * <br><br>
+ * The row player maximises and the column player minimises. A game is solved by,
+ * in turn: checking for a saddle point (i.e., pure optimal strategies);
+ * removing (weakly) dominated rows and columns; then either a closed-form solution (2x2 games),
+ * a search of the lower/upper envelope (2xn and mx2 games) or a dense simplex method.
+ * For the latter, the game is shifted so that all entries are positive and the
+ * linear program "maximise sum(w) s.t. A w &lt;= 1, w &gt;= 0" is solved, which needs no
+ * initial phase to find a feasible basis; optimal strategies for the column/row player
+ * are the (normalised) primal/dual solutions.
+ * <br><br>
+ * Games with more than {@link #MAX_SIZE} rows or columns are not solved
+ * (and neither, in rare cases, are games for which the simplex method does not terminate);
+ * {@link #solve(double[][], int, int)} returns false and an LP solver should be used instead.
+ * <br><br>
+ * An instance contains scratch storage, so should not be used by multiple threads at once.
+ */
+public class MatrixGameSolver
+{
+	/** Maximum number of rows/columns of a game to be solved */
+	public static final int MAX_SIZE = 32;
+
+	/** Tolerance for comparisons in the 2xn and simplex methods */
+	private static final double EPS = 1e-12;
+
+	/** Value of the last game solved */
+	private double value;
+	/** Optimal strategy of the row player for the last game solved */
+	private double rowStrat[];
+	/** Optimal strategy of the column player for the last game solved */
+	private double colStrat[];
+
+	// Scratch storage
+
+	/** Indices of the rows/columns that have not been removed as dominated */
+	private int rows[], cols[];
+	/** Number of rows/columns that have not been removed as dominated */
+	private int numRows, numCols;
+	/** Simplex tableau (constraint rows, then objective row) */
+	private double tableau[][];
+	/** Simplex basis (variable index for each constraint row) */
+	private int basis[];
+
+	/**
+	 * Create a new matrix game solver.
+	 */
+	public MatrixGameSolver()
+	{
+		allocate(4, 4);
+	}
+
+	/**
+	 * Solve a matrix game, stored in the first {@code nrows} rows and {@code ncols} columns
+	 * of {@code a}, where the row player maximises and the column player minimises.
+	 * If successful, the value and optimal strategies are then available from
+	 * {@link #getValue()}, {@link #getRowStrategy()} and {@link #getColumnStrategy()}.
+	 * All entries of the matrix should be finite.
+	 * @return false if the game could not be solved (e.g., because it is too large)
+	 */
+	public boolean solve(double a[][], int nrows, int ncols)
+	{
+		if (nrows > MAX_SIZE || ncols > MAX_SIZE) {
+			return false;
+		}
+		if (rowStrat.length < nrows || colStrat.length < ncols) {
+			allocate(nrows, ncols);
+		}
+		Arrays.fill(rowStrat, 0, nrows, 0.0);
+		Arrays.fill(colStrat, 0, ncols, 0.0);
+		if (solveSaddlePoint(a, nrows, ncols)) {
+			return true;
+		}
+		removeDominated(a, nrows, ncols);
+		if (numRows == 1 || numCols == 1) {
+			return solveSaddlePointReduced(a);
+		} else if (numRows == 2 && numCols == 2) {
+			if (solve2x2(a)) {
+				return true;
+			}
+		} else if (numRows == 2) {
+			if (solve2xn(a, false)) {
+				return true;
+			}
+		} else if (numCols == 2) {
+			if (solve2xn(a, true)) {
+				return true;
+			}
+		}
+		return solveSimplex(a);
+	}
+
+	/**
+	 * Get the value of the last game solved.
+	 */
+	public double getValue()
+	{
+		return value;
+	}
+
+	/**
+	 * Get an optimal strategy of the row player for the last game solved
+	 * (stored in the first nrows entries of the returned array, which should not be modified).
+	 */
+	public double[] getRowStrategy()
+	{
+		return rowStrat;
+	}
+
+	/**
+	 * Get an optimal strategy of the column player for the last game solved
+	 * (stored in the first ncols entries of the returned array, which should not be modified).
+	 */
+	public double[] getColumnStrategy()
+	{
+		return colStrat;
+	}
+
+	/**
+	 * Allocate storage for games with up to {@code nrows} rows and {@code ncols} columns.
+	 */
+	private void allocate(int nrows, int ncols)
+	{
+		int m = Math.max(nrows, rowStrat == null ? 0 : rowStrat.length);
+		int n = Math.max(ncols, colStrat == null ? 0 : colStrat.length);
+		rowStrat = new double[m];
+		colStrat = new double[n];
+		rows = new int[m];
+		cols = new int[n];
+		tableau = new double[m + 1][n + m + 1];
+		basis = new int[m];
+	}
+
+	/**
+	 * Check whether the game has a saddle point, i.e., whether the maximin value
+	 * (over pure strategies) equals the minimax value, and if so, store the solution.
+	 */
+	private boolean solveSaddlePoint(double a[][], int nrows, int ncols)
+	{
+		double maximin = Double.NEGATIVE_INFINITY, minimax = Double.POSITIVE_INFINITY;
+		int bestRow = 0, bestCol = 0;
+		for (int i = 0; i < nrows; i++) {
+			double rowMin = Double.POSITIVE_INFINITY;
+			for (int j = 0; j < ncols; j++) {
+				rowMin = Math.min(rowMin, a[i][j]);
+			}
+			if (rowMin > maximin) {
+				maximin = rowMin;
+				bestRow = i;
+			}
+		}
+		for (int j = 0; j < ncols; j++) {
+			double colMax = Double.NEGATIVE_INFINITY;
+			for (int i = 0; i < nrows; i++) {
+				colMax = Math.max(colMax, a[i][j]);
+			}
+			if (colMax < minimax) {
+				minimax = colMax;
+				bestCol = j;
+			}
+		}
+		// Note: maximin <= minimax always holds
+		if (maximin < minimax) {
+			return false;
+		}
+		value = maximin;
+		rowStrat[bestRow] = 1.0;
+		colStrat[bestCol] = 1.0;
+		return true;
+	}
+
+	/**
+	 * Solve a game, reduced by dominance to a single row or column.
+	 */
+	private boolean solveSaddlePointReduced(double a[][])
+	{
+		int bestRow = rows[0], bestCol = cols[0];
+		if (numRows == 1) {
+			for (int j = 1; j < numCols; j++) {
+				if (a[bestRow][cols[j]] < a[bestRow][bestCol]) {
+					bestCol = cols[j];
+				}
+			}
+		} else {
+			for (int i = 1; i < numRows; i++) {
+				if (a[rows[i]][bestCol] > a[bestRow][bestCol]) {
+					bestRow = rows[i];
+				}
+			}
+		}
+		value = a[bestRow][bestCol];
+		rowStrat[bestRow] = 1.0;
+		colStrat[bestCol] = 1.0;
+		return true;
+	}
+
+	/**
+	 * Repeatedly remove (weakly) dominated rows and columns, storing the indices
+	 * of the remaining ones in {@code rows}/{@code cols}. This does not change the value,
+	 * and optimal strategies for the reduced game are also optimal for the original one.
+	 */
+	private void removeDominated(double a[][], int nrows, int ncols)
+	{
+		numRows = nrows;
+		numCols = ncols;
+		for (int i = 0; i < nrows; i++) {
+			rows[i] = i;
+		}
+		for (int j = 0; j < ncols; j++) {
+			cols[j] = j;
+		}
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			// Rows: row i is dominated by row k if it is nowhere better (for the maximiser)
+			for (int i = 0; i < numRows && numRows > 1; i++) {
+				for (int k = 0; k < numRows; k++) {
+					if (k != i && rowDominates(a, rows[k], rows[i])) {
+						rows[i--] = rows[--numRows];
+						changed = true;
+						break;
+					}
+				}
+			}
+			// Columns: column j is dominated by column l if it is nowhere better (for the minimiser)
+			for (int j = 0; j < numCols && numCols > 1; j++) {
+				for (int l = 0; l < numCols; l++) {
+					if (l != j && colDominates(a, cols[l], cols[j])) {
+						cols[j--] = cols[--numCols];
+						changed = true;
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Is row {@code i1} at least as good as row {@code i2} (for the maximiser), over the remaining columns?
+	 */
+	private boolean rowDominates(double a[][], int i1, int i2)
+	{
+		for (int j = 0; j < numCols; j++) {
+			if (a[i1][cols[j]] < a[i2][cols[j]]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Is column {@code j1} at least as good as column {@code j2} (for the minimiser), over the remaining rows?
+	 */
+	private boolean colDominates(double a[][], int j1, int j2)
+	{
+		for (int i = 0; i < numRows; i++) {
+			if (a[rows[i]][j1] > a[rows[i]][j2]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Solve a (reduced) 2x2 game with no saddle point, using the closed-form solution.
+	 */
+	private boolean solve2x2(double a[][])
+	{
+		int r0 = rows[0], r1 = rows[1], c0 = cols[0], c1 = cols[1];
+		double a00 = a[r0][c0], a01 = a[r0][c1], a10 = a[r1][c0], a11 = a[r1][c1];
+		double denom = a00 - a01 - a10 + a11;
+		if (denom == 0.0) {
+			return false;
+		}
+		double p = (a11 - a10) / denom;
+		double q = (a11 - a01) / denom;
+		if (!(p >= 0.0 && p <= 1.0 && q >= 0.0 && q <= 1.0)) {
+			return false;
+		}
+		value = (a00 * a11 - a01 * a10) / denom;
+		rowStrat[r0] = p;
+		rowStrat[r1] = 1.0 - p;
+		colStrat[c0] = q;
+		colStrat[c1] = 1.0 - q;
+		return true;
+	}
+
+	/**
+	 * Solve a (reduced) game with 2 rows (or, if {@code transpose} is true, 2 columns)
+	 * by finding the maximum of the lower envelope of the payoff lines of the columns,
+	 * as a function of the probability of the first row.
+	 * The case of 2 columns is treated as the game with 2 rows given by the negated transpose.
+	 */
+	private boolean solve2xn(double a[][], boolean transpose)
+	{
+		int twoIdx[] = transpose ? cols : rows;
+		int nIdx[] = transpose ? rows : cols;
+		int n = transpose ? numRows : numCols;
+		// For each column j, payoff is a1[j] + p * d[j], where p is the probability of the first row
+		double a1[] = new double[n], d[] = new double[n];
+		for (int j = 0; j < n; j++) {
+			double x0 = entry(a, transpose, twoIdx[0], nIdx[j]);
+			double x1 = entry(a, transpose, twoIdx[1], nIdx[j]);
+			a1[j] = x1;
+			d[j] = x0 - x1;
+		}
+		// Candidate values of p: 0, 1, and intersections of pairs of lines
+		double bestP = 0.0, bestVal = lowerEnvelope(a1, d, n, 0.0);
+		double val1 = lowerEnvelope(a1, d, n, 1.0);
+		if (val1 > bestVal) {
+			bestP = 1.0;
+			bestVal = val1;
+		}
+		for (int j = 0; j < n; j++) {
+			for (int l = j + 1; l < n; l++) {
+				if (d[j] == d[l]) {
+					continue;
+				}
+				double p = (a1[l] - a1[j]) / (d[j] - d[l]);
+				if (p > 0.0 && p < 1.0) {
+					double v = lowerEnvelope(a1, d, n, p);
+					if (v > bestVal) {
+						bestP = p;
+						bestVal = v;
+					}
+				}
+			}
+		}
+		// Find an optimal strategy for the other player, mixing at most two columns
+		// which attain the minimum at bestP (one with non-negative slope and one with non-positive slope)
+		double tol = EPS * (1.0 + Math.abs(bestVal));
+		int up = -1, down = -1;
+		for (int j = 0; j < n; j++) {
+			if (a1[j] + bestP * d[j] - bestVal <= tol) {
+				if (d[j] >= 0 && (up == -1 || d[j] < d[up])) {
+					up = j;
+				}
+				if (d[j] <= 0 && (down == -1 || d[j] > d[down])) {
+					down = j;
+				}
+			}
+		}
+		double q;
+		if (bestP == 0.0 && down != -1) {
+			up = down;
+			q = 1.0;
+		} else if (bestP == 1.0 && up != -1) {
+			q = 1.0;
+		} else if (up != -1 && down != -1) {
+			q = (d[up] == d[down]) ? 1.0 : -d[down] / (d[up] - d[down]);
+		} else {
+			return false;
+		}
+		// Store solution
+		value = transpose ? -bestVal : bestVal;
+		double stratTwo[] = transpose ? colStrat : rowStrat;
+		double stratN[] = transpose ? rowStrat : colStrat;
+		stratTwo[twoIdx[0]] = bestP;
+		stratTwo[twoIdx[1]] = 1.0 - bestP;
+		stratN[nIdx[up]] += q;
+		stratN[nIdx[down == -1 ? up : down]] += 1.0 - q;
+		return true;
+	}
+
+	/**
+	 * Get entry (i,j) of the matrix game, or of its negated transpose.
+	 */
+	private static double entry(double a[][], boolean transpose, int i, int j)
+	{
+		return transpose ? -a[j][i] : a[i][j];
+	}
+
+	/**
+	 * Evaluate the minimum of the lines {@code a1[j] + p * d[j]} for {@code j < n}.
+	 */
+	private static double lowerEnvelope(double a1[], double d[], int n, double p)
+	{
+		double min = Double.POSITIVE_INFINITY;
+		for (int j = 0; j < n; j++) {
+			min = Math.min(min, a1[j] + p * d[j]);
+		}
+		return min;
+	}
+
+	/**
+	 * Solve a (reduced) game using the simplex method (with Bland's rule, to avoid cycling).
+	 */
+	private boolean solveSimplex(double a[][])
+	{
+		int m = numRows, n = numCols, rhs = n + m;
+		// Shift the game so that all entries are at least 1 (and so the value is positive)
+		double minEntry = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < m; i++) {
+			for (int j = 0; j < n; j++) {
+				minEntry = Math.min(minEntry, a[rows[i]][cols[j]]);
+			}
+		}
+		double shift = 1.0 - minEntry;
+		// Build tableau for: maximise sum(w) s.t. A w <= 1, w >= 0 (with slack variables)
+		for (int i = 0; i < m; i++) {
+			double row[] = tableau[i];
+			Arrays.fill(row, 0, rhs + 1, 0.0);
+			for (int j = 0; j < n; j++) {
+				row[j] = a[rows[i]][cols[j]] + shift;
+			}
+			row[n + i] = 1.0;
+			row[rhs] = 1.0;
+			basis[i] = n + i;
+		}
+		double obj[] = tableau[m];
+		Arrays.fill(obj, 0, rhs + 1, 0.0);
+		Arrays.fill(obj, 0, n, -1.0);
+		// Pivot until optimal
+		int maxPivots = 50 * (m + n);
+		for (int iters = 0;; iters++) {
+			// Entering variable: lowest index with negative reduced cost
+			int e = -1;
+			for (int j = 0; j < rhs; j++) {
+				if (obj[j] < -EPS) {
+					e = j;
+					break;
+				}
+			}
+			if (e == -1) {
+				break;
+			}
+			if (iters == maxPivots) {
+				return false;
+			}
+			// Leaving variable: minimum ratio, ties broken by lowest basis index
+			int r = -1;
+			double minRatio = Double.POSITIVE_INFINITY;
+			for (int i = 0; i < m; i++) {
+				if (tableau[i][e] > EPS) {
+					double ratio = tableau[i][rhs] / tableau[i][e];
+					if (ratio < minRatio || (ratio == minRatio && basis[i] < basis[r])) {
+						minRatio = ratio;
+						r = i;
+					}
+				}
+			}
+			if (r == -1) {
+				// Unbounded (should not happen, since all entries are positive)
+				return false;
+			}
+			pivot(r, e, m, rhs);
+			basis[r] = e;
+		}
+		// Extract solution: sum(w) = 1/value of the shifted game
+		double sum = obj[rhs];
+		if (!(sum > 0.0)) {
+			return false;
+		}
+		value = 1.0 / sum - shift;
+		for (int i = 0; i < m; i++) {
+			if (basis[i] < n) {
+				colStrat[cols[basis[i]]] = tableau[i][rhs] / sum;
+			}
+			rowStrat[rows[i]] = Math.max(obj[n + i], 0.0) / sum;
+		}
+		return true;
+	}
+
+	/**
+	 * Perform a simplex pivot on entry (r, e) of the tableau
+	 * (which has {@code m} constraint rows and right-hand side column {@code rhs}).
+	 */
+	private void pivot(int r, int e, int m, int rhs)
+	{
+		double pivotRow[] = tableau[r];
+		double pivotVal = pivotRow[e];
+		for (int j = 0; j <= rhs; j++) {
+			pivotRow[j] /= pivotVal;
+		}
+		pivotRow[e] = 1.0;
+		for (int i = 0; i <= m; i++) {
+			if (i == r) {
+				continue;
+			}
+			double row[] = tableau[i];
+			double factor = row[e];
+			if (factor != 0.0) {
+				for (int j = 0; j <= rhs; j++) {
+					row[j] -= factor * pivotRow[j];
+				}
+				row[e] = 0.0;
+			}
+		}
+	}
+}
@@ -57,7 +57,7 @@ public class MinMax
 	
 	protected boolean min1;
 	protected boolean min2;
-	protected double bound;
+	protected double bound = -1; // probability bound, if any (-1 if none)
 	protected Coalition coalition;
 	
 	public void setMinMin(boolean min1, boolean min2)
@@ -366,6 +366,21 @@ public interface NondetModel<Value> extends Model<Value>
 	 */
 	public SuccessorsIterator getSuccessors(int s, int i);
 
+	/**
+	 * If there is a ChoicePredecessorRelation stored for this model, return that.
+	 * Otherwise, create one and return that. If {@code storeIfNew},
+	 * store it for later use (where supported by the model).
+	 * <br><br>
+	 * <i>Default implementation</i>: Create a new one each time (nothing is stored).
+	 *
+	 * @param parent a PrismComponent (for obtaining the log)
+	 * @param storeIfNew if the relation is newly created, store it
+	 */
+	public default ChoicePredecessorRelation getChoicePredecessorRelation(prism.PrismComponent parent, boolean storeIfNew)
+	{
+		return ChoicePredecessorRelation.forModel(parent, this);
+	}
+
 	@Override
 	public default SuccessorsIterator getSuccessors(final int s)
 	{
@@ -622,6 +622,64 @@ public class PPLSupport
 		return new C_Polyhedron(ngs);
 	}
 
+	/**
+	 * round the points of generator system ngs down onto a grid of the given baseline accuracy
+	 * (scaled per dimension by biggest_reward unless energy_objective is set),
+	 * keeping rays as they are, and return the resulting polyhedron
+	 **/
+	public static Polyhedron round(Generator_System ngs, long baseline_accuracy, double[] biggest_reward, boolean energy_objective) throws PrismException
+	{
+		int n = biggest_reward.length;
+		// accuracy
+		long[] accuracy = new long[n];
+		for (int i = 0; i < n; i++) {
+		        long tmp_a = energy_objective ? baseline_accuracy : ((long) (((double) baseline_accuracy) / biggest_reward[i]));
+			// sanity check to prevent overflow
+			accuracy[i] = tmp_a < Long.MAX_VALUE && tmp_a > 0 ? tmp_a : Long.MAX_VALUE;
+		}
+
+		Generator_System new_ngs = new Generator_System();
+		for (Generator ng : ngs) {
+			if (ng.type() == Generator_Type.POINT) {
+				Linear_Expression le = ng.linear_expression();
+				Coefficient c = ng.divisor();
+				Map<Variable, BigInteger> map = new HashMap<Variable, BigInteger>();
+				PPLSupport.getCoefficientsFromLinearExpression(le, false, BigInteger.ONE, map);
+
+				// new denominator at baseline accuracy
+				Coefficient new_c = new Coefficient(BigInteger.valueOf(baseline_accuracy));
+
+				// new linear expression
+				Linear_Expression new_le;
+				if (map.containsKey(null)) { // there is a coefficient without a variable
+					if (map.get(null).compareTo(BigInteger.ZERO) != 0)
+						throw new PrismException("Exception in Polyhedron presentation.");
+					new_le = new Linear_Expression_Coefficient(new Coefficient(map.get(null)));
+				} else {
+					new_le = new Linear_Expression_Coefficient(new Coefficient(BigInteger.ZERO));
+				}
+				for (Variable k : map.keySet()) {
+					if (k != null) {
+						BigFraction round_test = new BigFraction(map.get(k), c.getBigInteger());
+						long rounded = ((long) (Math.floor(round_test.doubleValue() * accuracy[(int)k.id()]) * baseline_accuracy / ((double) accuracy[(int)k.id()])));
+						new_le = new_le.sum(new Linear_Expression_Times(new Coefficient(rounded), k));
+					}
+				}
+				new_ngs.add(Generator.point(new_le, new_c));
+			} else if (ng.type() == Generator_Type.RAY) {
+				new_ngs.add(ng);
+			}
+		}
+
+		Polyhedron result = new C_Polyhedron(new_ngs);
+		// add zero dimensions if rounding deleted them
+		if (result.space_dimension() != n) {
+			result.add_space_dimensions_and_project(n - result.space_dimension());
+		}
+
+		return result;
+	}
+
 	/**
 	 * cut away everything except the negative orthant
 	 **/
@@ -665,4 +723,206 @@ public class PPLSupport
 		}
 	}
 
+	/**
+	 * Take X^k and apply F(X^k)(s) for each state of {@code smg} (cf. MFCS'13 and QEST'13)
+	 * @param gaussSeidel Gauss Seidel update allowed
+	 * @param rounding rounding enabled
+	 * @param union_with_previous take union with previous Pareto set
+	 * @param cut cut off everything that is strictly above the negative orthant (used for energy objectives)
+	 * @param M maximum bound on Pareto sets (quantity is positive)
+	 */
+	public static Pareto[] pMultiObjective(SMG<Double> smg, Pareto[] Xk, List<Rewards<Double>> rewards, boolean gaussSeidel, long baseline_accuracy, double[] biggest_reward,
+									List<Pareto>[] stochasticStates, boolean rounding, boolean union_with_previous, boolean cut, long M) throws PrismException
+	{
+		Pareto[] result = new Pareto[Xk.length];
+		Pareto[] Yk = gaussSeidel ? null : new Pareto[Xk.length]; // if Gauss-Seidel, no memory allocation required
+		System.arraycopy(Xk, 0, gaussSeidel ? result : Yk, 0, Xk.length); // if Gauss-Seidel, update result in-place
+		// iterate for each state separately
+		for (int s = 0, numStates = smg.getNumStates(); s < numStates; s++) {
+			// initialize the polyhedra for the stochastic states of s
+			List<Pareto> distPolys = new ArrayList<Pareto>(smg.getNumChoices(s));
+			// apply F to (X^k)(s)
+			result[s] = pMultiObjectiveSingle(smg, s, gaussSeidel ? result : Yk, rewards, baseline_accuracy, biggest_reward, distPolys, rounding,
+							  union_with_previous, cut, M);
+			// store stochastic states if requested (by the reference being non-null)
+			if (stochasticStates != null)
+				stochasticStates[s] = distPolys;
+		}
+
+		// return X^{k+1}
+		return result;
+	}
+
+	/**
+	 * Compute the Pareto set of the stochastic state reached by taking choice {@code d} in state {@code s},
+	 * i.e. the Minkowski sum of the successors' sets in {@code Xk}, weighted by the transition probabilities,
+	 * and translated by the transition rewards of the choice (plus {@code extra_rewards}, if non-null).
+	 * @param cut cut off everything that is strictly above the negative orthant (used for energy objectives)
+	 * @param M maximum bound on Pareto sets (quantity is positive)
+	 */
+	public static Pareto stochasticState(SMG<Double> smg, int s, int d, Pareto[] Xk, List<Rewards<Double>> rewards, double[] extra_rewards, boolean cut, long M) throws PrismException
+	{
+		int n = rewards.size();
+
+		// the successors of the choice d (and their probabilities)
+		List<Integer> states = new ArrayList<Integer>(smg.getNumTransitions(s, d));
+		List<Double> stateProbs = new ArrayList<Double>(smg.getNumTransitions(s, d));
+		for (Iterator<Map.Entry<Integer, Double>> it = smg.getTransitionsIterator(s, d); it.hasNext(); ) {
+			Map.Entry<Integer, Double> e = it.next();
+			states.add(e.getKey());
+			stateProbs.add(e.getValue());
+		}
+		int b = states.size();
+
+		Pareto cp = null;
+		if (b == 0) {
+			throw new PrismException("Distribution " + s + ", " + d + " has no successors.");
+		} else if (b == 1) {
+			// distribution assigns 1 to first successor
+			cp = Xk[states.get(0)];
+		} else { // need to compute Minkowski sum
+			Linear_Expression lhs, rhs;
+
+			// first need to make sure probabilities add to one
+			BigFraction[] probs = new BigFraction[b];
+			BigFraction residual = BigFraction.ONE;
+			for (int supdim = 0; supdim < b; supdim++) {
+				BigFraction prob = new BigFraction(stateProbs.get(supdim));
+				probs[supdim] = prob;
+				residual = residual.subtract(prob);
+			}
+			probs[0] = probs[0].add(residual); // just add residual to first probability
+
+			int supdim = 0;
+			for (Integer t : states) {
+				C_Polyhedron p = new C_Polyhedron((C_Polyhedron) Xk[t].get()); // deep copy!
+				p.add_space_dimensions_and_embed(b);
+				BigFraction prob = probs[supdim];
+				for (int i = 0; i < b; i++) {
+					if (i == supdim) {
+						lhs = new Linear_Expression_Times(new Coefficient(prob.getNumerator()), new Variable(n + i));
+						rhs = new Linear_Expression_Coefficient(new Coefficient(prob.getDenominator()));
+					} else {
+						lhs = new Linear_Expression_Times(new Coefficient(BigInteger.ONE), new Variable(n + i));
+						rhs = new Linear_Expression_Coefficient(new Coefficient(BigInteger.ZERO));
+					}
+					Constraint c = new Constraint(lhs, Relation_Symbol.EQUAL, rhs);
+					p.add_constraint(c);
+				}
+				if (cp == null)
+					cp = new Pareto(p);
+				else
+					cp.get().upper_bound_assign(p);
+
+				supdim++;
+			}
+
+			for (supdim = 0; supdim < b; supdim++) {
+				lhs = new Linear_Expression_Times(new Coefficient(BigInteger.ONE), new Variable(n + supdim));
+				rhs = new Linear_Expression_Coefficient(new Coefficient(BigInteger.ONE));
+				Constraint c = new Constraint(lhs, Relation_Symbol.EQUAL, rhs);
+				cp.get().add_constraint(c);
+			}
+
+			// project away the unneccessary dimensions
+			cp.get().remove_higher_space_dimensions(n);
+			// now in cp have the Minkowski sum for that particular distribution d
+		}
+
+		// add rewards
+		Polyhedron Yk1 = add_rewards(cp.get(), s, d, rewards, extra_rewards);
+
+		// cut everything but the negative orthant bounded by -M
+		if (cut) cutBox(Yk1, M);
+
+		// add transition rewards and return polyhedron
+		return new Pareto(Yk1);
+	}
+
+	/**
+	 * Apply F(X^k)(s) for a single state {@code s} (cf. MFCS'13 and QEST'13).
+	 * The Pareto sets of the stochastic states (one per choice of {@code s}) are added to {@code distPolys}.
+	 * @param rounding rounding enabled
+	 * @param union_with_previous take union with previous Pareto set
+	 * @param cut cut off everything that is strictly above the negative orthant (used for energy objectives)
+	 * @param M maximum bound on Pareto sets (quantity is positive)
+	 */
+	public static Pareto pMultiObjectiveSingle(SMG<Double> smg, int s, Pareto[] Xk, List<Rewards<Double>> rewards, long baseline_accuracy, double[] biggest_reward, List<Pareto> distPolys,
+					     boolean rounding, boolean union_with_previous, boolean cut, long M) throws PrismException
+	{
+		int n = rewards.size();
+
+		// ------------------------------------------------------------------------------
+		// STOCHASTIC STATE OPERATIONS
+
+		// step through all stochastic successors of s
+		for (int d = 0, numChoices = smg.getNumChoices(s); d < numChoices; d++) {
+			// add polyhedron to the list of polyhedra in the successors of s
+			distPolys.add(stochasticState(smg, s, d, Xk, rewards, null, cut, M));
+		}
+
+		// ------------------------------------------------------------------------------
+		// PLAYER ONE AND PLAYER TWO OPERATIONS
+
+		// Xk1s holds the polyhedron of state s
+		// need deep copy here because want to retain Minkowski sums
+		Polyhedron Xk1s;
+		if (distPolys.size() > 0) {
+			if (smg.getPlayer(s) == 0) {
+			        // Player 1
+			        Xk1s = new C_Polyhedron(distPolys.get(0).get().generators());
+				int cp_start = 0;
+			        get_first_cp: for (cp_start = 0; cp_start < distPolys.size(); cp_start++) {
+				    if(!distPolys.get(cp_start).get().is_empty()) {
+					Xk1s = new C_Polyhedron(distPolys.get(cp_start).get().generators());
+					break get_first_cp;
+				    }
+				}
+				if(distPolys.get(0).get().space_dimension() > Xk1s.space_dimension())
+				        Xk1s.add_space_dimensions_and_project(distPolys.get(0).get().space_dimension() - Xk1s.space_dimension());
+
+				for (int cp_i = cp_start+1; cp_i < distPolys.size(); cp_i++) {
+				    if(!distPolys.get(cp_i).get().is_empty())
+					Xk1s.upper_bound_assign(distPolys.get(cp_i).get());
+				}
+			} else {
+				// Player 2
+ 			        Xk1s = new C_Polyhedron(distPolys.get(0).get().generators());
+				Xk1s.add_space_dimensions_and_project(distPolys.get(0).get().space_dimension() - Xk1s.space_dimension());
+				for (int cp_i = 1; cp_i < distPolys.size(); cp_i++) {
+				    if(!Xk1s.is_empty() && !distPolys.get(cp_i).get().is_empty())
+					Xk1s.intersection_assign(distPolys.get(cp_i).get());
+				    else if(!Xk1s.is_empty()) // now the other polyhedron must be empty
+					Xk1s = new C_Polyhedron(distPolys.get(cp_i).get().generators());
+				}
+			}
+		} else { // deadlock
+		        Xk1s = Xk[s].get(); //new C_Polyhedron(new Generator_System()); // empty
+		}
+
+		// ------------------------------------------------------------------------------
+		// ADD STATE REWARDS
+		Xk1s = add_rewards(Xk1s, s, Integer.MIN_VALUE, rewards, null);
+
+		// ------------------------------------------------------------------------------
+		// ROUNDING (if required)
+		if (rounding) Xk1s = round(Xk1s.generators(), baseline_accuracy, biggest_reward, cut);
+
+		// ------------------------------------------------------------------------------
+		// CLEAN UP: UNION WITH PREVIOUS RESULT OR CUT, MINIMIZE REPRESENTATION, DIMENSIONALITY
+
+		// union with previous result (after rounding)
+		if (rounding && union_with_previous) Xk1s.upper_bound_assign(Xk[s].get());
+		// cut everything but the negative orthant bounded by -M
+		if (cut) cutBox(Xk1s, M);
+
+		// minimize representation
+		Xk1s = new C_Polyhedron(Xk1s.minimized_generators());
+
+		// add zero dimensions if minimization deleted them
+		if (Xk1s.space_dimension() != n)
+			Xk1s.add_space_dimensions_and_project(n - Xk1s.space_dimension());
+
+		return new Pareto(Xk1s);
+	}
 }
@@ -0,0 +1,642 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import parser.State;
+import parser.VarList;
+import parser.ast.DeclarationIntUnbounded;
+import parser.type.TypeBool;
+import parser.type.TypeInt;
+
+/**
+ * Indexed set of states, in which each state is packed into one or more longs,
+ * using the (bounded) ranges of the variables in a {@link VarList}.
+ * Lookup is done via an open-addressing hash table of state indices, so no
+ * {@link State} objects are kept: they are only created when asked for,
+ * e.g. by {@link #toArrayList()} or via the lazy list returned by {@link #toStatesList(int[])}.
+ * <br><br>
+ * Variables are packed in order, earliest variable in the most significant bits,
+ * so that comparing packed states gives the same ordering as {@link State#compareTo(State)}.
+ * This is used by {@link #buildSortingPermutation()}.
+ * <br><br>
+ * Only models whose variables are all bounded integers or Booleans can be stored
+ * (see {@link #canStore(VarList)}), and values must be Integer/Boolean objects
+ * (i.e., not those from exact arithmetic mode); otherwise, an {@link UnpackableStateException} is thrown.
+ * The layout is determined up front from the declared variable ranges. Since these are not
+ * enforced during explicit model construction, a value outside its range is still accepted:
+ * the range is widened, and the states stored so far are repacked (keeping their indices).
+ * <br><br>
+ * The number of states is limited by the maximum size of a Java array (of longs, for the
+ * packed states, and of ints, for the hash table); exceeding it causes an {@link OutOfMemoryError}.
+ */
+public class PackedStateStorage implements StateStorage<State>
+{
+	/** Max number of bits used per long (top bit is left unused, so signed comparison can be used) */
+	private static final int BITS_PER_WORD = 63;
+	/** Initial capacity (number of states) */
+	private static final int INITIAL_CAPACITY = 1024;
+	/** Maximum array size (some JVMs reserve a few header words in an array) */
+	private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+	/** Maximum hash table size (a power of 2) */
+	private static final int MAX_TABLE_SIZE = 1 << 30;
+
+	/** Layout of packed states (shared with any lists created by {@link #toStatesList(int[])}) */
+	protected Layout layout;
+	/** Number of longs per state */
+	protected int numWords;
+
+	/** Packed states, numWords longs for each, ordered by index */
+	protected long data[];
+	/** Number of states stored */
+	protected int numStates;
+	/** Hash table: for each slot, 1 + the index of the state stored there, or 0 if empty */
+	protected int table[];
+	/** Bit mask for hash table indices (table size - 1) */
+	protected int tableMask;
+	/** Index of the state last added (or looked up by add) */
+	protected int indexOfLastAdd;
+	/** Scratch space for packing states */
+	private long packed[];
+
+	/**
+	 * Create an empty store for states of the variables in {@code varList}
+	 * (which should be checked first with {@link #canStore(VarList)}).
+	 */
+	public PackedStateStorage(VarList varList)
+	{
+		layout = new Layout(varList);
+		numWords = layout.numWords;
+		packed = new long[numWords];
+		data = new long[INITIAL_CAPACITY * numWords];
+		table = new int[2 * INITIAL_CAPACITY];
+		tableMask = table.length - 1;
+		numStates = 0;
+		indexOfLastAdd = -1;
+	}
+
+	/**
+	 * Can states of the variables in {@code varList} be stored by this class?
+	 * i.e. are they all bounded integers or Booleans?
+	 */
+	public static boolean canStore(VarList varList)
+	{
+		int numVars = varList.getNumVars();
+		for (int i = 0; i < numVars; i++) {
+			if (varList.getDeclarationType(i) instanceof DeclarationIntUnbounded) {
+				return false;
+			}
+			if (!(varList.getType(i) instanceof TypeInt || varList.getType(i) instanceof TypeBool)) {
+				return false;
+			}
+			if (varList.getLow(i) > varList.getHigh(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Methods for StateStorage
+
+	@Override
+	public int get(State state)
+	{
+		int i = layout.pack(state, packed, 0) ? find(packed) : -1;
+		if (i == -1) {
+			throw new NullPointerException();
+		}
+		return i;
+	}
+
+	@Override
+	public boolean add(State state)
+	{
+		if (!layout.pack(state, packed, 0)) {
+			widen(state);
+			layout.pack(state, packed, 0);
+		}
+		int slot = hash(packed, 0) & tableMask;
+		while (table[slot] != 0) {
+			if (equalsStored(packed, table[slot] - 1)) {
+				indexOfLastAdd = table[slot] - 1;
+				return false;
+			}
+			slot = (slot + 1) & tableMask;
+		}
+		// Not found: store new state
+		// (growing the array of packed states if needed; since its size is bounded,
+		// all offsets i * numWords of stored states then fit in an int)
+		long required = (long) (numStates + 1) * numWords;
+		if (required > data.length) {
+			if (required > MAX_ARRAY_SIZE) {
+				throw new OutOfMemoryError("Too many states (" + numStates + ") for packed state storage");
+			}
+			data = Arrays.copyOf(data, (int) Math.max(required, Math.min(MAX_ARRAY_SIZE, 2L * data.length)));
+		}
+		System.arraycopy(packed, 0, data, numStates * numWords, numWords);
+		table[slot] = numStates + 1;
+		indexOfLastAdd = numStates;
+		numStates++;
+		// Keep load factor below 1/2 (or, once the table cannot grow, 3/4)
+		if (2L * numStates > table.length) {
+			if (table.length < MAX_TABLE_SIZE) {
+				rehash(2 * table.length);
+			} else if (4L * numStates > 3L * table.length) {
+				throw new OutOfMemoryError("Too many states (" + numStates + ") for packed state storage");
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void clear()
+	{
+		data = new long[0];
+		table = new int[2];
+		tableMask = 1;
+		numStates = 0;
+		indexOfLastAdd = -1;
+	}
+
+	@Override
+	public boolean contains(State state)
+	{
+		return layout.pack(state, packed, 0) && find(packed) != -1;
+	}
+
+	@Override
+	public int getIndexOfLastAdd()
+	{
+		return indexOfLastAdd;
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return numStates == 0;
+	}
+
+	@Override
+	public int size()
+	{
+		return numStates;
+	}
+
+	/**
+	 * Get the set of (state, index) pairs, ordered by index.
+	 * Note that, unlike for {@link IndexedSet}, this is not a view:
+	 * all states are created (and the set is not updated by subsequent changes).
+	 */
+	@Override
+	public Set<Map.Entry<State, Integer>> getEntrySet()
+	{
+		Set<Map.Entry<State, Integer>> set = new LinkedHashSet<>(numStates);
+		for (int i = 0; i < numStates; i++) {
+			set.add(new AbstractMap.SimpleImmutableEntry<>(getState(i), i));
+		}
+		return set;
+	}
+
+	@Override
+	public ArrayList<State> toArrayList()
+	{
+		ArrayList<State> list = new ArrayList<State>(numStates);
+		toArrayList(list);
+		return list;
+	}
+
+	@Override
+	public void toArrayList(ArrayList<State> list)
+	{
+		for (int i = 0; i < numStates; i++) {
+			list.add(getState(i));
+		}
+	}
+
+	@Override
+	public ArrayList<State> toPermutedArrayList(int permut[])
+	{
+		ArrayList<State> list = new ArrayList<State>(numStates);
+		toPermutedArrayList(permut, list);
+		return list;
+	}
+
+	@Override
+	public void toPermutedArrayList(int permut[], ArrayList<State> list)
+	{
+		for (int i = 0; i < numStates; i++) {
+			list.add(null);
+		}
+		for (int i = 0; i < numStates; i++) {
+			list.set(permut[i], getState(i));
+		}
+	}
+
+	/**
+	 * Build sort permutation, i.e., a permutation (integer array) mapping current indices
+	 * to new indices when the states are sorted (as for {@link State#compareTo(State)}).
+	 * Unlike {@link IndexedSet}, this does not need the states to have been stored in a sorted set.
+	 */
+	@Override
+	public int[] buildSortingPermutation()
+	{
+		// Merge sort (bottom-up) of state indices, by packed value
+		int order[] = new int[numStates];
+		int tmp[] = new int[numStates];
+		for (int i = 0; i < numStates; i++) {
+			order[i] = i;
+		}
+		for (int width = 1; width < numStates; width *= 2) {
+			for (int lo = 0; lo < numStates - width; lo += 2 * width) {
+				int mid = lo + width;
+				int hi = Math.min(lo + 2 * width, numStates);
+				int i = lo, j = mid, k = lo;
+				while (i < mid && j < hi) {
+					tmp[k++] = (compareStored(order[i], order[j]) <= 0) ? order[i++] : order[j++];
+				}
+				while (i < mid) {
+					tmp[k++] = order[i++];
+				}
+				while (j < hi) {
+					tmp[k++] = order[j++];
+				}
+				System.arraycopy(tmp, lo, order, lo, hi - lo);
+			}
+		}
+		// Convert to permutation
+		int perm[] = tmp;
+		for (int i = 0; i < numStates; i++) {
+			perm[order[i]] = i;
+		}
+		return perm;
+	}
+
+	// Other methods
+
+	/**
+	 * Create the {@code i}th state.
+	 */
+	public State getState(int i)
+	{
+		return layout.unpack(data, i * numWords);
+	}
+
+	/**
+	 * Get a (read-only) list of the states, ordered by permuted index, i.e., in which the
+	 * index of each state is permut[old_index], or ordered by index if {@code permut} is null.
+	 * The list keeps just the packed states, and creates a new State object for each call to get().
+	 * Afterwards, this storage is cleared (the packed states are moved to the list).
+	 * @param permut Permutation to apply (optional)
+	 */
+	public List<State> toStatesList(int permut[])
+	{
+		long listData[];
+		if (permut == null) {
+			listData = (data.length == numStates * numWords) ? data : Arrays.copyOf(data, numStates * numWords);
+		} else {
+			listData = new long[numStates * numWords];
+			for (int i = 0; i < numStates; i++) {
+				System.arraycopy(data, i * numWords, listData, permut[i] * numWords, numWords);
+			}
+		}
+		List<State> list = new PackedStateList(layout, listData, numStates);
+		clear();
+		return list;
+	}
+
+	@Override
+	public String toString()
+	{
+		return toArrayList().toString();
+	}
+
+	// Local utility methods
+
+	/**
+	 * Find the index of the packed state {@code key}, or -1 if not present.
+	 */
+	private int find(long key[])
+	{
+		int slot = hash(key, 0) & tableMask;
+		while (table[slot] != 0) {
+			if (equalsStored(key, table[slot] - 1)) {
+				return table[slot] - 1;
+			}
+			slot = (slot + 1) & tableMask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Widen the layout so that {@code state} (which has values outside the current variable ranges)
+	 * can be packed, and repack all states stored so far.
+	 * To avoid repeated repacking, each range is (at least) doubled in the direction needed.
+	 */
+	private void widen(State state)
+	{
+		Layout newLayout = layout.widen(state);
+		long required = (long) numStates * newLayout.numWords;
+		if (required > MAX_ARRAY_SIZE) {
+			throw new OutOfMemoryError("Too many states (" + numStates + ") for packed state storage");
+		}
+		long capacity = Math.max(numStates, data.length / numWords);
+		long newData[] = new long[(int) Math.min(MAX_ARRAY_SIZE, capacity * newLayout.numWords)];
+		for (int i = 0; i < numStates; i++) {
+			newLayout.pack(layout.unpack(data, i * numWords), newData, i * newLayout.numWords);
+		}
+		layout = newLayout;
+		numWords = newLayout.numWords;
+		packed = new long[numWords];
+		data = newData;
+		rehash(table.length);
+	}
+
+	/**
+	 * Resize the hash table to {@code size} (a power of 2) and re-insert all states.
+	 */
+	private void rehash(int size)
+	{
+		table = new int[size];
+		tableMask = size - 1;
+		for (int i = 0; i < numStates; i++) {
+			int slot = hash(data, i * numWords) & tableMask;
+			while (table[slot] != 0) {
+				slot = (slot + 1) & tableMask;
+			}
+			table[slot] = i + 1;
+		}
+	}
+
+	/**
+	 * Hash the packed state stored in {@code arr}, starting at {@code offset}.
+	 */
+	private int hash(long arr[], int offset)
+	{
+		// (64-bit finaliser from MurmurHash3, applied to each long in turn;
+		// the high bits need to be mixed down since packed values are often stored there)
+		long h = 0;
+		for (int w = 0; w < numWords; w++) {
+			h ^= arr[offset + w];
+			h ^= (h >>> 33);
+			h *= 0xff51afd7ed558ccdL;
+			h ^= (h >>> 33);
+			h *= 0xc4ceb9fe1a85ec53L;
+			h ^= (h >>> 33);
+		}
+		return (int) h;
+	}
+
+	/**
+	 * Is packed state {@code key} equal to stored state {@code i}?
+	 */
+	private boolean equalsStored(long key[], int i)
+	{
+		int offset = i * numWords;
+		for (int w = 0; w < numWords; w++) {
+			if (key[w] != data[offset + w])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Compare stored states {@code i} and {@code j}.
+	 */
+	private int compareStored(int i, int j)
+	{
+		int oi = i * numWords, oj = j * numWords;
+		for (int w = 0; w < numWords; w++) {
+			int c = Long.compare(data[oi + w], data[oj + w]);
+			if (c != 0)
+				return c;
+		}
+		return 0;
+	}
+
+	/**
+	 * Exception thrown when a state cannot be packed, i.e. because a variable's value
+	 * is not of the expected type (e.g. from exact arithmetic mode).
+	 */
+	@SuppressWarnings("serial")
+	public static class UnpackableStateException extends IllegalArgumentException
+	{
+		public UnpackableStateException(String message)
+		{
+			super(message);
+		}
+	}
+
+	/**
+	 * Layout of a packed state: where each variable is stored, and how to convert it.
+	 */
+	protected static class Layout
+	{
+		/** Number of variables */
+		final int numVars;
+		/** Number of longs per state */
+		final int numWords;
+		/** For each variable, which long it is stored in */
+		final int word[];
+		/** For each variable, the bit position it is stored at */
+		final int shift[];
+		/** For each variable, the mask for its bits (after shifting) */
+		final long mask[];
+		/** For each variable, its lowest value (ints only) */
+		final int low[];
+		/** For each variable, its highest value (ints only) */
+		final int high[];
+		/** For each variable, whether it is a Boolean */
+		final boolean isBool[];
+		/** Variable names (for error messages) */
+		final String names[];
+
+		Layout(VarList varList)
+		{
+			this(getNames(varList), getIsBool(varList), getBounds(varList, true), getBounds(varList, false));
+		}
+
+		Layout(String names[], boolean isBool[], int low[], int high[])
+		{
+			numVars = names.length;
+			this.names = names;
+			this.isBool = isBool;
+			this.low = low;
+			this.high = high;
+			word = new int[numVars];
+			shift = new int[numVars];
+			mask = new long[numVars];
+			int w = 0, free = BITS_PER_WORD;
+			for (int i = 0; i < numVars; i++) {
+				long range = isBool[i] ? 2 : (long) high[i] - low[i] + 1;
+				int bits = 64 - Long.numberOfLeadingZeros(range - 1);
+				if (bits > free) {
+					w++;
+					free = BITS_PER_WORD;
+				}
+				free -= bits;
+				word[i] = w;
+				shift[i] = free;
+				mask[i] = (1L << bits) - 1;
+			}
+			numWords = w + 1;
+		}
+
+		private static String[] getNames(VarList varList)
+		{
+			String names[] = new String[varList.getNumVars()];
+			for (int i = 0; i < names.length; i++) {
+				names[i] = varList.getName(i);
+			}
+			return names;
+		}
+
+		private static boolean[] getIsBool(VarList varList)
+		{
+			boolean isBool[] = new boolean[varList.getNumVars()];
+			for (int i = 0; i < isBool.length; i++) {
+				isBool[i] = varList.getType(i) instanceof TypeBool;
+			}
+			return isBool;
+		}
+
+		private static int[] getBounds(VarList varList, boolean low)
+		{
+			int bounds[] = new int[varList.getNumVars()];
+			for (int i = 0; i < bounds.length; i++) {
+				bounds[i] = varList.getType(i) instanceof TypeBool ? (low ? 0 : 1) : (low ? varList.getLow(i) : varList.getHigh(i));
+			}
+			return bounds;
+		}
+
+		/**
+		 * Create a layout like this one, but with the ranges of integer variables widened
+		 * to include their values in {@code state}, doubling the range (at least) in the direction needed.
+		 */
+		Layout widen(State state)
+		{
+			int newLow[] = low.clone();
+			int newHigh[] = high.clone();
+			for (int i = 0; i < numVars; i++) {
+				if (!isBool[i] && state.varValues[i] instanceof Integer) {
+					int v = (Integer) state.varValues[i];
+					long range = (long) high[i] - low[i] + 1;
+					if (v < low[i]) {
+						newLow[i] = (int) Math.max(Integer.MIN_VALUE, Math.min(v, low[i] - range));
+					} else if (v > high[i]) {
+						newHigh[i] = (int) Math.min(Integer.MAX_VALUE, Math.max(v, high[i] + range));
+					}
+				}
+			}
+			return new Layout(names, isBool, newLow, newHigh);
+		}
+
+		/**
+		 * Pack {@code state} into {@code arr}, starting at {@code offset}.
+		 * Returns false (and leaves {@code arr} in an undefined state) if an integer value
+		 * is outside of its range, in which case a wider layout is needed (see {@link #widen(State)}).
+		 */
+		boolean pack(State state, long arr[], int offset)
+		{
+			Object values[] = state.varValues;
+			if (values.length != numVars) {
+				throw new IllegalArgumentException("Wrong number of variables in state " + state);
+			}
+			Arrays.fill(arr, offset, offset + numWords, 0L);
+			for (int i = 0; i < numVars; i++) {
+				long v;
+				if (isBool[i]) {
+					if (!(values[i] instanceof Boolean)) {
+						throw new UnpackableStateException("Value " + values[i] + " of variable " + names[i] + " cannot be packed");
+					}
+					v = ((Boolean) values[i]) ? 1 : 0;
+				} else {
+					if (!(values[i] instanceof Integer)) {
+						throw new UnpackableStateException("Value " + values[i] + " of variable " + names[i] + " cannot be packed");
+					}
+					v = (long) ((Integer) values[i]) - low[i];
+					if (v < 0 || v > mask[i]) {
+						return false;
+					}
+				}
+				arr[offset + word[i]] |= v << shift[i];
+			}
+			return true;
+		}
+
+		/**
+		 * Create the state packed in {@code arr}, starting at {@code offset}.
+		 */
+		State unpack(long arr[], int offset)
+		{
+			State state = new State(numVars);
+			for (int i = 0; i < numVars; i++) {
+				int v = (int) ((arr[offset + word[i]] >>> shift[i]) & mask[i]);
+				state.varValues[i] = isBool[i] ? Boolean.valueOf(v != 0) : Integer.valueOf(v + low[i]);
+			}
+			return state;
+		}
+	}
+
+	/**
+	 * Read-only list of packed states (see {@link PackedStateStorage#toStatesList(int[])}).
+	 */
+	protected static class PackedStateList extends AbstractList<State> implements RandomAccess
+	{
+		private final Layout layout;
+		private final long data[];
+		private final int size;
+
+		PackedStateList(Layout layout, long data[], int size)
+		{
+			this.layout = layout;
+			this.data = data;
+			this.size = size;
+		}
+
+		@Override
+		public State get(int i)
+		{
+			if (i < 0 || i >= size) {
+				throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + size);
+			}
+			return layout.unpack(data, i * layout.numWords);
+		}
+
+		@Override
+		public int size()
+		{
+			return size;
+		}
+	}
+}
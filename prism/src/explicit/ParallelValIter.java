@@ -0,0 +1,250 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import prism.PrismException;
+import prism.PrismUtils;
+
+/**
+ * Helper class for multi-threaded (Jacobi-style) value iteration over a fixed set of states.
+ * <br><br>
+ * The states are split into blocks of consecutive state indices, with boundaries aligned
+ * to BitSet words, and each iteration processes the blocks as separate tasks on a ForkJoinPool.
+ * Each task updates the states in its block and then checks convergence over its index range;
+ * the overall result is the conjunction of these. Since, in Jacobi mode, each state is updated
+ * using only values from the previous iteration and each task only writes entries in its own block,
+ * the results are identical to those of sequential value iteration.
+ */
+public class ParallelValIter implements AutoCloseable
+{
+	/** Minimum number of states in a block (smaller problems are not worth splitting) */
+	public static final int MIN_BLOCK_SIZE = 4096;
+
+	/** Number of blocks to create per thread (for load balancing) */
+	private static final int BLOCKS_PER_THREAD = 4;
+
+	/**
+	 * Update of the states in a block, as done by a task in one iteration.
+	 */
+	@FunctionalInterface
+	public interface BlockUpdate
+	{
+		/**
+		 * Update the states {@code states} (and only those).
+		 */
+		public void update(BitSet states) throws PrismException;
+	}
+
+	/**
+	 * Check of the states in a block, as done by a task in one iteration, after its update.
+	 */
+	@FunctionalInterface
+	public interface BlockCheck
+	{
+		/**
+		 * Check the (already updated) states {@code states}, e.g. for convergence.
+		 */
+		public boolean check(BitSet states) throws PrismException;
+	}
+
+	/** Thread pool */
+	private ForkJoinPool pool;
+	/** Start of each block's index range (size numBlocks+1, first is 0, last is numStates) */
+	private int blockStarts[];
+	/** States to be updated in each block */
+	private BitSet blockStates[];
+
+	/**
+	 * Create a helper for parallel value iteration, updating states {@code states},
+	 * from a model with {@code numStates} states, using {@code numThreads} threads.
+	 */
+	public ParallelValIter(int numThreads, BitSet states, int numStates)
+	{
+		this(numThreads, states, numStates, MIN_BLOCK_SIZE);
+	}
+
+	/**
+	 * Create a helper for parallel value iteration, updating states {@code states},
+	 * from a model with {@code numStates} states, using {@code numThreads} threads,
+	 * with (where possible) at least {@code minBlockSize} states to update in each block.
+	 * A smaller block size than the default is appropriate when updating a state is expensive.
+	 */
+	public ParallelValIter(int numThreads, BitSet states, int numStates, int minBlockSize)
+	{
+		// Split states evenly (by number of states to update, not index)
+		int numBlocksTarget = numThreads * BLOCKS_PER_THREAD;
+		int blockSize = Math.max(minBlockSize, (states.cardinality() + numBlocksTarget - 1) / numBlocksTarget);
+		List<Integer> starts = new ArrayList<>();
+		starts.add(0);
+		int count = 0;
+		for (int s = states.nextSetBit(0); s >= 0 && s < numStates; s = states.nextSetBit(s + 1)) {
+			if (++count == blockSize) {
+				// End block at the next word boundary
+				int end = Math.min(((s >> 6) + 1) << 6, numStates);
+				if (end < numStates) {
+					starts.add(end);
+				}
+				count = 0;
+				s = end - 1;
+			}
+		}
+		starts.add(numStates);
+		int numBlocks = starts.size() - 1;
+		blockStarts = new int[numBlocks + 1];
+		blockStates = new BitSet[numBlocks];
+		for (int b = 0; b <= numBlocks; b++) {
+			blockStarts[b] = starts.get(b);
+		}
+		for (int b = 0; b < numBlocks; b++) {
+			blockStates[b] = states.get(0, blockStarts[b + 1]);
+			blockStates[b].clear(0, blockStarts[b]);
+		}
+		pool = new ForkJoinPool(Math.min(numThreads, numBlocks));
+	}
+
+	/**
+	 * Is it worth using parallel value iteration with {@code numThreads} threads
+	 * to update states {@code states}?
+	 */
+	public static boolean isWorthwhile(int numThreads, BitSet states)
+	{
+		return isWorthwhile(numThreads, states, MIN_BLOCK_SIZE);
+	}
+
+	/**
+	 * Is it worth using parallel value iteration with {@code numThreads} threads
+	 * to update states {@code states}, with blocks of at least {@code minBlockSize} states?
+	 */
+	public static boolean isWorthwhile(int numThreads, BitSet states, int minBlockSize)
+	{
+		return numThreads > 1 && states.cardinality() >= 2 * minBlockSize;
+	}
+
+	/**
+	 * Get the number of blocks that the states have been split into.
+	 */
+	public int getNumBlocks()
+	{
+		return blockStates.length;
+	}
+
+	/**
+	 * Perform one iteration: call {@code update} on (the states to be updated in) each block,
+	 * in parallel, then check whether all entries of {@code soln} and {@code soln2}
+	 * are within epsilon of each other, as done by
+	 * {@link PrismUtils#doublesAreClose(double[], double[], double, boolean)}.
+	 * @param update Update to perform for a set of states (writing only to those states);
+	 *               any exception it throws is passed on, once all tasks have finished
+	 * @param soln Solution vector before the update
+	 * @param soln2 Solution vector after the update
+	 * @param epsilon Epsilon for convergence check
+	 * @param abs Absolute (true) or relative (false) convergence check
+	 * @return whether all blocks have converged
+	 */
+	public boolean updateAndCheckConvergence(BlockUpdate update, double soln[], double soln2[], double epsilon, boolean abs) throws PrismException
+	{
+		return runBlocks(block -> () -> {
+			update.update(blockStates[block]);
+			for (int i = blockStarts[block], end = blockStarts[block + 1]; i < end; i++) {
+				if (!PrismUtils.doublesAreClose(soln[i], soln2[i], epsilon, abs)) {
+					return false;
+				}
+			}
+			return true;
+		});
+	}
+
+	/**
+	 * Perform one iteration: call {@code update} on (the states to be updated in) each block,
+	 * in parallel, each followed by {@code check} on the same states.
+	 * @param update Update to perform for a set of states (writing only to those states);
+	 *               any exception it throws is passed on, once all tasks have finished
+	 * @param check Check to perform for a set of states, once updated (e.g. for convergence)
+	 * @return whether the check succeeded for all blocks
+	 */
+	public boolean updateAndCheck(BlockUpdate update, BlockCheck check) throws PrismException
+	{
+		return runBlocks(block -> () -> {
+			update.update(blockStates[block]);
+			return check.check(blockStates[block]);
+		});
+	}
+
+	/**
+	 * Run the task created by {@code task} for each block, in parallel,
+	 * and return the conjunction of their results.
+	 */
+	private boolean runBlocks(IntFunction<Callable<Boolean>> task) throws PrismException
+	{
+		int numBlocks = blockStates.length;
+		List<Callable<Boolean>> tasks = new ArrayList<>(numBlocks);
+		for (int b = 0; b < numBlocks; b++) {
+			tasks.add(task.apply(b));
+		}
+		boolean done = true;
+		for (Future<Boolean> result : pool.invokeAll(tasks)) {
+			done &= getResult(result);
+		}
+		return done;
+	}
+
+	/**
+	 * Get the result of a completed task, passing on any exception it threw.
+	 */
+	private static boolean getResult(Future<Boolean> result) throws PrismException
+	{
+		try {
+			return result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PrismException("Interrupted during parallel value iteration");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof PrismException) {
+				throw (PrismException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new PrismException("Error during parallel value iteration: " + cause.getMessage());
+		}
+	}
+
+	@Override
+	public void close()
+	{
+		pool.shutdownNow();
+	}
+}
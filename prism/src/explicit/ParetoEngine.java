@@ -0,0 +1,131 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.List;
+
+import explicit.rewards.Rewards;
+import prism.PrismException;
+import prism.PrismLog;
+
+/**
+ * Operations on the (convex, downward closed) Pareto sets used by the value iteration
+ * for conjunctive queries (CQs) on SMGs, see {@link SMGModelChecker#computeCQParetoSet}.
+ * This allows the representation of the sets to be chosen:
+ * polyhedra of the Parma Polyhedra Library ({@link ParetoEnginePPL}), which is exact,
+ * or vertex lists in floating point ({@link ParetoEngineVertex}), which needs no native library.
+ *
+ * @param <S> Type of the Pareto sets
+ */
+public interface ParetoEngine<S>
+{
+	/**
+	 * Get the name of this engine (for logging).
+	 */
+	public String getName();
+
+	/**
+	 * Create an array for {@code size} sets.
+	 */
+	public S[] newArray(int size);
+
+	/**
+	 * Get the downward closure of the point {@code x}.
+	 */
+	public S downwardClosure(double[] x) throws PrismException;
+
+	/**
+	 * Take X^k and apply F(X^k)(s) for each state (cf. MFCS'13 and QEST'13).
+	 * See {@link PPLSupport#pMultiObjective} for the meaning of the parameters.
+	 */
+	public S[] pMultiObjective(SMG<Double> smg, S[] Xk, List<Rewards<Double>> rewards, boolean gaussSeidel, long baseline_accuracy, double[] biggest_reward,
+			List<S>[] stochasticStates, boolean rounding, boolean union_with_previous, boolean cut, long M) throws PrismException;
+
+	/**
+	 * Apply F(X^k)(s) for a single state {@code s}, adding the sets of its stochastic states
+	 * (one per choice) to {@code distPolys}. {@code Xk} is only read.
+	 * See {@link PPLSupport#pMultiObjectiveSingle} for the meaning of the other parameters.
+	 */
+	public S pMultiObjectiveSingle(SMG<Double> smg, int s, S[] Xk, List<Rewards<Double>> rewards, long baseline_accuracy, double[] biggest_reward,
+			List<S> distPolys, boolean rounding, boolean union_with_previous, boolean cut, long M) throws PrismException;
+
+	/**
+	 * Can the operations of this engine be called from several threads at once
+	 * (for different states, sharing only read access to the sets)?
+	 */
+	public boolean isThreadSafe();
+
+	/**
+	 * Test convergence of the set of one state using the epsilon-growth criterion (relative!),
+	 * that is, test whether (prev \cap current) + epsilon \supseteq (prev \cup current),
+	 * where the sets are first scaled down by {@code k[i]} (current) and {@code k[i]-1} (previous)
+	 * in each dimension {@code i} with {@code k[i] > 1} (for average rewards).
+	 */
+	public boolean hasConverged(S current, S previous, int n, int[] k, double varepsilon) throws PrismException;
+
+	/**
+	 * Are the sets {@code X} and {@code Y} equal? This is used to detect sets that have stopped changing,
+	 * so it may give false negatives (e.g. for different representations of the same set) but no false positives.
+	 */
+	public boolean isEqual(S X, S Y) throws PrismException;
+
+	/**
+	 * Is the set {@code X} empty?
+	 */
+	public boolean isEmpty(S X);
+
+	/**
+	 * Does the set {@code X} contain the point {@code bounds}?
+	 */
+	public boolean checkBound(S X, double[] bounds);
+
+	/**
+	 * Does the set {@code X} contain the point {@code bounds}?
+	 */
+	public default boolean checkBound(S X, List<Double> bounds)
+	{
+		double[] b = new double[bounds.size()];
+		for (int i = 0; i < b.length; i++) {
+			b[i] = bounds.get(i);
+		}
+		return checkBound(X, b);
+	}
+
+	/**
+	 * Scale the set {@code X} by factor {@code beta[i]} in each dimension {@code i}.
+	 * The set may be modified; the result should be used in place of it.
+	 */
+	public S discount(S X, double[] beta) throws PrismException;
+
+	/**
+	 * Get some vertex of the set {@code X}, or null if it is empty.
+	 */
+	public List<Double> getVertex(S X, int n) throws PrismException;
+
+	/**
+	 * Print the set of state {@code s} (and the maximum number of corners over all states).
+	 */
+	public void print(S[] sets, int n, int s, PrismLog log) throws PrismException;
+}
@@ -0,0 +1,211 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import org.apache.commons.math3.fraction.BigFraction;
+
+import explicit.rewards.Rewards;
+import parma_polyhedra_library.C_Polyhedron;
+import parma_polyhedra_library.Coefficient;
+import parma_polyhedra_library.Generator;
+import parma_polyhedra_library.Generator_System;
+import parma_polyhedra_library.Generator_Type;
+import parma_polyhedra_library.Linear_Expression;
+import parma_polyhedra_library.Linear_Expression_Sum;
+import parma_polyhedra_library.Linear_Expression_Times;
+import parma_polyhedra_library.Polyhedron;
+import parma_polyhedra_library.Variable;
+import prism.PrismException;
+import prism.PrismLog;
+
+/**
+ * Pareto sets for the multi-objective SMG engine, as (exact) polyhedra of the Parma Polyhedra Library.
+ * The library must have been initialised (see {@link PPLSupport#initPPL()}).
+ */
+public class ParetoEnginePPL implements ParetoEngine<Pareto>
+{
+	@Override
+	public String getName()
+	{
+		return "PPL";
+	}
+
+	@Override
+	public Pareto[] newArray(int size)
+	{
+		return new Pareto[size];
+	}
+
+	@Override
+	public Pareto downwardClosure(double[] x) throws PrismException
+	{
+		Generator_System gs = new Generator_System();
+		for (int i = 0; i < x.length; i++) {
+			// generate ray for downward closure
+			Linear_Expression ray = new Linear_Expression_Times(new Coefficient((BigInteger.ONE).negate()), new Variable(i));
+			gs.add(Generator.ray(ray));
+		}
+		gs.add(PPLSupport.generatorFromPoint(x));
+		return new Pareto(new C_Polyhedron(gs));
+	}
+
+	@Override
+	public Pareto[] pMultiObjective(SMG<Double> smg, Pareto[] Xk, List<Rewards<Double>> rewards, boolean gaussSeidel, long baseline_accuracy,
+			double[] biggest_reward, List<Pareto>[] stochasticStates, boolean rounding, boolean union_with_previous, boolean cut, long M) throws PrismException
+	{
+		return PPLSupport.pMultiObjective(smg, Xk, rewards, gaussSeidel, baseline_accuracy, biggest_reward, stochasticStates, rounding, union_with_previous, cut, M);
+	}
+
+	@Override
+	public Pareto pMultiObjectiveSingle(SMG<Double> smg, int s, Pareto[] Xk, List<Rewards<Double>> rewards, long baseline_accuracy, double[] biggest_reward,
+			List<Pareto> distPolys, boolean rounding, boolean union_with_previous, boolean cut, long M) throws PrismException
+	{
+		return PPLSupport.pMultiObjectiveSingle(smg, s, Xk, rewards, baseline_accuracy, biggest_reward, distPolys, rounding, union_with_previous, cut, M);
+	}
+
+	@Override
+	public boolean isThreadSafe()
+	{
+		// the native library keeps global state (e.g. for coefficients) and is not thread-safe
+		return false;
+	}
+
+	@Override
+	public boolean hasConverged(Pareto current, Pareto previous, int n, int[] k, double varepsilon) throws PrismException
+	{
+		Polyhedron ck1 = new C_Polyhedron((C_Polyhedron) current.get()); // deep copy - current
+		Polyhedron ck = new C_Polyhedron((C_Polyhedron) previous.get()); // deep copy - previous
+
+		// add step-discount if required
+		for (int i = 0; i < n; i++) {
+			if (k[i] > 1) {
+				Variable var = new Variable(i);
+				Linear_Expression expr = new Linear_Expression_Times(new Coefficient(1), var);
+				Coefficient den1 = new Coefficient(k[i]);
+				Coefficient den = new Coefficient(k[i] - 1);
+				ck1.affine_image(var, expr, den1);
+				ck.affine_image(var, expr, den);
+			}
+		}
+
+		Polyhedron ck_prime;
+
+		// if not monotonically increasing anyway, aply union and intersection
+		if (!ck1.contains(ck)) {
+			ck_prime = new C_Polyhedron(ck.generators()); // deep copy
+			ck.intersection_assign(ck1); // the set that's supposed to be smaller holds the intersection
+			ck1.upper_bound_assign(ck_prime); // the set that's supposed to be larger holds the union
+		}
+
+		Generator_System ngs = new Generator_System();
+		// first set up the reward vector that should be added to each point generator
+
+		BigFraction r = new BigFraction(varepsilon);
+		BigInteger num = r.getNumerator();
+		BigInteger den = r.getDenominator();
+
+		// prepare vector pointing in direction (varepsilon, varepsilon, ...)
+		Linear_Expression le = new Linear_Expression_Times(new Coefficient(num), new Variable(0));
+		Coefficient c = new Coefficient(den);
+		for (int i = 1; i < n; i++) {
+			le = new Linear_Expression_Sum(le, new Linear_Expression_Times(new Coefficient(num), new Variable(i)));
+		}
+
+		// now add reward vector to each point generator
+		for (Generator g : ck.generators()) {
+			if (g.type() == Generator_Type.POINT) {
+				Linear_Expression nle = new Linear_Expression_Sum(le.times(g.divisor()), g.linear_expression().times(c));
+				Coefficient nc = new Coefficient(g.divisor().getBigInteger().multiply(c.getBigInteger()));
+				ngs.add(Generator.point(nle, nc));
+			} else {
+				ngs.add(g);
+			}
+		}
+		ck_prime = new C_Polyhedron(ngs);
+		// now test containment
+		if (ck1.is_empty())
+			return true; // converged for this state
+		if (ck_prime.is_empty() && !ck1.is_empty())
+			return false; // not converged yet
+		if (!ck_prime.is_empty() && !ck_prime.contains(ck1))
+			return false; // not converged yet
+		return true;
+	}
+
+	@Override
+	public boolean isEqual(Pareto X, Pareto Y) throws PrismException
+	{
+		Polyhedron x = X.get();
+		Polyhedron y = Y.get();
+		return x.contains(y) && y.contains(x);
+	}
+
+	@Override
+	public boolean isEmpty(Pareto X)
+	{
+		return X.get(0).is_empty();
+	}
+
+	@Override
+	public boolean checkBound(Pareto X, double[] bounds)
+	{
+		return PPLSupport.checkBound(X, bounds, null);
+	}
+
+	@Override
+	public boolean checkBound(Pareto X, List<Double> bounds)
+	{
+		return PPLSupport.checkBound(X, bounds, null);
+	}
+
+	@Override
+	public Pareto discount(Pareto X, double[] beta) throws PrismException
+	{
+		PPLSupport.discountPareto(new Pareto[] { X }, beta);
+		return X;
+	}
+
+	@Override
+	public List<Double> getVertex(Pareto X, int n) throws PrismException
+	{
+		List<Generator> gens = X.get().generators();
+		for (int gi = gens.size() - 1; gi >= 0; gi--) {
+			Generator g = gens.get(gi);
+			if (g.type() == Generator_Type.POINT) {
+				return PPLSupport.getGeneratorAsVector(g, n);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void print(Pareto[] sets, int n, int s, PrismLog log) throws PrismException
+	{
+		PPLSupport.printReachabilityPolyhedron(sets, n, s, log);
+	}
+}
@@ -0,0 +1,269 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import explicit.rewards.Rewards;
+import prism.PrismException;
+import prism.PrismLog;
+
+/**
+ * Pareto sets for the multi-objective SMG engine, as vertex lists in floating point
+ * (see {@link ParetoVertexSet}). This is implemented in pure Java and is intended
+ * for objectives of low dimension (up to about 4).
+ * The value iteration step mirrors the one for polyhedra in {@link PPLSupport#pMultiObjective}.
+ */
+public class ParetoEngineVertex implements ParetoEngine<ParetoVertexSet>
+{
+	@Override
+	public String getName()
+	{
+		return "Java";
+	}
+
+	@Override
+	public ParetoVertexSet[] newArray(int size)
+	{
+		return new ParetoVertexSet[size];
+	}
+
+	@Override
+	public ParetoVertexSet downwardClosure(double[] x)
+	{
+		return ParetoVertexSet.downwardClosure(x);
+	}
+
+	@Override
+	public ParetoVertexSet[] pMultiObjective(SMG<Double> smg, ParetoVertexSet[] Xk, List<Rewards<Double>> rewards, boolean gaussSeidel, long baseline_accuracy,
+			double[] biggest_reward, List<ParetoVertexSet>[] stochasticStates, boolean rounding, boolean union_with_previous, boolean cut, long M)
+			throws PrismException
+	{
+		ParetoVertexSet[] result = new ParetoVertexSet[Xk.length];
+		ParetoVertexSet[] Yk = gaussSeidel ? null : new ParetoVertexSet[Xk.length];
+		System.arraycopy(Xk, 0, gaussSeidel ? result : Yk, 0, Xk.length); // if Gauss-Seidel, update result in-place
+		for (int s = 0, numStates = smg.getNumStates(); s < numStates; s++) {
+			List<ParetoVertexSet> distPolys = new ArrayList<>(smg.getNumChoices(s));
+			result[s] = pMultiObjectiveSingle(smg, s, gaussSeidel ? result : Yk, rewards, baseline_accuracy, biggest_reward, distPolys, rounding,
+					union_with_previous, cut, M);
+			if (stochasticStates != null)
+				stochasticStates[s] = distPolys;
+		}
+		return result;
+	}
+
+	/**
+	 * Compute the set of the stochastic state reached by taking choice {@code d} in state {@code s}
+	 * (cf. {@link SMG#stochasticState}).
+	 */
+	public ParetoVertexSet stochasticState(SMG<Double> smg, int s, int d, ParetoVertexSet[] Xk, List<Rewards<Double>> rewards, boolean cut, long M)
+			throws PrismException
+	{
+		int n = rewards.size();
+		int b = smg.getNumTransitions(s, d);
+		ParetoVertexSet cp;
+		if (b == 0) {
+			throw new PrismException("Distribution " + s + ", " + d + " has no successors.");
+		} else if (b == 1) {
+			// distribution assigns 1 to first successor
+			cp = Xk[smg.getTransitionsIterator(s, d).next().getKey()];
+		} else {
+			// weighted Minkowski sum, with probabilities made to add to one
+			ParetoVertexSet[] sets = new ParetoVertexSet[b];
+			double[] probs = new double[b];
+			double residual = 1.0;
+			int supdim = 0;
+			for (Iterator<Map.Entry<Integer, Double>> it = smg.getTransitionsIterator(s, d); it.hasNext(); supdim++) {
+				Map.Entry<Integer, Double> e = it.next();
+				sets[supdim] = Xk[e.getKey()];
+				probs[supdim] = e.getValue();
+				residual -= probs[supdim];
+			}
+			probs[0] += residual; // just add residual to first probability
+			cp = ParetoVertexSet.weightedSum(n, probs, sets);
+		}
+
+		// add transition rewards
+		double[] r = new double[n];
+		int i = 0;
+		for (Rewards<Double> reward : rewards) {
+			r[i++] = reward == null ? 0.0 : reward.getTransitionReward(s, d);
+		}
+		cp = cp.translate(r);
+
+		// cut everything but the negative orthant bounded by -M
+		if (cut)
+			cp = cp.cutBox(M);
+
+		return cp;
+	}
+
+	@Override
+	public ParetoVertexSet pMultiObjectiveSingle(SMG<Double> smg, int s, ParetoVertexSet[] Xk, List<Rewards<Double>> rewards, long baseline_accuracy,
+			double[] biggest_reward, List<ParetoVertexSet> distPolys, boolean rounding, boolean union_with_previous, boolean cut, long M) throws PrismException
+	{
+		int n = rewards.size();
+
+		// stochastic states
+		for (int d = 0, numChoices = smg.getNumChoices(s); d < numChoices; d++) {
+			distPolys.add(stochasticState(smg, s, d, Xk, rewards, cut, M));
+		}
+
+		// player one (convex hull of union) and player two (intersection)
+		ParetoVertexSet Xk1s;
+		if (distPolys.size() > 0) {
+			if (smg.getPlayer(s) == 0) {
+				Xk1s = ParetoVertexSet.hull(n, distPolys);
+			} else {
+				Xk1s = distPolys.get(0);
+				for (int cp_i = 1; cp_i < distPolys.size() && !Xk1s.isEmpty(); cp_i++) {
+					Xk1s = ParetoVertexSet.intersection(Xk1s, distPolys.get(cp_i));
+				}
+			}
+		} else { // deadlock
+			Xk1s = Xk[s];
+		}
+
+		// add state rewards
+		double[] r = new double[n];
+		int i = 0;
+		for (Rewards<Double> reward : rewards) {
+			r[i++] = reward == null ? 0.0 : reward.getStateReward(s);
+		}
+		Xk1s = Xk1s.translate(r);
+
+		// rounding (if required)
+		if (rounding)
+			Xk1s = Xk1s.round(baseline_accuracy, biggest_reward, cut);
+
+		// union with previous result (after rounding)
+		if (rounding && union_with_previous) {
+			List<ParetoVertexSet> sets = new ArrayList<>(2);
+			sets.add(Xk1s);
+			sets.add(Xk[s]);
+			Xk1s = ParetoVertexSet.hull(n, sets);
+		}
+		// cut everything but the negative orthant bounded by -M
+		if (cut)
+			Xk1s = Xk1s.cutBox(M);
+
+		return Xk1s;
+	}
+
+	@Override
+	public boolean isThreadSafe()
+	{
+		// sets are immutable (operations only create new ones)
+		return true;
+	}
+
+	@Override
+	public boolean hasConverged(ParetoVertexSet current, ParetoVertexSet previous, int n, int[] k, double varepsilon)
+	{
+		// add step-discount if required
+		double[] beta1 = new double[n];
+		double[] beta = new double[n];
+		for (int i = 0; i < n; i++) {
+			beta1[i] = k[i] > 1 ? 1.0 / k[i] : 1.0;
+			beta[i] = k[i] > 1 ? 1.0 / (k[i] - 1) : 1.0;
+		}
+		ParetoVertexSet ck1 = current.scale(beta1);
+		ParetoVertexSet ck = previous.scale(beta);
+
+		// if not monotonically increasing anyway, apply union and intersection
+		if (!ck1.contains(ck)) {
+			List<ParetoVertexSet> sets = new ArrayList<>(2);
+			sets.add(ck1);
+			sets.add(ck);
+			ParetoVertexSet union = ParetoVertexSet.hull(n, sets);
+			ck = ParetoVertexSet.intersection(ck, ck1);
+			ck1 = union;
+		}
+
+		double[] eps = new double[n];
+		Arrays.fill(eps, varepsilon);
+		ParetoVertexSet ck_prime = ck.translate(eps);
+		if (ck1.isEmpty())
+			return true;
+		if (ck_prime.isEmpty())
+			return false;
+		return ck_prime.contains(ck1);
+	}
+
+	@Override
+	public boolean isEqual(ParetoVertexSet X, ParetoVertexSet Y)
+	{
+		return X.equals(Y);
+	}
+
+	@Override
+	public boolean isEmpty(ParetoVertexSet X)
+	{
+		return X.isEmpty();
+	}
+
+	@Override
+	public boolean checkBound(ParetoVertexSet X, double[] bounds)
+	{
+		return X.contains(bounds);
+	}
+
+	@Override
+	public ParetoVertexSet discount(ParetoVertexSet X, double[] beta)
+	{
+		return X.scale(beta);
+	}
+
+	@Override
+	public List<Double> getVertex(ParetoVertexSet X, int n)
+	{
+		if (X.isEmpty())
+			return null;
+		double[] v = X.getVertex(X.getNumVertices() - 1);
+		List<Double> result = new ArrayList<>(n);
+		for (int i = 0; i < n; i++)
+			result.add(v[i]);
+		return result;
+	}
+
+	@Override
+	public void print(ParetoVertexSet[] sets, int n, int s, PrismLog log)
+	{
+		if (sets == null || sets.length == 0)
+			return;
+		int max_points = 0;
+		for (ParetoVertexSet set : sets) {
+			if (set != null)
+				max_points = Math.max(max_points, set.getNumVertices() + (set.isEmpty() ? 0 : n));
+		}
+		log.print(String.format("maxcorners=%d. state %d:\n", max_points, s));
+		log.print((sets[s] == null ? "[]" : sets[s].toString()) + "\n");
+		log.flush();
+	}
+}
@@ -0,0 +1,895 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A convex, downward closed set in n dimensions (as used for Pareto sets in the multi-objective
+ * engine for SMGs), represented by the list of its vertices, i.e., as the convex hull of the vertices
+ * plus the rays (-1,0,...,0), ..., (0,...,0,-1). Only Pareto-optimal extreme points are stored:
+ * points dominated by, or in the convex hull of, others are removed on construction.
+ * The set is empty if there are no vertices.
+ * <br><br>
+ * All computation is in floating point, with comparisons up to a (relative) tolerance of {@link #TOLERANCE}.
+ * Vertex/facet conversions use the double description method, which is intended for low dimensions
+ * (as for the objectives of multi-objective queries, i.e., up to about 4).
+ * Sets are immutable (operations return new sets) and can be shared between threads.
+ */
+public class ParetoVertexSet
+{
+	/** Tolerance for floating-point comparisons (relative to the magnitude of the values compared) */
+	public static final double TOLERANCE = 1e-10;
+
+	/** Dimension */
+	private final int n;
+	/** Vertices (Pareto-optimal extreme points) */
+	private final double[][] vertices;
+	/** Facets (normal vectors, all non-negative, and offsets), computed lazily */
+	private double[][] facetNormals;
+	private double[] facetOffsets;
+
+	/**
+	 * Create a set from a list of vertices, which are assumed to be already pruned.
+	 */
+	private ParetoVertexSet(int n, double[][] vertices)
+	{
+		this.n = n;
+		this.vertices = vertices;
+	}
+
+	/**
+	 * Get the empty set in dimension {@code n}.
+	 */
+	public static ParetoVertexSet empty(int n)
+	{
+		return new ParetoVertexSet(n, new double[0][]);
+	}
+
+	/**
+	 * Get the downward closure of the point {@code x}.
+	 */
+	public static ParetoVertexSet downwardClosure(double[] x)
+	{
+		return new ParetoVertexSet(x.length, new double[][] { x.clone() });
+	}
+
+	/**
+	 * Get the downward closure of the convex hull of the points {@code points} (in dimension {@code n}).
+	 */
+	public static ParetoVertexSet fromPoints(int n, List<double[]> points)
+	{
+		return new ParetoVertexSet(n, prune(n, points));
+	}
+
+	public int getDimension()
+	{
+		return n;
+	}
+
+	public boolean isEmpty()
+	{
+		return vertices.length == 0;
+	}
+
+	public int getNumVertices()
+	{
+		return vertices.length;
+	}
+
+	/**
+	 * Get the {@code i}th vertex (not to be modified).
+	 */
+	public double[] getVertex(int i)
+	{
+		return vertices[i];
+	}
+
+	// Operations
+
+	/**
+	 * Get this set translated by vector {@code r}.
+	 */
+	public ParetoVertexSet translate(double[] r)
+	{
+		double[][] result = new double[vertices.length][];
+		for (int v = 0; v < vertices.length; v++) {
+			result[v] = new double[n];
+			for (int i = 0; i < n; i++) {
+				result[v][i] = vertices[v][i] + r[i];
+			}
+		}
+		return new ParetoVertexSet(n, result);
+	}
+
+	/**
+	 * Get this set scaled by (positive) factor {@code beta[i]} in each dimension {@code i}.
+	 */
+	public ParetoVertexSet scale(double[] beta)
+	{
+		double[][] result = new double[vertices.length][];
+		for (int v = 0; v < vertices.length; v++) {
+			result[v] = new double[n];
+			for (int i = 0; i < n; i++) {
+				result[v][i] = vertices[v][i] * beta[i];
+			}
+		}
+		return new ParetoVertexSet(n, result);
+	}
+
+	/**
+	 * Get this set with vertices rounded down onto a grid of the given baseline accuracy
+	 * (scaled per dimension by {@code biggest_reward} unless {@code energy_objective} is set),
+	 * as done by {@link PPLSupport#round}.
+	 */
+	public ParetoVertexSet round(long baseline_accuracy, double[] biggest_reward, boolean energy_objective)
+	{
+		long[] accuracy = new long[n];
+		for (int i = 0; i < n; i++) {
+			long tmp_a = energy_objective ? baseline_accuracy : ((long) (((double) baseline_accuracy) / biggest_reward[i]));
+			accuracy[i] = tmp_a < Long.MAX_VALUE && tmp_a > 0 ? tmp_a : Long.MAX_VALUE;
+		}
+		List<double[]> points = new ArrayList<>(vertices.length);
+		for (double[] vertex : vertices) {
+			double[] x = new double[n];
+			for (int i = 0; i < n; i++) {
+				long rounded = (long) (Math.floor(vertex[i] * accuracy[i]) * baseline_accuracy / ((double) accuracy[i]));
+				x[i] = ((double) rounded) / baseline_accuracy;
+			}
+			points.add(x);
+		}
+		return fromPoints(n, points);
+	}
+
+	/**
+	 * Get the downward closure of the intersection of this set with the box [-M,0]^n
+	 * (as done by {@link PPLSupport#cutBox}).
+	 */
+	public ParetoVertexSet cutBox(long M)
+	{
+		if (isEmpty()) {
+			return this;
+		}
+		computeFacets();
+		List<double[]> normals = new ArrayList<>(Arrays.asList(facetNormals));
+		List<Double> offsets = new ArrayList<>(facetOffsets.length + 2 * n);
+		for (double b : facetOffsets) {
+			offsets.add(b);
+		}
+		for (int i = 0; i < n; i++) {
+			double[] w = new double[n];
+			w[i] = 1.0;
+			normals.add(w);
+			offsets.add(0.0);
+			w = new double[n];
+			w[i] = -1.0;
+			normals.add(w);
+			offsets.add((double) M);
+		}
+		return fromPoints(n, enumerateVertices(n, normals, offsets));
+	}
+
+	/**
+	 * Get the (downward closure of the) convex hull of the union of the sets {@code sets}
+	 * (in dimension {@code n}). Empty sets are ignored.
+	 */
+	public static ParetoVertexSet hull(int n, List<ParetoVertexSet> sets)
+	{
+		List<double[]> points = new ArrayList<>();
+		for (ParetoVertexSet set : sets) {
+			points.addAll(Arrays.asList(set.vertices));
+		}
+		return fromPoints(n, points);
+	}
+
+	/**
+	 * Get the weighted Minkowski sum of the sets {@code sets}, i.e., sum_t probs[t] * sets[t]
+	 * (in dimension {@code n}). The result is empty if any of the sets is.
+	 */
+	public static ParetoVertexSet weightedSum(int n, double[] probs, ParetoVertexSet[] sets)
+	{
+		for (ParetoVertexSet set : sets) {
+			if (set.isEmpty()) {
+				return empty(n);
+			}
+		}
+		double[][] acc = new double[][] { new double[n] };
+		for (int t = 0; t < sets.length; t++) {
+			List<double[]> points = new ArrayList<>(acc.length * sets[t].vertices.length);
+			for (double[] a : acc) {
+				for (double[] v : sets[t].vertices) {
+					double[] x = new double[n];
+					for (int i = 0; i < n; i++) {
+						x[i] = a[i] + probs[t] * v[i];
+					}
+					points.add(x);
+				}
+			}
+			acc = prune(n, points);
+		}
+		return new ParetoVertexSet(n, acc);
+	}
+
+	/**
+	 * Get the intersection of the sets {@code a} and {@code b}.
+	 * The result is empty if either of the sets is.
+	 */
+	public static ParetoVertexSet intersection(ParetoVertexSet a, ParetoVertexSet b)
+	{
+		if (a.isEmpty() || b.isEmpty()) {
+			return empty(a.n);
+		}
+		// Quick checks for containment
+		if (a.contains(b)) {
+			return b;
+		}
+		if (b.contains(a)) {
+			return a;
+		}
+		a.computeFacets();
+		b.computeFacets();
+		List<double[]> normals = new ArrayList<>(a.facetNormals.length + b.facetNormals.length);
+		List<Double> offsets = new ArrayList<>(a.facetNormals.length + b.facetNormals.length);
+		normals.addAll(Arrays.asList(a.facetNormals));
+		normals.addAll(Arrays.asList(b.facetNormals));
+		for (double off : a.facetOffsets) {
+			offsets.add(off);
+		}
+		for (double off : b.facetOffsets) {
+			offsets.add(off);
+		}
+		return fromPoints(a.n, enumerateVertices(a.n, normals, offsets));
+	}
+
+	/**
+	 * Is point {@code x} in this set (up to the tolerance)?
+	 */
+	public boolean contains(double[] x)
+	{
+		if (isEmpty()) {
+			return false;
+		}
+		computeFacets();
+		for (int f = 0; f < facetNormals.length; f++) {
+			if (!leq(dot(facetNormals[f], x), facetOffsets[f])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Is {@code other} a subset of this set (up to the tolerance)?
+	 */
+	public boolean contains(ParetoVertexSet other)
+	{
+		for (double[] v : other.vertices) {
+			if (!contains(v)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Sets are equal if they have exactly the same vertices, in the same order
+	 * (which is the case for sets computed in the same way from equal sets).
+	 */
+	@Override
+	public boolean equals(Object o)
+	{
+		if (this == o)
+			return true;
+		if (!(o instanceof ParetoVertexSet))
+			return false;
+		ParetoVertexSet other = (ParetoVertexSet) o;
+		return n == other.n && Arrays.deepEquals(vertices, other.vertices);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return 31 * n + Arrays.deepHashCode(vertices);
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder("[");
+		for (double[] v : vertices) {
+			sb.append("[");
+			for (int i = 0; i < n; i++) {
+				sb.append(i > 0 ? ", " : "").append(String.format("%.4f", v[i]));
+			}
+			sb.append("]");
+		}
+		if (!isEmpty()) {
+			// Rays for the downward closure
+			for (int j = 0; j < n; j++) {
+				sb.append("r:[");
+				for (int i = 0; i < n; i++) {
+					sb.append(i > 0 ? ", " : "").append(String.format("%.4f", i == j ? -1.0 : 0.0));
+				}
+				sb.append("]");
+			}
+		}
+		return sb.append("]").toString();
+	}
+
+	// Geometric utilities
+
+	/**
+	 * Compute (if not done already) the facets of this (non-empty) set.
+	 * Synchronised, since sets may be shared between threads (see {@link ParetoEngineVertex#isThreadSafe()}).
+	 */
+	private synchronized void computeFacets()
+	{
+		if (facetNormals == null) {
+			List<double[]> normals = new ArrayList<>();
+			List<Double> offsets = new ArrayList<>();
+			computeFacets(n, vertices, normals, offsets);
+			facetNormals = normals.toArray(new double[0][]);
+			facetOffsets = new double[offsets.size()];
+			for (int f = 0; f < facetOffsets.length; f++) {
+				facetOffsets[f] = offsets.get(f);
+			}
+		}
+	}
+
+	/**
+	 * Compute the facets w.x <= b of the downward closure of the convex hull of {@code points}.
+	 * Normals are non-negative and normalised to a maximum component of 1.
+	 */
+	private static void computeFacets(int n, double[][] points, List<double[]> normals, List<Double> offsets)
+	{
+		for (Ray ray : facetRays(n, points)) {
+			double max = 0.0;
+			for (int i = 0; i < n; i++) {
+				max = Math.max(max, ray.a[i]);
+			}
+			double[] w = new double[n];
+			for (int i = 0; i < n; i++) {
+				double wi = ray.a[i] / max;
+				w[i] = wi < TOLERANCE ? 0.0 : wi;
+			}
+			// Offset from the points themselves (rather than the ray), so that all are below the facet
+			double b = Double.NEGATIVE_INFINITY;
+			for (double[] p : points) {
+				b = Math.max(b, dot(w, p));
+			}
+			if (!containsFacet(normals, offsets, w, b)) {
+				normals.add(w);
+				offsets.add(b);
+			}
+		}
+	}
+
+	/**
+	 * Compute the facets of the downward closure of the convex hull of {@code points}, as the
+	 * extreme rays (w,-b) of the cone of valid inequalities w.x <= b, i.e., those with
+	 * w.p <= b for each point p and w >= 0 (for the rays of the downward closure),
+	 * using the double description method (see {@link #extremeRays(int, List)}).
+	 * The constraints tight for each facet are the indices i < n of the dimensions i with w[i] = 0,
+	 * and n + j for the points {@code points[j]} on the facet.
+	 */
+	private static List<Ray> facetRays(int n, double[][] points)
+	{
+		// Constraints g.(w,-b) <= 0, for each generator g = (-e_i,0) or (p,1)
+		List<double[]> rows = new ArrayList<>(n + points.length);
+		for (int i = 0; i < n; i++) {
+			double[] g = new double[n + 1];
+			g[i] = -1.0;
+			rows.add(g);
+		}
+		for (double[] p : points) {
+			double[] g = Arrays.copyOf(p, n + 1);
+			g[n] = 1.0;
+			rows.add(g);
+		}
+		List<Ray> facets = extremeRays(n + 1, rows);
+		// Remove the ray (0,...,0,-1), i.e., the trivial inequality 0 <= 1
+		facets.removeIf(ray -> ray.tight.nextClearBit(0) >= n);
+		return facets;
+	}
+
+	private static boolean containsFacet(List<double[]> normals, List<Double> offsets, double[] w, double b)
+	{
+		outer: for (int f = 0; f < normals.size(); f++) {
+			if (!approxEqual(offsets.get(f), b)) {
+				continue;
+			}
+			double[] w2 = normals.get(f);
+			for (int i = 0; i < w.length; i++) {
+				if (Math.abs(w[i] - w2[i]) > TOLERANCE) {
+					continue outer;
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Enumerate the vertices of the polyhedron {w.x <= b} given by {@code normals} and {@code offsets}.
+	 * These are the extreme rays (x,t) with t > 0 of the cone {w.x - b.t <= 0, t >= 0}, scaled to t = 1,
+	 * which are computed by the double description method (see {@link #extremeRays(int, List)}).
+	 * The polyhedron is assumed to contain no lines (which is the case for downward closed sets);
+	 * otherwise, the result is empty.
+	 */
+	private static List<double[]> enumerateVertices(int n, List<double[]> normals, List<Double> offsets)
+	{
+		// Constraints -t <= 0 and w.x - b.t <= 0 on (x,t)
+		List<double[]> rows = new ArrayList<>(normals.size() + 1);
+		double[] g = new double[n + 1];
+		g[n] = -1.0;
+		rows.add(g);
+		for (int f = 0; f < normals.size(); f++) {
+			g = Arrays.copyOf(normals.get(f), n + 1);
+			g[n] = -offsets.get(f);
+			rows.add(g);
+		}
+		List<double[]> result = new ArrayList<>();
+		for (Ray ray : extremeRays(n + 1, rows)) {
+			// Rays with t = 0 are directions of the polyhedron, not vertices
+			if (!ray.tight.get(0)) {
+				double[] x = new double[n];
+				for (int i = 0; i < n; i++) {
+					x[i] = ray.a[i] / ray.a[n];
+				}
+				result.add(x);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * An extreme ray of a polyhedral cone, and the (indices of the) constraints which are tight for it.
+	 */
+	private static class Ray
+	{
+		final double[] a;
+		final BitSet tight;
+
+		Ray(double[] a, BitSet tight)
+		{
+			this.a = a;
+			this.tight = tight;
+		}
+	}
+
+	/**
+	 * Compute the extreme rays of the cone {a : g.a <= 0 for each g in {@code rows}} (in dimension {@code d}),
+	 * using the double description method: starting from the simplicial cone given by d linearly independent rows,
+	 * the other rows are added one at a time, keeping the rays which satisfy the new constraint and adding,
+	 * for each pair of adjacent rays on opposite sides of it, the intersection of the edge between them with it.
+	 * Two rays are adjacent if the constraints tight for both have rank d-2 (the algebraic test, which,
+	 * unlike the combinatorial one, does not depend on the tolerance used to classify the other rays).
+	 * Rays are normalised to a maximum absolute component of 1.
+	 * The cone is assumed to be pointed, i.e., the rows to have rank d; otherwise, the result is empty.
+	 */
+	private static List<Ray> extremeRays(int d, List<double[]> rows)
+	{
+		int m = rows.size();
+		int[] basis = independentRows(d, rows);
+		if (basis == null) {
+			return new ArrayList<>();
+		}
+		// Initial rays: a_j with g_i.a_j = -1 if i = j, 0 otherwise (for the rows g_i in the basis)
+		double[][] b = new double[d][];
+		BitSet inBasis = new BitSet(m);
+		for (int i = 0; i < d; i++) {
+			b[i] = rows.get(basis[i]);
+			inBasis.set(basis[i]);
+		}
+		List<Ray> rays = new ArrayList<>();
+		for (int j = 0; j < d; j++) {
+			double[] e = new double[d];
+			e[j] = -1.0;
+			BitSet tight = (BitSet) inBasis.clone();
+			tight.clear(basis[j]);
+			rays.add(new Ray(normalise(solve(b, e)), tight));
+		}
+		// Add the other constraints
+		for (int k = 0; k < m; k++) {
+			if (inBasis.get(k)) {
+				continue;
+			}
+			double[] g = rows.get(k);
+			int numRays = rays.size();
+			double[] val = new double[numRays];
+			List<Integer> pos = new ArrayList<>();
+			List<Integer> neg = new ArrayList<>();
+			List<Ray> next = new ArrayList<>();
+			for (int r = 0; r < numRays; r++) {
+				Ray ray = rays.get(r);
+				double scale = 0.0;
+				for (int i = 0; i < d; i++) {
+					val[r] += g[i] * ray.a[i];
+					scale += Math.abs(g[i] * ray.a[i]);
+				}
+				if (Math.abs(val[r]) <= TOLERANCE * scale) {
+					ray.tight.set(k);
+					next.add(ray);
+				} else if (val[r] > 0) {
+					pos.add(r);
+				} else {
+					neg.add(r);
+					next.add(ray);
+				}
+			}
+			List<Ray> added = new ArrayList<>();
+			for (int p : pos) {
+				for (int q : neg) {
+					BitSet common = (BitSet) rays.get(p).tight.clone();
+					common.and(rays.get(q).tight);
+					if (common.cardinality() < d - 2) {
+						continue;
+					}
+					// The rays are adjacent if the constraints tight for both have rank d-2, i.e.,
+					// together with the new one, rank d-1; the new ray is computed directly from these
+					// (rather than combining the two rays), to avoid accumulating rounding errors
+					common.set(k);
+					double[] a = nullVector(d, rows, common);
+					if (a == null) {
+						continue;
+					}
+					double[] ap = rays.get(p).a, aq = rays.get(q).a;
+					double orient = 0.0;
+					for (int i = 0; i < d; i++) {
+						orient += a[i] * (val[p] * aq[i] - val[q] * ap[i]);
+					}
+					Ray ray = new Ray(normalise(orient < 0 ? scale(a, -1.0) : a), common);
+					// In degenerate cases, the same ray can be found from several pairs
+					Ray same = findRay(added, ray.a);
+					if (same != null) {
+						same.tight.or(common);
+					} else {
+						added.add(ray);
+					}
+				}
+			}
+			next.addAll(added);
+			rays = next;
+		}
+		return rays;
+	}
+
+	/**
+	 * Compute a non-zero vector a with g.a = 0 for each row g of {@code rows} with index in {@code tight},
+	 * by Gaussian elimination (with partial pivoting, after scaling the rows to a maximum absolute value of 1).
+	 * Returns null if these rows do not have rank d-1 (numerically).
+	 */
+	private static double[] nullVector(int d, List<double[]> rows, BitSet tight)
+	{
+		double[][] m = new double[tight.cardinality()][];
+		for (int r = 0, k = tight.nextSetBit(0); k >= 0; r++, k = tight.nextSetBit(k + 1)) {
+			m[r] = normalise(rows.get(k).clone());
+		}
+		int[] pivots = new int[d];
+		int rank = 0;
+		for (int c = 0; c < d && rank < m.length; c++) {
+			int pivot = rank;
+			for (int r = rank + 1; r < m.length; r++) {
+				if (Math.abs(m[r][c]) > Math.abs(m[pivot][c])) {
+					pivot = r;
+				}
+			}
+			if (Math.abs(m[pivot][c]) < TOLERANCE) {
+				continue;
+			}
+			double[] tmp = m[pivot];
+			m[pivot] = m[rank];
+			m[rank] = tmp;
+			for (int c2 = d - 1; c2 >= c; c2--) {
+				m[rank][c2] /= m[rank][c];
+			}
+			for (int r = 0; r < m.length; r++) {
+				if (r != rank && m[r][c] != 0.0) {
+					double f = m[r][c];
+					for (int c2 = c; c2 < d; c2++) {
+						m[r][c2] -= f * m[rank][c2];
+					}
+				}
+			}
+			pivots[rank++] = c;
+		}
+		if (rank != d - 1) {
+			return null;
+		}
+		// Set the (unique) free variable to 1 and solve for the others
+		int free = 0;
+		for (int j = 0; j < rank && pivots[j] == free; j++) {
+			free++;
+		}
+		double[] a = new double[d];
+		a[free] = 1.0;
+		for (int j = 0; j < rank; j++) {
+			a[pivots[j]] = -m[j][free];
+		}
+		return a;
+	}
+
+	/**
+	 * Find a ray in {@code rays} equal to {@code a} (up to the tolerance), if any.
+	 */
+	private static Ray findRay(List<Ray> rays, double[] a)
+	{
+		outer: for (Ray ray : rays) {
+			for (int i = 0; i < a.length; i++) {
+				if (Math.abs(ray.a[i] - a[i]) > TOLERANCE) {
+					continue outer;
+				}
+			}
+			return ray;
+		}
+		return null;
+	}
+
+	/**
+	 * Find (the indices of) d linearly independent rows of {@code rows}, choosing greedily in order.
+	 * Returns null if the rows have rank less than d.
+	 */
+	private static int[] independentRows(int d, List<double[]> rows)
+	{
+		int[] basis = new int[d];
+		double[][] reduced = new double[d][];
+		int[] pivots = new int[d];
+		int rank = 0;
+		for (int k = 0; k < rows.size() && rank < d; k++) {
+			double[] r = rows.get(k).clone();
+			double norm = maxAbs(r);
+			for (int j = 0; j < rank; j++) {
+				double f = r[pivots[j]] / reduced[j][pivots[j]];
+				for (int i = 0; i < d; i++) {
+					r[i] -= f * reduced[j][i];
+				}
+			}
+			int pivot = 0;
+			for (int i = 1; i < d; i++) {
+				if (Math.abs(r[i]) > Math.abs(r[pivot])) {
+					pivot = i;
+				}
+			}
+			if (Math.abs(r[pivot]) > TOLERANCE * norm) {
+				reduced[rank] = r;
+				pivots[rank] = pivot;
+				basis[rank++] = k;
+			}
+		}
+		return rank == d ? basis : null;
+	}
+
+	/**
+	 * Normalise {@code a} (in place) to a maximum absolute component of 1,
+	 * setting components that are zero up to the tolerance to exactly zero.
+	 */
+	private static double[] normalise(double[] a)
+	{
+		double max = maxAbs(a);
+		for (int i = 0; i < a.length; i++) {
+			a[i] /= max;
+			if (Math.abs(a[i]) < TOLERANCE) {
+				a[i] = 0.0;
+			}
+		}
+		return a;
+	}
+
+	private static double[] scale(double[] a, double f)
+	{
+		for (int i = 0; i < a.length; i++) {
+			a[i] *= f;
+		}
+		return a;
+	}
+
+	private static double maxAbs(double[] a)
+	{
+		double max = 0.0;
+		for (double x : a) {
+			max = Math.max(max, Math.abs(x));
+		}
+		return max;
+	}
+
+	/**
+	 * Remove from {@code points} those that are not extreme points of the downward closure of their convex hull.
+	 */
+	private static double[][] prune(int n, List<double[]> points)
+	{
+		// Remove (approximately) dominated points, considering points in decreasing lexicographic order
+		List<double[]> sorted = new ArrayList<>(points);
+		sorted.sort((x, y) -> {
+			for (int i = 0; i < x.length; i++) {
+				int c = Double.compare(y[i], x[i]);
+				if (c != 0) {
+					return c;
+				}
+			}
+			return 0;
+		});
+		List<double[]> undominated = new ArrayList<>();
+		for (double[] p : sorted) {
+			boolean dominated = false;
+			for (int j = 0; j < undominated.size() && !dominated; j++) {
+				dominated = dominates(undominated.get(j), p);
+			}
+			if (!dominated) {
+				// Points which are equal up to the tolerance may not be in order, so also check the other way round
+				undominated.removeIf(q -> dominates(p, q));
+				undominated.add(p);
+			}
+		}
+		if (n == 1 || undominated.size() <= 2) {
+			return undominated.toArray(new double[0][]);
+		}
+		if (n == 2) {
+			// Upper hull (points are in decreasing order of the first dimension, increasing in the second)
+			List<double[]> hull = new ArrayList<>();
+			for (double[] p : undominated) {
+				while (hull.size() >= 2) {
+					double[] a = hull.get(hull.size() - 2), b = hull.get(hull.size() - 1);
+					double cross = (b[0] - a[0]) * (p[1] - a[1]) - (b[1] - a[1]) * (p[0] - a[0]);
+					double scale = Math.max(1.0, Math.max(Math.abs(a[0] - p[0]), Math.abs(a[1] - p[1])));
+					// b is redundant if it is not strictly above the segment from a to p
+					if (cross <= TOLERANCE * scale * scale) {
+						hull.remove(hull.size() - 1);
+					} else {
+						break;
+					}
+				}
+				hull.add(p);
+			}
+			return hull.toArray(new double[0][]);
+		}
+		// General case: keep the points at which facets with linearly independent normals are tight
+		// (as determined when computing the facets, so that the two are consistent)
+		double[][] candidates = undominated.toArray(new double[0][]);
+		List<Ray> facets = facetRays(n, candidates);
+		List<double[]> result = new ArrayList<>();
+		for (int j = 0; j < candidates.length; j++) {
+			List<double[]> tight = new ArrayList<>();
+			for (Ray facet : facets) {
+				if (facet.tight.get(n + j)) {
+					tight.add(facet.a);
+				}
+			}
+			if (rank(n, tight) == n) {
+				result.add(candidates[j]);
+			}
+		}
+		return result.toArray(new double[0][]);
+	}
+
+	/**
+	 * Does {@code x} (approximately) dominate {@code y}, i.e., is x >= y in every dimension?
+	 */
+	private static boolean dominates(double[] x, double[] y)
+	{
+		for (int i = 0; i < x.length; i++) {
+			if (!leq(y[i], x[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean leq(double x, double y)
+	{
+		return x <= y + TOLERANCE * Math.max(1.0, Math.max(Math.abs(x), Math.abs(y)));
+	}
+
+	private static boolean approxEqual(double x, double y)
+	{
+		return leq(x, y) && leq(y, x);
+	}
+
+	private static double dot(double[] w, double[] x)
+	{
+		double d = 0.0;
+		for (int i = 0; i < w.length; i++) {
+			d += w[i] * x[i];
+		}
+		return d;
+	}
+
+	/**
+	 * Solve the square linear system a.x = b by Gaussian elimination with partial pivoting.
+	 * Returns null if the system is (numerically) singular.
+	 */
+	private static double[] solve(double[][] a, double[] b)
+	{
+		int k = b.length;
+		double[][] m = new double[k][];
+		for (int r = 0; r < k; r++) {
+			m[r] = Arrays.copyOf(a[r], k + 1);
+			m[r][k] = b[r];
+		}
+		for (int c = 0; c < k; c++) {
+			int pivot = c;
+			for (int r = c + 1; r < k; r++) {
+				if (Math.abs(m[r][c]) > Math.abs(m[pivot][c])) {
+					pivot = r;
+				}
+			}
+			if (Math.abs(m[pivot][c]) < TOLERANCE) {
+				return null;
+			}
+			double[] tmp = m[pivot];
+			m[pivot] = m[c];
+			m[c] = tmp;
+			for (int r = 0; r < k; r++) {
+				if (r != c) {
+					double f = m[r][c] / m[c][c];
+					for (int c2 = c; c2 <= k; c2++) {
+						m[r][c2] -= f * m[c][c2];
+					}
+				}
+			}
+		}
+		double[] x = new double[k];
+		for (int r = 0; r < k; r++) {
+			x[r] = m[r][k] / m[r][r];
+		}
+		return x;
+	}
+
+	/**
+	 * Rank of a set of vectors (in dimension {@code n}).
+	 */
+	private static int rank(int n, List<double[]> vectors)
+	{
+		double[][] m = new double[vectors.size()][];
+		for (int r = 0; r < m.length; r++) {
+			m[r] = vectors.get(r).clone();
+		}
+		int rank = 0;
+		for (int c = 0; c < n && rank < m.length; c++) {
+			int pivot = rank;
+			for (int r = rank + 1; r < m.length; r++) {
+				if (Math.abs(m[r][c]) > Math.abs(m[pivot][c])) {
+					pivot = r;
+				}
+			}
+			if (Math.abs(m[pivot][c]) < TOLERANCE) {
+				continue;
+			}
+			double[] tmp = m[pivot];
+			m[pivot] = m[rank];
+			m[rank] = tmp;
+			for (int r = rank + 1; r < m.length; r++) {
+				double f = m[r][c] / m[rank][c];
+				for (int c2 = c; c2 < n; c2++) {
+					m[r][c2] -= f * m[rank][c2];
+				}
+			}
+			rank++;
+		}
+		return rank;
+	}
+}
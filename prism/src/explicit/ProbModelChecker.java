@@ -170,7 +170,7 @@ public class ProbModelChecker extends NonProbModelChecker
 
 	// Method used for solving STPGs
 	public enum STPGSolnMethod {
-		VALUE_ITERATION, GAUSS_SEIDEL;
+		VALUE_ITERATION, GAUSS_SEIDEL, STRATEGY_ITERATION;
 		public String fullName()
 		{
 			switch (this) {
@@ -178,6 +178,8 @@ public class ProbModelChecker extends NonProbModelChecker
 					return "Value iteration";
 				case GAUSS_SEIDEL:
 					return "Gauss-Seidel";
+				case STRATEGY_ITERATION:
+					return "Strategy iteration";
 				default:
 					return this.toString();
 			}
@@ -265,6 +267,8 @@ public class ProbModelChecker extends NonProbModelChecker
 				setSTPGSolnMethod(STPGSolnMethod.VALUE_ITERATION);
 			} else if (s.equals("Gauss-Seidel")) {
 				setSTPGSolnMethod(STPGSolnMethod.GAUSS_SEIDEL);
+			} else if (s.equals("Strategy iteration")) {
+				setSTPGSolnMethod(STPGSolnMethod.STRATEGY_ITERATION);
 			} else {
 				throw new PrismNotSupportedException("Explicit engine does not support STPG solution method \"" + s + "\"");
 			}
@@ -1090,7 +1094,7 @@ public class ProbModelChecker extends NonProbModelChecker
 				res = ((STPGModelChecker) this).computeUntilProbs((STPG<Double>) model, remain, target, minMax.isMin1(), minMax.isMin2(), minMax.getBound());
 				break;
 			case SMG:
-				res = ((SMGModelChecker) this).computeUntilProbs((SMG<Double>) model, remain, target, minMax.isMin1(), minMax.isMin2(), minMax.getCoalition());
+				res = ((SMGModelChecker) this).computeUntilProbs((SMG<Double>) model, remain, target, minMax.isMin1(), minMax.isMin2(), minMax.getCoalition(), minMax.getBound());
 				break;
 			case CSG:
 				res = ((CSGModelChecker) this).computeUntilProbs((CSG<Double>) model, remain, target, minMax.isMin1(), minMax.isMin2(), minMax.getCoalition());
@@ -1199,7 +1203,7 @@ public class ProbModelChecker extends NonProbModelChecker
 			res = ((STPGModelChecker) this).computeUntilProbs((STPG<Double>) model, remain, target, minMax.isMin1(), minMax.isMin2(), minMax.getBound());
 			break;
 		case SMG:
-			res = ((SMGModelChecker) this).computeUntilProbs((SMG<Double>) model, remain, target, minMax.isMin1(), minMax.isMin2(), minMax.getCoalition());
+			res = ((SMGModelChecker) this).computeUntilProbs((SMG<Double>) model, remain, target, minMax.isMin1(), minMax.isMin2(), minMax.getCoalition(), minMax.getBound());
 			break;
 		case CSG:
 			res = ((CSGModelChecker) this).computeUntilProbs((CSG<Double>) model, remain, target, minMax.isMin1(), minMax.isMin2(), minMax.getCoalition());
@@ -28,13 +28,12 @@
 package explicit;
 
 import java.util.BitSet;
-import java.util.List;
+import java.util.PrimitiveIterator;
 
-import explicit.rewards.Rewards;
+import explicit.rewards.STPGRewards;
 import prism.ModelType;
 import prism.PlayerInfo;
 import prism.PlayerInfoOwner;
-import prism.PrismException;
 
 /**
  * Interface for classes that provide (read) access to an explicit-state SMG.
@@ -76,13 +75,127 @@ public interface SMG<Value> extends STPG<Value>, PlayerInfoOwner
 	public void subtreeStep(BitSet u, int closedPlayer, BitSet result);
 
 	/**
-	 * Take X^k and apply F(X^k)(s) for each state (cf. MFCS'13 and QEST'13)
-	 * @param gaussSeidel Gauss Seidel update allowed
-	 * @param rounding rounding enabled
-	 * @param union_with_previous take union with previous Pareto set
-	 * @param cut cut off everything that is strictly above the negative orthant (used for energy objectives)
-	 * @param M maximum bound on Pareto sets (quantity is positive)
+	 * Do a single row of matrix-vector multiplication followed by min/max,
+	 * i.e. return min/max_k { sum_j P_k(s,j)*vect[j] },
+	 * where min/max is taken for player 1 or 2, depending on the owner of the state.
+	 * Optionally, store optimal (memoryless) strategy info.
+	 * @param s Row index
+	 * @param vect Vector to multiply by
+	 * @param min1 Min or max for player 1 (true=min, false=max)
+	 * @param min2 Min or max for player 2 (true=min, false=max)
+	 * @param adv Storage for adversary choice indices (ignored if null)
 	 */
-	public Pareto[] pMultiObjective(Pareto[] Xk, List<Rewards<Double>> rewards, boolean gaussSeidel, long baseline_accuracy, double[] biggest_reward,
-									List<Pareto>[] stochasticStates, boolean rounding, boolean union_with_previous, boolean cut, long M) throws PrismException;
+	public double mvMultMinMaxSingle(int s, double vect[], boolean min1, boolean min2, int adv[]);
+
+	/**
+	 * Do a single row of Jacobi-style matrix-vector multiplication and sum of rewards followed by min/max,
+	 * i.e. return min/max_k { rew(s) + rew_k(s) + (sum_{j!=s} P_k(s,j)*vect[j]) / 1-P_k(s,s) },
+	 * where min/max is taken for player 1 or 2, depending on the owner of the state.
+	 * Optionally, store optimal (memoryless) strategy info.
+	 * @param s Row index
+	 * @param vect Vector to multiply by
+	 * @param rewards The rewards
+	 * @param min1 Min or max for player 1 (true=min, false=max)
+	 * @param min2 Min or max for player 2 (true=min, false=max)
+	 * @param adv Storage for adversary choice indices (ignored if null)
+	 */
+	public double mvMultRewJacMinMaxSingle(int s, double vect[], STPGRewards<Double> rewards, boolean min1, boolean min2, int adv[]);
+
+	/**
+	 * Do a matrix-vector multiplication followed by min/max, i.e. one step of value iteration,
+	 * i.e. for all s: result[s] = min/max_k { sum_j P_k(s,j)*vect[j] },
+	 * where min/max is taken for player 1 or 2, depending on the owner of the state.
+	 * Optionally, store optimal (memoryless) strategy info.
+	 * @param vect Vector to multiply by
+	 * @param min1 Min or max for player 1 (true=min, false=max)
+	 * @param min2 Min or max for player 2 (true=min, false=max)
+	 * @param result Vector to store result in
+	 * @param states Perform computation for these rows, in the iteration order
+	 * @param adv Storage for adversary choice indices (ignored if null)
+	 */
+	public default void mvMultMinMax(double vect[], boolean min1, boolean min2, double result[], PrimitiveIterator.OfInt states, int adv[])
+	{
+		while (states.hasNext()) {
+			final int s = states.nextInt();
+			result[s] = mvMultMinMaxSingle(s, vect, min1, min2, adv);
+		}
+	}
+
+	/**
+	 * Do a Gauss-Seidel-style matrix-vector multiplication followed by min/max,
+	 * i.e. for all s: vect[s] = min/max_k { (sum_{j!=s} P_k(s,j)*vect[j]) / 1-P_k(s,s) },
+	 * and store new values directly in {@code vect} as computed.
+	 * The maximum (absolute/relative) difference between old/new
+	 * elements of {@code vect} is also returned.
+	 * Optionally, store optimal (memoryless) strategy info.
+	 * @param vect Vector to multiply by (and store the result in)
+	 * @param min1 Min or max for player 1 (true=min, false=max)
+	 * @param min2 Min or max for player 2 (true=min, false=max)
+	 * @param states Perform computation for these rows, in the iteration order
+	 * @param absolute If true, compute absolute, rather than relative, difference
+	 * @param adv Storage for adversary choice indices (ignored if null)
+	 * @return The maximum difference between old/new elements of {@code vect}
+	 */
+	public default double mvMultGSMinMax(double vect[], boolean min1, boolean min2, PrimitiveIterator.OfInt states, boolean absolute, int adv[])
+	{
+		double d, diff, maxDiff = 0.0;
+		while (states.hasNext()) {
+			final int s = states.nextInt();
+			d = mvMultJacMinMaxSingle(s, vect, min1, min2, adv);
+			diff = absolute ? (Math.abs(d - vect[s])) : (Math.abs(d - vect[s]) / d);
+			maxDiff = diff > maxDiff ? diff : maxDiff;
+			vect[s] = d;
+		}
+		return maxDiff;
+	}
+
+	/**
+	 * Do a matrix-vector multiplication and sum of rewards followed by min/max, i.e. one step of value iteration,
+	 * i.e. for all s: result[s] = min/max_k { rew(s) + rew_k(s) + sum_j P_k(s,j)*vect[j] },
+	 * where min/max is taken for player 1 or 2, depending on the owner of the state.
+	 * Optionally, store optimal (memoryless) strategy info.
+	 * @param vect Vector to multiply by
+	 * @param rewards The rewards
+	 * @param min1 Min or max for player 1 (true=min, false=max)
+	 * @param min2 Min or max for player 2 (true=min, false=max)
+	 * @param result Vector to store result in
+	 * @param states Perform computation for these rows, in the iteration order
+	 * @param adv Storage for adversary choice indices (ignored if null)
+	 */
+	public default void mvMultRewMinMax(double vect[], STPGRewards<Double> rewards, boolean min1, boolean min2, double result[], PrimitiveIterator.OfInt states, int adv[])
+	{
+		while (states.hasNext()) {
+			final int s = states.nextInt();
+			result[s] = mvMultRewMinMaxSingle(s, vect, rewards, min1, min2, adv);
+		}
+	}
+
+	/**
+	 * Do a Gauss-Seidel-style matrix-vector multiplication and sum of rewards followed by min/max,
+	 * i.e. for all s: vect[s] = min/max_k { rew(s) + rew_k(s) + (sum_{j!=s} P_k(s,j)*vect[j]) / 1-P_k(s,s) },
+	 * and store new values directly in {@code vect} as computed.
+	 * The maximum (absolute/relative) difference between old/new
+	 * elements of {@code vect} is also returned.
+	 * Optionally, store optimal (memoryless) strategy info.
+	 * @param vect Vector to multiply by (and store the result in)
+	 * @param rewards The rewards
+	 * @param min1 Min or max for player 1 (true=min, false=max)
+	 * @param min2 Min or max for player 2 (true=min, false=max)
+	 * @param states Perform computation for these rows, in the iteration order
+	 * @param absolute If true, compute absolute, rather than relative, difference
+	 * @param adv Storage for adversary choice indices (ignored if null)
+	 * @return The maximum difference between old/new elements of {@code vect}
+	 */
+	public default double mvMultRewGSMinMax(double vect[], STPGRewards<Double> rewards, boolean min1, boolean min2, PrimitiveIterator.OfInt states, boolean absolute, int adv[])
+	{
+		double d, diff, maxDiff = 0.0;
+		while (states.hasNext()) {
+			final int s = states.nextInt();
+			d = mvMultRewJacMinMaxSingle(s, vect, rewards, min1, min2, adv);
+			diff = absolute ? (Math.abs(d - vect[s])) : (Math.abs(d - vect[s]) / d);
+			maxDiff = diff > maxDiff ? diff : maxDiff;
+			vect[s] = d;
+		}
+		return maxDiff;
+	}
 }
@@ -0,0 +1,393 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.nio.IntBuffer;
+import java.util.BitSet;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import common.IterableStateSet;
+import explicit.rewards.MDPRewards;
+import explicit.rewards.STPGRewards;
+import io.BinaryModelImporter;
+import io.ExplicitModelImporter;
+import prism.PlayerInfo;
+import prism.PrismException;
+
+/**
+ * Sparse matrix (non-mutable) explicit-state representation of a (turn-based) stochastic multi-player game (SMG),
+ * like {@link SMGSparse}, but whose storage is memory-mapped from a binary model file
+ * (see {@link BinaryModelImporter}), rather than held in Java arrays.
+ */
+public class SMGMapped extends MDPMapped implements SMG<Double>
+{
+	/**
+	 * Which player owns each state (buffer of size numStates)
+	 * NB: states are 0-indexed; players are 0-indexed; -1 denotes no player
+	 */
+	protected IntBuffer stateOwners;
+
+	/**
+	 * Player + coalition information
+	 */
+	protected PlayerInfo playerInfo;
+
+	/**
+	 * Construct an empty SMG (for subsequent import from a binary model file)
+	 */
+	public SMGMapped()
+	{
+		super();
+		playerInfo = new PlayerInfo();
+	}
+
+	// Mutators (other)
+
+	@Override
+	public void buildFromExplicitImport(ExplicitModelImporter modelImporter) throws PrismException
+	{
+		super.buildFromExplicitImport(modelImporter);
+		stateOwners = ((BinaryModelImporter) modelImporter).mapOwners();
+		if (stateOwners == null) {
+			throw new PrismException("Binary model file does not contain state owners");
+		}
+		playerInfo = new PlayerInfo();
+		playerInfo.setPlayerNames(modelImporter.getModelInfo().getPlayerNames());
+	}
+
+	// Accessors (for Model)
+
+	@Override
+	public void checkForDeadlocks(BitSet except) throws PrismException
+	{
+		for (int i = 0; i < numStates; i++) {
+			if (getNumChoices(i) == 0 && (except == null || !except.get(i)))
+				throw new PrismException("Game has a deadlock in state " + i + (statesList == null ? "" : ": " + statesList.get(i)));
+		}
+	}
+
+	// Accessors (for PlayerInfoOwner)
+
+	@Override
+	public PlayerInfo getPlayerInfo()
+	{
+		return playerInfo;
+	}
+
+	// Accessors (for STPG)
+
+	@Override
+	public int getPlayer(int s)
+	{
+		return playerInfo.getPlayer(stateOwners.get(s));
+	}
+
+	@Override
+	public void prob0step(BitSet subset, BitSet u, boolean forall1, boolean forall2, BitSet result)
+	{
+		for (int i = subset.nextSetBit(0); i >= 0 && i < numStates; i = subset.nextSetBit(i + 1)) {
+			boolean forall = (getPlayer(i) == 0) ? forall1 : forall2;
+			boolean b1 = forall; // there exists or for all
+			for (int j = rowStarts.get(i), h1 = rowStarts.get(i + 1); j < h1; j++) {
+				boolean some = false;
+				for (int k = choiceStarts.get(j), h2 = choiceStarts.get(j + 1); k < h2; k++) {
+					// Assume that only non-zero entries are stored
+					if (u.get(cols.get(k))) {
+						some = true;
+						break;
+					}
+				}
+				if (forall) {
+					if (!some) {
+						b1 = false;
+						break;
+					}
+				} else {
+					if (some) {
+						b1 = true;
+						break;
+					}
+				}
+			}
+			result.set(i, b1);
+		}
+	}
+
+	@Override
+	public void prob1step(BitSet subset, BitSet u, BitSet v, boolean forall1, boolean forall2, BitSet result)
+	{
+		for (int i = subset.nextSetBit(0); i >= 0 && i < numStates; i = subset.nextSetBit(i + 1)) {
+			boolean forall = (getPlayer(i) == 0) ? forall1 : forall2;
+			boolean b1 = forall; // there exists or for all
+			for (int j = rowStarts.get(i), h1 = rowStarts.get(i + 1); j < h1; j++) {
+				boolean some = false;
+				boolean all = true;
+				for (int k = choiceStarts.get(j), h2 = choiceStarts.get(j + 1); k < h2; k++) {
+					// Assume that only non-zero entries are stored
+					int t = cols.get(k);
+					if (!u.get(t)) {
+						all = false;
+						break;
+					}
+					if (v.get(t)) {
+						some = true;
+					}
+				}
+				if (forall) {
+					if (!(some && all)) {
+						b1 = false;
+						break;
+					}
+				} else {
+					if (some && all) {
+						b1 = true;
+						break;
+					}
+				}
+			}
+			result.set(i, b1);
+		}
+	}
+
+	@Override
+	public void mvMultMinMax(double vect[], boolean min1, boolean min2, double result[], BitSet subset, boolean complement, int adv[])
+	{
+		for (PrimitiveIterator.OfInt it = stateIterator(subset, complement); it.hasNext();) {
+			int s = it.nextInt();
+			boolean min = (getPlayer(s) == 0) ? min1 : min2;
+			result[s] = mvMultMinMaxSingle(s, vect, min, adv);
+		}
+	}
+
+	@Override
+	public double mvMultMinMaxSingle(int s, double vect[], boolean min1, boolean min2)
+	{
+		boolean min = (getPlayer(s) == 0) ? min1 : min2;
+		return mvMultMinMaxSingle(s, vect, min, null);
+	}
+
+	@Override
+	public double mvMultMinMaxSingle(int s, double vect[], boolean min1, boolean min2, int adv[])
+	{
+		boolean min = (getPlayer(s) == 0) ? min1 : min2;
+		return mvMultMinMaxSingle(s, vect, min, adv);
+	}
+
+	@Override
+	public List<Integer> mvMultMinMaxSingleChoices(int s, double vect[], boolean min1, boolean min2, double val)
+	{
+		boolean min = (getPlayer(s) == 0) ? min1 : min2;
+		return mvMultMinMaxSingleChoices(s, vect, min, val);
+	}
+
+	@Override
+	public double mvMultGSMinMax(double vect[], boolean min1, boolean min2, BitSet subset, boolean complement, boolean absolute, int adv[])
+	{
+		double d, diff, maxDiff = 0.0;
+		for (PrimitiveIterator.OfInt it = stateIterator(subset, complement); it.hasNext();) {
+			int s = it.nextInt();
+			boolean min = (getPlayer(s) == 0) ? min1 : min2;
+			d = mvMultJacMinMaxSingle(s, vect, min, adv);
+			diff = absolute ? (Math.abs(d - vect[s])) : (Math.abs(d - vect[s]) / d);
+			maxDiff = diff > maxDiff ? diff : maxDiff;
+			vect[s] = d;
+		}
+		return maxDiff;
+	}
+
+	@Override
+	public double mvMultJacMinMaxSingle(int s, double vect[], boolean min1, boolean min2, int adv[])
+	{
+		boolean min = (getPlayer(s) == 0) ? min1 : min2;
+		return mvMultJacMinMaxSingle(s, vect, min, adv);
+	}
+
+	@Override
+	public void mvMultRewMinMax(double vect[], STPGRewards<Double> rewards, boolean min1, boolean min2, double result[], BitSet subset, boolean complement, int adv[])
+	{
+		mvMultRewMinMax(vect, rewards, min1, min2, result, subset, complement, adv, 1.0);
+	}
+
+	@Override
+	public void mvMultRewMinMax(double vect[], STPGRewards<Double> rewards, boolean min1, boolean min2, double result[], BitSet subset, boolean complement, int adv[], double disc)
+	{
+		for (PrimitiveIterator.OfInt it = stateIterator(subset, complement); it.hasNext();) {
+			int s = it.nextInt();
+			boolean min = (getPlayer(s) == 0) ? min1 : min2;
+			result[s] = mvMultRewMinMaxSingle(s, vect, rewards, min, adv, disc);
+		}
+	}
+
+	@Override
+	public double mvMultRewMinMaxSingle(int s, double vect[], STPGRewards<Double> rewards, boolean min1, boolean min2, int adv[])
+	{
+		boolean min = (getPlayer(s) == 0) ? min1 : min2;
+		return mvMultRewMinMaxSingle(s, vect, rewards, min, adv);
+	}
+
+	@Override
+	public double mvMultRewJacMinMaxSingle(int s, double vect[], STPGRewards<Double> rewards, boolean min1, boolean min2, int adv[])
+	{
+		boolean min = (getPlayer(s) == 0) ? min1 : min2;
+		return mvMultRewJacMinMaxSingle(s, vect, rewards, min, adv);
+	}
+
+	@Override
+	public List<Integer> mvMultRewMinMaxSingleChoices(int s, double vect[], STPGRewards<Double> rewards, boolean min1, boolean min2, double val)
+	{
+		boolean min = (getPlayer(s) == 0) ? min1 : min2;
+		return mvMultRewMinMaxSingleChoices(s, vect, rewards, min, val);
+	}
+
+	/**
+	 * Do a single row of (discounted) matrix-vector multiplication and sum of action reward followed by min/max.
+	 * i.e. return min/max_{k1,k2} { rew(s) + disc * sum_j P_{k1,k2}(s,j)*vect[j] }
+	 * Unlike for MDPs, the optimal choice is always stored in {@code adv} (if non-null).
+	 * @param s Row index
+	 * @param vect Vector to multiply by
+	 * @param mdpRewards The rewards
+	 * @param min Min or max (true=min, false=max)
+	 * @param adv Storage for adversary choice indices (ignored if null)
+	 * @param disc Discount factor
+	 */
+	public double mvMultRewMinMaxSingle(int s, double vect[], MDPRewards<Double> mdpRewards, boolean min, int adv[], double disc)
+	{
+		int advCh = -1;
+		double minmax = 0;
+		boolean first = true;
+		int l1 = rowStarts.get(s);
+		int h1 = rowStarts.get(s + 1);
+		for (int j = l1; j < h1; j++) {
+			// Compute sum for this distribution
+			double sum = 0.0;
+			for (int k = choiceStarts.get(j), h2 = choiceStarts.get(j + 1); k < h2; k++) {
+				sum += nonZeros.get(k) * vect[cols.get(k)] * disc;
+			}
+			double d = mdpRewards.getTransitionReward(s, j - l1) + sum;
+			// Check whether we have exceeded min/max so far
+			if (first || (min && d < minmax) || (!min && d > minmax)) {
+				minmax = d;
+				// If adversary generation is enabled, remember optimal choice
+				if (adv != null)
+					advCh = j - l1;
+			}
+			first = false;
+		}
+		// If adversary generation is enabled, store optimal choice
+		if (adv != null & !first) {
+			adv[s] = advCh;
+		}
+
+		// Add state reward (doesn't affect min/max)
+		minmax += mdpRewards.getStateReward(s);
+
+		return minmax;
+	}
+
+	@Override
+	public boolean allSuccessorsInSet(int s, int i, BitSet set)
+	{
+		int j = rowStarts.get(s) + i;
+		for (int k = choiceStarts.get(j), stop = choiceStarts.get(j + 1); k < stop; k++) {
+			if (!set.get(cols.get(k))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Accessors (for SMG)
+
+	@Override
+	public void reachpositivestep(BitSet u, boolean forall1, boolean forall2, BitSet result)
+	{
+		for (int i = u.nextSetBit(0); i >= 0 && i < numStates; i = u.nextSetBit(i + 1)) {
+			boolean forall = (getPlayer(i) == 0) ? forall1 : forall2;
+			int l1 = rowStarts.get(i);
+			int h1 = rowStarts.get(i + 1);
+			if (l1 == h1) {
+				continue;
+			}
+			if (!forall) {
+				// Union of the successors of all choices
+				for (int k = choiceStarts.get(l1), stop = choiceStarts.get(h1); k < stop; k++) {
+					result.set(cols.get(k));
+				}
+			} else {
+				// Intersection of the successors of all choices
+				for (int k = choiceStarts.get(l1), stop = choiceStarts.get(l1 + 1); k < stop; k++) {
+					int t = cols.get(k);
+					boolean inAll = true;
+					for (int j = l1 + 1; j < h1 && inAll; j++) {
+						inAll = choiceContains(j, t);
+					}
+					if (inAll) {
+						result.set(t);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Helper: does choice {@code j} (index into choiceStarts) have a transition to state {@code t}?
+	 */
+	private boolean choiceContains(int j, int t)
+	{
+		for (int k = choiceStarts.get(j), stop = choiceStarts.get(j + 1); k < stop; k++) {
+			if (cols.get(k) == t) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void subtreeStep(BitSet u, int closedPlayer, BitSet result)
+	{
+		for (int i = u.nextSetBit(0); i >= 0 && i < numStates; i = u.nextSetBit(i + 1)) {
+			// only extend subtree if closed for that player,
+			// or if the state has only one choice that is enabled
+			int player = getPlayer(i);
+			boolean jump = (getNumChoices(i) == 1) && player != closedPlayer;
+			if (player == closedPlayer || jump) {
+				// add all successors (no matter which player)
+				for (int k = choiceStarts.get(rowStarts.get(i)), stop = choiceStarts.get(rowStarts.get(i + 1)); k < stop; k++) {
+					result.set(cols.get(k));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Helper: iterate over the states in {@code subset}, or its complement,
+	 * or over all states if {@code subset} is null (in which case {@code complement} is ignored).
+	 */
+	private PrimitiveIterator.OfInt stateIterator(BitSet subset, boolean complement)
+	{
+		return new IterableStateSet(subset, numStates, subset != null && complement).iterator();
+	}
+}
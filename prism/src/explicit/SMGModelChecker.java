@@ -108,6 +108,19 @@ public class SMGModelChecker extends ProbModelChecker
 	// relative termination criterion
 	protected double varepsilon = 0.0001;
 
+	// use the pure-Java (vertex list) representation of Pareto sets where possible, rather than PPL
+	protected boolean javaParetoEngine = false;
+
+	// maximum number of objectives for the pure-Java engine
+	// (its vertex/facet conversions, needed for pruning, are only intended for low dimensions)
+	protected static final int JAVA_PARETO_ENGINE_MAX_DIM = 4;
+
+	// number of threads to use for (Jacobi) value iteration over Pareto sets
+	protected int numThreads = 1;
+
+	// minimum number of states per block for parallel value iteration (updating a state is expensive)
+	protected static final int PARALLEL_MIN_BLOCK_SIZE = 64;
+
 	// tracking for issuing warnings in batch
 	private List<String> strictToNonstrict = new ArrayList<String>();
 	private List<String> unfolded = new ArrayList<String>();
@@ -147,18 +160,43 @@ public class SMGModelChecker extends ProbModelChecker
 			if (increase_factor < 1)
 				throw new PrismException(String.format("Must have %s >= 1", settings.getSettingName(PrismSettings.PRISM_MULTI_INCREASE_FACTOR)));
 			max_accuracy = Integer.MAX_VALUE / 4;
+			javaParetoEngine = settings.getString(PrismSettings.PRISM_MULTI_PARETO_ENGINE).equals("Java");
+			setNumThreads(settings.getInteger(PrismSettings.PRISM_NUM_THREADS));
 		}
 	}
 
+	// Settings methods
+
+	/**
+	 * Set the number of threads to use for (Jacobi) value iteration over Pareto sets.
+	 * Results are identical to those for a single thread.
+	 */
+	public void setNumThreads(int numThreads)
+	{
+		this.numThreads = numThreads;
+	}
+
+	/**
+	 * Get the number of threads to use for (Jacobi) value iteration over Pareto sets.
+	 */
+	public int getNumThreads()
+	{
+		return numThreads;
+	}
+
 	@Override
 	public StateValues checkExpressionMultiObjective(Model<?> model, List<List<Expression>> cnf, Coalition coalition) throws PrismException
         {
-	        // initialise the Parma Polyhedra Library
-	        PPLSupport.initPPL();
-
 		// extract simple expression from MQ
 		MultiParameters params = initialiseRewards(model, cnf);
 
+		// initialise the Parma Polyhedra Library
+		// (not needed for verification with the pure-Java engine)
+		if (javaParetoEngine && params.rewards.size() > JAVA_PARETO_ENGINE_MAX_DIM)
+			mainLog.printWarning("The Java Pareto engine only supports up to " + JAVA_PARETO_ENGINE_MAX_DIM + " objectives, using PPL instead");
+		if (computePareto || genStrat || !useJavaParetoEngine(params, false))
+			PPLSupport.initPPL();
+
 		// direct method [QEST'13, MFCS'13, TACAS'15]
 		return checkExpressionMultiDirect(model, params, coalition);
 	}
@@ -411,7 +449,7 @@ public class SMGModelChecker extends ProbModelChecker
 		soln.set(s);
 		while (!u_done) {
 			// Single step of ReachPositive
-			((SMGSimple<Double>) stpg).subtreeStep(u, closedPlayer, soln);
+			((SMG<Double>) stpg).subtreeStep(u, closedPlayer, soln);
 			// Check termination
 			u_done = soln.equals(u);
 			// u = soln
@@ -1347,6 +1385,7 @@ public class SMGModelChecker extends ProbModelChecker
 	*
 	* @param x The weight vector
 	* @param smg The game
+	* @param engine The engine for the Pareto sets
 	* @param params Parameters for the computation
 	* @param Px Reference to return CQ value for states
 	* @param stochasticStates Reference to return CQ value for moves (i.e. stochastic states)
@@ -1356,18 +1395,18 @@ public class SMGModelChecker extends ProbModelChecker
 	*
 	* @return Whether CQ Pareto set computation converged
 	**/
-	private boolean iterateMQParetoSet(double[][] x, SMG<Double> smg, MultiParameters params, Pareto[] Px, List<Pareto>[] stochasticStates, boolean checkBounds,
+	private <S> boolean iterateMQParetoSet(ParetoEngine<S> engine, double[][] x, SMG<Double> smg, MultiParameters params, S[] Px, List<S>[] stochasticStates, boolean checkBounds,
 			boolean energy_objective, MultiParameters cq_params) throws PrismException
 	{
 		// transform MQ (which is assumed to be in CNF) to CQ
 		cq_params.shallow_copy(convertRatioMQToRatioCQ(x, smg, params));
 
 		// CQ Pareto set computation - returns Pareto sets in Px, to be used below to get the MQ pareto sets
-		boolean converged = computeCQParetoSet(smg, cq_params, Px, stochasticStates, checkBounds, energy_objective);
+		boolean converged = computeCQParetoSet(engine, smg, cq_params, Px, stochasticStates, checkBounds, energy_objective);
 
-		// log
-		if (logDPareto)
-			PPLSupport.printReachabilityPolyhedron(convertCQParetoToMQPareto(x, smg, Px, params), params.rewards.size(), smg.getFirstInitialState(), mainLog);
+		// log (MQ sets can only be constructed from polyhedra)
+		if (logDPareto && engine instanceof ParetoEnginePPL)
+			PPLSupport.printReachabilityPolyhedron(convertCQParetoToMQPareto(x, smg, (Pareto[]) Px, params), params.rewards.size(), smg.getFirstInitialState(), mainLog);
 
 		// return whether CQ Pareto set computation converged
 		return converged;
@@ -1580,6 +1619,30 @@ public class SMGModelChecker extends ProbModelChecker
 	 * and a winning strategy for initial state if objective is satisfied
 	 **/
 	public Entry<StateValues, StochasticUpdateStrategy> checkMQ(SMG<Double> smg, MultiParameters params, boolean construct_strategy) throws PrismException
+	{
+		// strategy construction needs the sets as polyhedra
+		if (useJavaParetoEngine(params, construct_strategy))
+			return checkMQ(new ParetoEngineVertex(), smg, params, construct_strategy);
+		else
+			return checkMQ(new ParetoEnginePPL(), smg, params, construct_strategy);
+	}
+
+	/**
+	 * Should the pure-Java engine be used for the Pareto sets of an MQ?
+	 * This is only the case if requested, for at most {@link #JAVA_PARETO_ENGINE_MAX_DIM} objectives,
+	 * and if no strategy is to be constructed.
+	 */
+	protected boolean useJavaParetoEngine(MultiParameters params, boolean construct_strategy)
+	{
+		return javaParetoEngine && !construct_strategy && params.rewards.size() <= JAVA_PARETO_ENGINE_MAX_DIM;
+	}
+
+	/**
+	 * Checks an MQ, as for {@link #checkMQ(SMG, MultiParameters, boolean)},
+	 * using the given engine for the Pareto sets (which must be {@link ParetoEnginePPL} to construct a strategy).
+	 **/
+	@SuppressWarnings("unchecked")
+	protected <S> Entry<StateValues, StochasticUpdateStrategy> checkMQ(ParetoEngine<S> engine, SMG<Double> smg, MultiParameters params, boolean construct_strategy) throws PrismException
 	{
 		int gameSize = smg.getNumStates();
 		int initialState = smg.getFirstInitialState();
@@ -1596,8 +1659,8 @@ public class SMGModelChecker extends ProbModelChecker
 		boolean energy_objective = (params.objective_type == MultiParameters.EAR || params.objective_type == MultiParameters.PAR);
 
 		// sets for player and stochastic states and bounds for the (potentially tranformed) CQ
-		Pareto[] Px = new Pareto[gameSize]; // sets at states
-		List<Pareto>[] stochasticStates = construct_strategy ? new List[gameSize] : null;
+		S[] Px = engine.newArray(gameSize); // sets at states
+		List<S>[] stochasticStates = construct_strategy ? new List[gameSize] : null;
 
 		List<Double> cq_bounds = null; // bounds used to construct the strategy and test the objective
 		MultiParameters cq_params = null; // parameters used to construct the strategy
@@ -1618,10 +1681,10 @@ public class SMGModelChecker extends ProbModelChecker
 				// OUTER LOOP IN TACAS'15 - INCREASE M
 				params.M = minM;
 				increaseM: do { // terminate outer loop below if not energy objective in any case
-					boolean converged = computeCQParetoSet(smg, params, Px, stochasticStates, checkBounds, energy_objective);
+					boolean converged = computeCQParetoSet(engine, smg, params, Px, stochasticStates, checkBounds, energy_objective);
 
 					// ENERGY: increase M if initial state is still empty or not converged
-					if (energy_objective && (Px[initialState].get().is_empty() ||
+					if (energy_objective && (engine.isEmpty(Px[initialState]) ||
 								 !converged)) {
 						params.M = params.M * params.M;
 						mainLog.print(String.format("Increasing M to %d\n", params.M));
@@ -1633,7 +1696,7 @@ public class SMGModelChecker extends ProbModelChecker
 					}
 				} while (params.M <= maxM);
 				cq_params = params;
-				cq_bounds = energy_objective ? initialCreditVector(Px[initialState]) : cq_params.bounds;
+				cq_bounds = energy_objective ? initialCreditVector(engine, Px[initialState], params.rewards.size()) : cq_params.bounds;
 			} else { // IF MQ
 
 				// sanity check for disjunction valiter count
@@ -1659,10 +1722,10 @@ public class SMGModelChecker extends ProbModelChecker
 							mainLog.print(String.format("D-ITER (%d/%d): x=%s\n", iter, params.maxDIter + params.dIterOffset, Arrays.deepToString(x)));
 
 						// evaluate Pareto set for this choice of x (i.e. the hyperplanes)
-						boolean converged = iterateMQParetoSet(x, smg, params, Px, stochasticStates, checkBounds, energy_objective, cq_params);
-						cq_bounds = energy_objective ? initialCreditVector(Px[initialState]) : cq_params.bounds;
+						boolean converged = iterateMQParetoSet(engine, x, smg, params, Px, stochasticStates, checkBounds, energy_objective, cq_params);
+						cq_bounds = energy_objective ? initialCreditVector(engine, Px[initialState], params.CONJUNCTS) : cq_params.bounds;
 						if (logDPareto)
-							PPLSupport.printReachabilityPolyhedron(Px, params.CONJUNCTS, initialState, mainLog);
+							engine.print(Px, params.CONJUNCTS, initialState, mainLog);
 
 						if (energy_objective && !converged) {
 							continue iterate_disj;
@@ -1670,7 +1733,7 @@ public class SMGModelChecker extends ProbModelChecker
 
 						if (logDPareto) mainLog.print(String.format("checking bounds %s on %d\n", cq_bounds, initialState));
 						// check if point satisfies the objective
-						if (PPLSupport.checkBound(Px[initialState], cq_bounds, cq_params)) {
+						if (engine.checkBound(Px[initialState], cq_bounds)) {
 							satisfied = true;
 							break iterate_disj;
 						}
@@ -1693,12 +1756,12 @@ public class SMGModelChecker extends ProbModelChecker
 			if (cq_bounds == null || (energy_objective && !satisfied))
 				sv = StateValues.createFromBitSet(new BitSet(gameSize), smg);
 			else
-				sv = StateValues.createFromBitSet(PPLSupport.checkBounds(Px, cq_bounds, cq_params), smg);
+				sv = StateValues.createFromBitSet(checkBounds(engine, Px, cq_bounds), smg);
 
 			// construct strategy if requested and objective met
 			if (construct_strategy && sv.getBitSet().get(initialState)) {
 				double t0 = System.nanoTime();
-				strategy = constructStrategy(smg, cq_bounds, Px, stochasticStates, cq_params, energy_objective);
+				strategy = constructStrategy(smg, cq_bounds, (Pareto[]) Px, (List<Pareto>[]) (List<?>[]) stochasticStates, cq_params, energy_objective);
 				mainLog.print(String.format("Strategy construction took %f s\n", ((double) (System.nanoTime() - t0)) / 1e9));
 				//strategy.setInfo(params.getParameterString());
 			}
@@ -1715,20 +1778,25 @@ public class SMGModelChecker extends ProbModelChecker
 	* Returns an arbitrary initial credit vector from the Pareto set for energy objectives.
 	* If set is empty, return null.
 	**/
-	private List<Double> initialCreditVector(Pareto Pxt) throws PrismException
+	private <S> List<Double> initialCreditVector(ParetoEngine<S> engine, S Pxt, int n) throws PrismException
 	{
-	        List<Generator> gens = Pxt.get().generators();
-	    
-		for(int gi = gens.size()-1; gi >= 0; gi--) {
-		        Generator g = gens.get(gi);
-			if (g.type() == Generator_Type.POINT) {
-				List<Double> result = PPLSupport.getGeneratorAsVector(g, (int) Pxt.get().space_dimension());
-				for (int i = 0; i < result.size(); i++)
-					result.set(i, result.get(i) - varepsilon); // can be lenient since already converged
-				return result;
-			}
+		List<Double> result = engine.getVertex(Pxt, n);
+		if (result != null) {
+			for (int i = 0; i < result.size(); i++)
+				result.set(i, result.get(i) - varepsilon); // can be lenient since already converged
 		}
-		return null;
+		return result;
+	}
+
+	/**
+	 * Get the states whose Pareto sets in {@code P} contain the point {@code bounds}.
+	 **/
+	private <S> BitSet checkBounds(ParetoEngine<S> engine, S[] P, List<Double> bounds)
+	{
+		BitSet result = new BitSet(P.length);
+		for (int s = 0; s < P.length; s++)
+			result.set(s, engine.checkBound(P[s], bounds));
+		return result;
 	}
 
 	/**
@@ -1736,24 +1804,16 @@ public class SMGModelChecker extends ProbModelChecker
 	 * so that at state s, the Pareto set will contain
 	 * the downwards closure of {@code MIN[][s]}, which is an n-dimensional vector.
 	 **/
-	private Pareto[] initialiseCQParetoSet(int gameSize, int n, double[][] MIN) throws PrismException
+	private <S> S[] initialiseCQParetoSet(ParetoEngine<S> engine, int gameSize, int n, double[][] MIN) throws PrismException
 	{
-		Pareto[] Qx = new Pareto[gameSize]; // the return value
+		S[] Qx = engine.newArray(gameSize); // the return value
 
 		for (int s = 0; s < gameSize; s++) {
-			Generator_System gs = new Generator_System();
-
 			double[] x = new double[n];
 			for (int i = 0; i < n; i++) {
 				x[i] = MIN[i][s];
-				// generate ray for downward closure
-				Linear_Expression ray = new Linear_Expression_Times(new Coefficient((BigInteger.ONE).negate()), new Variable(i));
-				gs.add(Generator.ray(ray));
 			}
-			gs.add(PPLSupport.generatorFromPoint(x));
-
-			C_Polyhedron cp = new C_Polyhedron(gs); // generate initial polyhedra: X^0_s
-			Qx[s] = new Pareto(cp);
+			Qx[s] = engine.downwardClosure(x); // generate initial polyhedra: X^0_s
 		}
 
 		return Qx;
@@ -2051,6 +2111,16 @@ public class SMGModelChecker extends ProbModelChecker
 	 */
 	public boolean computeCQParetoSet(SMG<Double> smg, MultiParameters params, Pareto[] Px, List<Pareto>[] stochasticStates, boolean checkBounds,
 			boolean energy_objective) throws PrismException
+	{
+		return computeCQParetoSet(new ParetoEnginePPL(), smg, params, Px, stochasticStates, checkBounds, energy_objective);
+	}
+
+	/**
+	 * Compute CQ Pareto sets, as for {@link #computeCQParetoSet(SMG, MultiParameters, Pareto[], List[], boolean, boolean)},
+	 * using the given engine for the Pareto sets.
+	 */
+	public <S> boolean computeCQParetoSet(ParetoEngine<S> engine, SMG<Double> smg, MultiParameters params, S[] Px, List<S>[] stochasticStates, boolean checkBounds,
+			boolean energy_objective) throws PrismException
 	{
 		int gameSize = smg.getNumStates();
 		int n = params.rewards.size();
@@ -2084,7 +2154,7 @@ public class SMGModelChecker extends ProbModelChecker
 			// build Pareto set
 			double[][] maxmin = new double[1][];
 			maxmin[0] = soln;
-			Pareto[] temp = initialiseCQParetoSet(gameSize, 1, maxmin);
+			S[] temp = initialiseCQParetoSet(engine, gameSize, 1, maxmin);
 
 			// copy to result
 			System.arraycopy(temp, 0, Px, 0, temp.length);
@@ -2097,7 +2167,7 @@ public class SMGModelChecker extends ProbModelChecker
 		boolean localGaussSeidel = gaussSeidel && ((params.objective_type == MultiParameters.ETCR) || energy_objective);
 
 		// INITIALISATION: compute polyhedra X_s^0
-		Pareto[] Qx = initialiseCQParetoSet(gameSize, n, params.MIN);
+		S[] Qx = initialiseCQParetoSet(engine, gameSize, n, params.MIN);
 
 		// set up arrays for average reward (needed to check bounds and convergence and later rescale the sets)
 		int[] step = new int[n];
@@ -2109,50 +2179,87 @@ public class SMGModelChecker extends ProbModelChecker
 			base_bounds[i] = params.bounds.get(i) - params.shifts.get(i);
 
 		// ITERATE FUNCTIONAL APPLICATION: compute X_s^k+1 = F(X_s^k), cf. MFCS'13 / TACAS'15
+		// (for Jacobi iteration, if worthwhile split between multiple threads)
 		boolean converged = false;
 		long baseline_accuracy = params.baseline_accuracy;
-		iterate_cq: for (int k = 0; k < params.maxCIter; k++) {
-			if (logCPareto)
-			        mainLog.print(String.format("C-ITER %d/%s, %s", k + 1, params.maxCIter,
-						params.rounding ? String.format("acc = %d, ", baseline_accuracy) : ""));
-			mainLog.flush();
-			// set up factors for average reward
-			for (int i = 0; i < n; i++) {
-				if (!energy_objective && params.reward_types.get(i) == MultiParameters.EAR) {
-					// take step count times two, because every iteration the functional is applied twice!
-					step[i] = (k + 1) * 2;
-					bounds[i] = base_bounds[i] * ((double) ((k + 1) * 2));
-				} else {
-					bounds[i] = base_bounds[i];
+		// If possible, only update states with a successor whose set changed
+		PredecessorRelation pre = preRel ? smg.getPredecessorRelation(this, true) : null;
+		BitSet dirty = preRel ? new BitSet() : null;
+		long dirty_accuracy = -1; // accuracy used when dirty was last computed
+		long numUpdates = 0;
+		int numSteps = 0;
+		ParallelValIter parallel = localGaussSeidel ? null : createParallelParetoIter(engine, gameSize);
+		try {
+			iterate_cq: for (int k = 0; k < params.maxCIter; k++) {
+				if (logCPareto)
+				        mainLog.print(String.format("C-ITER %d/%s, %s", k + 1, params.maxCIter,
+							params.rounding ? String.format("acc = %d, ", baseline_accuracy) : ""));
+				mainLog.flush();
+				// set up factors for average reward
+				for (int i = 0; i < n; i++) {
+					if (!energy_objective && params.reward_types.get(i) == MultiParameters.EAR) {
+						// take step count times two, because every iteration the functional is applied twice!
+						step[i] = (k + 1) * 2;
+						bounds[i] = base_bounds[i] * ((double) ((k + 1) * 2));
+					} else {
+						bounds[i] = base_bounds[i];
+					}
 				}
-			}
-
-			// VALUE ITERATION STEP
-			Pareto[] temp = smg.pMultiObjective(Qx, params.rewards, localGaussSeidel, baseline_accuracy, params.biggest_reward,
-					stochasticStates, params.rounding, !params.no_union_with_previous & !energy_objective, energy_objective, params.M);
-			System.arraycopy(temp, 0, Px, 0, temp.length); // copy to result
 
-			if (logCPareto)
-			    PPLSupport.printReachabilityPolyhedron(Px, params.CONJUNCTS, init, mainLog);
-			    //PPLSupport.printReachabilityPolyhedra(Px, stochasticStates, params.CONJUNCTS, mainLog);
+				// with rounding, a change of accuracy may change the set of any state
+				if (dirty != null && (k == 0 || (params.rounding && baseline_accuracy != dirty_accuracy))) {
+					dirty.set(0, gameSize);
+				}
+				dirty_accuracy = baseline_accuracy;
+
+				// VALUE ITERATION STEP (and varepsilon-convergence test)
+				boolean done;
+				numSteps++;
+				if (parallel != null) {
+					boolean[] changed = dirty != null ? new boolean[gameSize] : null;
+					numUpdates += dirty != null ? dirty.cardinality() : gameSize;
+					done = parallelParetoStep(engine, parallel, smg, Qx, Px, params, baseline_accuracy, stochasticStates, energy_objective, step, dirty, changed);
+					if (dirty != null) {
+						updateDirtyParetoStates(pre, changed, dirty);
+					}
+				} else if (dirty != null) {
+					numUpdates += incrementalParetoStep(engine, smg, Qx, Px, params, baseline_accuracy, stochasticStates, energy_objective, localGaussSeidel, pre,
+							dirty);
+					done = convergeNorm(engine, Px, Qx, n, step, energy_objective, init);
+				} else {
+					numUpdates += gameSize;
+					S[] temp = engine.pMultiObjective(smg, Qx, params.rewards, localGaussSeidel, baseline_accuracy, params.biggest_reward,
+							stochasticStates, params.rounding, !params.no_union_with_previous & !energy_objective, energy_objective, params.M);
+					System.arraycopy(temp, 0, Px, 0, temp.length); // copy to result
+					done = convergeNorm(engine, Px, Qx, n, step, energy_objective, init);
+				}
 
-			// test varepsilon-convergence
-			if (convergeNorm(Px, Qx, n, step, energy_objective, init)) {
 				if (logCPareto)
-					mainLog.print("CQ value iteration converged.\n");
-				converged = true;
-				break iterate_cq; // if converged, break cq iteration
-			}
+				    engine.print(Px, params.CONJUNCTS, init, mainLog);
+
+				if (done) {
+					if (logCPareto)
+						mainLog.print("CQ value iteration converged.\n");
+					converged = true;
+					break iterate_cq; // if converged, break cq iteration
+				}
 
-			// test if target met
-			if (checkBounds && !energy_objective && PPLSupport.checkBound(Px[init], bounds, params))
-				break iterate_cq; // if target met, break cq iteration 
+				// test if target met
+				if (checkBounds && !energy_objective && engine.checkBound(Px[init], bounds))
+					break iterate_cq; // if target met, break cq iteration 
 
-			// increase accuracy
-			baseline_accuracy = increaseBaselineAccuracy(baseline_accuracy);
+				// increase accuracy
+				baseline_accuracy = increaseBaselineAccuracy(baseline_accuracy);
 
-			// keep current as previous Pareto (for convergence check)
-			System.arraycopy(Px, 0, Qx, 0, Px.length);
+				// keep current as previous Pareto (for convergence check)
+				System.arraycopy(Px, 0, Qx, 0, Px.length);
+			}
+		} finally {
+			if (parallel != null)
+				parallel.close();
+		}
+		if (dirty != null && verbosity >= 1) {
+			mainLog.println("Pareto set updates: " + numUpdates + " (of " + ((long) numSteps * gameSize) + " for full sweeps)");
 		}
 
 		// MEAN/TOTAL/RATIO: rescale if required by average reward if not energy objective
@@ -2162,8 +2269,12 @@ public class SMGModelChecker extends ProbModelChecker
 			for (int i = 0; i < n; i++)
 				if (params.reward_types.get(i) == MultiParameters.EAR)
 					alpha[i] = 1.0 / ((double) step[i]);
-			PPLSupport.discountPareto(Px, alpha);
-			PPLSupport.discountPareto(stochasticStates, alpha);
+			for (int s = 0; s < gameSize; s++) {
+				Px[s] = engine.discount(Px[s], alpha);
+				if (stochasticStates != null)
+					for (int t = 0; t < stochasticStates[s].size(); t++)
+						stochasticStates[s].set(t, engine.discount(stochasticStates[s].get(t), alpha));
+			}
 
 		}
 		// finished - Pareto sets now in Px and stochasticStates
@@ -2179,6 +2290,7 @@ public class SMGModelChecker extends ProbModelChecker
 	 * Note that stochastic states are ignored here.
 	 *
 	 * arguments:
+	 * @param engine The engine for the Pareto sets
 	 * @param result Current Pareto sets
 	 * @param prev_result Previous Pareto sets
 	 * @param n Dimension
@@ -2188,69 +2300,180 @@ public class SMGModelChecker extends ProbModelChecker
 	 *
 	 * @return Whether all (or initial if energy objective) sets have converged.
 	 **/
-	private boolean convergeNorm(final Pareto[] result, final Pareto[] prev_result, int n, int[] k, boolean energy_objective, int init) throws PrismException
+	private <S> boolean convergeNorm(ParetoEngine<S> engine, final S[] result, final S[] prev_result, int n, int[] k, boolean energy_objective, int init) throws PrismException
 	{
+		boolean unscaled = isUnscaled(k);
 		for (int s = 0; s < result.length; s++) {
-			Polyhedron ck1 = new C_Polyhedron((C_Polyhedron) result[s].get()); // deep copy - current
-			Polyhedron ck = new C_Polyhedron((C_Polyhedron) prev_result[s].get()); // deep copy - previous
+			if (unscaled && result[s] == prev_result[s])
+				continue; // not updated (see incrementalParetoStep)
+			if (!engine.hasConverged(result[s], prev_result[s], n, k, varepsilon))
+				return false; // not converged yet
+		}
+		return true; // only fall through if all polyhedra converge
+	}
+	
+	/**
+	 * Are the step counts {@code k} used for the convergence check all 1, i.e. there is no scaling
+	 * for average rewards? If so, a set that was not updated has trivially converged.
+	 */
+	private static boolean isUnscaled(int[] k)
+	{
+		for (int ki : k) {
+			if (ki > 1)
+				return false;
+		}
+		return true;
+	}
 
-			// add step-discount if required
-			for (int i = 0; i < n; i++) {
-				if (k[i] > 1) {
-					Variable var = new Variable(i);
-					Linear_Expression expr = new Linear_Expression_Times(new Coefficient(1), var);
-					Coefficient den1 = new Coefficient(k[i]);
-					Coefficient den = new Coefficient(k[i] - 1);
-					ck1.affine_image(var, expr, den1);
-					ck.affine_image(var, expr, den);
+	/**
+	 * If it is worthwhile (multiple threads requested, a thread-safe engine and enough states),
+	 * create a helper to apply the functional of the CQ value iteration to the states in parallel;
+	 * otherwise return null. The caller should close it when finished.
+	 * @param engine The engine for the Pareto sets
+	 * @param gameSize Number of states in the game
+	 */
+	private ParallelValIter createParallelParetoIter(ParetoEngine<?> engine, int gameSize)
+	{
+		if (numThreads < 2)
+			return null;
+		if (!engine.isThreadSafe()) {
+			if (verbosity >= 1)
+				mainLog.println("Using a single thread (the " + engine.getName() + " Pareto engine is not thread-safe)");
+			return null;
+		}
+		BitSet states = new BitSet();
+		states.set(0, gameSize);
+		if (!ParallelValIter.isWorthwhile(numThreads, states, PARALLEL_MIN_BLOCK_SIZE))
+			return null;
+		ParallelValIter parallel = new ParallelValIter(numThreads, states, gameSize, PARALLEL_MIN_BLOCK_SIZE);
+		if (verbosity >= 1)
+			mainLog.println("Using " + numThreads + " threads (" + parallel.getNumBlocks() + " blocks of states)");
+		return parallel;
+	}
+
+	/**
+	 * Perform one (Jacobi) step of the CQ value iteration, in parallel, i.e. compute
+	 * {@code Px} = F({@code Qx}), and test varepsilon-convergence as for {@link #convergeNorm}.
+	 * Each state's new set only depends on {@code Qx}, which is not modified,
+	 * so the result is the same as for the sequential step.
+	 * @param engine The engine for the Pareto sets (must be thread-safe)
+	 * @param parallel Helper for parallel value iteration (see {@link #createParallelParetoIter})
+	 * @param smg The game
+	 * @param Qx Previous Pareto sets
+	 * @param Px Storage for the new Pareto sets
+	 * @param params Parameters for the computation
+	 * @param baseline_accuracy Current baseline accuracy (for rounding)
+	 * @param stochasticStates Storage for the Pareto sets of stochastic states (optional: null means none)
+	 * @param energy_objective If dealing with an energy objective
+	 * @param k Current step number (if positive, used for average reward)
+	 * @param dirty Optionally, the states that need updating (others keep their set from {@code Qx})
+	 * @param changed If {@code dirty} is given, storage for which of the updated sets changed
+	 *
+	 * @return Whether all sets have converged.
+	 */
+	private <S> boolean parallelParetoStep(ParetoEngine<S> engine, ParallelValIter parallel, SMG<Double> smg, S[] Qx, S[] Px, MultiParameters params,
+			long baseline_accuracy, List<S>[] stochasticStates, boolean energy_objective, int[] k, BitSet dirty, boolean[] changed) throws PrismException
+	{
+		int n = params.rewards.size();
+		boolean union_with_previous = !params.no_union_with_previous & !energy_objective;
+		boolean unscaled = isUnscaled(k);
+		return parallel.updateAndCheck(states -> {
+			for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+				if (dirty != null && !dirty.get(s)) {
+					Px[s] = Qx[s];
+					continue;
 				}
+				List<S> distPolys = new ArrayList<S>(smg.getNumChoices(s));
+				Px[s] = engine.pMultiObjectiveSingle(smg, s, Qx, params.rewards, baseline_accuracy, params.biggest_reward, distPolys, params.rounding,
+						union_with_previous, energy_objective, params.M);
+				if (stochasticStates != null)
+					stochasticStates[s] = distPolys;
+				if (dirty != null)
+					changed[s] = !engine.isEqual(Px[s], Qx[s]);
 			}
-
-			Polyhedron ck_prime;
-
-			// if not monotonically increasing anyway, aply union and intersection
-			if (!ck1.contains(ck)) {
-				ck_prime = new C_Polyhedron(ck.generators()); // deep copy
-				ck.intersection_assign(ck1); // the set that's supposed to be smaller holds the intersection
-				ck1.upper_bound_assign(ck_prime); // the set that's supposed to be larger holds the union
+		}, states -> {
+			for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+				if (unscaled && Px[s] == Qx[s])
+					continue; // not updated
+				if (!engine.hasConverged(Px[s], Qx[s], n, k, varepsilon))
+					return false; // not converged yet
 			}
+			return true;
+		});
+	}
 
-			Generator_System ngs = new Generator_System();
-			// first set up the reward vector that should be added to each point generator
-
-			BigFraction r = new BigFraction(varepsilon);
-			BigInteger num = r.getNumerator();
-			BigInteger den = r.getDenominator();
-
-			// prepare vector pointing in direction (varepsilon, varepsilon, ...)
-			Linear_Expression le = new Linear_Expression_Times(new Coefficient(num), new Variable(0));
-			Coefficient c = new Coefficient(den);
-			for (int i = 1; i < n; i++) {
-				le = new Linear_Expression_Sum(le, new Linear_Expression_Times(new Coefficient(num), new Variable(i)));
+	/**
+	 * Perform one step of the CQ value iteration, i.e. compute {@code Px} = F({@code Qx}),
+	 * applying the functional only to the states in {@code dirty} (the others keep their set from {@code Qx}).
+	 * Afterwards, {@code dirty} contains the states to be updated in the next step, i.e. those with
+	 * a successor whose set changed, and those whose own set changed (since the functional may depend
+	 * on it, e.g. for the union with the previous set). With Gauss-Seidel, the sets are updated in-place,
+	 * and states later in the same sweep become dirty as soon as one of their successors changes.
+	 * The result is the same as applying the functional to all states.
+	 * @param engine The engine for the Pareto sets
+	 * @param smg The game
+	 * @param Qx Previous Pareto sets
+	 * @param Px Storage for the new Pareto sets
+	 * @param params Parameters for the computation
+	 * @param baseline_accuracy Current baseline accuracy (for rounding)
+	 * @param stochasticStates Storage for the Pareto sets of stochastic states (optional: null means none)
+	 * @param energy_objective If dealing with an energy objective
+	 * @param gaussSeidel Whether to update the sets in-place
+	 * @param pre Predecessor relation of the game
+	 * @param dirty The states that need updating (updated by this method)
+	 *
+	 * @return The number of states whose set was recomputed
+	 */
+	private <S> int incrementalParetoStep(ParetoEngine<S> engine, SMG<Double> smg, S[] Qx, S[] Px, MultiParameters params, long baseline_accuracy,
+			List<S>[] stochasticStates, boolean energy_objective, boolean gaussSeidel, PredecessorRelation pre, BitSet dirty) throws PrismException
+	{
+		boolean union_with_previous = !params.no_union_with_previous & !energy_objective;
+		System.arraycopy(Qx, 0, Px, 0, Qx.length);
+		S[] Xk = gaussSeidel ? Px : Qx;
+		// for Jacobi, the states that change are collected first
+		BitSet changed = gaussSeidel ? dirty : new BitSet();
+		int numUpdates = 0;
+		for (int s = dirty.nextSetBit(0); s >= 0; s = dirty.nextSetBit(s + 1)) {
+			List<S> distPolys = new ArrayList<S>(smg.getNumChoices(s));
+			S Xk1s = engine.pMultiObjectiveSingle(smg, s, Xk, params.rewards, baseline_accuracy, params.biggest_reward, distPolys, params.rounding,
+					union_with_previous, energy_objective, params.M);
+			if (stochasticStates != null)
+				stochasticStates[s] = distPolys;
+			numUpdates++;
+			if (gaussSeidel)
+				dirty.clear(s);
+			if (!engine.isEqual(Xk1s, Px[s])) {
+				changed.set(s);
+				for (int t : pre.getPre(s)) {
+					changed.set(t);
+				}
 			}
+			Px[s] = Xk1s;
+		}
+		if (!gaussSeidel) {
+			dirty.clear();
+			dirty.or(changed);
+		}
+		return numUpdates;
+	}
 
-			// now add reward vector to each point generator 
-			for (Generator g : ck.generators()) {
-				if (g.type() == Generator_Type.POINT) {
-					Linear_Expression nle = new Linear_Expression_Sum(le.times(g.divisor()), g.linear_expression().times(c));
-					Coefficient nc = new Coefficient(g.divisor().getBigInteger().multiply(c.getBigInteger()));
-					ngs.add(Generator.point(nle, nc));
-				} else {
-					ngs.add(g);
+	/**
+	 * Set {@code dirty} to the states to be updated in the next step of the CQ value iteration,
+	 * i.e. those in {@code changed} and their predecessors.
+	 */
+	private void updateDirtyParetoStates(PredecessorRelation pre, boolean[] changed, BitSet dirty)
+	{
+		dirty.clear();
+		for (int t = 0; t < changed.length; t++) {
+			if (changed[t]) {
+				dirty.set(t);
+				for (int s : pre.getPre(t)) {
+					dirty.set(s);
 				}
 			}
-			ck_prime = new C_Polyhedron(ngs);
-			// now test containment
-			if (ck1.is_empty())
-				continue; // converged for this state
-			if (ck_prime.is_empty() && !ck1.is_empty())
-				return false; // not converged yet
-			if (!ck_prime.is_empty() && !ck_prime.contains(ck1))
-				return false; // not converged yet
 		}
-		return true; // only fall through if all polyhedra converge
 	}
-	
+
 	// Numerical computation functions
 	
 	/**
@@ -2304,10 +2527,27 @@ public class SMGModelChecker extends ProbModelChecker
 	 * @param coalition The coalition of players which define player 1
 	 */
 	public ModelCheckerResult computeUntilProbs(SMG<Double> smg, BitSet remain, BitSet target, boolean min1, boolean min2, Coalition coalition) throws PrismException
+	{
+		return computeUntilProbs(smg, remain, target, min1, min2, coalition, -1);
+	}
+
+	/**
+	 * Compute until probabilities.
+	 * i.e. compute the min/max probability of reaching a state in {@code target},
+	 * while remaining in those in @{code remain}.
+	 * @param smg The SMG
+	 * @param remain Remain in these states (optional: null means "all")
+	 * @param target Target states
+	 * @param min1 Min or max probabilities for player 1 (true=min, false=max)
+	 * @param min2 Min or max probabilities for player 2 (true=min, false=max)
+	 * @param coalition The coalition of players which define player 1
+	 * @param bound The probability bound of the property being checked (-1 if none)
+	 */
+	public ModelCheckerResult computeUntilProbs(SMG<Double> smg, BitSet remain, BitSet target, boolean min1, boolean min2, Coalition coalition, double bound) throws PrismException
 	{
 		// Temporarily make SMG into an STPG by setting coalition and do computation on STPG
 		smg.setCoalition(coalition);
-		ModelCheckerResult res = createSTPGModelChecker().computeUntilProbs(smg, remain, target, min1, min2, -1);
+		ModelCheckerResult res = createSTPGModelChecker().computeUntilProbs(smg, remain, target, min1, min2, bound);
 		smg.setCoalition(null);
 		return res;
 	}
@@ -0,0 +1,549 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import common.IterableStateSet;
+import explicit.rewards.MDPRewards;
+import explicit.rewards.STPGRewards;
+import io.ExplicitModelImporter;
+import prism.PlayerInfo;
+import prism.PlayerInfoOwner;
+import prism.PrismException;
+
+/**
+ * Sparse matrix (non-mutable) explicit-state representation of a (turn-based) stochastic multi-player game (SMG).
+ * Transitions are stored as for {@link MDPSparse} and the owner of each state is stored in a byte array.
+ * This is much faster to access than e.g. SMGSimple and should also be more compact.
+ * The catch is that you have to create the model all in one go and then can't modify it.
+ */
+public class SMGSparse extends MDPSparse implements SMG<Double>
+{
+	/**
+	 * Which player owns each state (array of size numStates)
+	 * NB: states are 0-indexed; players are 0-indexed; -1 denotes no player
+	 */
+	protected byte stateOwners[];
+
+	/**
+	 * Player + coalition information
+	 */
+	protected PlayerInfo playerInfo;
+
+	// Constructors
+
+	/**
+	 * Copy constructor (from SMGSimple).
+	 */
+	public SMGSparse(SMGSimple<Double> smg)
+	{
+		this(smg, false);
+	}
+
+	/**
+	 * Copy constructor (from SMGSimple). Optionally, transitions within choices
+	 * are sorted (by ascending order of column index).
+	 * @param smg The SMG to copy
+	 * @param sort Whether or not to sort column indices
+	 */
+	public SMGSparse(SMGSimple<Double> smg, boolean sort)
+	{
+		super(smg, sort);
+		for (int s = 0; s < numStates; s++) {
+			stateOwners[s] = toOwnerByte(smg.stateOwners.getPlayer(s));
+		}
+		playerInfo = new PlayerInfo(smg.playerInfo);
+	}
+
+	/**
+	 * Copy constructor (from SMGSimple). Optionally, transitions within choices
+	 * are sorted (by ascending order of column index). Also, optionally, a state
+	 * index permutation can be provided, i.e. old state index i becomes index permut[i].
+	 * Player and coalition info is also copied across.
+	 * Note: a states list, if present, will not be permuted and should be set
+	 * separately afterwards if required.
+	 * @param smg The SMG to copy
+	 * @param sort Whether or not to sort column indices
+	 * @param permut State space permutation
+	 */
+	public SMGSparse(SMGSimple<Double> smg, boolean sort, int permut[])
+	{
+		super(smg, sort, permut);
+		for (int s = 0; s < numStates; s++) {
+			stateOwners[permut[s]] = toOwnerByte(smg.stateOwners.getPlayer(s));
+		}
+		playerInfo = new PlayerInfo(smg.playerInfo);
+	}
+
+	/**
+	 * Construct an empty SMG (e.g. for subsequent explicit import)
+	 */
+	public SMGSparse()
+	{
+		super();
+		playerInfo = new PlayerInfo();
+	}
+
+	/**
+	 * Helper: convert a player index to the byte used to store it.
+	 */
+	private static byte toOwnerByte(int p)
+	{
+		if (p < -1 || p > Byte.MAX_VALUE) {
+			throw new IllegalArgumentException("Player index " + p + " is too large for SMGSparse");
+		}
+		return (byte) p;
+	}
+
+	/**
+	 * Can the state owners of a game with {@code numPlayers} players be stored in an SMGSparse?
+	 */
+	public static boolean canStorePlayers(int numPlayers)
+	{
+		return numPlayers <= Byte.MAX_VALUE + 1;
+	}
+
+	// Mutators (other)
+
+	@Override
+	public void initialise(int numStates)
+	{
+		super.initialise(numStates);
+		stateOwners = new byte[numStates];
+	}
+
+	/**
+	 * Copy the player info from another model
+	 */
+	public void copyPlayerInfo(PlayerInfoOwner model)
+	{
+		playerInfo = new PlayerInfo(model.getPlayerInfo());
+	}
+
+	@Override
+	public void buildFromExplicitImport(ExplicitModelImporter modelImporter) throws PrismException
+	{
+		List<String> playerNames = modelImporter.getModelInfo().getPlayerNames();
+		if (!canStorePlayers(playerNames.size())) {
+			throw new PrismException("Too many players (" + playerNames.size() + ") for import");
+		}
+		super.buildFromExplicitImport(modelImporter);
+		playerInfo = new PlayerInfo();
+		playerInfo.setPlayerNames(playerNames);
+		modelImporter.extractStateOwners((s, p) -> stateOwners[s] = toOwnerByte(p));
+	}
+
+	// Accessors (for Model)
+
+	@Override
+	public void checkForDeadlocks(BitSet except) throws PrismException
+	{
+		for (int i = 0; i < numStates; i++) {
+			if (getNumChoices(i) == 0 && (except == null || !except.get(i)))
+				throw new PrismException("Game has a deadlock in state " + i + (statesList == null ? "" : ": " + statesList.get(i)));
+		}
+	}
+
+	// Accessors (for PlayerInfoOwner)
+
+	@Override
+	public PlayerInfo getPlayerInfo()
+	{
+		return playerInfo;
+	}
+
+	// Accessors (for STPG)
+
+	@Override
+	public int getPlayer(int s)
+	{
+		return playerInfo.getPlayer(stateOwners[s]);
+	}
+
+	@Override
+	public void prob0step(BitSet subset, BitSet u, boolean forall1, boolean forall2, BitSet result)
+	{
+		int j, k, l1, h1, l2, h2;
+		boolean b1, some, forall;
+		for (int i = subset.nextSetBit(0); i >= 0 && i < numStates; i = subset.nextSetBit(i + 1)) {
+			forall = (getPlayer(i) == 0) ? forall1 : forall2;
+			b1 = forall; // there exists or for all
+			l1 = rowStarts[i];
+			h1 = rowStarts[i + 1];
+			for (j = l1; j < h1; j++) {
+				some = false;
+				l2 = choiceStarts[j];
+				h2 = choiceStarts[j + 1];
+				for (k = l2; k < h2; k++) {
+					// Assume that only non-zero entries are stored
+					if (u.get(cols[k])) {
+						some = true;
+						break;
+					}
+				}
+				if (forall) {
+					if (!some) {
+						b1 = false;
+						break;
+					}
+				} else {
+					if (some) {
+						b1 = true;
+						break;
+					}
+				}
+			}
+			result.set(i, b1);
+		}
+	}
+
+	@Override
+	public void prob1step(BitSet subset, BitSet u, BitSet v, boolean forall1, boolean forall2, BitSet result)
+	{
+		int j, k, l1, h1, l2, h2;
+		boolean b1, some, all, forall;
+		for (int i = subset.nextSetBit(0); i >= 0 && i < numStates; i = subset.nextSetBit(i + 1)) {
+			forall = (getPlayer(i) == 0) ? forall1 : forall2;
+			b1 = forall; // there exists or for all
+			l1 = rowStarts[i];
+			h1 = rowStarts[i + 1];
+			for (j = l1; j < h1; j++) {
+				some = false;
+				all = true;
+				l2 = choiceStarts[j];
+				h2 = choiceStarts[j + 1];
+				for (k = l2; k < h2; k++) {
+					// Assume that only non-zero entries are stored
+					if (!u.get(cols[k])) {
+						all = false;
+						break;
+					}
+					if (v.get(cols[k])) {
+						some = true;
+					}
+				}
+				if (forall) {
+					if (!(some && all)) {
+						b1 = false;
+						break;
+					}
+				} else {
+					if (some && all) {
+						b1 = true;
+						break;
+					}
+				}
+			}
+			result.set(i, b1);
+		}
+	}
+
+	@Override
+	public void mvMultMinMax(double vect[], boolean min1, boolean min2, double result[], BitSet subset, boolean complement, int adv[])
+	{
+		for (PrimitiveIterator.OfInt it = stateIterator(subset, complement); it.hasNext();) {
+			int s = it.nextInt();
+			boolean min = (getPlayer(s) == 0) ? min1 : min2;
+			result[s] = mvMultMinMaxSingle(s, vect, min, adv);
+		}
+	}
+
+	@Override
+	public double mvMultMinMaxSingle(int s, double vect[], boolean min1, boolean min2)
+	{
+		boolean min = (getPlayer(s) == 0) ? min1 : min2;
+		return mvMultMinMaxSingle(s, vect, min, null);
+	}
+
+	@Override
+	public double mvMultMinMaxSingle(int s, double vect[], boolean min1, boolean min2, int adv[])
+	{
+		boolean min = (getPlayer(s) == 0) ? min1 : min2;
+		return mvMultMinMaxSingle(s, vect, min, adv);
+	}
+
+	@Override
+	public List<Integer> mvMultMinMaxSingleChoices(int s, double vect[], boolean min1, boolean min2, double val)
+	{
+		boolean min = (getPlayer(s) == 0) ? min1 : min2;
+		return mvMultMinMaxSingleChoices(s, vect, min, val);
+	}
+
+	@Override
+	public double mvMultGSMinMax(double vect[], boolean min1, boolean min2, BitSet subset, boolean complement, boolean absolute, int adv[])
+	{
+		double d, diff, maxDiff = 0.0;
+		for (PrimitiveIterator.OfInt it = stateIterator(subset, complement); it.hasNext();) {
+			int s = it.nextInt();
+			boolean min = (getPlayer(s) == 0) ? min1 : min2;
+			d = mvMultJacMinMaxSingle(s, vect, min, adv);
+			diff = absolute ? (Math.abs(d - vect[s])) : (Math.abs(d - vect[s]) / d);
+			maxDiff = diff > maxDiff ? diff : maxDiff;
+			vect[s] = d;
+		}
+		return maxDiff;
+	}
+
+	@Override
+	public double mvMultJacMinMaxSingle(int s, double vect[], boolean min1, boolean min2, int adv[])
+	{
+		boolean min = (getPlayer(s) == 0) ? min1 : min2;
+		return mvMultJacMinMaxSingle(s, vect, min, adv);
+	}
+
+	@Override
+	public void mvMultRewMinMax(double vect[], STPGRewards<Double> rewards, boolean min1, boolean min2, double result[], BitSet subset, boolean complement, int adv[])
+	{
+		mvMultRewMinMax(vect, rewards, min1, min2, result, subset, complement, adv, 1.0);
+	}
+
+	@Override
+	public void mvMultRewMinMax(double vect[], STPGRewards<Double> rewards, boolean min1, boolean min2, double result[], BitSet subset, boolean complement, int adv[], double disc)
+	{
+		for (PrimitiveIterator.OfInt it = stateIterator(subset, complement); it.hasNext();) {
+			int s = it.nextInt();
+			boolean min = (getPlayer(s) == 0) ? min1 : min2;
+			result[s] = mvMultRewMinMaxSingle(s, vect, rewards, min, adv, disc);
+		}
+	}
+
+	@Override
+	public double mvMultRewMinMaxSingle(int s, double vect[], STPGRewards<Double> rewards, boolean min1, boolean min2, int adv[])
+	{
+		boolean min = (getPlayer(s) == 0) ? min1 : min2;
+		return mvMultRewMinMaxSingle(s, vect, rewards, min, adv);
+	}
+
+	@Override
+	public double mvMultRewJacMinMaxSingle(int s, double vect[], STPGRewards<Double> rewards, boolean min1, boolean min2, int adv[])
+	{
+		boolean min = (getPlayer(s) == 0) ? min1 : min2;
+		return mvMultRewJacMinMaxSingle(s, vect, rewards, min, adv);
+	}
+
+	@Override
+	public List<Integer> mvMultRewMinMaxSingleChoices(int s, double vect[], STPGRewards<Double> rewards, boolean min1, boolean min2, double val)
+	{
+		boolean min = (getPlayer(s) == 0) ? min1 : min2;
+		return mvMultRewMinMaxSingleChoices(s, vect, rewards, min, val);
+	}
+
+	/**
+	 * Do a single row of (discounted) matrix-vector multiplication and sum of action reward followed by min/max.
+	 * i.e. return min/max_{k1,k2} { rew(s) + disc * sum_j P_{k1,k2}(s,j)*vect[j] }
+	 * Unlike for MDPs, the optimal choice is always stored in {@code adv} (if non-null).
+	 * @param s Row index
+	 * @param vect Vector to multiply by
+	 * @param mdpRewards The rewards
+	 * @param min Min or max (true=min, false=max)
+	 * @param adv Storage for adversary choice indices (ignored if null)
+	 * @param disc Discount factor
+	 */
+	public double mvMultRewMinMaxSingle(int s, double vect[], MDPRewards<Double> mdpRewards, boolean min, int adv[], double disc)
+	{
+		int j, k, l1, h1, l2, h2, advCh = -1;
+		double d, sum, minmax;
+		boolean first;
+
+		minmax = 0;
+		first = true;
+		l1 = rowStarts[s];
+		h1 = rowStarts[s + 1];
+		for (j = l1; j < h1; j++) {
+			// Compute sum for this distribution
+			sum = 0.0;
+			l2 = choiceStarts[j];
+			h2 = choiceStarts[j + 1];
+			for (k = l2; k < h2; k++) {
+				sum += nonZeros[k] * vect[cols[k]] * disc;
+			}
+			d = mdpRewards.getTransitionReward(s, j - l1) + sum;
+			// Check whether we have exceeded min/max so far
+			if (first || (min && d < minmax) || (!min && d > minmax)) {
+				minmax = d;
+				// If adversary generation is enabled, remember optimal choice
+				if (adv != null)
+					advCh = j - l1;
+			}
+			first = false;
+		}
+		// If adversary generation is enabled, store optimal choice
+		if (adv != null & !first) {
+			adv[s] = advCh;
+		}
+
+		// Add state reward (doesn't affect min/max)
+		minmax += mdpRewards.getStateReward(s);
+
+		return minmax;
+	}
+
+	@Override
+	public boolean allSuccessorsInSet(int s, int i, BitSet set)
+	{
+		for (int k = choiceStarts[rowStarts[s] + i], stop = choiceStarts[rowStarts[s] + i + 1]; k < stop; k++) {
+			if (!set.get(cols[k])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Accessors (for SMG)
+
+	@Override
+	public void reachpositivestep(BitSet u, boolean forall1, boolean forall2, BitSet result)
+	{
+		int j, k, l1, h1;
+		boolean forall;
+		for (int i = u.nextSetBit(0); i >= 0 && i < numStates; i = u.nextSetBit(i + 1)) {
+			forall = (getPlayer(i) == 0) ? forall1 : forall2;
+			l1 = rowStarts[i];
+			h1 = rowStarts[i + 1];
+			if (l1 == h1) {
+				continue;
+			}
+			if (!forall) {
+				// Union of the successors of all choices
+				for (k = choiceStarts[l1]; k < choiceStarts[h1]; k++) {
+					result.set(cols[k]);
+				}
+			} else {
+				// Intersection of the successors of all choices
+				for (k = choiceStarts[l1]; k < choiceStarts[l1 + 1]; k++) {
+					boolean inAll = true;
+					for (j = l1 + 1; j < h1 && inAll; j++) {
+						inAll = choiceContains(j, cols[k]);
+					}
+					if (inAll) {
+						result.set(cols[k]);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Helper: does choice {@code j} (index into choiceStarts) have a transition to state {@code t}?
+	 */
+	private boolean choiceContains(int j, int t)
+	{
+		for (int k = choiceStarts[j], stop = choiceStarts[j + 1]; k < stop; k++) {
+			if (cols[k] == t) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void subtreeStep(BitSet u, int closedPlayer, BitSet result)
+	{
+		for (int i = u.nextSetBit(0); i >= 0 && i < numStates; i = u.nextSetBit(i + 1)) {
+			// only extend subtree if closed for that player,
+			// or if the state has only one choice that is enabled
+			int player = getPlayer(i);
+			boolean jump = (getNumChoices(i) == 1) && player != closedPlayer;
+			if (player == closedPlayer || jump) {
+				// add all successors (no matter which player)
+				for (int k = choiceStarts[rowStarts[i]], stop = choiceStarts[rowStarts[i + 1]]; k < stop; k++) {
+					result.set(cols[k]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Helper: iterate over the states in {@code subset}, or its complement,
+	 * or over all states if {@code subset} is null (in which case {@code complement} is ignored).
+	 */
+	private PrimitiveIterator.OfInt stateIterator(BitSet subset, boolean complement)
+	{
+		return new IterableStateSet(subset, numStates, subset != null && complement).iterator();
+	}
+
+	// Standard methods
+
+	@Override
+	public String toString()
+	{
+		int i, j, k, l1, h1, l2, h2;
+		Object o;
+		StringBuilder s = new StringBuilder("[ ");
+		for (i = 0; i < numStates; i++) {
+			if (i > 0)
+				s.append(", ");
+			s.append(i + "(P-" + (stateOwners[i] + 1));
+			if (statesList != null && statesList.size() > i)
+				s.append(" " + statesList.get(i));
+			s.append("): [");
+			l1 = rowStarts[i];
+			h1 = rowStarts[i + 1];
+			for (j = l1; j < h1; j++) {
+				if (j > l1)
+					s.append(",");
+				o = getAction(i, j - l1);
+				if (o != null)
+					s.append(o + ":");
+				s.append("{");
+				l2 = choiceStarts[j];
+				h2 = choiceStarts[j + 1];
+				for (k = l2; k < h2; k++) {
+					if (k > l2)
+						s.append(", ");
+					s.append(cols[k] + "=" + nonZeros[k]);
+				}
+				s.append("}");
+			}
+			s.append("]");
+		}
+		s.append(" ]\n");
+		return s.toString();
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		if (o == null || !(o instanceof SMGSparse))
+			return false;
+		if (!super.equals(o))
+			return false;
+		return Arrays.equals(stateOwners, ((SMGSparse) o).stateOwners);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		// consistent with equals (transition probabilities are not included)
+		int hash = numStates;
+		hash = 31 * hash + Arrays.hashCode(cols);
+		hash = 31 * hash + Arrays.hashCode(choiceStarts);
+		return 31 * hash + Arrays.hashCode(stateOwners);
+	}
+}
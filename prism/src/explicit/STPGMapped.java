@@ -0,0 +1,48 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import prism.ModelType;
+
+/**
+ * Memory-mapped explicit-state representation of a (turn-based) stochastic two-player game (STPG).
+ * As for {@link STPGSparse}, this is just a specific case of an SMG.
+ */
+public class STPGMapped extends SMGMapped
+{
+	@Override
+	public ModelType getModelType()
+	{
+		return ModelType.STPG;
+	}
+
+	/**
+	 * Construct an empty STPG (for subsequent import from a binary model file)
+	 */
+	public STPGMapped()
+	{
+		super();
+	}
+}
@@ -37,6 +37,7 @@ import java.util.Map.Entry;
 
 import acceptance.AcceptanceReach;
 import common.IterableBitSet;
+import explicit.modelviews.MDPDroppedChoicesCached;
 import explicit.rewards.MDPRewardsSimple;
 import explicit.rewards.RewardsSimple;
 import explicit.rewards.STPGRewards;
@@ -45,11 +46,14 @@ import explicit.rewards.StateRewardsConstant;
 import parser.ast.Expression;
 import prism.AccuracyFactory;
 import prism.Evaluator;
+import prism.OptionsIntervalIteration;
 import prism.PrismComponent;
+import prism.PrismDevNullLog;
 import prism.PrismException;
 import prism.PrismFileLog;
 import prism.PrismLog;
 import prism.PrismNotSupportedException;
+import prism.PrismSettings;
 import prism.PrismUtils;
 import strat.BoundedRewardDeterministicStrategy;
 import strat.FMDStrategyProduct;
@@ -80,12 +84,39 @@ public class STPGModelChecker extends ProbModelChecker
 	 */
 	public static final int R_ZERO = 2;
 
+	/**
+	 * Number of threads to use for (Jacobi) value iteration
+	 */
+	protected int numThreads = 1;
+
 	/**
 	 * Create a new STPGModelChecker, inherit basic state from parent (unless null).
 	 */
 	public STPGModelChecker(PrismComponent parent) throws PrismException
 	{
 		super(parent);
+		if (settings != null) {
+			setNumThreads(settings.getInteger(PrismSettings.PRISM_NUM_THREADS));
+		}
+	}
+
+	// Settings methods
+
+	/**
+	 * Set the number of threads to use for (Jacobi) value iteration.
+	 * Results are identical to those for a single thread.
+	 */
+	public void setNumThreads(int numThreads)
+	{
+		this.numThreads = numThreads;
+	}
+
+	/**
+	 * Get the number of threads to use for (Jacobi) value iteration.
+	 */
+	public int getNumThreads()
+	{
+		return numThreads;
 	}
 
 	// Model checking functions
@@ -320,15 +351,22 @@ public class STPGModelChecker extends ProbModelChecker
 		// precomputation
 		if (bound < 1.0 || !(precomp && prob1 && !genStrat)) {
 			// Compute probabilities
-			switch (stpgSolnMethod) {
-			case VALUE_ITERATION:
-				res = computeReachProbsValIter(stpg, no, yes, min1, min2, init, known);
-				break;
-			case GAUSS_SEIDEL:
-				res = computeReachProbsGaussSeidel(stpg, no, yes, min1, min2, init, known);
-				break;
-			default:
-				throw new PrismException("Unknown STPG solution method " + stpgSolnMethod);
+			if (doIntervalIteration) {
+				res = computeReachProbsIntervalIter(stpg, no, yes, min1, min2, init, known, bound);
+			} else {
+				switch (stpgSolnMethod) {
+				case VALUE_ITERATION:
+					res = computeReachProbsValIter(stpg, no, yes, min1, min2, init, known);
+					break;
+				case GAUSS_SEIDEL:
+					res = computeReachProbsGaussSeidel(stpg, no, yes, min1, min2, init, known);
+					break;
+				case STRATEGY_ITERATION:
+					res = computeReachProbsStratIter(stpg, no, yes, min1, min2);
+					break;
+				default:
+					throw new PrismException("Unknown STPG solution method " + stpgSolnMethod);
+				}
 			}
 		} else {
 			res = new ModelCheckerResult();
@@ -356,6 +394,8 @@ public class STPGModelChecker extends ProbModelChecker
 	 * i.e. determine the states of an STPG which, with min/max probability 0,
 	 * reach a state in {@code target}, while remaining in those in {@code remain}.
 	 * {@code min}=true gives Prob0E, {@code min}=false gives Prob0A. 
+	 * If the predecessor relation is enabled and the game is turn-based ({@link SMG}),
+	 * this uses the attractor computation of {@link #prob0(STPG, BitSet, BitSet, boolean, boolean, ChoicePredecessorRelation)}.
 	 * @param stpg The STPG
 	 * @param remain Remain in these states (optional: null means "all")
 	 * @param target Target states
@@ -364,6 +404,10 @@ public class STPGModelChecker extends ProbModelChecker
 	 */
 	public BitSet prob0(STPG<?> stpg, BitSet remain, BitSet target, boolean min1, boolean min2)
 	{
+		if (preRel && stpg instanceof SMG) {
+			return prob0(stpg, remain, target, min1, min2, stpg.getChoicePredecessorRelation(this, true));
+		}
+
 		int n, iters;
 		BitSet u, soln, unknown;
 		boolean u_done;
@@ -428,6 +472,8 @@ public class STPGModelChecker extends ProbModelChecker
 	 * Prob1 precomputation algorithm.
 	 * i.e. determine the states of an STPG which, with min/max probability 1,
 	 * reach a state in {@code target}, while remaining in those in {@code remain}.
+	 * If the predecessor relation is enabled and the game is turn-based ({@link SMG}),
+	 * this uses the attractor computations of {@link #prob1(STPG, BitSet, BitSet, boolean, boolean, ChoicePredecessorRelation)}.
 	 * @param stpg The STPG
 	 * @param remain Remain in these states (optional: null means "all")
 	 * @param target Target states
@@ -436,6 +482,10 @@ public class STPGModelChecker extends ProbModelChecker
 	 */
 	public BitSet prob1(STPG<?> stpg, BitSet remain, BitSet target, boolean min1, boolean min2)
 	{
+		if (preRel && stpg instanceof SMG) {
+			return prob1(stpg, remain, target, min1, min2, stpg.getChoicePredecessorRelation(this, true));
+		}
+
 		int n, iters;
 		BitSet u, v, soln, unknown;
 		boolean u_done, v_done;
@@ -504,6 +554,204 @@ public class STPGModelChecker extends ProbModelChecker
 		return u;
 	}
 
+	/**
+	 * Prob0 precomputation algorithm, for a turn-based game, using the choice predecessor relation.
+	 * i.e. determine the states of an STPG which, with min/max probability 0,
+	 * reach a state in {@code target}, while remaining in those in {@code remain}.
+	 * This computes the (positive probability) attractor of {@code target} backwards from the target,
+	 * in time linear in the size of the game, using a counter of the remaining choices for states
+	 * of a player whose choices are universally quantified (i.e., who is minimising).
+	 * The result is the same as for the fixed point computation of {@link #prob0(STPG, BitSet, BitSet, boolean, boolean)}.
+	 * @param stpg The STPG (turn-based, player given by {@code getPlayer})
+	 * @param remain Remain in these states (optional: null means "all")
+	 * @param target Target states
+	 * @param min1 Min or max probabilities for player 1 (true=min, false=max)
+	 * @param min2 Min or max probabilities for player 2 (true=min, false=max)
+	 * @param pre The choice predecessor relation of the STPG
+	 */
+	public BitSet prob0(STPG<?> stpg, BitSet remain, BitSet target, boolean min1, boolean min2, ChoicePredecessorRelation pre)
+	{
+		int n;
+		BitSet attr, unknown;
+		long timer;
+
+		// Start precomputation
+		timer = System.currentTimeMillis();
+		if (verbosity >= 1)
+			mainLog.println("Starting Prob0 (" + (min1 ? "min" : "max") + (min2 ? "min" : "max") + ")...");
+
+		// Special case: no target states
+		if (target.cardinality() == 0) {
+			attr = new BitSet(stpg.getNumStates());
+			attr.set(0, stpg.getNumStates());
+			return attr;
+		}
+
+		// Determine set of states actually need to perform computation for
+		n = stpg.getNumStates();
+		unknown = new BitSet();
+		unknown.set(0, n);
+		unknown.andNot(target);
+		if (remain != null)
+			unknown.and(remain);
+
+		// Compute attractor (all choices are usable)
+		attr = attractor(stpg, pre, unknown, null, target, min1, min2);
+
+		// Negate
+		attr.flip(0, n);
+
+		// Finished precomputation
+		timer = System.currentTimeMillis() - timer;
+		if (verbosity >= 1) {
+			mainLog.print("Prob0 (" + (min1 ? "min" : "max") + (min2 ? "min" : "max") + ")");
+			mainLog.println(" took " + timer / 1000.0 + " seconds (attractor).");
+		}
+
+		return attr;
+	}
+
+	/**
+	 * Prob1 precomputation algorithm, for a turn-based game, using the choice predecessor relation.
+	 * i.e. determine the states of an STPG which, with min/max probability 1,
+	 * reach a state in {@code target}, while remaining in those in {@code remain}.
+	 * This is the same nested fixed point as {@link #prob1(STPG, BitSet, BitSet, boolean, boolean)},
+	 * but each inner (least) fixed point is computed as an attractor, in time linear in the size of the game,
+	 * restricted to the choices that stay within the current outer approximation.
+	 * @param stpg The STPG (turn-based, player given by {@code getPlayer})
+	 * @param remain Remain in these states (optional: null means "all")
+	 * @param target Target states
+	 * @param min1 Min or max probabilities for player 1 (true=min, false=max)
+	 * @param min2 Min or max probabilities for player 2 (true=min, false=max)
+	 * @param pre The choice predecessor relation of the STPG
+	 */
+	public BitSet prob1(STPG<?> stpg, BitSet remain, BitSet target, boolean min1, boolean min2, ChoicePredecessorRelation pre)
+	{
+		int n, iters;
+		BitSet u, v, unknown, allowed;
+		boolean u_done;
+		long timer;
+
+		// Start precomputation
+		timer = System.currentTimeMillis();
+		if (verbosity >= 1)
+			mainLog.println("Starting Prob1 (" + (min1 ? "min" : "max") + (min2 ? "min" : "max") + ")...");
+
+		// Special case: no target states
+		if (target.cardinality() == 0) {
+			return new BitSet(stpg.getNumStates());
+		}
+
+		// Determine set of states actually need to perform computation for
+		n = stpg.getNumStates();
+		unknown = new BitSet();
+		unknown.set(0, n);
+		unknown.andNot(target);
+		if (remain != null)
+			unknown.and(remain);
+
+		// Greatest fixed point (outer), each step computing an attractor (inner)
+		iters = 0;
+		u_done = false;
+		u = new BitSet(n);
+		u.set(0, n);
+		allowed = new BitSet(pre.getNumChoices());
+		while (!u_done) {
+			iters++;
+			// Choices allowed are those (of states in u) whose successors are all in u
+			// (states outside u cannot be added to the attractor, since u only shrinks)
+			allowed.clear();
+			for (int s = unknown.nextSetBit(0); s >= 0; s = unknown.nextSetBit(s + 1)) {
+				if (u.get(s)) {
+					for (int i = 0, j = pre.getFirstChoice(s), k = stpg.getNumChoices(s); i < k; i++, j++) {
+						if (stpg.allSuccessorsInSet(s, i, u)) {
+							allowed.set(j);
+						}
+					}
+				}
+			}
+			v = attractor(stpg, pre, unknown, allowed, target, min1, min2);
+			// Check termination
+			u_done = v.equals(u);
+			u = v;
+		}
+
+		// Finished precomputation
+		timer = System.currentTimeMillis() - timer;
+		if (verbosity >= 1) {
+			mainLog.print("Prob1 (" + (min1 ? "min" : "max") + (min2 ? "min" : "max") + ")");
+			mainLog.println(" took " + iters + " attractor computations and " + timer / 1000.0 + " seconds.");
+		}
+
+		return u;
+	}
+
+	/**
+	 * Compute the attractor of {@code target} in a turn-based game, within states {@code unknown},
+	 * i.e., the least set containing {@code target} and any state {@code s} of {@code unknown} such that,
+	 * for all/some of its choices (for a minimising/maximising player), the choice is allowed and
+	 * has a successor in the set. Those choices of {@code s} that are not allowed count as
+	 * not having a successor in the set; all are allowed if {@code allowed} is null.
+	 * <br>
+	 * Each state is processed once, when it is added, by visiting its predecessor choices;
+	 * for states of a minimising player, a counter stores the number of choices which still
+	 * need to have a successor in the set.
+	 * @param stpg The STPG (turn-based, player given by {@code getPlayer})
+	 * @param pre The choice predecessor relation of the STPG
+	 * @param unknown States that can be added
+	 * @param allowed Allowed choices, as global choice indices in {@code pre} (null means "all")
+	 * @param target Target states
+	 * @param min1 Min (for all choices) or max (there exists a choice) for player 1
+	 * @param min2 Min (for all choices) or max (there exists a choice) for player 2
+	 */
+	protected BitSet attractor(STPG<?> stpg, ChoicePredecessorRelation pre, BitSet unknown, BitSet allowed, BitSet target, boolean min1, boolean min2)
+	{
+		int n = stpg.getNumStates();
+		BitSet attr = (BitSet) target.clone();
+		// Choices already known to have a successor in the attractor
+		BitSet done = new BitSet(pre.getNumChoices());
+		// Remaining choices (for minimising states)
+		int[] remaining = new int[n];
+		// Queue of states added to the attractor (each state is added at most once)
+		int[] queue = new int[n];
+		int head = 0, tail = 0;
+		for (int t = target.nextSetBit(0); t >= 0; t = target.nextSetBit(t + 1)) {
+			queue[tail++] = t;
+		}
+		for (int s = unknown.nextSetBit(0); s >= 0; s = unknown.nextSetBit(s + 1)) {
+			boolean forall = (stpg.getPlayer(s) == 0) ? min1 : min2;
+			if (!forall) {
+				continue;
+			}
+			int first = pre.getFirstChoice(s), last = pre.getFirstChoice(s + 1);
+			if (allowed != null && allowed.nextClearBit(first) < last) {
+				// Some choice can never count, so never added
+				remaining[s] = Integer.MAX_VALUE;
+			} else if ((remaining[s] = last - first) == 0) {
+				// No choices: added trivially
+				attr.set(s);
+				queue[tail++] = s;
+			}
+		}
+		while (head < tail) {
+			int t = queue[head++];
+			for (int k = pre.getPreStart(t), end = pre.getPreEnd(t); k < end; k++) {
+				int j = pre.getPreChoice(k);
+				int s = pre.getState(j);
+				if (attr.get(s) || !unknown.get(s) || done.get(j) || (allowed != null && !allowed.get(j))) {
+					continue;
+				}
+				done.set(j);
+				boolean forall = (stpg.getPlayer(s) == 0) ? min1 : min2;
+				if (!forall || --remaining[s] == 0) {
+					attr.set(s);
+					queue[tail++] = s;
+				}
+			}
+		}
+		return attr;
+	}
+
 	/**
 	 * Compute reachability probabilities using value iteration.
 	 * @param stpg The STPG
@@ -525,6 +773,12 @@ public class STPGModelChecker extends ProbModelChecker
 		boolean done;
 		long timer;
 
+		// Switch to topological value iteration if requested
+		if (getDoTopologicalValueIteration() && stpg instanceof SMG) {
+			IterationMethod iterationMethod = new IterationMethodPower(termCrit == TermCrit.ABSOLUTE, termCritParam);
+			return computeReachProbsTopological((SMG<Double>) stpg, no, yes, min1, min2, init, known, iterationMethod);
+		}
+
 		// Start value iteration
 		timer = System.currentTimeMillis();
 		if (verbosity >= 1)
@@ -581,19 +835,33 @@ public class STPGModelChecker extends ProbModelChecker
 			}
 		}
 
+		// If worthwhile, split the work between multiple threads
+		ParallelValIter parallel = createParallelValIter(unknown, n);
+
 		// Start iterations
 		iters = 0;
 		done = false;
-		while (!done && iters < maxIters) {
-			iters++;
-			// Matrix-vector multiply and min/max ops
-			stpg.mvMultMinMax(soln, min1, min2, soln2, unknown, false, strat);
-			// Check termination
-			done = PrismUtils.doublesAreClose(soln, soln2, termCritParam, termCrit == TermCrit.ABSOLUTE);
-			// Swap vectors for next iter
-			tmpsoln = soln;
-			soln = soln2;
-			soln2 = tmpsoln;
+		try {
+			while (!done && iters < maxIters) {
+				iters++;
+				// Matrix-vector multiply and min/max ops, then check termination
+				if (parallel != null) {
+					final double solnOld[] = soln, solnNew[] = soln2;
+					final int stratF[] = strat;
+					done = parallel.updateAndCheckConvergence(block -> stpg.mvMultMinMax(solnOld, min1, min2, solnNew, block, false, stratF), soln, soln2, termCritParam, termCrit == TermCrit.ABSOLUTE);
+				} else {
+					stpg.mvMultMinMax(soln, min1, min2, soln2, unknown, false, strat);
+					done = PrismUtils.doublesAreClose(soln, soln2, termCritParam, termCrit == TermCrit.ABSOLUTE);
+				}
+				// Swap vectors for next iter
+				tmpsoln = soln;
+				soln = soln2;
+				soln2 = tmpsoln;
+			}
+		} finally {
+			if (parallel != null) {
+				parallel.close();
+			}
 		}
 
 		// Finished value iteration
@@ -624,6 +892,106 @@ public class STPGModelChecker extends ProbModelChecker
 		return res;
 	}
 
+	/**
+	 * Compute reachability probabilities using topological value iteration,
+	 * i.e., solving the SCCs of the game one by one, in reverse topological order,
+	 * so that each SCC is only iterated once the values of its successors have converged.
+	 * SCCs comprising a single state are solved with a single (Jacobi-style) update.
+	 * @param smg The game
+	 * @param no Probability 0 states
+	 * @param yes Probability 1 states
+	 * @param min1 Min or max probabilities for player 1 (true=min, false=max)
+	 * @param min2 Min or max probabilities for player 2 (true=min, false=max)
+	 * @param init Optionally, an initial solution vector (will be overwritten) 
+	 * @param known Optionally, a set of states for which the exact answer is known
+	 * @param iterationMethod The iteration method to use within each SCC
+	 * Note: if 'known' is specified (i.e. is non-null, 'init' must also be given and is used for the exact values.  
+	 */
+	protected ModelCheckerResult computeReachProbsTopological(SMG<Double> smg, BitSet no, BitSet yes, boolean min1, boolean min2, double init[], BitSet known,
+			IterationMethod iterationMethod) throws PrismException
+	{
+		ModelCheckerResult res;
+		BitSet unknown;
+		int i, n;
+		double soln[], initVal;
+		long timer;
+
+		// Start value iteration
+		timer = System.currentTimeMillis();
+		String description = (min1 ? "min" : "max") + (min2 ? "min" : "max") + ", topological, with " + iterationMethod.getDescriptionShort();
+		if (verbosity >= 1)
+			mainLog.println("Starting value iteration (" + description + ")...");
+
+		// Store num states
+		n = smg.getNumStates();
+
+		// Create solution vector
+		soln = (init == null) ? new double[n] : init;
+
+		// Initialise solution vector. Use (where available) the following in order of preference:
+		// (1) exact answer, if already known; (2) 1.0/0.0 if in yes/no; (3) passed in initial value; (4) initVal
+		// where initVal is 0.0 or 1.0, depending on whether we converge from below/above.
+		initVal = (valIterDir == ValIterDir.BELOW) ? 0.0 : 1.0;
+		if (init != null) {
+			if (known != null) {
+				for (i = 0; i < n; i++)
+					soln[i] = known.get(i) ? init[i] : yes.get(i) ? 1.0 : no.get(i) ? 0.0 : init[i];
+			} else {
+				for (i = 0; i < n; i++)
+					soln[i] = yes.get(i) ? 1.0 : no.get(i) ? 0.0 : init[i];
+			}
+		} else {
+			for (i = 0; i < n; i++)
+				soln[i] = yes.get(i) ? 1.0 : no.get(i) ? 0.0 : initVal;
+		}
+
+		// Determine set of states actually need to compute values for
+		unknown = new BitSet();
+		unknown.set(0, n);
+		unknown.andNot(yes);
+		unknown.andNot(no);
+		if (known != null)
+			unknown.andNot(known);
+
+		// If required, create/initialise strategy storage
+		// Set choices to -1, denoting unknown
+		int strat[] = null;
+		if (genStrat) {
+			strat = new int[n];
+			for (i = 0; i < n; i++) {
+				strat[i] = -1;
+			}
+			for (i = no.nextSetBit(0); i >= 0; i = no.nextSetBit(i + 1)) {
+				int numChoices = smg.getNumChoices(i);
+				for (int k = 0; k < numChoices; k++) {
+					if (smg.allSuccessorsInSet(i, k, no)) {
+						strat[i] = k;
+						break;
+					}
+				}
+			}
+		}
+		final int stratF[] = strat;
+
+		IterationMethod.IterationValIter iteration = iterationMethod.forMvMultMinMax(smg, min1, min2, strat);
+		iteration.init(soln);
+
+		// Compute SCCInfo, including trivial SCCs in the subgraph obtained when only considering
+		// states in unknown
+		SCCInfo sccs = SCCComputer.computeTopologicalOrdering(this, smg, true, unknown::get);
+
+		IterationMethod.SingletonSCCSolver singletonSCCSolver = (int s, double[] v) -> {
+			v[s] = smg.mvMultJacMinMaxSingle(s, v, min1, min2, stratF);
+		};
+
+		// Run the actual value iteration
+		res = iterationMethod.doTopologicalValueIteration(this, description, sccs, iteration, singletonSCCSolver, timer, null);
+		if (genStrat) {
+			res.strat = new MDStrategyArray<>(smg, strat);
+		}
+		return res;
+	}
+
 	/**
 	 * Compute reachability probabilities using Gauss-Seidel.
 	 * @param stpg The STPG
@@ -645,97 +1013,456 @@ public class STPGModelChecker extends ProbModelChecker
 		boolean done;
 		long timer;
 
-		// Start value iteration
+		// Switch to topological value iteration if requested
+		if (getDoTopologicalValueIteration() && stpg instanceof SMG) {
+			IterationMethod iterationMethod = new IterationMethodGS(termCrit == TermCrit.ABSOLUTE, termCritParam, false);
+			return computeReachProbsTopological((SMG<Double>) stpg, no, yes, min1, min2, init, known, iterationMethod);
+		}
+
+		// Start value iteration
+		timer = System.currentTimeMillis();
+		if (verbosity >= 1)
+			mainLog.println("Starting value iteration (Gauss-Seidel, " + (min1 ? "min" : "max") + (min2 ? "min" : "max") + ")...");
+
+		// Store num states
+		n = stpg.getNumStates();
+
+		// Create solution vector
+		soln = (init == null) ? new double[n] : init;
+
+		// Initialise solution vector. Use (where available) the following in order of preference:
+		// (1) exact answer, if already known; (2) 1.0/0.0 if in yes/no; (3) passed in initial value; (4) initVal
+		// where initVal is 0.0 or 1.0, depending on whether we converge from below/above.
+		initVal = (valIterDir == ValIterDir.BELOW) ? 0.0 : 1.0;
+		if (init != null) {
+			if (known != null) {
+				for (i = 0; i < n; i++)
+					soln[i] = known.get(i) ? init[i] : yes.get(i) ? 1.0 : no.get(i) ? 0.0 : init[i];
+			} else {
+				for (i = 0; i < n; i++)
+					soln[i] = yes.get(i) ? 1.0 : no.get(i) ? 0.0 : init[i];
+			}
+		} else {
+			for (i = 0; i < n; i++)
+				soln[i] = yes.get(i) ? 1.0 : no.get(i) ? 0.0 : initVal;
+		}
+
+		// Determine set of states actually need to compute values for
+		unknown = new BitSet();
+		unknown.set(0, n);
+		unknown.andNot(yes);
+		unknown.andNot(no);
+		if (known != null)
+			unknown.andNot(known);
+
+		// If required, create/initialise strategy storage
+		// Set choices to -1, denoting unknown
+		int strat[] = null;
+		if (genStrat) {
+			strat = new int[n];
+			for (i = 0; i < n; i++) {
+				strat[i] = -1;
+			}
+			for (i = no.nextSetBit(0); i >= 0; i = no.nextSetBit(i + 1)) {
+				int numChoices = stpg.getNumChoices(i);
+				for (int k = 0; k < numChoices; k++) {
+					if (stpg.allSuccessorsInSet(i, k, no)) {
+						strat[i] = k;
+						break;
+					}
+				}
+			}
+		}
+
+		// Start iterations
+		iters = 0;
+		done = false;
+		while (!done && iters < maxIters) {
+			iters++;
+			// Matrix-vector multiply and min/max ops
+			maxDiff = stpg.mvMultGSMinMax(soln, min1, min2, unknown, false, termCrit == TermCrit.ABSOLUTE, strat);
+			// Check termination
+			done = maxDiff < termCritParam;
+		}
+
+		// Finished Gauss-Seidel
+		timer = System.currentTimeMillis() - timer;
+		if (verbosity >= 1) {
+			mainLog.print("Value iteration (Gauss-Seidel, " + (min1 ? "min" : "max") + (min2 ? "min" : "max") + ")");
+			mainLog.println(" took " + iters + " iterations and " + timer / 1000.0 + " seconds.");
+		}
+
+		// Non-convergence is an error (usually)
+		if (!done && errorOnNonConverge) {
+			String msg = "Iterative method did not converge within " + iters + " iterations.";
+			msg += "\nConsider using a different numerical method or increasing the maximum number of iterations";
+			throw new PrismException(msg);
+		}
+
+		// Store results/strategy
+		res = new ModelCheckerResult();
+		res.soln = soln;
+		res.accuracy = AccuracyFactory.valueIteration(termCritParam, maxDiff, termCrit == TermCrit.ABSOLUTE);
+		res.numIters = iters;
+		res.timeTaken = timer / 1000.0;
+		if (genStrat) {
+			res.strat = new MDStrategyArray<>(stpg, strat);
+		}
+
+		return res;
+	}
+
+	/**
+	 * Compute reachability probabilities using interval iteration,
+	 * i.e., value iteration from below and from above until the two bounds are close.
+	 * To make the upper bound converge, end components are deflated in each iteration:
+	 * in an end component where the player minimising probabilities only uses choices that
+	 * are optimal for the lower bound, the upper bound is limited to the best value
+	 * achievable by leaving it via a choice of the maximising player.
+	 * Currently, this requires a game stored as an SMG.
+	 * @param stpg The STPG
+	 * @param no Probability 0 states
+	 * @param yes Probability 1 states
+	 * @param min1 Min or max probabilities for player 1 (true=min, false=max)
+	 * @param min2 Min or max probabilities for player 2 (true=min, false=max)
+	 * @param init Optionally, a vector containing the exact answer for states in 'known'
+	 * @param known Optionally, a set of states for which the exact answer is known
+	 * @param bound Probability bound of the property being checked (-1 if none);
+	 * if given, iteration stops as soon as the result for every state is known to lie on one side of it
+	 */
+	protected ModelCheckerResult computeReachProbsIntervalIter(STPG<Double> stpg, BitSet no, BitSet yes, boolean min1, boolean min2, double init[], BitSet known, double bound)
+			throws PrismException
+	{
+		ModelCheckerResult res;
+		BitSet unknown, ecStates, allowed[];
+		int i, n, iters;
+		double lower[], lower2[], upper[], upper2[], tmpsoln[];
+		boolean done, decided, absolute;
+		long timer;
+
+		// Check for some unsupported combinations
+		if (!(stpg instanceof SMG && stpg instanceof MDP)) {
+			throw new PrismNotSupportedException("Interval iteration is currently only supported for games stored as SMGs");
+		}
+		if (genStrat) {
+			throw new PrismNotSupportedException("Strategy generation is currently not supported for interval iteration on games");
+		}
+		MDP<Double> mdp = (MDP<Double>) stpg;
+
+		// Start interval iteration
+		timer = System.currentTimeMillis();
+		if (verbosity >= 1)
+			mainLog.println("Starting interval iteration (" + (min1 ? "min" : "max") + (min2 ? "min" : "max") + ")...");
+
+		// Store num states
+		n = stpg.getNumStates();
+		absolute = (termCrit == TermCrit.ABSOLUTE);
+
+		// Initialise bounds: exact answer, if already known; 1.0/0.0 if in yes/no; otherwise 0.0 (below) and 1.0 (above)
+		lower = new double[n];
+		upper = new double[n];
+		for (i = 0; i < n; i++) {
+			if (known != null && known.get(i)) {
+				lower[i] = upper[i] = init[i];
+			} else {
+				lower[i] = yes.get(i) ? 1.0 : 0.0;
+				upper[i] = no.get(i) ? 0.0 : 1.0;
+			}
+		}
+		lower2 = lower.clone();
+		upper2 = upper.clone();
+
+		// Determine set of states actually need to compute values for
+		unknown = new BitSet();
+		unknown.set(0, n);
+		unknown.andNot(yes);
+		unknown.andNot(no);
+		if (known != null)
+			unknown.andNot(known);
+
+		// Only states in end components (amongst those computed) may need deflation
+		ecStates = new BitSet();
+		for (BitSet mec : GameECComputer.computeMECs(mdp, unknown, (s, k) -> true)) {
+			ecStates.or(mec);
+		}
+		allowed = ecStates.isEmpty() ? null : new BitSet[n];
+		if (verbosity >= 1)
+			mainLog.println("States in end components: " + ecStates.cardinality());
+
+		// Use bound for early termination only if it is not trivial
+		boolean useBound = bound > 0.0 && bound < 1.0;
+
+		// Start iterations
+		iters = 0;
+		done = decided = false;
+		while (!done && !decided && iters < maxIters) {
+			iters++;
+			// Matrix-vector multiply and min/max ops, for both bounds
+			stpg.mvMultMinMax(lower, min1, min2, lower2, unknown, false, null);
+			stpg.mvMultMinMax(upper, min1, min2, upper2, unknown, false, null);
+			// Ensure monotonicity
+			for (i = unknown.nextSetBit(0); i >= 0; i = unknown.nextSetBit(i + 1)) {
+				lower2[i] = Math.max(lower2[i], lower[i]);
+				upper2[i] = Math.min(upper2[i], upper[i]);
+			}
+			// Swap vectors for next iter
+			tmpsoln = lower;
+			lower = lower2;
+			lower2 = tmpsoln;
+			tmpsoln = upper;
+			upper = upper2;
+			upper2 = tmpsoln;
+			// Deflate end components
+			if (!ecStates.isEmpty()) {
+				deflateReachProbsUpperBound(mdp, (SMG<Double>) stpg, ecStates, allowed, lower, upper, min1, min2);
+			}
+			intervalIterationCheckForProblems(lower, upper, unknown);
+			// Check termination
+			done = PrismUtils.doublesAreClose(lower, upper, IterableBitSet.getSetBits(unknown), termCritParam, absolute);
+			if (!done && useBound) {
+				// Since results are reported as the midpoint +/- the maximum half-width of any interval,
+				// check that these (rather than just the intervals) are all on one side of the bound
+				double halfWidth = PrismUtils.measureSupNormInterval(lower, upper, true, IterableBitSet.getSetBits(unknown).iterator()) / 2.0;
+				decided = true;
+				for (i = unknown.nextSetBit(0); i >= 0 && decided; i = unknown.nextSetBit(i + 1)) {
+					double mid = lower[i] + (upper[i] - lower[i]) / 2.0;
+					decided = mid - halfWidth > bound || mid + halfWidth < bound;
+				}
+			}
+		}
+
+		// Finished interval iteration
+		timer = System.currentTimeMillis() - timer;
+		if (decided) {
+			// Results will be midpoints, with (absolute) error bounded by the maximum half-width
+			absolute = true;
+		}
+		double maxError = PrismUtils.measureSupNormInterval(lower, upper, absolute, IterableBitSet.getSetBits(unknown).iterator());
+		if (decided) {
+			maxError /= 2.0;
+		}
+		if (verbosity >= 1) {
+			mainLog.print("Interval iteration (" + (min1 ? "min" : "max") + (min2 ? "min" : "max") + ")");
+			mainLog.println(" took " + iters + " iterations and " + timer / 1000.0 + " seconds.");
+			if (decided) {
+				mainLog.println("All values are known to be on one side of the bound " + bound + " (max error " + maxError + "), stopping early");
+			} else {
+				mainLog.println("Max " + (absolute ? "" : "relative ") + "diff between upper and lower bound on convergence: " + maxError);
+			}
+		}
+
+		// Non-convergence is an error (usually)
+		if (!done && !decided && errorOnNonConverge) {
+			String msg = "Iterative method (interval iteration) did not converge within " + iters + " iterations.";
+			msg += "\nConsider using a different numerical method or increasing the maximum number of iterations";
+			throw new PrismException(msg);
+		}
+
+		// Select result (always the midpoint if stopping early because of the bound)
+		if (decided || (done && OptionsIntervalIteration.from(this).isSelectMidpointForResult())) {
+			PrismUtils.selectMidpoint(lower, upper);
+		}
+
+		// Store results
+		res = new ModelCheckerResult();
+		res.soln = lower;
+		res.accuracy = AccuracyFactory.guaranteedNumericalIterative(maxError, absolute);
+		res.numIters = iters;
+		res.timeTaken = timer / 1000.0;
+		return res;
+	}
+
+	/**
+	 * Deflate the upper bound for interval iteration of reachability probabilities, i.e.,
+	 * for each maximal end component (within {@code ecStates}) of the game in which the minimising
+	 * player is restricted to choices that are optimal with respect to {@code lower},
+	 * bound the values in {@code upper} by the best value of a maximising player choice leaving it.
+	 * @param mdp The game (viewed as an MDP, for access to individual choices)
+	 * @param smg The game
+	 * @param ecStates States in end components
+	 * @param allowed Storage for the choices allowed in each state
+	 * @param lower Lower bound
+	 * @param upper Upper bound (updated)
+	 * @param min1 Min or max probabilities for player 1 (true=min, false=max)
+	 * @param min2 Min or max probabilities for player 2 (true=min, false=max)
+	 */
+	private void deflateReachProbsUpperBound(MDP<Double> mdp, SMG<Double> smg, BitSet ecStates, BitSet allowed[], double lower[], double upper[], boolean min1, boolean min2)
+	{
+		// Restrict minimising states to choices that are optimal for the lower bound
+		for (int s = ecStates.nextSetBit(0); s >= 0; s = ecStates.nextSetBit(s + 1)) {
+			if (allowed[s] == null) {
+				allowed[s] = new BitSet();
+			}
+			allowed[s].clear();
+			int numChoices = mdp.getNumChoices(s);
+			boolean min = (smg.getPlayer(s) == 0) ? min1 : min2;
+			if (!min) {
+				allowed[s].set(0, numChoices);
+				continue;
+			}
+			double best = Double.POSITIVE_INFINITY;
+			for (int i = 0; i < numChoices; i++) {
+				best = Math.min(best, mdp.mvMultSingle(s, i, lower));
+			}
+			for (int i = 0; i < numChoices; i++) {
+				if (PrismUtils.doublesAreEqual(mdp.mvMultSingle(s, i, lower), best)) {
+					allowed[s].set(i);
+				}
+			}
+		}
+		// Deflate each resulting end component
+		for (BitSet mec : GameECComputer.computeMECs(mdp, ecStates, (s, i) -> allowed[s].get(i))) {
+			double bestExit = 0.0;
+			for (int s = mec.nextSetBit(0); s >= 0; s = mec.nextSetBit(s + 1)) {
+				boolean min = (smg.getPlayer(s) == 0) ? min1 : min2;
+				if (!min) {
+					for (int i = 0, numChoices = mdp.getNumChoices(s); i < numChoices; i++) {
+						if (!mdp.allSuccessorsInSet(s, i, mec)) {
+							bestExit = Math.max(bestExit, mdp.mvMultSingle(s, i, upper));
+						}
+					}
+				}
+			}
+			for (int s = mec.nextSetBit(0); s >= 0; s = mec.nextSetBit(s + 1)) {
+				upper[s] = Math.min(upper[s], bestExit);
+			}
+		}
+	}
+
+	/**
+	 * Check that the lower bound of an interval iteration does not exceed the upper bound,
+	 * for the states in {@code states}, and throw an exception otherwise.
+	 */
+	private void intervalIterationCheckForProblems(double lower[], double upper[], BitSet states) throws PrismException
+	{
+		for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+			if (lower[s] > upper[s]) {
+				throw new PrismException("In interval iteration, the lower value (" + lower[s] + ") is larger than the upper value (" + upper[s] + ").\n"
+						+ "This indicates either problems with numerical stability (rounding, precision of the floating-point representation) or that the initial bounds (for reward computations) are incorrect");
+			}
+		}
+	}
+
+	/**
+	 * Compute reachability probabilities using strategy iteration.
+	 * The strategy of the player maximising probabilities is fixed, the resulting MDP
+	 * is solved for the minimising player (using the usual MDP solution methods), and the
+	 * fixed strategy is then improved, in states where a strictly better choice exists,
+	 * until it is stable. Currently, this requires a game stored as an SMG.
+	 * @param stpg The STPG
+	 * @param no Probability 0 states
+	 * @param yes Probability 1 states
+	 * @param min1 Min or max probabilities for player 1 (true=min, false=max)
+	 * @param min2 Min or max probabilities for player 2 (true=min, false=max)
+	 */
+	protected ModelCheckerResult computeReachProbsStratIter(STPG<Double> stpg, BitSet no, BitSet yes, boolean min1, boolean min2) throws PrismException
+	{
+		ModelCheckerResult res;
+		BitSet unknown, maxStates;
+		int i, n, iters, totalIters;
+		double soln[];
+		boolean done;
+		long timer;
+		MDPModelChecker mcMDP;
+
+		// Check for some unsupported combinations
+		if (!(stpg instanceof SMG && stpg instanceof MDP)) {
+			throw new PrismNotSupportedException("Strategy iteration is currently only supported for games stored as SMGs");
+		}
+		SMG<Double> smg = (SMG<Double>) stpg;
+		MDP<Double> mdp = (MDP<Double>) stpg;
+
+		// Re-use solution to solve each new strategy?
+		// (fine for value iteration from below, since values only increase)
+		boolean reUseSoln = !doIntervalIteration;
+
+		// Start strategy iteration
 		timer = System.currentTimeMillis();
-		if (verbosity >= 1)
-			mainLog.println("Starting value iteration (Gauss-Seidel, " + (min1 ? "min" : "max") + (min2 ? "min" : "max") + ")...");
+		mainLog.println("Starting strategy iteration (" + (min1 ? "min" : "max") + (min2 ? "min" : "max") + ")...");
+
+		// Create an MDP model checker (for solving the MDPs induced by each strategy)
+		mcMDP = new MDPModelChecker(this);
+		mcMDP.inheritSettings(this);
+		mcMDP.setLog(new PrismDevNullLog());
 
 		// Store num states
 		n = stpg.getNumStates();
 
-		// Create solution vector
-		soln = (init == null) ? new double[n] : init;
-
-		// Initialise solution vector. Use (where available) the following in order of preference:
-		// (1) exact answer, if already known; (2) 1.0/0.0 if in yes/no; (3) passed in initial value; (4) initVal
-		// where initVal is 0.0 or 1.0, depending on whether we converge from below/above.
-		initVal = (valIterDir == ValIterDir.BELOW) ? 0.0 : 1.0;
-		if (init != null) {
-			if (known != null) {
-				for (i = 0; i < n; i++)
-					soln[i] = known.get(i) ? init[i] : yes.get(i) ? 1.0 : no.get(i) ? 0.0 : init[i];
-			} else {
-				for (i = 0; i < n; i++)
-					soln[i] = yes.get(i) ? 1.0 : no.get(i) ? 0.0 : init[i];
+		// Determine the states of the maximising player, and those that need to be improved
+		maxStates = new BitSet();
+		for (i = 0; i < n; i++) {
+			if (!((smg.getPlayer(i) == 0) ? min1 : min2)) {
+				maxStates.set(i);
 			}
-		} else {
-			for (i = 0; i < n; i++)
-				soln[i] = yes.get(i) ? 1.0 : no.get(i) ? 0.0 : initVal;
 		}
-
-		// Determine set of states actually need to compute values for
-		unknown = new BitSet();
-		unknown.set(0, n);
+		unknown = (BitSet) maxStates.clone();
 		unknown.andNot(yes);
 		unknown.andNot(no);
-		if (known != null)
-			unknown.andNot(known);
 
-		// If required, create/initialise strategy storage
-		// Set choices to -1, denoting unknown
-		int strat[] = null;
-		if (genStrat) {
-			strat = new int[n];
-			for (i = 0; i < n; i++) {
-				strat[i] = -1;
-			}
-			for (i = no.nextSetBit(0); i >= 0; i = no.nextSetBit(i + 1)) {
-				int numChoices = stpg.getNumChoices(i);
-				for (int k = 0; k < numChoices; k++) {
-					if (stpg.allSuccessorsInSet(i, k, no)) {
-						strat[i] = k;
-						break;
-					}
-				}
-			}
-		}
+		// Initial strategy just picks first choice (0) everywhere
+		int strat[] = new int[n];
 
 		// Start iterations
-		iters = 0;
+		soln = null;
+		iters = totalIters = 0;
 		done = false;
+		res = null;
 		while (!done && iters < maxIters) {
 			iters++;
-			// Matrix-vector multiply and min/max ops
-			maxDiff = stpg.mvMultGSMinMax(soln, min1, min2, unknown, false, termCrit == TermCrit.ABSOLUTE, strat);
-			// Check termination
-			done = maxDiff < termCritParam;
+			// Solve MDP induced by strategy (for the minimising player)
+			MDP<Double> mdpStrat = new MDPDroppedChoicesCached<>(mdp, (s, k) -> maxStates.get(s) && k != strat[s]);
+			res = mcMDP.computeReachProbs(mdpStrat, null, yes, true, reUseSoln ? soln : null, null);
+			soln = res.soln;
+			totalIters += res.numIters;
+			// Improve strategy, where strictly better
+			done = true;
+			for (i = unknown.nextSetBit(0); i >= 0; i = unknown.nextSetBit(i + 1)) {
+				double current = mdp.mvMultSingle(i, strat[i], soln);
+				int numChoices = mdp.getNumChoices(i);
+				for (int k = 0; k < numChoices; k++) {
+					double d = mdp.mvMultSingle(i, k, soln);
+					if (d > current && !PrismUtils.doublesAreClose(current, d, termCritParam, termCrit == TermCrit.ABSOLUTE)) {
+						strat[i] = k;
+						current = d;
+						done = false;
+					}
+				}
+			}
 		}
 
-		// Finished Gauss-Seidel
+		// Finished strategy iteration
 		timer = System.currentTimeMillis() - timer;
-		if (verbosity >= 1) {
-			mainLog.print("Value iteration (Gauss-Seidel, " + (min1 ? "min" : "max") + (min2 ? "min" : "max") + ")");
-			mainLog.println(" took " + iters + " iterations and " + timer / 1000.0 + " seconds.");
-		}
+		mainLog.print("Strategy iteration (" + (min1 ? "min" : "max") + (min2 ? "min" : "max") + ")");
+		mainLog.println(" took " + iters + " cycles (" + totalIters + " iterations in total) and " + timer / 1000.0 + " seconds.");
 
 		// Non-convergence is an error (usually)
 		if (!done && errorOnNonConverge) {
-			String msg = "Iterative method did not converge within " + iters + " iterations.";
+			String msg = "Iterative method (strategy iteration) did not converge within " + iters + " iterations.";
 			msg += "\nConsider using a different numerical method or increasing the maximum number of iterations";
 			throw new PrismException(msg);
 		}
 
-		// Store results/strategy
-		res = new ModelCheckerResult();
-		res.soln = soln;
-		res.accuracy = AccuracyFactory.valueIteration(termCritParam, maxDiff, termCrit == TermCrit.ABSOLUTE);
-		res.numIters = iters;
-		res.timeTaken = timer / 1000.0;
-		if (genStrat) {
-			res.strat = new MDStrategyArray<>(stpg, strat);
+		// Store strategy: the fixed one for the maximising player, and that from the final MDP for the minimiser
+		// (choice indices of the latter are unchanged, since only choices of the maximiser are dropped)
+		if (genStrat && res.strat instanceof MDStrategy) {
+			MDStrategy<Double> stratMin = (MDStrategy<Double>) res.strat;
+			for (i = 0; i < n; i++) {
+				if (!maxStates.get(i)) {
+					strat[i] = stratMin.isChoiceDefined(i) ? stratMin.getChoiceIndex(i) : -1;
+				}
+			}
 		}
 
-		return res;
+		// Return results
+		ModelCheckerResult resSI = new ModelCheckerResult();
+		resSI.soln = soln;
+		resSI.accuracy = res.accuracy;
+		resSI.numIters = totalIters;
+		resSI.timeTaken = timer / 1000.0;
+		if (genStrat) {
+			resSI.strat = new MDStrategyArray<>(stpg, strat);
+		}
+		return resSI;
 	}
 
 	/**
@@ -975,6 +1702,17 @@ public class STPGModelChecker extends ProbModelChecker
 		boolean done;
 		long timer;
 
+		// Switch to topological value iteration if requested (not supported with discounting)
+		if (getDoTopologicalValueIteration() && stpg instanceof SMG && !useDiscounting) {
+			IterationMethod iterationMethod;
+			if (stpgSolnMethod == STPGSolnMethod.GAUSS_SEIDEL) {
+				iterationMethod = new IterationMethodGS(termCrit == TermCrit.ABSOLUTE, termCritParam, false);
+			} else {
+				iterationMethod = new IterationMethodPower(termCrit == TermCrit.ABSOLUTE, termCritParam);
+			}
+			return computeReachRewardsTopological((SMG<Double>) stpg, rewards, target, inf, min1, min2, init, known, iterationMethod);
+		}
+
 		// Start value iteration
 		timer = System.currentTimeMillis();
 		if (verbosity >= 1)
@@ -1024,29 +1762,34 @@ public class STPGModelChecker extends ProbModelChecker
 			}
 		}
 
+		// If worthwhile, split the work between multiple threads
+		ParallelValIter parallel = createParallelValIter(unknown, n);
+		double disc = useDiscounting ? discountFactor : 1.0;
+
 		// Start iterations
 		iters = 0;
 		done = false;
-		while (!done && iters < maxIters) {
-
-		        //mainLog.println(soln);
-			//mainLog.println(rewards);
-			//mainLog.println(min1);
-			//mainLog.println(min2);
-			//mainLog.println(soln2);
-			//mainLog.println(unknown);
-			//mainLog.println(genAdv);
-
-			iters++;
-			// Matrix-vector multiply and min/max ops
-			stpg.mvMultRewMinMax(soln, rewards, min1, min2, soln2, unknown, false, strat, useDiscounting ? discountFactor : 1.0);
-
-			// Check termination
-			done = PrismUtils.doublesAreClose(soln, soln2, termCritParam, termCrit == TermCrit.ABSOLUTE);
-			// Swap vectors for next iter
-			tmpsoln = soln;
-			soln = soln2;
-			soln2 = tmpsoln;
+		try {
+			while (!done && iters < maxIters) {
+				iters++;
+				// Matrix-vector multiply and min/max ops, then check termination
+				if (parallel != null) {
+					final double solnOld[] = soln, solnNew[] = soln2;
+					final int stratF[] = strat;
+					done = parallel.updateAndCheckConvergence(block -> stpg.mvMultRewMinMax(solnOld, rewards, min1, min2, solnNew, block, false, stratF, disc), soln, soln2, termCritParam, termCrit == TermCrit.ABSOLUTE);
+				} else {
+					stpg.mvMultRewMinMax(soln, rewards, min1, min2, soln2, unknown, false, strat, disc);
+					done = PrismUtils.doublesAreClose(soln, soln2, termCritParam, termCrit == TermCrit.ABSOLUTE);
+				}
+				// Swap vectors for next iter
+				tmpsoln = soln;
+				soln = soln2;
+				soln2 = tmpsoln;
+			}
+		} finally {
+			if (parallel != null) {
+				parallel.close();
+			}
 		}
 
 		// Finished value iteration
@@ -1077,6 +1820,236 @@ public class STPGModelChecker extends ProbModelChecker
 		return res;
 	}
 
+	/**
+	 * Compute expected reachability rewards using topological value iteration,
+	 * i.e., solving the SCCs of the game one by one, in reverse topological order.
+	 * SCCs comprising a single state are solved with a single (Jacobi-style) update.
+	 * @param smg The game
+	 * @param rewards The rewards
+	 * @param target Target states
+	 * @param inf States for which reward is infinite
+	 * @param min1 Min or max rewards for player 1 (true=min, false=max)
+	 * @param min2 Min or max rewards for player 2 (true=min, false=max)
+	 * @param init Optionally, an initial solution vector (will be overwritten) 
+	 * @param known Optionally, a set of states for which the exact answer is known
+	 * @param iterationMethod The iteration method to use within each SCC
+	 * Note: if 'known' is specified (i.e. is non-null, 'init' must also be given and is used for the exact values.
+	 */
+	protected ModelCheckerResult computeReachRewardsTopological(SMG<Double> smg, STPGRewards<Double> rewards, BitSet target, BitSet inf, boolean min1, boolean min2,
+			double init[], BitSet known, IterationMethod iterationMethod) throws PrismException
+	{
+		ModelCheckerResult res;
+		BitSet unknown;
+		int i, n;
+		double soln[];
+		long timer;
+
+		// Start value iteration
+		timer = System.currentTimeMillis();
+		String description = (min1 ? "min" : "max") + (min2 ? "min" : "max") + ", topological, with " + iterationMethod.getDescriptionShort();
+		if (verbosity >= 1)
+			mainLog.println("Starting value iteration (" + description + ")...");
+
+		// Store num states
+		n = smg.getNumStates();
+
+		// Create solution vector
+		soln = (init == null) ? new double[n] : init;
+
+		// Initialise solution vector. Use (where available) the following in order of preference:
+		// (1) exact answer, if already known; (2) 0.0/infinity if in target/inf; (3) passed in initial value; (4) 0.0
+		if (init != null) {
+			if (known != null) {
+				for (i = 0; i < n; i++)
+					soln[i] = known.get(i) ? init[i] : target.get(i) ? 0.0 : inf.get(i) ? Double.POSITIVE_INFINITY : init[i];
+			} else {
+				for (i = 0; i < n; i++)
+					soln[i] = target.get(i) ? 0.0 : inf.get(i) ? Double.POSITIVE_INFINITY : init[i];
+			}
+		} else {
+			for (i = 0; i < n; i++)
+				soln[i] = target.get(i) ? 0.0 : inf.get(i) ? Double.POSITIVE_INFINITY : 0.0;
+		}
+
+		// Determine set of states actually need to compute values for
+		unknown = new BitSet();
+		unknown.set(0, n);
+		unknown.andNot(target);
+		unknown.andNot(inf);
+		if (known != null)
+			unknown.andNot(known);
+
+		// If required, create/initialise strategy storage
+		// Set choices to -1, denoting unknown
+		int strat[] = null;
+		if (genStrat) {
+			strat = new int[n];
+			for (i = 0; i < n; i++) {
+				strat[i] = -1;
+			}
+		}
+		final int stratF[] = strat;
+
+		IterationMethod.IterationValIter iteration = iterationMethod.forMvMultRewMinMax(smg, rewards, min1, min2, strat);
+		iteration.init(soln);
+
+		// Compute SCCInfo, including trivial SCCs in the subgraph obtained when only considering
+		// states in unknown
+		SCCInfo sccs = SCCComputer.computeTopologicalOrdering(this, smg, true, unknown::get);
+
+		IterationMethod.SingletonSCCSolver singletonSCCSolver = (int s, double[] v) -> {
+			v[s] = smg.mvMultRewJacMinMaxSingle(s, v, rewards, min1, min2, stratF);
+		};
+
+		// Run the actual value iteration
+		res = iterationMethod.doTopologicalValueIteration(this, description, sccs, iteration, singletonSCCSolver, timer, null);
+		if (genStrat) {
+			res.strat = new MDStrategyArray<>(smg, strat);
+		}
+		return res;
+	}
+
+	/**
+	 * Compute expected reachability rewards using interval iteration,
+	 * i.e., value iteration from below and from above until the two bounds are close.
+	 * The initial upper bound is computed by viewing the game as an MDP. This requires
+	 * that, from all remaining states, a target or infinite-reward state is reached with
+	 * probability 1 under all strategies, in which case there are no end components
+	 * amongst them and both bounds converge to the (unique) fixed point.
+	 * Currently, this also requires a game stored as an SMG.
+	 * @param stpg The STPG
+	 * @param rewards The rewards
+	 * @param target Target states
+	 * @param inf States for which reward is infinite
+	 * @param min1 Min or max rewards for player 1 (true=min, false=max)
+	 * @param min2 Min or max rewards for player 2 (true=min, false=max)
+	 * @param init Optionally, an initial solution vector (ignored)
+	 * @param known Optionally, a set of states for which the exact answer is known (not supported)
+	 */
+	protected ModelCheckerResult computeReachRewardsIntervalIter(STPG<Double> stpg, STPGRewards<Double> rewards, BitSet target, BitSet inf, boolean min1, boolean min2,
+			double init[], BitSet known) throws PrismException
+	{
+		ModelCheckerResult res;
+		BitSet unknown;
+		int i, n, iters;
+		double lower[], lower2[], upper[], upper2[], tmpsoln[];
+		double lowerBound, upperBound;
+		boolean done, absolute;
+		long timer;
+
+		// Check for some unsupported combinations
+		if (!(stpg instanceof SMG && stpg instanceof MDP)) {
+			throw new PrismNotSupportedException("Interval iteration is currently only supported for games stored as SMGs");
+		}
+		if (genStrat) {
+			throw new PrismNotSupportedException("Strategy generation is currently not supported for interval iteration on games");
+		}
+		if (useDiscounting) {
+			throw new PrismNotSupportedException("Interval iteration is currently not supported for discounted rewards on games");
+		}
+		if (known != null) {
+			throw new PrismNotSupportedException("Interval iteration is currently not supported with provided initial values");
+		}
+		MDP<Double> mdp = (MDP<Double>) stpg;
+
+		// Start interval iteration
+		timer = System.currentTimeMillis();
+		if (verbosity >= 1)
+			mainLog.println("Starting interval iteration (" + (min1 ? "min" : "max") + (min2 ? "min" : "max") + ")...");
+
+		// Store num states
+		n = stpg.getNumStates();
+		absolute = (termCrit == TermCrit.ABSOLUTE);
+
+		// Determine set of states actually need to compute values for
+		unknown = new BitSet();
+		unknown.set(0, n);
+		unknown.andNot(target);
+		unknown.andNot(inf);
+
+		// Compute initial bounds
+		if (!GameECComputer.computeMECs(mdp, unknown, (s, k) -> true).isEmpty()) {
+			throw new PrismNotSupportedException("Interval iteration for expected rewards on games requires target or infinite-reward states to be reached with probability 1 under all strategies");
+		}
+		OptionsIntervalIteration iiOptions = OptionsIntervalIteration.from(this);
+		if (iiOptions.hasManualUpperBound()) {
+			upperBound = iiOptions.getManualUpperBound();
+			mainLog.printWarning("Upper bound for interval iteration manually set to " + upperBound);
+		} else {
+			MDPModelChecker mcMDP = new MDPModelChecker(this);
+			mcMDP.inheritSettings(this);
+			upperBound = mcMDP.computeReachRewardsMaxUpperBound(mdp, rewards, target, unknown, inf);
+		}
+		if (iiOptions.hasManualLowerBound()) {
+			lowerBound = iiOptions.getManualLowerBound();
+			mainLog.printWarning("Lower bound for interval iteration manually set to " + lowerBound);
+		} else {
+			lowerBound = 0.0;
+		}
+
+		// Initialise bounds: 0.0/infinity if in target/inf; otherwise lower/upper bound
+		lower = new double[n];
+		upper = new double[n];
+		for (i = 0; i < n; i++) {
+			lower[i] = target.get(i) ? 0.0 : inf.get(i) ? Double.POSITIVE_INFINITY : lowerBound;
+			upper[i] = target.get(i) ? 0.0 : inf.get(i) ? Double.POSITIVE_INFINITY : upperBound;
+		}
+		lower2 = lower.clone();
+		upper2 = upper.clone();
+
+		// Start iterations
+		iters = 0;
+		done = false;
+		while (!done && iters < maxIters) {
+			iters++;
+			// Matrix-vector multiply and min/max ops, for both bounds
+			stpg.mvMultRewMinMax(lower, rewards, min1, min2, lower2, unknown, false, null);
+			stpg.mvMultRewMinMax(upper, rewards, min1, min2, upper2, unknown, false, null);
+			// Ensure monotonicity
+			for (i = unknown.nextSetBit(0); i >= 0; i = unknown.nextSetBit(i + 1)) {
+				lower2[i] = Math.max(lower2[i], lower[i]);
+				upper2[i] = Math.min(upper2[i], upper[i]);
+			}
+			// Swap vectors for next iter
+			tmpsoln = lower;
+			lower = lower2;
+			lower2 = tmpsoln;
+			tmpsoln = upper;
+			upper = upper2;
+			upper2 = tmpsoln;
+			intervalIterationCheckForProblems(lower, upper, unknown);
+			// Check termination
+			done = PrismUtils.doublesAreClose(lower, upper, IterableBitSet.getSetBits(unknown), termCritParam, absolute);
+		}
+
+		// Finished interval iteration
+		timer = System.currentTimeMillis() - timer;
+		double maxError = PrismUtils.measureSupNormInterval(lower, upper, absolute, IterableBitSet.getSetBits(unknown).iterator());
+		if (verbosity >= 1) {
+			mainLog.print("Interval iteration (" + (min1 ? "min" : "max") + (min2 ? "min" : "max") + ")");
+			mainLog.println(" took " + iters + " iterations and " + timer / 1000.0 + " seconds.");
+			mainLog.println("Max " + (absolute ? "" : "relative ") + "diff between upper and lower bound on convergence: " + maxError);
+		}
+
+		// Non-convergence is an error (usually)
+		if (!done && errorOnNonConverge) {
+			String msg = "Iterative method (interval iteration) did not converge within " + iters + " iterations.";
+			msg += "\nConsider using a different numerical method or increasing the maximum number of iterations";
+			throw new PrismException(msg);
+		}
+
+		// Store results
+		if (done && iiOptions.isSelectMidpointForResult()) {
+			PrismUtils.selectMidpoint(lower, upper);
+		}
+		res = new ModelCheckerResult();
+		res.soln = lower;
+		res.accuracy = AccuracyFactory.guaranteedNumericalIterative(maxError, absolute);
+		res.numIters = iters;
+		res.timeTaken = timer / 1000.0;
+		return res;
+	}
+
 	/**
 	 * Computes the reachability reward under the semantics where nonreaching
 	 * runs get infinity.
@@ -1167,7 +2140,8 @@ public class STPGModelChecker extends ProbModelChecker
 			}
 		}
 
-		if (!allNonzero && !(rewards instanceof StateRewardsConstant)) {
+		// Over-approximation is not needed for interval iteration (which computes its own upper bound)
+		if (!allNonzero && !(rewards instanceof StateRewardsConstant) && !doIntervalIteration) {
 			timerApprox = System.currentTimeMillis();
 			// A simple heuristic that gives small epsilon, but still is
 			// hopefully safe floating-point-wise
@@ -1182,6 +2156,7 @@ public class STPGModelChecker extends ProbModelChecker
 			switch (stpgSolnMethod) {
 			case VALUE_ITERATION:
 			case GAUSS_SEIDEL: // Fall back to VI (no GS implemented)
+			case STRATEGY_ITERATION: // Fall back to VI (only implemented for probabilities)
 				res = computeReachRewardsValIter(stpg, replaceZeroRewards(rewards, epsilon), target, inf, min1, min2, init, known);
 				break;
 			default:
@@ -1202,13 +2177,18 @@ public class STPGModelChecker extends ProbModelChecker
 		}
 
 		// Compute real rewards
-		switch (stpgSolnMethod) {
-		case VALUE_ITERATION:
-		case GAUSS_SEIDEL: // Fall back to VI (no GS implemented)
-			res = computeReachRewardsValIter(stpg, rewards, target, inf, min1, min2, init, known);
-			break;
-		default:
-			throw new PrismException("Unknown STPG solution method " + stpgSolnMethod);
+		if (doIntervalIteration) {
+			res = computeReachRewardsIntervalIter(stpg, rewards, target, inf, min1, min2, init, known);
+		} else {
+			switch (stpgSolnMethod) {
+			case VALUE_ITERATION:
+			case GAUSS_SEIDEL: // Fall back to VI (no GS implemented)
+			case STRATEGY_ITERATION: // Fall back to VI (only implemented for probabilities)
+				res = computeReachRewardsValIter(stpg, rewards, target, inf, min1, min2, init, known);
+				break;
+			default:
+				throw new PrismException("Unknown STPG solution method " + stpgSolnMethod);
+			}
 		}
 
 		// Finished expected reachability
@@ -1344,6 +2324,7 @@ public class STPGModelChecker extends ProbModelChecker
 		switch (stpgSolnMethod) {
 		case VALUE_ITERATION:
 		case GAUSS_SEIDEL: // Fall back to VI (no GS implemented)
+		case STRATEGY_ITERATION: // Fall back to VI (only implemented for probabilities)
 			res = computeReachRewardsValIter(stpg, rewards, target, inf, min1, min2, init, known);
 			break;
 		default:
@@ -2028,6 +3009,25 @@ public class STPGModelChecker extends ProbModelChecker
 		return res;
 	}
 
+	/**
+	 * If it is worthwhile (multiple threads requested and enough states to update),
+	 * create a helper to perform value iteration for the states {@code unknown}
+	 * in parallel; otherwise return null. The caller should close it when finished.
+	 * @param unknown States to be updated in each iteration
+	 * @param n Number of states in the model
+	 */
+	protected ParallelValIter createParallelValIter(BitSet unknown, int n)
+	{
+		if (!ParallelValIter.isWorthwhile(numThreads, unknown)) {
+			return null;
+		}
+		ParallelValIter parallel = new ParallelValIter(numThreads, unknown, n);
+		if (verbosity >= 1) {
+			mainLog.println("Using " + numThreads + " threads (" + parallel.getNumBlocks() + " blocks of states)");
+		}
+		return parallel;
+	}
+
 	/**
 	 * Simple test program.
 	 */
@@ -0,0 +1,82 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import prism.ModelType;
+
+/**
+ * Sparse matrix (non-mutable) explicit-state representation of a (turn-based) stochastic two-player game (STPG).
+ * 
+ * As for {@link STPGSimple}, this is just a specific case of an SMG where the number of players
+ * can be assumed to be two, used for PRISM language models defined directly as type "stpg".
+ */
+public class STPGSparse extends SMGSparse
+{
+	@Override
+	public ModelType getModelType()
+	{
+		return ModelType.STPG;
+	}
+
+	/**
+	 * Copy constructor (from STPGSimple).
+	 */
+	public STPGSparse(STPGSimple<Double> stpg)
+	{
+		super(stpg);
+	}
+
+	/**
+	 * Copy constructor (from STPGSimple). Optionally, transitions within choices
+	 * are sorted (by ascending order of column index).
+	 * @param stpg The STPG to copy
+	 * @param sort Whether or not to sort column indices
+	 */
+	public STPGSparse(STPGSimple<Double> stpg, boolean sort)
+	{
+		super(stpg, sort);
+	}
+
+	/**
+	 * Copy constructor (from STPGSimple), with a state index permutation,
+	 * i.e. in which state index i becomes index permut[i].
+	 * Player and coalition info is also copied across.
+	 * @param stpg The STPG to copy
+	 * @param sort Whether or not to sort column indices
+	 * @param permut State space permutation
+	 */
+	public STPGSparse(STPGSimple<Double> stpg, boolean sort, int permut[])
+	{
+		super(stpg, sort, permut);
+	}
+
+	/**
+	 * Construct an empty STPG (e.g. for subsequent explicit import)
+	 */
+	public STPGSparse()
+	{
+		super();
+	}
+}
@@ -0,0 +1,89 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package explicit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class for classes that build sparse matrix explicit-state models (e.g. {@link DTMCSparse})
+ * incrementally, appending the transitions of each state, in order of state index, to growable
+ * primitive arrays. This avoids constructing an intermediate (e.g. {@link DTMCSimple}) model first.
+ * Once all transitions have been added, the final (non-mutable) model is created by a single pass
+ * over the arrays, which also applies a state index permutation, if required.
+ */
+public abstract class SparseModelBuilder
+{
+	/** Initial capacity of arrays */
+	protected static final int INITIAL_CAPACITY = 16;
+
+	/** Initial states (indices prior to any permutation) */
+	protected List<Integer> initialStates = new ArrayList<>();
+
+	/**
+	 * Add a state to the list of initial states.
+	 */
+	public void addInitialState(int s)
+	{
+		initialStates.add(s);
+	}
+
+	// Utility methods
+
+	/**
+	 * Get a new size for an array of current size {@code capacity},
+	 * which needs to be at least {@code minCapacity} (grows by a factor of 1.5).
+	 */
+	protected static int newCapacity(int capacity, int minCapacity)
+	{
+		int newCapacity = capacity + (capacity >> 1) + 1;
+		if (newCapacity < 0) {
+			newCapacity = Integer.MAX_VALUE - 8;
+		}
+		if (newCapacity < minCapacity) {
+			if (minCapacity < 0) {
+				throw new OutOfMemoryError("Sparse model too large to store");
+			}
+			newCapacity = minCapacity;
+		}
+		return newCapacity;
+	}
+
+	/**
+	 * Compute the inverse of the state index permutation {@code permut}
+	 * (or return null if {@code permut} is null).
+	 */
+	protected static int[] inversePermutation(int permut[])
+	{
+		if (permut == null) {
+			return null;
+		}
+		int permutInv[] = new int[permut.length];
+		for (int s = 0; s < permut.length; s++) {
+			permutInv[permut[s]] = s;
+		}
+		return permutInv;
+	}
+}
@@ -39,6 +39,7 @@ import java.util.Vector;
 
 import explicit.rewards.ConstructRewards;
 import explicit.rewards.Rewards;
+import io.BinaryModelExporter;
 import io.DotExporter;
 import io.DRNExporter;
 import io.MatlabExporter;
@@ -1581,13 +1582,16 @@ public class StateModelChecker extends PrismComponent
 			case DRN:
 				exporter = new DRNExporter<>(exportOptions);
 				break;
+			case BINARY:
+				exporter = new BinaryModelExporter<>(exportOptions);
+				break;
 			default:
 				throw new PrismNotSupportedException("Export " + exportOptions.getFormat().description() + " not supported by explicit engine");
 		}
 		exporter.setModelInfo(modelInfo);
 		File file = exportTask.getFile();
 		// If needed, add label/reward info
-		if (exportOptions.getFormat() == ModelExportFormat.DRN) {
+		if (exportOptions.getFormat() == ModelExportFormat.DRN || exportOptions.getFormat() == ModelExportFormat.BINARY) {
 			// Get rewards/labels
 			List<Rewards<Value>> rewards = new ArrayList<>();
 			for (int r = 0; r < rewardGen.getNumRewardStructs(); r++) {
@@ -1607,6 +1611,14 @@ public class StateModelChecker extends PrismComponent
 			exporter.setRewardEvaluator((Evaluator<Value>) rewardGen.getRewardEvaluator());
 			exporter.addLabels(labelStates, labelNames);
 		}
+		// Binary export needs to go directly to a file
+		if (exportOptions.getFormat() == ModelExportFormat.BINARY) {
+			if (file == null) {
+				throw new PrismException("Binary model export is only possible to a file");
+			}
+			((BinaryModelExporter<Value>) exporter).exportModel(model, file);
+			return;
+		}
 		// Export to log
 		try (PrismLog out = getPrismLogForFile(file)) {
 			exporter.exportModel(model, out);
@@ -1703,6 +1715,23 @@ public class StateModelChecker extends PrismComponent
 		}
 	}
 
+	/**
+	 * Export the players of a game.
+	 * Only the explicit (PRISM) format is supported.
+	 * @param model The model
+	 * @param file File to export to (if null, print to the log instead)
+	 * @param exportOptions The options for export
+	 */
+	public <Value> void exportPlayers(Model<Value> model, File file, ModelExportOptions exportOptions) throws PrismException
+	{
+		if (exportOptions.getFormat() != ModelExportFormat.EXPLICIT) {
+			throw new PrismNotSupportedException("Players can only be exported in explicit format");
+		}
+		try (PrismLog out = getPrismLogForFile(file)) {
+			new PrismExplicitExporter<Value>(exportOptions).exportPlayers(model, out);
+		}
+	}
+
 	/**
 	 * Export a set of labels and the states that satisfy them.
 	 * @param model The model
@@ -43,6 +43,9 @@ import explicit.Model;
 import explicit.NondetModel;
 import explicit.SMG;
 import explicit.STPG;
+import parser.ExpressionCompiler;
+import parser.ExpressionCompiler.CompiledBoolean;
+import parser.ExpressionCompiler.CompiledDouble;
 import parser.State;
 import parser.Values;
 import parser.ast.ASTElement;
@@ -188,6 +191,18 @@ public class ConstructRewards extends PrismComponent
 		// Create reward structure object
 		rewSimple = new CSGRewardsSimple<>(numStates);
 		rewSimple.setEvaluator(rewardGen.getRewardEvaluator());
+		// If the RewardGenerator already has the rewards built (e.g., imported), copy them over (after checking)
+		if (rewardGen.isRewardLookupSupported(RewardLookup.BY_REWARD_OBJECT)) {
+			Rewards<Value> rewardsObj = checkRewardObject(rewardGen.getRewardObject(r), csg, rewardGen.getRewardEvaluator());
+			for (int s = 0; s < numStates; s++) {
+				rewSimple.addToStateReward(s, rewardsObj.getStateReward(s));
+				int numChoices = csg.getNumChoices(s);
+				for (int k = 0; k < numChoices; k++) {
+					rewSimple.addToTransitionReward(s, k, rewardsObj.getTransitionReward(s, k));
+				}
+			}
+			return rewSimple;
+		}
 		// Add rewards to it
 		for (int s = 0; s < numStates; s++) {
 			if (rewardGen.rewardStructHasStateRewards(r)) {
@@ -295,13 +310,15 @@ public class ConstructRewards extends PrismComponent
 			rewards = new RewardsSimple<>(numStates);
 		}
 		// Add rewards
+		ExpressionCompiler compiler = new ExpressionCompiler(constantValues);
 		int n = rewStr.getNumItems();
 		for (int i = 0; i < n; i++) {
-			Expression guard = rewStr.getStates(i);
+			CompiledBoolean guard = compileGuard(compiler, rewStr.getStates(i), constantValues);
+			CompiledDouble reward = compileReward(compiler, rewStr.getReward(i), constantValues);
 			String action = rewStr.getSynch(i);
 			for (int s = 0; s < numStates; s++) {
 				// Is guard satisfied?
-				if (guard.evaluateBoolean(constantValues, statesList.get(s))) {
+				if (guard.evaluate(statesList.get(s))) {
 					// Transition reward
 					if (rewStr.getRewardStructItem(i).isTransitionReward()) {
 						// Don't add rewards to transitions added to "fix" deadlock states
@@ -315,7 +332,7 @@ public class ConstructRewards extends PrismComponent
 							for (int k = 0; k < numChoices; k++) {
 								Object mdpAction = nondetModel.getAction(s, k);
 								if (mdpAction == null ? (action.isEmpty()) : mdpAction.equals(action)) {
-									double rew = rewStr.getReward(i).evaluateDouble(constantValues, statesList.get(s));
+									double rew = reward.evaluate(statesList.get(s));
 									checkTransitionReward(rew, statesList.get(s), rewStr.getReward(i));
 									rewards.addToTransitionReward(s, k, rew);
 								}
@@ -328,7 +345,7 @@ public class ConstructRewards extends PrismComponent
 								Map.Entry<Integer, Pair<Double, Object>> e = iter.next();
 								Object mcAction = e.getValue().second;
 								if (mcAction == null ? (action.isEmpty()) : mcAction.equals(action)) {
-									double rew = rewStr.getReward(i).evaluateDouble(constantValues, statesList.get(s));
+									double rew = reward.evaluate(statesList.get(s));
 									if (expectedRewards) {
 										double rewWeighted = e.getValue().first * rew;
 										rewards.addToStateReward(s, rewWeighted);
@@ -342,7 +359,7 @@ public class ConstructRewards extends PrismComponent
 					}
 					// State reward
 					else {
-						double rew = rewStr.getReward(i).evaluateDouble(constantValues, statesList.get(s));
+						double rew = reward.evaluate(statesList.get(s));
 						checkStateReward(rew, statesList.get(s), rewStr.getReward(i));
 						rewards.addToStateReward(s, rew);
 					}
@@ -362,7 +379,7 @@ public class ConstructRewards extends PrismComponent
 	{
 		List<State> statesList;
 		CSGRewardsSimple<Double> rewSimple;
-		Expression guard;
+		CompiledBoolean guard;
 		BitSet active = new BitSet();
 		BitSet indexes = new BitSet();
 		BitSet tmp;
@@ -375,13 +392,16 @@ public class ConstructRewards extends PrismComponent
 		}
 		// Normal: state and transition rewards
 		else {
+			ExpressionCompiler compiler = new ExpressionCompiler(constantValues);
+			CompiledDouble reward;
 			numStates = csg.getNumStates();
 			statesList = csg.getStatesList();
 			rewSimple = new CSGRewardsSimple<>(numStates);
 			n = rewStr.getNumItems();
 			double rew;
 			for (i = 0; i < n; i++) {
-				guard = rewStr.getStates(i);
+				guard = compileGuard(compiler, rewStr.getStates(i), constantValues);
+				reward = compileReward(compiler, rewStr.getReward(i), constantValues);
 				indexes.clear();
 				if (rewStr.getRewardStructItem(i).isTransitionReward()) {
 					for (int m : rewStr.getRewardStructItem(i).getSynchIndices()) {
@@ -390,7 +410,7 @@ public class ConstructRewards extends PrismComponent
 					}
 				}
 				for (j = 0; j < numStates; j++) {
-					if (guard.evaluateBoolean(constantValues, statesList.get(j))) {
+					if (guard.evaluate(statesList.get(j))) {
 						// Transition reward
 						if (rewStr.getRewardStructItem(i).isTransitionReward()) {
 							numChoices = csg.getNumChoices(j);
@@ -403,7 +423,7 @@ public class ConstructRewards extends PrismComponent
 								tmp = (BitSet) indexes.clone();
 								tmp.andNot(active);
 								if (indexes.isEmpty() || (!indexes.isEmpty() && tmp.isEmpty())) {
-									rew = rewStr.getReward(i).evaluateDouble(constantValues, statesList.get(j));
+									rew = reward.evaluate(statesList.get(j));
 									checkTransitionReward(rew, statesList.get(j), rewStr.getReward(i));
 									rewSimple.addToTransitionReward(j, k, rew);
 								}
@@ -411,7 +431,7 @@ public class ConstructRewards extends PrismComponent
 						}
 						// State reward
 						else {
-							rew = rewStr.getReward(i).evaluateDouble(constantValues, statesList.get(j));
+							rew = reward.evaluate(statesList.get(j));
 							checkStateReward(rew, statesList.get(j), rewStr.getReward(i));
 							rewSimple.addToStateReward(j, rew);
 						}
@@ -422,6 +442,26 @@ public class ConstructRewards extends PrismComponent
 		return rewSimple;
 	}
 
+	/**
+	 * Compile a reward structure guard, for evaluation in each state of a model,
+	 * falling back on {@link Expression#evaluateBoolean(Values, State)} if it cannot be compiled.
+	 */
+	private static CompiledBoolean compileGuard(ExpressionCompiler compiler, Expression guard, Values constantValues)
+	{
+		CompiledBoolean guardCompiled = compiler.compileBoolean(guard);
+		return guardCompiled != null ? guardCompiled : state -> guard.evaluateBoolean(constantValues, state);
+	}
+
+	/**
+	 * Compile a reward structure value, for evaluation in each state of a model,
+	 * falling back on {@link Expression#evaluateDouble(Values, State)} if it cannot be compiled.
+	 */
+	private static CompiledDouble compileReward(ExpressionCompiler compiler, Expression reward, Values constantValues)
+	{
+		CompiledDouble rewardCompiled = compiler.compileDouble(reward);
+		return rewardCompiled != null ? rewardCompiled : state -> reward.evaluateDouble(constantValues, state);
+	}
+
 	/**
 	 * Construct the rewards for a Markov chain (DTMC or CTMC) from files exported explicitly by PRISM. 
 	 * @param mc The DTMC or CTMC
@@ -0,0 +1,507 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package io;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import explicit.DTMC;
+import explicit.MDP;
+import explicit.Model;
+import explicit.TurnBasedGame;
+import explicit.rewards.Rewards;
+import parser.State;
+import parser.VarList;
+import prism.Evaluator;
+import prism.ModelType;
+import prism.Pair;
+import prism.PlayerInfoOwner;
+import prism.PrismException;
+import prism.PrismLog;
+import prism.PrismNotSupportedException;
+
+/**
+ * Class to manage export of built models to PRISM's binary model format
+ * (see {@link BinaryModelFormat}), which can be memory-mapped on import.
+ * Only models with double-valued probabilities/rates are supported.
+ */
+public class BinaryModelExporter<Value> extends ModelExporter<Value>
+{
+	// Size of buffer used for writing
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	// Channel/buffer used for writing
+	private FileChannel channel;
+	private ByteBuffer buffer;
+	// Number of bytes written so far
+	private long position;
+
+	/**
+	 * Construct a BinaryModelExporter with default export options.
+	 */
+	public BinaryModelExporter()
+	{
+		super();
+	}
+
+	/**
+	 * Construct a BinaryModelExporter with the specified export options.
+	 */
+	public BinaryModelExporter(ModelExportOptions modelExportOptions)
+	{
+		super(modelExportOptions);
+	}
+
+	@Override
+	public void exportModel(Model<Value> model, PrismLog out) throws PrismException
+	{
+		throw new PrismNotSupportedException("Binary model export is only possible to a file");
+	}
+
+	@Override
+	public void exportModel(Model<Value> model, File fileOut) throws PrismException
+	{
+		if (fileOut == null) {
+			throw new PrismNotSupportedException("Binary model export is only possible to a file");
+		}
+		try (FileOutputStream stream = new FileOutputStream(fileOut)) {
+			channel = stream.getChannel();
+			buffer = ByteBuffer.allocate(BUFFER_SIZE).order(BinaryModelFormat.BYTE_ORDER);
+			position = 0;
+			writeModel(model);
+			flush();
+		} catch (IOException e) {
+			throw new PrismException("Could not write binary model to file \"" + fileOut + "\": " + e.getMessage());
+		} finally {
+			channel = null;
+			buffer = null;
+		}
+	}
+
+	/**
+	 * Write the header and all sections for a model.
+	 */
+	private void writeModel(Model<Value> model) throws PrismException, IOException
+	{
+		// Get model info and check it is supported
+		setEvaluator(model.getEvaluator());
+		ModelType modelType = model.getModelType();
+		if (!BinaryModelFormat.isSupportedModelType(modelType)) {
+			throw new PrismNotSupportedException("Binary model export not supported for " + modelType + "s");
+		}
+		if (!(eval.one() instanceof Double)) {
+			throw new PrismNotSupportedException("Binary model export is only supported for floating-point values");
+		}
+		Evaluator<Value> evalRewards = getRewardEvaluator();
+		boolean nondet = modelType.nondeterministic();
+		int numStates = model.getNumStates();
+		int numTransitions = model.getNumTransitions();
+		int numChoices = nondet ? ((MDP<Value>) model).getNumChoices() : numStates;
+
+		// Build the list of actions (and note whether there are any)
+		List<String> actionNames = new ArrayList<>();
+		Map<Object, Integer> actionIndices = new HashMap<>();
+		int actions[] = new int[nondet ? numChoices : numTransitions];
+		int count = 0;
+		for (int s = 0; s < numStates; s++) {
+			if (nondet) {
+				MDP<Value> mdp = (MDP<Value>) model;
+				int n = mdp.getNumChoices(s);
+				for (int i = 0; i < n; i++) {
+					actions[count++] = lookupAction(mdp.getAction(s, i), actionNames, actionIndices);
+				}
+			} else {
+				Iterator<Object> iter = ((DTMC<Value>) model).getActionsIterator(s);
+				while (iter.hasNext()) {
+					actions[count++] = lookupAction(iter.next(), actionNames, actionIndices);
+				}
+			}
+		}
+		boolean hasActions = !actionNames.isEmpty();
+
+		// Player info (turn-based games only)
+		List<String> playerNames = new ArrayList<>();
+		if (modelType.multiplePlayers()) {
+			playerNames.addAll(((PlayerInfoOwner) model).getPlayerNames());
+		}
+		boolean hasOwners = model instanceof TurnBasedGame;
+
+		// Variable info (if states are available)
+		List<State> statesList = model.getStatesList();
+		List<String> varNames = getVarNames(model);
+		boolean hasStates = statesList != null && varNames != null;
+		int numVars = hasStates ? varNames.size() : 0;
+		int varTypes[] = new int[numVars];
+		int varLows[] = new int[numVars];
+		int varHighs[] = new int[numVars];
+		if (hasStates) {
+			computeVarInfo(statesList, varNames, varTypes, varLows, varHighs);
+		}
+
+		// Header
+		buffer.put(BinaryModelFormat.MAGIC);
+		putInt(BinaryModelFormat.VERSION);
+		putInt(computeHeaderSize(modelType, playerNames, actionNames, hasStates ? varNames : null));
+		putString(modelType.name());
+		putInt(numStates);
+		putInt(numChoices);
+		putInt(numTransitions);
+		putInt((hasActions ? BinaryModelFormat.FLAG_ACTIONS : 0) | (hasOwners ? BinaryModelFormat.FLAG_OWNERS : 0) | (hasStates ? BinaryModelFormat.FLAG_STATES : 0));
+		putStrings(playerNames);
+		putStrings(actionNames);
+		putStrings(getLabelNames());
+		putInt(getNumRewards());
+		for (int r = 0; r < getNumRewards(); r++) {
+			putString(getRewardName(r));
+			Rewards<Value> rewards = getReward(r);
+			putInt((rewards.hasStateRewards() ? BinaryModelFormat.FLAG_STATE_REWARDS : 0) | (rewards.hasTransitionRewards() ? BinaryModelFormat.FLAG_TRANS_REWARDS : 0));
+		}
+		if (hasStates) {
+			putStrings(varNames);
+			for (int i = 0; i < numVars; i++) {
+				putInt(varTypes[i]);
+				putInt(varLows[i]);
+				putInt(varHighs[i]);
+			}
+		}
+		align();
+
+		// Transition function (CSR)
+		if (nondet) {
+			MDP<Value> mdp = (MDP<Value>) model;
+			count = 0;
+			for (int s = 0; s < numStates; s++) {
+				putInt(count);
+				count += mdp.getNumChoices(s);
+			}
+			putInt(count);
+			align();
+			count = 0;
+			for (int s = 0; s < numStates; s++) {
+				int n = mdp.getNumChoices(s);
+				for (int i = 0; i < n; i++) {
+					putInt(count);
+					count += mdp.getNumTransitions(s, i);
+				}
+			}
+			putInt(count);
+			align();
+			for (int s = 0; s < numStates; s++) {
+				int n = mdp.getNumChoices(s);
+				for (int i = 0; i < n; i++) {
+					Iterator<Map.Entry<Integer, Value>> iter = mdp.getTransitionsIterator(s, i);
+					while (iter.hasNext()) {
+						putInt(iter.next().getKey());
+					}
+				}
+			}
+			align();
+			for (int s = 0; s < numStates; s++) {
+				int n = mdp.getNumChoices(s);
+				for (int i = 0; i < n; i++) {
+					Iterator<Map.Entry<Integer, Value>> iter = mdp.getTransitionsIterator(s, i);
+					while (iter.hasNext()) {
+						putDouble(eval.toDouble(iter.next().getValue()));
+					}
+				}
+			}
+			align();
+		} else {
+			DTMC<Value> dtmc = (DTMC<Value>) model;
+			count = 0;
+			for (int s = 0; s < numStates; s++) {
+				putInt(count);
+				count += dtmc.getNumTransitions(s);
+			}
+			putInt(count);
+			align();
+			for (int s = 0; s < numStates; s++) {
+				Iterator<Map.Entry<Integer, Pair<Value, Object>>> iter = dtmc.getTransitionsAndActionsIterator(s);
+				while (iter.hasNext()) {
+					putInt(iter.next().getKey());
+				}
+			}
+			align();
+			for (int s = 0; s < numStates; s++) {
+				Iterator<Map.Entry<Integer, Pair<Value, Object>>> iter = dtmc.getTransitionsAndActionsIterator(s);
+				while (iter.hasNext()) {
+					putDouble(eval.toDouble(iter.next().getValue().first));
+				}
+			}
+			align();
+		}
+		if (count != numTransitions) {
+			throw new PrismException("Inconsistent transition count (" + count + " vs. " + numTransitions + ") in binary model export");
+		}
+
+		// Actions
+		if (hasActions) {
+			for (int a : actions) {
+				putInt(a);
+			}
+			align();
+		}
+
+		// Owners
+		if (hasOwners) {
+			TurnBasedGame game = (TurnBasedGame) model;
+			for (int s = 0; s < numStates; s++) {
+				putInt(game.getPlayer(s));
+			}
+			align();
+		}
+
+		// States
+		if (hasStates) {
+			for (State state : statesList) {
+				for (int i = 0; i < numVars; i++) {
+					Object value = state.varValues[i];
+					putInt(value instanceof Boolean ? ((Boolean) value ? 1 : 0) : (Integer) value);
+				}
+			}
+			align();
+		}
+
+		// Labels
+		int bitsetLength = BinaryModelFormat.bitsetLength(numStates);
+		for (BitSet label : getLabels()) {
+			long words[] = label.toLongArray();
+			for (int i = 0; i < bitsetLength; i++) {
+				putLong(i < words.length ? words[i] : 0L);
+			}
+		}
+
+		// Rewards
+		for (Rewards<Value> rewards : getRewards()) {
+			if (rewards.hasStateRewards()) {
+				for (int s = 0; s < numStates; s++) {
+					putDouble(evalRewards.toDouble(rewards.getStateReward(s)));
+				}
+			}
+			if (rewards.hasTransitionRewards()) {
+				for (int s = 0; s < numStates; s++) {
+					int n = nondet ? ((MDP<Value>) model).getNumChoices(s) : model.getNumTransitions(s);
+					for (int i = 0; i < n; i++) {
+						putDouble(evalRewards.toDouble(rewards.getTransitionReward(s, i)));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the names of the model's variables, taken from the model info, if present,
+	 * or else the model itself. Returns null if not available.
+	 */
+	private List<String> getVarNames(Model<Value> model)
+	{
+		if (modelInfo != null) {
+			return modelInfo.getVarNames();
+		}
+		VarList varList = model.getVarList();
+		if (varList == null) {
+			return null;
+		}
+		List<String> varNames = new ArrayList<>();
+		for (int i = 0; i < varList.getNumVars(); i++) {
+			varNames.add(varList.getName(i));
+		}
+		return varNames;
+	}
+
+	/**
+	 * Determine the type and range of each variable from the values in {@code statesList}.
+	 * As for import from a states (.sta) file, the range is that of the values that occur.
+	 * Only integer and Boolean variables can be stored.
+	 */
+	private static void computeVarInfo(List<State> statesList, List<String> varNames, int varTypes[], int varLows[], int varHighs[]) throws PrismException
+	{
+		int numVars = varNames.size();
+		Arrays.fill(varTypes, -1);
+		for (State state : statesList) {
+			if (state.varValues.length != numVars) {
+				throw new PrismException("Inconsistent number of variables in states for binary model export");
+			}
+			for (int i = 0; i < numVars; i++) {
+				Object value = state.varValues[i];
+				int type = value instanceof Boolean ? BinaryModelFormat.VAR_BOOL : value instanceof Integer ? BinaryModelFormat.VAR_INT : -1;
+				if (type == -1 || (varTypes[i] != -1 && varTypes[i] != type)) {
+					throw new PrismNotSupportedException("Binary model export only supports integer and Boolean variables (not variable " + varNames.get(i) + ")");
+				}
+				int v = type == BinaryModelFormat.VAR_BOOL ? ((Boolean) value ? 1 : 0) : (Integer) value;
+				if (varTypes[i] == -1) {
+					varTypes[i] = type;
+					varLows[i] = varHighs[i] = v;
+				} else {
+					varLows[i] = Math.min(varLows[i], v);
+					varHighs[i] = Math.max(varHighs[i], v);
+				}
+			}
+		}
+		// (for types, default to int if there are no states)
+		for (int i = 0; i < numVars; i++) {
+			if (varTypes[i] == -1) {
+				varTypes[i] = BinaryModelFormat.VAR_INT;
+			}
+		}
+	}
+
+	/**
+	 * Get the index of an action in the action name list, adding it if needed.
+	 * A null action is indexed as -1.
+	 */
+	private static int lookupAction(Object action, List<String> actionNames, Map<Object, Integer> actionIndices)
+	{
+		if (action == null) {
+			return -1;
+		}
+		Integer a = actionIndices.get(action);
+		if (a == null) {
+			a = actionNames.size();
+			actionNames.add(action.toString());
+			actionIndices.put(action, a);
+		}
+		return a;
+	}
+
+	/**
+	 * Compute the size of the header (in bytes), after alignment.
+	 */
+	private int computeHeaderSize(ModelType modelType, List<String> playerNames, List<String> actionNames, List<String> varNames) throws PrismException
+	{
+		long size = BinaryModelFormat.MAGIC.length + 4 + 4;
+		size += stringSize(modelType.name()) + 4 * 4;
+		size += stringsSize(playerNames) + stringsSize(actionNames) + stringsSize(getLabelNames());
+		size += 4;
+		for (int r = 0; r < getNumRewards(); r++) {
+			size += stringSize(getRewardName(r)) + 4;
+		}
+		if (varNames != null) {
+			size += stringsSize(varNames) + 3 * 4 * varNames.size();
+		}
+		size = BinaryModelFormat.align(size);
+		if (size > Integer.MAX_VALUE) {
+			throw new PrismException("Header too large for binary model export");
+		}
+		return (int) size;
+	}
+
+	private static long stringSize(String s)
+	{
+		return 4 + (s == null ? "" : s).getBytes(StandardCharsets.UTF_8).length;
+	}
+
+	private static long stringsSize(List<String> strings)
+	{
+		long size = 4;
+		for (String s : strings) {
+			size += stringSize(s);
+		}
+		return size;
+	}
+
+	// Low-level output
+
+	private void ensureSpace(int n) throws IOException
+	{
+		if (buffer.remaining() < n) {
+			flush();
+		}
+	}
+
+	private void flush() throws IOException
+	{
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			position += channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	private long getPosition()
+	{
+		return position + buffer.position();
+	}
+
+	private void putInt(int i) throws IOException
+	{
+		ensureSpace(4);
+		buffer.putInt(i);
+	}
+
+	private void putLong(long l) throws IOException
+	{
+		ensureSpace(8);
+		buffer.putLong(l);
+	}
+
+	private void putDouble(double d) throws IOException
+	{
+		ensureSpace(8);
+		buffer.putDouble(d);
+	}
+
+	private void putString(String s) throws IOException
+	{
+		byte bytes[] = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+		putInt(bytes.length);
+		for (byte b : bytes) {
+			ensureSpace(1);
+			buffer.put(b);
+		}
+	}
+
+	private void putStrings(List<String> strings) throws IOException
+	{
+		putInt(strings.size());
+		for (String s : strings) {
+			putString(s);
+		}
+	}
+
+	/**
+	 * Pad with zeros up to the next multiple of 8 bytes.
+	 */
+	private void align() throws IOException
+	{
+		long pos = getPosition();
+		long aligned = BinaryModelFormat.align(pos);
+		for (long i = pos; i < aligned; i++) {
+			ensureSpace(1);
+			buffer.put((byte) 0);
+		}
+	}
+}
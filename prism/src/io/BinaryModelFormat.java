@@ -0,0 +1,142 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package io;
+
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import prism.ModelType;
+
+/**
+ * Constants and layout information for PRISM's binary model format,
+ * as written by {@link BinaryModelExporter} and read by {@link BinaryModelImporter}.
+ * <br><br>
+ * The file is stored in little-endian byte order and consists of a header
+ * followed by a sequence of sections, each of which starts at an offset
+ * that is a multiple of 8 bytes, so that it can be memory-mapped and accessed
+ * directly as an {@code IntBuffer}, {@code DoubleBuffer} or {@code LongBuffer}.
+ * <br><br>
+ * The header comprises: the magic string "PRISMBIN", the format version,
+ * the size of the header (in bytes), the model type, the numbers of states,
+ * choices and transitions, some flags (see {@link #FLAG_ACTIONS}, {@link #FLAG_OWNERS}, {@link #FLAG_STATES}),
+ * and then the names of the players, actions, labels and reward structures
+ * (the latter each followed by flags {@link #FLAG_STATE_REWARDS}/{@link #FLAG_TRANS_REWARDS}).
+ * If {@link #FLAG_STATES} is set, this is followed by the names of the model's variables
+ * and then, for each one, its type ({@link #VAR_INT}/{@link #VAR_BOOL}) and range (lowest/highest value).
+ * Strings are stored as their length (in bytes) followed by their UTF-8 encoding.
+ * <br><br>
+ * The sections that follow are, in order:
+ * <ul>
+ * <li> {@code rowStarts} (int[numStates+1]): start of each state's choices,
+ *      or, for Markov chains, of each state's transitions;
+ * <li> {@code choiceStarts} (int[numChoices+1]): start of each choice's transitions (nondeterministic models only);
+ * <li> {@code cols} (int[numTransitions]): successor states;
+ * <li> {@code nonZeros} (double[numTransitions]): probabilities/rates;
+ * <li> {@code actions} (int[numChoices], or int[numTransitions] for Markov chains):
+ *      indices into the action name list, -1 denoting no action (only if {@link #FLAG_ACTIONS} is set);
+ * <li> {@code owners} (int[numStates]): state owners for turn-based games, -1 denoting no player
+ *      (only if {@link #FLAG_OWNERS} is set);
+ * <li> {@code states} (int[numStates*numVars]): variable values for each state, in order,
+ *      with Booleans stored as 0/1 (only if {@link #FLAG_STATES} is set);
+ * <li> for each label, a bitset of the states satisfying it (long[(numStates+63)/64]);
+ * <li> for each reward structure, its state rewards (double[numStates]) and then
+ *      its transition rewards (double[numChoices], or double[numTransitions] for Markov chains),
+ *      if present (see {@link #FLAG_STATE_REWARDS}/{@link #FLAG_TRANS_REWARDS}).
+ * </ul>
+ */
+public final class BinaryModelFormat
+{
+	/** Magic string at the start of the file */
+	public static final byte[] MAGIC = "PRISMBIN".getBytes(StandardCharsets.US_ASCII);
+
+	/** Current version of the format */
+	public static final int VERSION = 1;
+
+	/** Byte order used throughout the file */
+	public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	/** Default file extension */
+	public static final String EXTENSION = "pbin";
+
+	// Model flags
+
+	/** Model flag: action labels are stored */
+	public static final int FLAG_ACTIONS = 1;
+	/** Model flag: state owners are stored */
+	public static final int FLAG_OWNERS = 2;
+	/** Model flag: variables and state values are stored */
+	public static final int FLAG_STATES = 4;
+
+	// Variable types
+
+	/** Variable type: integer */
+	public static final int VAR_INT = 0;
+	/** Variable type: Boolean */
+	public static final int VAR_BOOL = 1;
+
+	// Reward structure flags
+
+	/** Reward structure flag: state rewards are stored */
+	public static final int FLAG_STATE_REWARDS = 1;
+	/** Reward structure flag: transition rewards are stored */
+	public static final int FLAG_TRANS_REWARDS = 2;
+
+	private BinaryModelFormat()
+	{
+	}
+
+	/**
+	 * Can models of type {@code modelType} be stored in the binary format?
+	 */
+	public static boolean isSupportedModelType(ModelType modelType)
+	{
+		switch (modelType) {
+		case DTMC:
+		case CTMC:
+		case MDP:
+		case SMG:
+		case STPG:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Round {@code offset} up to the next multiple of 8.
+	 */
+	public static long align(long offset)
+	{
+		return (offset + 7) & ~7L;
+	}
+
+	/**
+	 * Get the number of longs used to store a bitset over {@code numStates} states.
+	 */
+	public static int bitsetLength(int numStates)
+	{
+		return (numStates + 63) / 64;
+	}
+}
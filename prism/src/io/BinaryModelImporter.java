@@ -0,0 +1,784 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import parser.ast.DeclarationBool;
+import parser.ast.DeclarationInt;
+import parser.ast.Expression;
+import prism.BasicModelInfo;
+import prism.BasicRewardInfo;
+import prism.Evaluator;
+import prism.ModelInfo;
+import prism.ModelType;
+import prism.PrismException;
+import prism.PrismNotSupportedException;
+import prism.RewardInfo;
+
+/**
+ * Class to manage import of models from PRISM's binary model format (see {@link BinaryModelFormat}).
+ * <br><br>
+ * The sections of the file are memory-mapped (using {@link FileChannel#map}) and
+ * made available as buffers, so that sparse model classes such as {@link explicit.MDPMapped}
+ * can access them directly, without copying. The usual methods of {@link ExplicitModelImporter}
+ * are also supported, for building other model representations. Only double-valued models
+ * are supported. Each section must be smaller than 2GB, the limit for a single mapping.
+ */
+public class BinaryModelImporter extends ExplicitModelImporter
+{
+	// File to import from
+	private File file;
+
+	// Model info from header
+	private ModelType modelType;
+	private int numStates;
+	private int numChoices;
+	private int numTransitions;
+	private int flags;
+	private List<String> playerNames;
+	private List<String> actionNames;
+	private List<String> labelNames;
+	private List<String> rewardNames;
+	private int rewardFlags[];
+	private List<String> varNames;
+	private int varTypes[];
+	private int varLows[];
+	private int varHighs[];
+
+	// Offsets of sections (in bytes)
+	private long rowStartsOffset;
+	private long choiceStartsOffset;
+	private long colsOffset;
+	private long nonZerosOffset;
+	private long actionsOffset;
+	private long ownersOffset;
+	private long statesOffset;
+	private long labelsOffset;
+	private long stateRewardsOffsets[];
+	private long transRewardsOffsets[];
+
+	// Model/reward info, built lazily
+	private BasicModelInfo basicModelInfo;
+	private BasicRewardInfo basicRewardInfo;
+
+	// Mapped transition function, mapped lazily
+	private IntBuffer rowStarts;
+	private IntBuffer choiceStarts;
+	private IntBuffer cols;
+	private DoubleBuffer nonZeros;
+
+	// Has the (mapped) structure of the transition function been checked?
+	private boolean structureChecked;
+
+	// Deadlock info, computed lazily
+	private BitSet deadlocks;
+
+	/**
+	 * Constructor: read the header of a binary model file.
+	 * @param file The file to import from
+	 */
+	public BinaryModelImporter(File file) throws PrismException
+	{
+		this.file = file;
+		readHeader();
+	}
+
+	/**
+	 * Get the file being imported from.
+	 */
+	public File getFile()
+	{
+		return file;
+	}
+
+	/**
+	 * Read and check the header and compute the section offsets.
+	 */
+	private void readHeader() throws PrismException
+	{
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			// Read fixed-size part of header
+			ByteBuffer start = ByteBuffer.allocate(BinaryModelFormat.MAGIC.length + 8).order(BinaryModelFormat.BYTE_ORDER);
+			while (start.hasRemaining() && channel.read(start) >= 0) {
+			}
+			start.flip();
+			if (start.remaining() < start.capacity()) {
+				throw new PrismException("File \"" + file + "\" is not a binary PRISM model file");
+			}
+			byte magic[] = new byte[BinaryModelFormat.MAGIC.length];
+			start.get(magic);
+			if (!Arrays.equals(magic, BinaryModelFormat.MAGIC)) {
+				throw new PrismException("File \"" + file + "\" is not a binary PRISM model file");
+			}
+			int version = start.getInt();
+			if (version != BinaryModelFormat.VERSION) {
+				throw new PrismException("Unsupported version (" + version + ") of binary PRISM model file \"" + file + "\"");
+			}
+			int headerSize = start.getInt();
+			// Read the rest of the header
+			ByteBuffer header = ByteBuffer.allocate(headerSize).order(BinaryModelFormat.BYTE_ORDER);
+			channel.position(0);
+			while (header.hasRemaining() && channel.read(header) >= 0) {
+			}
+			header.flip();
+			header.position(start.capacity());
+			String modelTypeName = getString(header);
+			try {
+				modelType = ModelType.valueOf(modelTypeName);
+			} catch (IllegalArgumentException e) {
+				throw new PrismException("Unknown model type \"" + modelTypeName + "\"");
+			}
+			if (!BinaryModelFormat.isSupportedModelType(modelType)) {
+				throw new PrismNotSupportedException("Binary model import not supported for " + modelType + "s");
+			}
+			numStates = header.getInt();
+			numChoices = header.getInt();
+			numTransitions = header.getInt();
+			flags = header.getInt();
+			if (numStates < 0 || numChoices < 0 || numTransitions < 0) {
+				throw new IllegalArgumentException();
+			}
+			playerNames = getStrings(header);
+			actionNames = getStrings(header);
+			labelNames = getStrings(header);
+			int numRewards = header.getInt();
+			rewardNames = new ArrayList<>(numRewards);
+			rewardFlags = new int[numRewards];
+			for (int r = 0; r < numRewards; r++) {
+				rewardNames.add(getString(header));
+				rewardFlags[r] = header.getInt();
+			}
+			if ((flags & BinaryModelFormat.FLAG_STATES) != 0) {
+				varNames = getStrings(header);
+				int numVars = varNames.size();
+				varTypes = new int[numVars];
+				varLows = new int[numVars];
+				varHighs = new int[numVars];
+				for (int i = 0; i < numVars; i++) {
+					varTypes[i] = header.getInt();
+					varLows[i] = header.getInt();
+					varHighs[i] = header.getInt();
+					if (varTypes[i] != BinaryModelFormat.VAR_INT && varTypes[i] != BinaryModelFormat.VAR_BOOL) {
+						throw new PrismException("Unknown type for variable " + varNames.get(i) + " in binary PRISM model file \"" + file + "\"");
+					}
+				}
+			}
+			// Compute section offsets
+			boolean nondet = modelType.nondeterministic();
+			long offset = headerSize;
+			rowStartsOffset = offset;
+			offset = BinaryModelFormat.align(offset + 4L * (numStates + 1));
+			choiceStartsOffset = offset;
+			if (nondet) {
+				offset = BinaryModelFormat.align(offset + 4L * (numChoices + 1));
+			}
+			colsOffset = offset;
+			offset = BinaryModelFormat.align(offset + 4L * numTransitions);
+			nonZerosOffset = offset;
+			offset += 8L * numTransitions;
+			actionsOffset = offset;
+			if ((flags & BinaryModelFormat.FLAG_ACTIONS) != 0) {
+				offset = BinaryModelFormat.align(offset + 4L * (nondet ? numChoices : numTransitions));
+			}
+			ownersOffset = offset;
+			if ((flags & BinaryModelFormat.FLAG_OWNERS) != 0) {
+				offset = BinaryModelFormat.align(offset + 4L * numStates);
+			}
+			statesOffset = offset;
+			if ((flags & BinaryModelFormat.FLAG_STATES) != 0) {
+				offset = BinaryModelFormat.align(offset + 4L * numStates * varNames.size());
+			}
+			labelsOffset = offset;
+			offset += 8L * BinaryModelFormat.bitsetLength(numStates) * labelNames.size();
+			stateRewardsOffsets = new long[numRewards];
+			transRewardsOffsets = new long[numRewards];
+			for (int r = 0; r < numRewards; r++) {
+				stateRewardsOffsets[r] = offset;
+				if ((rewardFlags[r] & BinaryModelFormat.FLAG_STATE_REWARDS) != 0) {
+					offset += 8L * numStates;
+				}
+				transRewardsOffsets[r] = offset;
+				if ((rewardFlags[r] & BinaryModelFormat.FLAG_TRANS_REWARDS) != 0) {
+					offset += 8L * (nondet ? numChoices : numTransitions);
+				}
+			}
+			if (channel.size() < offset) {
+				throw new PrismException("Binary PRISM model file \"" + file + "\" is truncated");
+			}
+		} catch (IOException e) {
+			throw new PrismException("Could not read binary model file \"" + file + "\": " + e.getMessage());
+		} catch (BufferUnderflowException | IllegalArgumentException e) {
+			throw new PrismException("Binary PRISM model file \"" + file + "\" has a corrupt header");
+		}
+	}
+
+	/**
+	 * Read a string (length, then UTF-8 bytes) from a buffer.
+	 */
+	private static String getString(ByteBuffer buffer)
+	{
+		byte bytes[] = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Read a list of strings (size, then strings) from a buffer.
+	 */
+	private static List<String> getStrings(ByteBuffer buffer)
+	{
+		int n = buffer.getInt();
+		List<String> strings = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			strings.add(getString(buffer));
+		}
+		return strings;
+	}
+
+	/**
+	 * Memory-map (read-only) a section of the file.
+	 * @param offset Start of the section (in bytes)
+	 * @param size Size of the section (in bytes)
+	 */
+	private ByteBuffer map(long offset, long size) throws PrismException
+	{
+		if (size > Integer.MAX_VALUE) {
+			throw new PrismException("Binary PRISM model file \"" + file + "\" has a section that is too large to map");
+		}
+		// The mapping remains valid after the channel is closed
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, offset, size).order(BinaryModelFormat.BYTE_ORDER);
+		} catch (IOException e) {
+			throw new PrismException("Could not map binary model file \"" + file + "\": " + e.getMessage());
+		}
+	}
+
+	private IntBuffer mapInts(long offset, long count) throws PrismException
+	{
+		return map(offset, 4L * count).asIntBuffer();
+	}
+
+	private DoubleBuffer mapDoubles(long offset, long count) throws PrismException
+	{
+		return map(offset, 8L * count).asDoubleBuffer();
+	}
+
+	private LongBuffer mapLongs(long offset, long count) throws PrismException
+	{
+		return map(offset, 8L * count).asLongBuffer();
+	}
+
+	/**
+	 * Check (once) that the indices stored in the transition function, action and owner
+	 * sections are consistent with the header, so that a truncated or corrupt file
+	 * results in an error here, rather than in invalid indices later on:
+	 * row/choice starts must be non-decreasing, from 0 up to the number of choices/transitions,
+	 * and successor states, actions and owners must be in range.
+	 */
+	private void checkStructure() throws PrismException
+	{
+		if (structureChecked) {
+			return;
+		}
+		boolean nondet = modelType.nondeterministic();
+		checkStarts(mapInts(rowStartsOffset, numStates + 1L), nondet ? numChoices : numTransitions, "state");
+		if (nondet) {
+			checkStarts(mapInts(choiceStartsOffset, numChoices + 1L), numTransitions, "choice");
+		}
+		checkRange(mapInts(colsOffset, numTransitions), 0, numStates, "successor state");
+		if ((flags & BinaryModelFormat.FLAG_ACTIONS) != 0) {
+			checkRange(mapInts(actionsOffset, nondet ? numChoices : numTransitions), -1, actionNames.size(), "action");
+		}
+		if ((flags & BinaryModelFormat.FLAG_OWNERS) != 0) {
+			checkRange(mapInts(ownersOffset, numStates), -1, playerNames.size(), "player");
+		}
+		structureChecked = true;
+	}
+
+	/**
+	 * Check that a (mapped) array of start indices is non-decreasing, from 0 up to {@code total}.
+	 */
+	private void checkStarts(IntBuffer starts, int total, String what) throws PrismException
+	{
+		int n = starts.limit();
+		int prev = 0;
+		for (int i = 0; i < n; i++) {
+			int start = starts.get(i);
+			if (start < prev || (i == 0 && start != 0) || (i == n - 1 && start != total)) {
+				throw new PrismException("Binary PRISM model file \"" + file + "\" is corrupt (invalid " + what + " start index " + start + ")");
+			}
+			prev = start;
+		}
+	}
+
+	/**
+	 * Check that all values in a (mapped) array are in the range [lo, hi).
+	 */
+	private void checkRange(IntBuffer values, int lo, int hi, String what) throws PrismException
+	{
+		for (int i = 0, n = values.limit(); i < n; i++) {
+			int v = values.get(i);
+			if (v < lo || v >= hi) {
+				throw new PrismException("Binary PRISM model file \"" + file + "\" is corrupt (invalid " + what + " index " + v + ")");
+			}
+		}
+	}
+
+	// Access to mapped sections (for building sparse models)
+
+	/**
+	 * Get the (mapped) start index of each state's choices (nondeterministic models)
+	 * or transitions (Markov chains); size numStates+1.
+	 */
+	public IntBuffer mapRowStarts() throws PrismException
+	{
+		checkStructure();
+		if (rowStarts == null) {
+			rowStarts = mapInts(rowStartsOffset, numStates + 1L);
+		}
+		return rowStarts;
+	}
+
+	/**
+	 * Get the (mapped) start index of each choice's transitions; size numChoices+1.
+	 * Only for nondeterministic models.
+	 */
+	public IntBuffer mapChoiceStarts() throws PrismException
+	{
+		if (!modelType.nondeterministic()) {
+			throw new PrismException("No choices stored for " + modelType + "s");
+		}
+		checkStructure();
+		if (choiceStarts == null) {
+			choiceStarts = mapInts(choiceStartsOffset, numChoices + 1L);
+		}
+		return choiceStarts;
+	}
+
+	/**
+	 * Get the (mapped) successor state of each transition.
+	 */
+	public IntBuffer mapCols() throws PrismException
+	{
+		checkStructure();
+		if (cols == null) {
+			cols = mapInts(colsOffset, numTransitions);
+		}
+		return cols;
+	}
+
+	/**
+	 * Get the (mapped) probability/rate of each transition.
+	 */
+	public DoubleBuffer mapNonZeros() throws PrismException
+	{
+		if (nonZeros == null) {
+			nonZeros = mapDoubles(nonZerosOffset, numTransitions);
+		}
+		return nonZeros;
+	}
+
+	/**
+	 * Get the (mapped) action index of each choice (nondeterministic models)
+	 * or transition (Markov chains), indexing into {@link #getActionNames()},
+	 * with -1 denoting no action. Returns null if no actions are stored.
+	 */
+	public IntBuffer mapActions() throws PrismException
+	{
+		if ((flags & BinaryModelFormat.FLAG_ACTIONS) == 0) {
+			return null;
+		}
+		checkStructure();
+		return mapInts(actionsOffset, modelType.nondeterministic() ? numChoices : numTransitions);
+	}
+
+	/**
+	 * Get the list of action names.
+	 */
+	public List<String> getActionNames()
+	{
+		return actionNames;
+	}
+
+	/**
+	 * Get the (mapped) owner of each state (turn-based games), -1 denoting no player.
+	 * Returns null if no owners are stored.
+	 */
+	public IntBuffer mapOwners() throws PrismException
+	{
+		if ((flags & BinaryModelFormat.FLAG_OWNERS) == 0) {
+			return null;
+		}
+		checkStructure();
+		return mapInts(ownersOffset, numStates);
+	}
+
+	/**
+	 * Can the model be used directly, in mapped form, i.e., with no modification?
+	 * This is not the case if there are deadlock states that need fixing.
+	 */
+	public boolean canMapModel() throws PrismException
+	{
+		return !(fixdl && getNumDeadlockStates() > 0);
+	}
+
+	// Methods to implement ExplicitModelImporter
+
+	@Override
+	public boolean providesStates()
+	{
+		return (flags & BinaryModelFormat.FLAG_STATES) != 0;
+	}
+
+	@Override
+	public boolean providesLabels()
+	{
+		return true;
+	}
+
+	@Override
+	public String sourceString()
+	{
+		return "\"" + file + "\"";
+	}
+
+	@Override
+	public ModelInfo getModelInfo() throws PrismException
+	{
+		// Construct lazily, as needed
+		if (basicModelInfo == null) {
+			basicModelInfo = new BasicModelInfo(modelType);
+			if (providesStates()) {
+				for (int i = 0; i < varNames.size(); i++) {
+					if (varTypes[i] == BinaryModelFormat.VAR_BOOL) {
+						basicModelInfo.getVarList().addVar(varNames.get(i), new DeclarationBool(), -1);
+					} else {
+						// Note: as for import from .sta files, we do not allow 0-range variables
+						int high = varHighs[i] == varLows[i] ? varHighs[i] + 1 : varHighs[i];
+						basicModelInfo.getVarList().addVar(varNames.get(i), new DeclarationInt(Expression.Int(varLows[i]), Expression.Int(high)), -1);
+					}
+				}
+			} else {
+				basicModelInfo.getVarList().addVar(defaultVariableName(), defaultVariableDeclarationType(), -1);
+			}
+			for (String labelName : labelNames) {
+				if (!("init".equals(labelName) || "deadlock".equals(labelName))) {
+					basicModelInfo.getLabelNameList().add(labelName);
+				}
+			}
+			if (modelType.multiplePlayers()) {
+				basicModelInfo.getPlayerNameList().addAll(playerNames);
+			}
+		}
+		return basicModelInfo;
+	}
+
+	@Override
+	public void extractStates(IOUtils.StateDefnConsumer storeStateDefn) throws PrismException
+	{
+		// If there is no info, just assume that states comprise a single integer value
+		if (!providesStates()) {
+			super.extractStates(storeStateDefn);
+			return;
+		}
+		int numVars = varNames.size();
+		IntBuffer values = mapInts(statesOffset, (long) numStates * numVars);
+		for (int s = 0, k = 0; s < numStates; s++) {
+			for (int i = 0; i < numVars; i++, k++) {
+				int v = values.get(k);
+				storeStateDefn.accept(s, i, varTypes[i] == BinaryModelFormat.VAR_BOOL ? (Object) (v != 0) : (Object) v);
+			}
+		}
+	}
+
+	@Override
+	public int getNumStates()
+	{
+		return numStates;
+	}
+
+	@Override
+	public int getNumChoices() throws PrismException
+	{
+		// Add extras if deadlocks are being fixed
+		return numChoices + (fixdl ? getNumDeadlockStates() : 0);
+	}
+
+	@Override
+	public int getNumTransitions() throws PrismException
+	{
+		// Add extras if deadlocks are being fixed
+		return numTransitions + (fixdl ? getNumDeadlockStates() : 0);
+	}
+
+	@Override
+	public BitSet getDeadlockStates() throws PrismException
+	{
+		// Do deadlock state detection lazily, as needed
+		if (deadlocks == null) {
+			IntBuffer rows = mapRowStarts();
+			deadlocks = new BitSet();
+			for (int s = 0; s < numStates; s++) {
+				if (rows.get(s) == rows.get(s + 1)) {
+					deadlocks.set(s);
+				}
+			}
+		}
+		return deadlocks;
+	}
+
+	@Override
+	public int getNumDeadlockStates() throws PrismException
+	{
+		return getDeadlockStates().cardinality();
+	}
+
+	@Override
+	public RewardInfo getRewardInfo() throws PrismException
+	{
+		// Construct lazily, as needed
+		if (basicRewardInfo == null) {
+			basicRewardInfo = new BasicRewardInfo();
+			int numRewards = rewardNames.size();
+			for (int r = 0; r < numRewards; r++) {
+				basicRewardInfo.addReward(rewardNames.get(r));
+				basicRewardInfo.setHasStateRewards(r, (rewardFlags[r] & BinaryModelFormat.FLAG_STATE_REWARDS) != 0);
+				basicRewardInfo.setHasTransitionRewards(r, (rewardFlags[r] & BinaryModelFormat.FLAG_TRANS_REWARDS) != 0);
+			}
+		}
+		return basicRewardInfo;
+	}
+
+	@Override
+	public int computeMaxNumChoices() throws PrismException
+	{
+		if (!modelType.nondeterministic()) {
+			return 1;
+		}
+		IntBuffer rows = mapRowStarts();
+		int max = 0;
+		for (int s = 0; s < numStates; s++) {
+			max = Math.max(max, rows.get(s + 1) - rows.get(s));
+		}
+		// Deadlocks being fixed have a single choice
+		return max == 0 && fixdl && numStates > 0 ? 1 : max;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <Value> void extractMCTransitions(IOUtils.MCTransitionConsumer<Value> storeTransition, Evaluator<Value> eval) throws PrismException
+	{
+		checkEvaluator(eval);
+		if (modelType.nondeterministic()) {
+			throw new PrismException("Cannot extract Markov chain transitions from a " + modelType);
+		}
+		IntBuffer rows = mapRowStarts();
+		IntBuffer cols = mapCols();
+		DoubleBuffer nonZeros = mapNonZeros();
+		IntBuffer actions = mapActions();
+		for (int s = 0; s < numStates; s++) {
+			int start = rows.get(s), end = rows.get(s + 1);
+			if (start == end && fixdl) {
+				storeTransition.accept(s, s, eval.one(), null);
+			}
+			for (int k = start; k < end; k++) {
+				storeTransition.accept(s, cols.get(k), (Value) (Double) nonZeros.get(k), actions == null ? null : getActionName(actions.get(k)));
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <Value> void extractMDPTransitions(IOUtils.MDPTransitionConsumer<Value> storeTransition, Evaluator<Value> eval) throws PrismException
+	{
+		checkEvaluator(eval);
+		if (!modelType.nondeterministic()) {
+			throw new PrismException("Cannot extract MDP transitions from a " + modelType);
+		}
+		IntBuffer rows = mapRowStarts();
+		IntBuffer choices = mapChoiceStarts();
+		IntBuffer cols = mapCols();
+		DoubleBuffer nonZeros = mapNonZeros();
+		IntBuffer actions = mapActions();
+		for (int s = 0; s < numStates; s++) {
+			int start = rows.get(s), end = rows.get(s + 1);
+			if (start == end && fixdl) {
+				storeTransition.accept(s, 0, s, eval.one(), null);
+			}
+			for (int j = start; j < end; j++) {
+				Object action = actions == null ? null : getActionName(actions.get(j));
+				for (int k = choices.get(j), stop = choices.get(j + 1); k < stop; k++) {
+					storeTransition.accept(s, j - start, cols.get(k), (Value) (Double) nonZeros.get(k), action);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void extractLTSTransitions(IOUtils.LTSTransitionConsumer storeTransition) throws PrismException
+	{
+		throw new PrismNotSupportedException("Binary model import not supported for LTSs");
+	}
+
+	@Override
+	public void extractStateOwners(BiConsumer<Integer, Integer> storeOwner) throws PrismException
+	{
+		IntBuffer owners = mapOwners();
+		if (owners == null) {
+			throw new PrismException("Binary PRISM model file \"" + file + "\" does not contain state owners");
+		}
+		for (int s = 0; s < numStates; s++) {
+			int p = owners.get(s);
+			if (p < -1 || p >= playerNames.size()) {
+				throw new PrismException("Invalid player index " + p + " for state " + s + " in binary PRISM model file \"" + file + "\"");
+			}
+			storeOwner.accept(s, p);
+		}
+	}
+
+	@Override
+	public void extractLabelsAndInitialStates(BiConsumer<Integer, Integer> storeLabel, Consumer<Integer> storeInit, Consumer<Integer> storeDeadlock) throws PrismException
+	{
+		int numLabels = labelNames.size();
+		if (numLabels == 0) {
+			return;
+		}
+		int bitsetLength = BinaryModelFormat.bitsetLength(numStates);
+		LongBuffer words = mapLongs(labelsOffset, (long) bitsetLength * numLabels);
+		long labelWords[] = new long[bitsetLength];
+		List<String> modelLabelNames = getModelInfo().getLabelNames();
+		for (int l = 0; l < numLabels; l++) {
+			String labelName = labelNames.get(l);
+			words.get(labelWords);
+			BitSet bs = BitSet.valueOf(labelWords);
+			if (bs.length() > numStates) {
+				throw new PrismException("Binary PRISM model file \"" + file + "\" is corrupt (invalid state in label \"" + labelName + "\")");
+			}
+			if ("init".equals(labelName)) {
+				bs.stream().forEach(storeInit::accept);
+			} else if ("deadlock".equals(labelName)) {
+				if (storeDeadlock != null) {
+					bs.stream().forEach(storeDeadlock::accept);
+				}
+			} else {
+				int lModel = modelLabelNames.indexOf(labelName);
+				bs.stream().forEach(s -> storeLabel.accept(s, lModel));
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <Value> void extractStateRewards(int rewardIndex, BiConsumer<Integer, Value> storeReward, Evaluator<Value> eval) throws PrismException
+	{
+		checkEvaluator(eval);
+		if ((rewardFlags[rewardIndex] & BinaryModelFormat.FLAG_STATE_REWARDS) == 0) {
+			return;
+		}
+		DoubleBuffer rews = mapDoubles(stateRewardsOffsets[rewardIndex], numStates);
+		for (int s = 0; s < numStates; s++) {
+			double d = rews.get(s);
+			if (d != 0.0) {
+				storeReward.accept(s, (Value) (Double) d);
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <Value> void extractMCTransitionRewards(int rewardIndex, IOUtils.TransitionRewardConsumer<Value> storeReward, Evaluator<Value> eval) throws PrismException
+	{
+		checkEvaluator(eval);
+		if ((rewardFlags[rewardIndex] & BinaryModelFormat.FLAG_TRANS_REWARDS) == 0) {
+			return;
+		}
+		IntBuffer rows = mapRowStarts();
+		IntBuffer cols = mapCols();
+		DoubleBuffer rews = mapDoubles(transRewardsOffsets[rewardIndex], numTransitions);
+		for (int s = 0; s < numStates; s++) {
+			for (int k = rows.get(s), start = k, end = rows.get(s + 1); k < end; k++) {
+				double d = rews.get(k);
+				if (d != 0.0) {
+					int i = transitionRewardIndexing == TransitionRewardIndexing.STATE ? cols.get(k) : k - start;
+					storeReward.accept(s, i, (Value) (Double) d);
+				}
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <Value> void extractMDPTransitionRewards(int rewardIndex, IOUtils.TransitionRewardConsumer<Value> storeReward, Evaluator<Value> eval) throws PrismException
+	{
+		checkEvaluator(eval);
+		if ((rewardFlags[rewardIndex] & BinaryModelFormat.FLAG_TRANS_REWARDS) == 0) {
+			return;
+		}
+		IntBuffer rows = mapRowStarts();
+		DoubleBuffer rews = mapDoubles(transRewardsOffsets[rewardIndex], numChoices);
+		for (int s = 0; s < numStates; s++) {
+			for (int j = rows.get(s), start = j, end = rows.get(s + 1); j < end; j++) {
+				double d = rews.get(j);
+				if (d != 0.0) {
+					storeReward.accept(s, j - start, (Value) (Double) d);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the name of the action with index {@code a} (null if {@code a} is -1).
+	 */
+	private Object getActionName(int a)
+	{
+		return a < 0 ? null : actionNames.get(a);
+	}
+
+	/**
+	 * Check that values are being extracted as doubles (the only type stored).
+	 */
+	private static void checkEvaluator(Evaluator<?> eval) throws PrismException
+	{
+		if (!(eval.one() instanceof Double)) {
+			throw new PrismNotSupportedException("Binary model import is only supported for floating-point values");
+		}
+	}
+}
@@ -204,6 +204,8 @@ public abstract class ExplicitModelImporter
 	/**
 	 * Extract the (Markov decision process) transitions.
 	 * The transition probabilities/rates are assumed to be of type Value.
+	 * This is also used for games; for concurrent games, the action
+	 * for each transition is a {@link prism.JointAction}.
 	 * @param storeTransition Function to be called for each transition
 	 * @param eval Evaluator for Value objects
 	 */
@@ -215,6 +217,14 @@ public abstract class ExplicitModelImporter
 	 */
 	public abstract void extractLTSTransitions(IOUtils.LTSTransitionConsumer storeTransition) throws PrismException;
 
+	/**
+	 * Extract the owners of states (for turn-based games).
+	 * Calls {@code storeOwner(s, p)} for each state s owned by (0-indexed) player p,
+	 * where the players match the player list from {@link #getModelInfo()}.
+	 * @param storeOwner Function to be called for each state's owner
+	 */
+	public abstract void extractStateOwners(BiConsumer<Integer, Integer> storeOwner) throws PrismException;
+
 	/**
 	 * Extract info about state labellings and initial states.
 	 * Calls {@code storeLabel(s, i)} for each state s satisfying label l,
@@ -5,7 +5,7 @@ package io;
  */
 public enum ModelExportFormat
 {
-	EXPLICIT, MATLAB, DOT, DD_DOT, DRN;
+	EXPLICIT, MATLAB, DOT, DD_DOT, DRN, BINARY;
 
 	public String description()
 	{
@@ -20,6 +20,8 @@ public enum ModelExportFormat
 				return "in DD Dot format";
 			case DRN:
 				return "in DRN format";
+			case BINARY:
+				return "in binary format";
 			default:
 				return this.toString();
 		}
@@ -46,7 +46,8 @@ public class ModelExportTask
 		TRANSITION_REWARDS, // Transition rewards
 		STATES, // State definitions (variable values)
 		OBSERVATIONS, // Observation definitions (observable values)
-		LABELS; // Labels (atomic propositions)
+		LABELS, // Labels (atomic propositions)
+		PLAYERS; // Player names (for games)
 		public String description()
 		{
 			switch (this) {
@@ -62,6 +63,8 @@ public class ModelExportTask
 					return "observations";
 				case LABELS:
 					return "labels and satisfying states";
+				case PLAYERS:
+					return "players";
 				default:
 					return this.toString();
 			}
@@ -195,10 +198,14 @@ public class ModelExportTask
 				return new ModelExportTask(ModelExportEntity.OBSERVATIONS, filename);
 			case "lab":
 				return new ModelExportTask(ModelExportEntity.LABELS, filename);
+			case "pla":
+				return new ModelExportTask(ModelExportEntity.PLAYERS, filename);
 			case "dot":
 				return fromFormat(filename, ModelExportFormat.DOT);
 			case "drn":
 				return fromFormat(filename, ModelExportFormat.DRN);
+			case BinaryModelFormat.EXTENSION:
+				return fromFormat(filename, ModelExportFormat.BINARY);
 			default:
 				// Treat unknown extensions as .tra
 				return new ModelExportTask(ModelExportEntity.MODEL, filename);
@@ -245,6 +252,7 @@ public class ModelExportTask
 				exportTask.getExportOptions().setShowStates(true);
 				break;
 			case DRN:
+			case BINARY:
 				exportTask = new ModelExportTask(ModelExportEntity.MODEL, file);
 				break;
 			default:
@@ -330,6 +338,9 @@ public class ModelExportTask
 		if (entity == ModelExportEntity.OBSERVATIONS && !modelInfo.getModelType().partiallyObservable()) {
 			return false;
 		}
+		if (entity == ModelExportEntity.PLAYERS && !modelInfo.getModelType().multiplePlayers()) {
+			return false;
+		}
 		return true;
 	}
 
@@ -327,6 +327,21 @@ public class PrismExplicitExporter<Value> extends ModelExporter<Value>
 		}
 	}
 
+	/**
+	 * Export the players of a game (their names, as a single line,
+	 * in the same style as the label names of a .lab file).
+	 * @param model The model
+	 * @param out Where to export
+	 */
+	public void exportPlayers(Model<Value> model, PrismLog out) throws PrismException
+	{
+		int numPlayers = model.getNumPlayers();
+		for (int p = 0; p < numPlayers; p++) {
+			out.print((p > 0 ? " " : "") + p + "=\"" + ((PlayerInfoOwner) model).getPlayerName(p) + "\"");
+		}
+		out.println();
+	}
+
 	/**
 	 * Export a set of labels and the states that satisfy them.
 	 * @param model The model
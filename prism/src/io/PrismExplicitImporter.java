@@ -33,6 +33,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -63,6 +64,7 @@ import parser.type.TypeInt;
 import prism.BasicModelInfo;
 import prism.BasicRewardInfo;
 import prism.Evaluator;
+import prism.JointAction;
 import prism.ModelInfo;
 import prism.ModelType;
 import prism.Prism;
@@ -81,6 +83,7 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 	private File statesFile;
 	private File transFile;
 	private File labelsFile;
+	private File playersFile;
 	private List<File> stateRewardsFiles;
 	private List<File> transRewardsFiles;
 	private ModelType typeOverride;
@@ -97,6 +100,7 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 		int numStates = 0;
 		int numChoices = 0;
 		int numTransitions = 0;
+		int numPlayers = 0;
 	}
 	private ModelStats modelStats;
 
@@ -200,6 +204,15 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 		this.labelsFile = labelsFile;
 	}
 
+	/**
+	 * Set the players file (for games).
+	 * @param playersFile Players file (may be {@code null})
+	 */
+	public void setPlayersFile(File playersFile)
+	{
+		this.playersFile = playersFile;
+	}
+
 	/**
 	 * Add a state rewards file.
 	 * @param stateRewardsFile State rewards file
@@ -244,6 +257,14 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 		return labelsFile;
 	}
 
+	/**
+	 * Get the players file (null if not used).
+	 */
+	public File getPlayersFile()
+	{
+		return playersFile;
+	}
+
 	/**
 	 * Get a list of all files being imported from.
 	 */
@@ -259,6 +280,9 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 		if (labelsFile != null) {
 			allFiles.add(labelsFile);
 		}
+		if (playersFile != null) {
+			allFiles.add(playersFile);
+		}
 		if (stateRewardsFiles != null) {
 			allFiles.addAll(stateRewardsFiles);
 		}
@@ -433,6 +457,22 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 		} else {
 			labelMap = new ArrayList<>();
 		}
+
+		// For games, store player names, from the players file if available
+		// (otherwise, players are unnamed)
+		if (modelType.multiplePlayers()) {
+			if (modelStats.numPlayers == 0) {
+				throw new PrismException("Transitions file \"" + transFile + "\" does not specify a number of players");
+			}
+			if (playersFile != null) {
+				extractPlayerNamesFromPlayersFile(playersFile);
+			} else {
+				basicModelInfo.getPlayerNameList().addAll(Collections.nCopies(modelStats.numPlayers, ""));
+			}
+			if (modelType == ModelType.STPG && modelStats.numPlayers != 2) {
+				throw new PrismException("An STPG should define exactly 2 players");
+			}
+		}
 	}
 
 	/**
@@ -538,6 +578,12 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 			}
 			String[] record = csv.nextRecord();
 			checkLineSize(record, 2, 3);
+			// For games, the number of states is followed by the number of players, e.g. "10:2"
+			int colon = record[0].indexOf(':');
+			if (colon != -1) {
+				modelStats.numPlayers = Integer.parseInt(record[0].substring(colon + 1));
+				record[0] = record[0].substring(0, colon);
+			}
 			modelStats.numStates = Integer.parseInt(record[0]);
 			if (record.length == 2) {
 				modelStats.numChoices = modelStats.numStates;
@@ -606,6 +652,52 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 		}
 	}
 
+	/**
+	 * Extract names of players from the players file.
+	 * These are stored in the player name list within basicModelInfo.
+	 */
+	private void extractPlayerNamesFromPlayersFile(File playersFile) throws PrismException
+	{
+		int lineNum = 1;
+		try (BufferedReader in = new BufferedReader(new FileReader(playersFile))) {
+			// Read/parse first line (player names)
+			// Looks like, e.g.: 0="p1" 1="p2"
+			String playersString = in.readLine();
+			if (playersString == null) {
+				throw new PrismException("empty players file");
+			}
+			Pattern player = Pattern.compile("(\\d+)=\"([^\"]*)\"\\s*");
+			Matcher matcher = player.matcher(playersString);
+			List<String> playerNames = basicModelInfo.getPlayerNameList();
+			while (matcher.find()) {
+				// Check indices are ascending/contiguous
+				int playerIndex = checkPlayerIndex(matcher.group(1));
+				if (playerIndex != playerNames.size()) {
+					throw new PrismException("unexpected player index " + playerIndex);
+				}
+				// Check name legal (or empty) and non-dupe
+				String playerName = matcher.group(2);
+				if (!"".equals(playerName)) {
+					if (!ExpressionIdent.isLegalIdentifierName(playerName)) {
+						throw new PrismException("illegal player name \"" + playerName + "\"");
+					}
+					if (playerNames.contains(playerName)) {
+						throw new PrismException("duplicate player name \"" + playerName + "\"");
+					}
+				}
+				playerNames.add(playerName);
+			}
+			if (playerNames.size() != modelStats.numPlayers) {
+				throw new PrismException("found " + playerNames.size() + " players, not " + modelStats.numPlayers + " as in transitions file");
+			}
+		} catch (IOException e) {
+			throw new PrismException("File I/O error reading from \"" + playersFile + "\"");
+		} catch (PrismException e) {
+			String expl = (e.getMessage() == null || e.getMessage().isEmpty()) ? "" : (" (" + e.getMessage() + ")");
+			throw new PrismException("Error detected" + expl + " at line " + lineNum + " of players file \"" + playersFile + "\"");
+		}
+	}
+
 	/**
 	 * Autodetect the model type based on a sample of the lines from a transitions file.
 	 * If not possible, return null;
@@ -627,6 +719,16 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 			}
 			// Detect if model is nondeterministic
 			String[] recordFirst = csv.nextRecord();
+			// A number of players (e.g. "10:2") indicates a game:
+			// turn-based if states are annotated with players (e.g. "0:1"), otherwise concurrent
+			if (recordFirst.length == 3 && recordFirst[0].contains(":")) {
+				for (String[] record : csv) {
+					if (!"".equals(record[0])) {
+						return record[0].contains(":") ? ModelType.SMG : ModelType.CSG;
+					}
+				}
+				return null;
+			}
 			if (recordFirst.length == 3) {
 				nondet = true;
 			} else if (recordFirst.length == 2) {
@@ -714,7 +816,7 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 				// Lines should be 3-5 long (LTS/MDP with/without actions)
 				checkLineSize(record, 3, 5);
 				// Extract/store source state
-				int s = checkStateIndex(Integer.parseInt(record[0]), modelStats.numStates);
+				int s = checkSourceStateIndex(record[0]);
 				statesWithTransitions.set(s);
 			}
 		} catch (IOException e) {
@@ -871,6 +973,9 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 			deadlocks = getDeadlockStates();
 			nextDeadlock = deadlocks.nextSetBit(0);
 		}
+		// For concurrent games, actions are joint actions (and all players idle in added self-loops)
+		boolean concurrent = getModelInfo().getModelType().concurrent();
+		Object deadlockAction = concurrent ? idleJointAction(modelStats.numPlayers) : null;
 		int lineNum = 0;
 		try (BufferedReader in = new BufferedReader(new FileReader(transFile))) {
 			lineNum += skipCommentAndFirstLine(in);
@@ -883,14 +988,19 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 					continue;
 				}
 				checkLineSize(record, 4, 5);
-				int s = checkStateIndex(Integer.parseInt(record[0]), modelStats.numStates);
+				int s = checkSourceStateIndex(record[0]);
 				int i = checkChoiceIndex(Integer.parseInt(record[1]));
 				int s2 = checkStateIndex(Integer.parseInt(record[2]), modelStats.numStates);
 				Value v = checkValue(record[3], eval);
-				Object a = (record.length > 4) ? checkAction(record[4]) : null;
+				Object a;
+				if (concurrent) {
+					a = checkJointAction(record.length > 4 ? record[4] : null, modelStats.numPlayers);
+				} else {
+					a = (record.length > 4) ? checkAction(record[4]) : null;
+				}
 				// Add self-loops for any deadlock states before s
 				while (nextDeadlock != -1 && nextDeadlock < s) {
-					storeTransition.accept(nextDeadlock, 0, nextDeadlock, eval.one(), null);
+					storeTransition.accept(nextDeadlock, 0, nextDeadlock, eval.one(), deadlockAction);
 					nextDeadlock = deadlocks.nextSetBit(nextDeadlock + 1);
 				}
 				// Add transition
@@ -898,7 +1008,7 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 			}
 			// Add self-loops for any remaining deadlock states
 			while (nextDeadlock != -1) {
-				storeTransition.accept(nextDeadlock, 0, nextDeadlock, eval.one(), null);
+				storeTransition.accept(nextDeadlock, 0, nextDeadlock, eval.one(), deadlockAction);
 				nextDeadlock = deadlocks.nextSetBit(nextDeadlock + 1);
 			}
 		} catch (IOException e) {
@@ -955,6 +1065,38 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 		}
 	}
 
+	@Override
+	public void extractStateOwners(BiConsumer<Integer, Integer> storeOwner) throws PrismException
+	{
+		int numPlayers = getModelInfo().getNumPlayers();
+		int lineNum = 0;
+		try (BufferedReader in = new BufferedReader(new FileReader(transFile))) {
+			lineNum += skipCommentAndFirstLine(in);
+			BasicReader reader = BasicReader.wrap(in).normalizeLineEndings();
+			CsvReader csv = new CsvReader(reader, false, false, false, ' ', LF);
+			for (String[] record : csv) {
+				lineNum++;
+				if ("".equals(record[0])) {
+					// Skip blank lines
+					continue;
+				}
+				// Source state and owner are given as "s:p"
+				int colon = record[0].indexOf(':');
+				if (colon == -1) {
+					throw new PrismException("missing player for state");
+				}
+				int s = checkStateIndex(Integer.parseInt(record[0].substring(0, colon)), modelStats.numStates);
+				int p = checkPlayerIndex(record[0].substring(colon + 1), numPlayers);
+				storeOwner.accept(s, p);
+			}
+		} catch (IOException e) {
+			throw new PrismException("File I/O error reading from \"" + transFile + "\"");
+		} catch (PrismException | NumberFormatException | CsvFormatException e) {
+			String expl = (e.getMessage() == null || e.getMessage().isEmpty()) ? "" : (" (" + e.getMessage() + ")");
+			throw new PrismException("Error detected" + expl + " at line " + lineNum + " of transitions file \"" + transFile + "\"");
+		}
+	}
+
 	@Override
 	public void extractLabelsAndInitialStates(BiConsumer<Integer, Integer> storeLabel, Consumer<Integer> storeInit, Consumer<Integer> storeDeadlock) throws PrismException
 	{
@@ -1422,6 +1564,16 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 		return s;
 	}
 
+	/**
+	 * Check the (source) state index at the start of a transitions file line and return it.
+	 * For turn-based games, this is followed by the state's owner (e.g. "0:1"), which is ignored here.
+	 */
+	protected int checkSourceStateIndex(String s) throws PrismException
+	{
+		int colon = s.indexOf(':');
+		return checkStateIndex(Integer.parseInt(colon == -1 ? s : s.substring(0, colon)), modelStats.numStates);
+	}
+
 	protected static int checkChoiceIndex(int i) throws PrismException
 	{
 		if (i < 0) {
@@ -1443,6 +1595,35 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 		}
 	}
 
+	protected static int checkPlayerIndex(String s) throws PrismException
+	{
+		try {
+			int i = Integer.parseInt(s);
+			if (i < 0) {
+				throw new PrismException("player index " + i + " is invalid");
+			}
+			return i;
+		} catch (NumberFormatException e) {
+			throw new PrismException("player index \"" + s + "\" is invalid");
+		}
+	}
+
+	/**
+	 * Check the index of the player owning a state (where -1 denotes no player).
+	 */
+	protected static int checkPlayerIndex(String s, int numPlayers) throws PrismException
+	{
+		try {
+			int i = Integer.parseInt(s);
+			if (i < -1 || i >= numPlayers) {
+				throw new PrismException("player index " + i + " is invalid");
+			}
+			return i;
+		} catch (NumberFormatException e) {
+			throw new PrismException("player index \"" + s + "\" is invalid");
+		}
+	}
+
 	protected static <Value> Value checkValue(String v, Evaluator<Value> eval) throws PrismException
 	{
 		try {
@@ -1469,6 +1650,46 @@ public class PrismExplicitImporter extends ExplicitModelImporter
 		return a;
 	}
 
+	/**
+	 * Check that a (string) joint action, e.g. "[a,-,b]", is legal for a concurrent game
+	 * with {@code numPlayers} players, and return it as a {@link JointAction} if so.
+	 * Otherwise, an explanatory exception is thrown.
+	 * Each player's action is either "-" (idle) or a legal PRISM identifier.
+	 */
+	protected static JointAction checkJointAction(String a, int numPlayers) throws PrismException
+	{
+		if (a == null || a.length() < 2 || a.charAt(0) != '[' || a.charAt(a.length() - 1) != ']') {
+			throw new PrismException("missing or invalid joint action" + (a == null ? "" : " \"" + a + "\""));
+		}
+		String[] ss = a.substring(1, a.length() - 1).split(",", -1);
+		if (ss.length != numPlayers) {
+			throw new PrismException("joint action \"" + a + "\" is not for " + numPlayers + " players");
+		}
+		JointAction jointAction = new JointAction();
+		for (String ai : ss) {
+			if (JointAction.IDLE_ACTION_STRING.equals(ai)) {
+				jointAction.add(JointAction.IDLE_ACTION);
+			} else if (Prism.isValidIdentifier(ai)) {
+				jointAction.add(ai);
+			} else {
+				throw new PrismException("invalid action name \"" + ai + "\" in joint action \"" + a + "\"");
+			}
+		}
+		return jointAction;
+	}
+
+	/**
+	 * Create a joint action in which all {@code numPlayers} players idle.
+	 */
+	protected static JointAction idleJointAction(int numPlayers)
+	{
+		JointAction jointAction = new JointAction();
+		for (int p = 0; p < numPlayers; p++) {
+			jointAction.add(JointAction.IDLE_ACTION);
+		}
+		return jointAction;
+	}
+
 	protected static String checkRewardName(String rewardStructName) throws PrismException
 	{
 		if (rewardStructName == null) {
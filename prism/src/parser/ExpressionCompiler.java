@@ -0,0 +1,698 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package parser;
+
+import parser.EvaluateContext.EvalMode;
+import parser.ast.Expression;
+import parser.ast.ExpressionBinaryOp;
+import parser.ast.ExpressionConstant;
+import parser.ast.ExpressionFormula;
+import parser.ast.ExpressionFunc;
+import parser.ast.ExpressionITE;
+import parser.ast.ExpressionLiteral;
+import parser.ast.ExpressionUnaryOp;
+import parser.ast.ExpressionVar;
+import parser.ast.Update;
+import parser.type.Type;
+import parser.type.TypeBool;
+import parser.type.TypeDouble;
+import parser.type.TypeInt;
+import prism.PrismLangException;
+import prism.PrismUtils;
+
+/**
+ * Compilation of (type-checked) expressions into trees of closures that can be evaluated
+ * directly over the variable values of a {@link State}, for (repeated) evaluation during model
+ * construction, e.g. of guards, probabilities, updates and rewards.
+ * <br><br>
+ * Compared to {@link Expression#evaluate(EvaluateContext)}, compiled expressions
+ * work on primitive (int/double/boolean) values, so there is no boxing of intermediate values,
+ * and do not need an {@link EvaluateContext}. Results (and errors, e.g., on overflow)
+ * are identical to those of floating point ({@link EvalMode#FP}) evaluation.
+ * <br><br>
+ * Only a subset of expressions is supported (literals, constants, variables, operators,
+ * if-then-else, formulas and standard functions); the compile methods return null
+ * for any other expression, in which case the usual evaluation methods should be used instead.
+ */
+public class ExpressionCompiler
+{
+	/**
+	 * A compiled boolean-valued expression.
+	 */
+	@FunctionalInterface
+	public interface CompiledBoolean
+	{
+		boolean evaluate(State state) throws PrismLangException;
+	}
+
+	/**
+	 * A compiled integer-valued expression.
+	 */
+	@FunctionalInterface
+	public interface CompiledInt
+	{
+		int evaluate(State state) throws PrismLangException;
+	}
+
+	/**
+	 * A compiled double-valued expression.
+	 */
+	@FunctionalInterface
+	public interface CompiledDouble
+	{
+		double evaluate(State state) throws PrismLangException;
+	}
+
+	/**
+	 * A compiled {@link Update}: see {@link Update#update(State, State, boolean, VarList)}.
+	 */
+	@FunctionalInterface
+	public interface CompiledUpdate
+	{
+		void update(State oldState, State newState) throws PrismLangException;
+	}
+
+	/**
+	 * A compiled expression, evaluating to an Object of the right kind for its type
+	 * (i.e., as returned by {@link Type#castValueTo(Object, EvalMode)}).
+	 */
+	@FunctionalInterface
+	private interface CompiledObject
+	{
+		Object evaluate(State state) throws PrismLangException;
+	}
+
+	/**
+	 * Exception used internally when (part of) an expression cannot be compiled.
+	 */
+	@SuppressWarnings("serial")
+	private static class NotCompilableException extends Exception
+	{
+		public NotCompilableException()
+		{
+			super(null, null, false, false);
+		}
+	}
+
+	/** Values for constants (may be null) */
+	private Values constantValues;
+
+	/**
+	 * Create a compiler for expressions with no (unresolved) constants.
+	 */
+	public ExpressionCompiler()
+	{
+		this(null);
+	}
+
+	/**
+	 * Create a compiler for expressions, using the values in {@code constantValues}
+	 * (which may be null) for any constants appearing in them.
+	 */
+	public ExpressionCompiler(Values constantValues)
+	{
+		this.constantValues = constantValues;
+	}
+
+	// Compilation methods
+
+	/**
+	 * Compile a boolean-valued expression, as for {@link Expression#evaluateBoolean(State)}.
+	 * Returns null if the expression cannot be compiled.
+	 */
+	public CompiledBoolean compileBoolean(Expression expr)
+	{
+		try {
+			return compileToBoolean(expr);
+		} catch (NotCompilableException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Compile an integer-valued expression, as for {@link Expression#evaluateInt(State)}.
+	 * Returns null if the expression cannot be compiled.
+	 */
+	public CompiledInt compileInt(Expression expr)
+	{
+		try {
+			return compileToInt(expr);
+		} catch (NotCompilableException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Compile a double-valued (or integer-valued) expression, as for {@link Expression#evaluateDouble(State)}.
+	 * Returns null if the expression cannot be compiled.
+	 */
+	public CompiledDouble compileDouble(Expression expr)
+	{
+		try {
+			return compileToDouble(expr);
+		} catch (NotCompilableException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Compile an update, as for {@link Update#update(State, State, boolean, VarList)} (in non-exact mode).
+	 * Returns null if the update cannot be compiled (this includes updates that refer to primed variables).
+	 */
+	public CompiledUpdate compileUpdate(Update update)
+	{
+		try {
+			int n = update.getNumElements();
+			int indices[] = new int[n];
+			CompiledObject values[] = new CompiledObject[n];
+			for (int i = 0; i < n; i++) {
+				indices[i] = update.getVarIndex(i);
+				if (indices[i] < 0) {
+					throw new NotCompilableException();
+				}
+				values[i] = compileToObject(update.getExpression(i), update.getType(i));
+			}
+			if (n == 1) {
+				int index = indices[0];
+				CompiledObject value = values[0];
+				return (oldState, newState) -> newState.varValues[index] = value.evaluate(oldState);
+			}
+			return (oldState, newState) -> {
+				for (int i = 0; i < n; i++) {
+					newState.varValues[indices[i]] = values[i].evaluate(oldState);
+				}
+			};
+		} catch (NotCompilableException e) {
+			return null;
+		}
+	}
+
+	// Compilation to each kind of result
+
+	/**
+	 * Compile an expression, whose value is cast to {@code type}.
+	 */
+	private CompiledObject compileToObject(Expression expr, Type type) throws NotCompilableException
+	{
+		if (type instanceof TypeBool) {
+			CompiledBoolean c = compileToBoolean(expr);
+			return s -> c.evaluate(s);
+		} else if (type instanceof TypeInt) {
+			CompiledInt c = compileToInt(expr);
+			return s -> c.evaluate(s);
+		} else if (type instanceof TypeDouble) {
+			CompiledDouble c = compileToDouble(expr);
+			return s -> c.evaluate(s);
+		}
+		throw new NotCompilableException();
+	}
+
+	private CompiledBoolean compileToBoolean(Expression expr) throws NotCompilableException
+	{
+		if (!(expr.getType() instanceof TypeBool)) {
+			throw new NotCompilableException();
+		}
+		if (expr instanceof ExpressionLiteral || expr instanceof ExpressionConstant) {
+			boolean b = (Boolean) evaluateConstant(expr);
+			return b ? s -> true : s -> false;
+		}
+		if (expr instanceof ExpressionVar) {
+			ExpressionVar exprVar = (ExpressionVar) expr;
+			int index = checkVar(exprVar);
+			return s -> {
+				Object v = s.varValues[index];
+				return v instanceof Boolean ? (Boolean) v : (Boolean) castVarValue(exprVar, v);
+			};
+		}
+		if (expr instanceof ExpressionFormula) {
+			return compileToBoolean(getFormulaDefinition((ExpressionFormula) expr));
+		}
+		if (expr instanceof ExpressionUnaryOp) {
+			ExpressionUnaryOp exprUnary = (ExpressionUnaryOp) expr;
+			switch (exprUnary.getOperator()) {
+			case ExpressionUnaryOp.NOT:
+				CompiledBoolean c = compileToBoolean(exprUnary.getOperand());
+				return s -> !c.evaluate(s);
+			case ExpressionUnaryOp.PARENTH:
+				return compileToBoolean(exprUnary.getOperand());
+			}
+			throw new NotCompilableException();
+		}
+		if (expr instanceof ExpressionBinaryOp) {
+			return compileBinaryOpToBoolean((ExpressionBinaryOp) expr);
+		}
+		if (expr instanceof ExpressionITE) {
+			ExpressionITE exprITE = (ExpressionITE) expr;
+			CompiledBoolean c1 = compileToBoolean(exprITE.getOperand1());
+			CompiledBoolean c2 = compileToBoolean(exprITE.getOperand2());
+			CompiledBoolean c3 = compileToBoolean(exprITE.getOperand3());
+			return s -> c1.evaluate(s) ? c2.evaluate(s) : c3.evaluate(s);
+		}
+		throw new NotCompilableException();
+	}
+
+	private CompiledInt compileToInt(Expression expr) throws NotCompilableException
+	{
+		if (!(expr.getType() instanceof TypeInt)) {
+			throw new NotCompilableException();
+		}
+		if (expr instanceof ExpressionLiteral || expr instanceof ExpressionConstant) {
+			int i = (Integer) evaluateConstant(expr);
+			return s -> i;
+		}
+		if (expr instanceof ExpressionVar) {
+			ExpressionVar exprVar = (ExpressionVar) expr;
+			int index = checkVar(exprVar);
+			return s -> {
+				Object v = s.varValues[index];
+				return v instanceof Integer ? (Integer) v : (Integer) castVarValue(exprVar, v);
+			};
+		}
+		if (expr instanceof ExpressionFormula) {
+			return compileToInt(getFormulaDefinition((ExpressionFormula) expr));
+		}
+		if (expr instanceof ExpressionUnaryOp) {
+			ExpressionUnaryOp exprUnary = (ExpressionUnaryOp) expr;
+			switch (exprUnary.getOperator()) {
+			case ExpressionUnaryOp.MINUS:
+				CompiledInt c = compileToInt(exprUnary.getOperand());
+				return s -> {
+					try {
+						return Math.negateExact(c.evaluate(s));
+					} catch (ArithmeticException e) {
+						throw new PrismLangException(e.getMessage(), exprUnary);
+					}
+				};
+			case ExpressionUnaryOp.PARENTH:
+				return compileToInt(exprUnary.getOperand());
+			}
+			throw new NotCompilableException();
+		}
+		if (expr instanceof ExpressionBinaryOp) {
+			return compileBinaryOpToInt((ExpressionBinaryOp) expr);
+		}
+		if (expr instanceof ExpressionITE) {
+			ExpressionITE exprITE = (ExpressionITE) expr;
+			CompiledBoolean c1 = compileToBoolean(exprITE.getOperand1());
+			CompiledInt c2 = compileToInt(exprITE.getOperand2());
+			CompiledInt c3 = compileToInt(exprITE.getOperand3());
+			return s -> c1.evaluate(s) ? c2.evaluate(s) : c3.evaluate(s);
+		}
+		if (expr instanceof ExpressionFunc) {
+			return compileFuncToInt((ExpressionFunc) expr);
+		}
+		throw new NotCompilableException();
+	}
+
+	/**
+	 * Compile an expression of type double (or int, in which case the result is cast to a double).
+	 */
+	private CompiledDouble compileToDouble(Expression expr) throws NotCompilableException
+	{
+		if (expr.getType() instanceof TypeInt) {
+			CompiledInt c = compileToInt(expr);
+			return s -> c.evaluate(s);
+		}
+		if (!(expr.getType() instanceof TypeDouble)) {
+			throw new NotCompilableException();
+		}
+		if (expr instanceof ExpressionLiteral || expr instanceof ExpressionConstant) {
+			double d = (Double) evaluateConstant(expr);
+			return s -> d;
+		}
+		if (expr instanceof ExpressionVar) {
+			ExpressionVar exprVar = (ExpressionVar) expr;
+			int index = checkVar(exprVar);
+			return s -> {
+				Object v = s.varValues[index];
+				return v instanceof Double ? (Double) v : (Double) castVarValue(exprVar, v);
+			};
+		}
+		if (expr instanceof ExpressionFormula) {
+			return compileToDouble(getFormulaDefinition((ExpressionFormula) expr));
+		}
+		if (expr instanceof ExpressionUnaryOp) {
+			ExpressionUnaryOp exprUnary = (ExpressionUnaryOp) expr;
+			switch (exprUnary.getOperator()) {
+			case ExpressionUnaryOp.MINUS:
+				CompiledDouble c = compileToDouble(exprUnary.getOperand());
+				return s -> -c.evaluate(s);
+			case ExpressionUnaryOp.PARENTH:
+				return compileToDouble(exprUnary.getOperand());
+			}
+			throw new NotCompilableException();
+		}
+		if (expr instanceof ExpressionBinaryOp) {
+			return compileBinaryOpToDouble((ExpressionBinaryOp) expr);
+		}
+		if (expr instanceof ExpressionITE) {
+			ExpressionITE exprITE = (ExpressionITE) expr;
+			CompiledBoolean c1 = compileToBoolean(exprITE.getOperand1());
+			CompiledDouble c2 = compileToDouble(exprITE.getOperand2());
+			CompiledDouble c3 = compileToDouble(exprITE.getOperand3());
+			return s -> c1.evaluate(s) ? c2.evaluate(s) : c3.evaluate(s);
+		}
+		if (expr instanceof ExpressionFunc) {
+			return compileFuncToDouble((ExpressionFunc) expr);
+		}
+		throw new NotCompilableException();
+	}
+
+	// Compilation of operators/functions (see ExpressionBinaryOp.apply(...) and ExpressionFunc.apply(...))
+
+	private CompiledBoolean compileBinaryOpToBoolean(ExpressionBinaryOp expr) throws NotCompilableException
+	{
+		Expression operand1 = expr.getOperand1();
+		Expression operand2 = expr.getOperand2();
+		Type type1 = operand1.getType();
+		Type type2 = operand2.getType();
+		int op = expr.getOperator();
+		switch (op) {
+		case ExpressionBinaryOp.IMPLIES:
+		case ExpressionBinaryOp.IFF:
+		case ExpressionBinaryOp.OR:
+		case ExpressionBinaryOp.AND: {
+			CompiledBoolean c1 = compileToBoolean(operand1);
+			CompiledBoolean c2 = compileToBoolean(operand2);
+			switch (op) {
+			case ExpressionBinaryOp.IMPLIES:
+				return s -> !c1.evaluate(s) || c2.evaluate(s);
+			case ExpressionBinaryOp.IFF:
+				return s -> c1.evaluate(s) == c2.evaluate(s);
+			case ExpressionBinaryOp.OR:
+				return s -> c1.evaluate(s) || c2.evaluate(s);
+			default:
+				return s -> c1.evaluate(s) && c2.evaluate(s);
+			}
+		}
+		case ExpressionBinaryOp.EQ:
+		case ExpressionBinaryOp.NE: {
+			boolean eq = op == ExpressionBinaryOp.EQ;
+			if (type1 instanceof TypeBool && type2 instanceof TypeBool) {
+				CompiledBoolean c1 = compileToBoolean(operand1);
+				CompiledBoolean c2 = compileToBoolean(operand2);
+				return eq ? s -> c1.evaluate(s) == c2.evaluate(s) : s -> c1.evaluate(s) != c2.evaluate(s);
+			}
+			if (type1 instanceof TypeInt && type2 instanceof TypeInt) {
+				CompiledInt c1 = compileToInt(operand1);
+				CompiledInt c2 = compileToInt(operand2);
+				return eq ? s -> c1.evaluate(s) == c2.evaluate(s) : s -> c1.evaluate(s) != c2.evaluate(s);
+			}
+			// Otherwise compared as doubles, using Double.equals() semantics
+			CompiledDouble c1 = compileToDouble(operand1);
+			CompiledDouble c2 = compileToDouble(operand2);
+			if (eq) {
+				return s -> Double.doubleToLongBits(c1.evaluate(s)) == Double.doubleToLongBits(c2.evaluate(s));
+			} else {
+				return s -> Double.doubleToLongBits(c1.evaluate(s)) != Double.doubleToLongBits(c2.evaluate(s));
+			}
+		}
+		case ExpressionBinaryOp.GT:
+		case ExpressionBinaryOp.GE:
+		case ExpressionBinaryOp.LT:
+		case ExpressionBinaryOp.LE: {
+			if (type1 instanceof TypeInt && type2 instanceof TypeInt) {
+				CompiledInt c1 = compileToInt(operand1);
+				CompiledInt c2 = compileToInt(operand2);
+				switch (op) {
+				case ExpressionBinaryOp.GT:
+					return s -> c1.evaluate(s) > c2.evaluate(s);
+				case ExpressionBinaryOp.GE:
+					return s -> c1.evaluate(s) >= c2.evaluate(s);
+				case ExpressionBinaryOp.LT:
+					return s -> c1.evaluate(s) < c2.evaluate(s);
+				default:
+					return s -> c1.evaluate(s) <= c2.evaluate(s);
+				}
+			}
+			CompiledDouble c1 = compileToDouble(operand1);
+			CompiledDouble c2 = compileToDouble(operand2);
+			switch (op) {
+			case ExpressionBinaryOp.GT:
+				return s -> c1.evaluate(s) > c2.evaluate(s);
+			case ExpressionBinaryOp.GE:
+				return s -> c1.evaluate(s) >= c2.evaluate(s);
+			case ExpressionBinaryOp.LT:
+				return s -> c1.evaluate(s) < c2.evaluate(s);
+			default:
+				return s -> c1.evaluate(s) <= c2.evaluate(s);
+			}
+		}
+		}
+		throw new NotCompilableException();
+	}
+
+	private CompiledInt compileBinaryOpToInt(ExpressionBinaryOp expr) throws NotCompilableException
+	{
+		CompiledInt c1 = compileToInt(expr.getOperand1());
+		CompiledInt c2 = compileToInt(expr.getOperand2());
+		switch (expr.getOperator()) {
+		case ExpressionBinaryOp.PLUS:
+			return s -> {
+				try {
+					return Math.addExact(c1.evaluate(s), c2.evaluate(s));
+				} catch (ArithmeticException e) {
+					throw new PrismLangException(e.getMessage(), expr);
+				}
+			};
+		case ExpressionBinaryOp.MINUS:
+			return s -> {
+				try {
+					return Math.subtractExact(c1.evaluate(s), c2.evaluate(s));
+				} catch (ArithmeticException e) {
+					throw new PrismLangException(e.getMessage(), expr);
+				}
+			};
+		case ExpressionBinaryOp.TIMES:
+			return s -> {
+				try {
+					return Math.multiplyExact(c1.evaluate(s), c2.evaluate(s));
+				} catch (ArithmeticException e) {
+					throw new PrismLangException(e.getMessage(), expr);
+				}
+			};
+		case ExpressionBinaryOp.POW:
+			Type type = expr.getType();
+			return s -> {
+				int i1 = c1.evaluate(s);
+				int i2 = c2.evaluate(s);
+				return (Integer) ExpressionFunc.applyPow(type, i1, i2, EvalMode.FP);
+			};
+		}
+		throw new NotCompilableException();
+	}
+
+	private CompiledDouble compileBinaryOpToDouble(ExpressionBinaryOp expr) throws NotCompilableException
+	{
+		CompiledDouble c1 = compileToDouble(expr.getOperand1());
+		CompiledDouble c2 = compileToDouble(expr.getOperand2());
+		switch (expr.getOperator()) {
+		case ExpressionBinaryOp.PLUS:
+			return s -> c1.evaluate(s) + c2.evaluate(s);
+		case ExpressionBinaryOp.MINUS:
+			return s -> c1.evaluate(s) - c2.evaluate(s);
+		case ExpressionBinaryOp.TIMES:
+			return s -> c1.evaluate(s) * c2.evaluate(s);
+		case ExpressionBinaryOp.DIVIDE:
+			return s -> c1.evaluate(s) / c2.evaluate(s);
+		case ExpressionBinaryOp.POW:
+			return s -> {
+				double d1 = c1.evaluate(s);
+				double d2 = c2.evaluate(s);
+				return Math.pow(d1, d2);
+			};
+		}
+		throw new NotCompilableException();
+	}
+
+	private CompiledInt compileFuncToInt(ExpressionFunc expr) throws NotCompilableException
+	{
+		CompiledInt c;
+		switch (expr.getNameCode()) {
+		case ExpressionFunc.MIN:
+		case ExpressionFunc.MAX: {
+			boolean min = expr.getNameCode() == ExpressionFunc.MIN;
+			int n = expr.getNumOperands();
+			CompiledInt cs[] = new CompiledInt[n];
+			for (int i = 0; i < n; i++) {
+				cs[i] = compileToInt(expr.getOperand(i));
+			}
+			if (n == 2) {
+				CompiledInt c1 = cs[0], c2 = cs[1];
+				c = min ? s -> Math.min(c1.evaluate(s), c2.evaluate(s)) : s -> Math.max(c1.evaluate(s), c2.evaluate(s));
+			} else {
+				c = s -> {
+					int res = cs[0].evaluate(s);
+					for (int i = 1; i < n; i++) {
+						res = min ? Math.min(res, cs[i].evaluate(s)) : Math.max(res, cs[i].evaluate(s));
+					}
+					return res;
+				};
+			}
+			break;
+		}
+		case ExpressionFunc.FLOOR:
+		case ExpressionFunc.CEIL:
+		case ExpressionFunc.ROUND: {
+			CompiledDouble c1 = compileToDouble(expr.getOperand(0));
+			c = s -> (Integer) expr.applyUnary(c1.evaluate(s), EvalMode.FP);
+			break;
+		}
+		case ExpressionFunc.POW:
+		case ExpressionFunc.MOD: {
+			CompiledInt c1 = compileToInt(expr.getOperand(0));
+			CompiledInt c2 = compileToInt(expr.getOperand(1));
+			c = s -> {
+				int i1 = c1.evaluate(s);
+				int i2 = c2.evaluate(s);
+				return (Integer) expr.applyBinary(i1, i2, EvalMode.FP);
+			};
+			break;
+		}
+		default:
+			throw new NotCompilableException();
+		}
+		// As in ExpressionFunc.evaluate(), errors are attributed to the function
+		CompiledInt cFunc = c;
+		return s -> {
+			try {
+				return cFunc.evaluate(s);
+			} catch (PrismLangException e) {
+				e.setASTElement(expr);
+				throw e;
+			}
+		};
+	}
+
+	private CompiledDouble compileFuncToDouble(ExpressionFunc expr) throws NotCompilableException
+	{
+		CompiledDouble c;
+		switch (expr.getNameCode()) {
+		case ExpressionFunc.MIN:
+		case ExpressionFunc.MAX: {
+			boolean min = expr.getNameCode() == ExpressionFunc.MIN;
+			int n = expr.getNumOperands();
+			CompiledDouble cs[] = new CompiledDouble[n];
+			for (int i = 0; i < n; i++) {
+				cs[i] = compileToDouble(expr.getOperand(i));
+			}
+			if (n == 2) {
+				CompiledDouble c1 = cs[0], c2 = cs[1];
+				c = min ? s -> Math.min(c1.evaluate(s), c2.evaluate(s)) : s -> Math.max(c1.evaluate(s), c2.evaluate(s));
+			} else {
+				c = s -> {
+					double res = cs[0].evaluate(s);
+					for (int i = 1; i < n; i++) {
+						res = min ? Math.min(res, cs[i].evaluate(s)) : Math.max(res, cs[i].evaluate(s));
+					}
+					return res;
+				};
+			}
+			break;
+		}
+		case ExpressionFunc.POW: {
+			CompiledDouble c1 = compileToDouble(expr.getOperand(0));
+			CompiledDouble c2 = compileToDouble(expr.getOperand(1));
+			c = s -> {
+				double d1 = c1.evaluate(s);
+				double d2 = c2.evaluate(s);
+				return Math.pow(d1, d2);
+			};
+			break;
+		}
+		case ExpressionFunc.LOG: {
+			CompiledDouble c1 = compileToDouble(expr.getOperand(0));
+			CompiledDouble c2 = compileToDouble(expr.getOperand(1));
+			c = s -> {
+				double d1 = c1.evaluate(s);
+				double d2 = c2.evaluate(s);
+				return PrismUtils.log(d1, d2);
+			};
+			break;
+		}
+		default:
+			throw new NotCompilableException();
+		}
+		// As in ExpressionFunc.evaluate(), errors are attributed to the function
+		CompiledDouble cFunc = c;
+		return s -> {
+			try {
+				return cFunc.evaluate(s);
+			} catch (PrismLangException e) {
+				e.setASTElement(expr);
+				throw e;
+			}
+		};
+	}
+
+	// Utility methods
+
+	/**
+	 * Evaluate a literal or constant at compile time (in FP mode),
+	 * checking that a value is available.
+	 */
+	private Object evaluateConstant(Expression expr) throws NotCompilableException
+	{
+		try {
+			return expr.getType().castValueTo(expr.evaluate(new EvaluateContextValues(constantValues, null)), EvalMode.FP);
+		} catch (PrismLangException e) {
+			throw new NotCompilableException();
+		}
+	}
+
+	/**
+	 * Check that a variable reference can be compiled, and return its index.
+	 */
+	private static int checkVar(ExpressionVar expr) throws NotCompilableException
+	{
+		if (expr.getPrime() || expr.getIndex() < 0) {
+			throw new NotCompilableException();
+		}
+		return expr.getIndex();
+	}
+
+	/**
+	 * Cast the value of a variable to its type, as done by {@link ExpressionVar#evaluate(EvaluateContext)}.
+	 * Only used if the value is not already of the right kind.
+	 */
+	private static Object castVarValue(ExpressionVar expr, Object value) throws PrismLangException
+	{
+		if (value == null) {
+			throw new PrismLangException("Could not evaluate variable", expr);
+		}
+		return expr.getType().castValueTo(value, EvalMode.FP);
+	}
+
+	/**
+	 * Get the definition of a formula, if it has been set.
+	 */
+	private static Expression getFormulaDefinition(ExpressionFormula expr) throws NotCompilableException
+	{
+		if (expr.getDefinition() == null) {
+			throw new NotCompilableException();
+		}
+		return expr.getDefinition();
+	}
+}
@@ -48,6 +48,8 @@ public class BasicModelInfo implements ModelInfo
 	private VarList varList;
 	/** Label names */
 	private List<String> labelNameList;
+	/** Player names (for games) */
+	private List<String> playerNameList;
 
 	// Constructors
 
@@ -59,6 +61,7 @@ public class BasicModelInfo implements ModelInfo
 		this.modelType = modelType;
 		varList = new VarList();
 		labelNameList = new ArrayList<>();
+		playerNameList = new ArrayList<>();
 	}
 
 	// Setters/getters for basic model info storage
@@ -87,6 +90,14 @@ public class BasicModelInfo implements ModelInfo
 		this.labelNameList = labelNameList;
 	}
 
+	/**
+	 * Set the list used to store player names (for games).
+	 */
+	public void setPlayerNameList(List<String> playerNameList)
+	{
+		this.playerNameList = playerNameList;
+	}
+
 	/**
 	 * Get the {@link VarList} used to store variable info.
 	 */
@@ -103,6 +114,14 @@ public class BasicModelInfo implements ModelInfo
 		return labelNameList;
 	}
 
+	/**
+	 * Get the list used to store player names (for games).
+	 */
+	public List<String> getPlayerNameList()
+	{
+		return playerNameList;
+	}
+
 	// Methods to implement ModelInfo
 
 	@Override
@@ -138,4 +157,14 @@ public class BasicModelInfo implements ModelInfo
 	{
 		return labelNameList;
 	}
+
+	@Override
+	public List<String> getPlayerNames()
+	{
+		// Player names are only stored for games
+		if (modelType.multiplePlayers()) {
+			return playerNameList;
+		}
+		return ModelInfo.super.getPlayerNames();
+	}
 }
@@ -543,4 +543,24 @@ public interface ModelGenerator<Value> extends ModelInfo
 		// Undefined by default
 		throw new PrismException("Observation not defined");
 	}
+	
+	/**
+	 * Does this ModelGenerator support {@link #createCopy()}?
+	 * Default implementation returns false.
+	 */
+	public default boolean isCopySupported()
+	{
+		return false;
+	}
+
+	/**
+	 * Create a copy of this ModelGenerator, i.e., a new generator for the same model
+	 * that can explore states independently of this one (e.g., from a different thread).
+	 * Only available if {@link #isCopySupported()} returns true.
+	 */
+	public default ModelGenerator<Value> createCopy() throws PrismException
+	{
+		// Not supported by default
+		throw new PrismNotSupportedException("Model generator does not support copying");
+	}
 }
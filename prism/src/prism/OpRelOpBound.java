@@ -163,6 +163,9 @@ public class OpRelOpBound
 						minMax = (coalition != null) ? MinMax.minMin(false, true) : MinMax.minMin(false, false);
 					}
 					minMax.setCoalition(coalition);
+					if (isProbabilistic() && !isNumeric()) {
+						minMax.setBound(bound);
+					}
 				} else if (modelType == ModelType.STPG) {
 					if (relOp == RelOp.EQ && isNumeric()) {
 						throw new PrismLangException("Can't use \"" + op + "=?\" for STPGs; use e.g. \"" + op + "minmax=?\"");
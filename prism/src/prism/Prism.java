@@ -2763,6 +2763,9 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 				case LABELS:
 					doExportBuiltModelLabels(new ModelExportTask(exportTask, exportOptions));
 					break;
+				case PLAYERS:
+					doExportBuiltModelPlayers(exportTask.getFile(), exportOptions);
+					break;
 			}
 			//timer = System.currentTimeMillis() - timer;
 			//mainLog.println("Time for model export: " + timer / 1000.0 + " seconds.");
@@ -2786,7 +2789,8 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 		// Export via either symbolic/explicit model checker
 		if (getBuiltModelType() == ModelBuildType.SYMBOLIC) {
 			// In some cases, we need to convert to an explicit model first
-			if (exportTask.getExportOptions().getFormat() == ModelExportFormat.DRN) {
+			ModelExportFormat exportFormat = exportTask.getExportOptions().getFormat();
+			if (exportFormat == ModelExportFormat.DRN || exportFormat == ModelExportFormat.BINARY) {
 				MTBDD2ExplicitModel m2m = new MTBDD2ExplicitModel(this);
 				explicit.Model<Double> modelExpl = m2m.convertModel(getBuiltModelSymbolic());
 				explicit.StateModelChecker mcExpl = explicit.StateModelChecker.createModelChecker(getModelType(), this);
@@ -2902,6 +2906,19 @@ public class Prism extends PrismComponent implements PrismSettingsListener
 		mcExpl.exportObservations(getBuiltModelExplicit(), file, exportOptions);
 	}
 
+	/**
+	 * Export the players for the current built model (a game).
+	 * This assumes that the model has already been built.
+	 * @param file File to export to (if null, print to the log instead)
+	 * @param exportOptions The options for export
+	 */
+	private void doExportBuiltModelPlayers(File file, ModelExportOptions exportOptions) throws PrismException
+	{
+		// Export (explicit engine only)
+		explicit.StateModelChecker mcExpl = createModelCheckerExplicit(null);
+		mcExpl.exportPlayers(getBuiltModelExplicit(), file, exportOptions);
+	}
+
 	/**
 	 * Export the states satisfying a set of labels, as specified in a ModelExportTask.
 	 * @param exportTask Export task (destination, which labels to export, options)
@@ -41,6 +41,8 @@ import java.util.Map.Entry;
 
 import common.StackTraceHelper;
 import csv.CsvFormatException;
+import io.BinaryModelFormat;
+import io.BinaryModelImporter;
 import io.ModelExportOptions;
 import io.ModelExportFormat;
 import io.ModelExportTask;
@@ -206,11 +208,13 @@ public class PrismCL implements PrismModelListener
 	private class ModelImportSource
 	{
 		private ModelExportTask.ModelExportEntity entity;
+		private ModelExportFormat format;
 		private File file;
 
 		public ModelImportSource(ModelExportTask.ModelExportEntity entity, ModelExportFormat format, File file)
 		{
 			this.entity = entity;
+			this.format = format;
 			this.file = file;
 		}
 	}
@@ -729,6 +733,14 @@ public class PrismCL implements PrismModelListener
 		}
 		// Add all requested files to the importer
 		ModelImportSource modelSource = modelImportSources.stream().filter(s -> s.entity == ModelExportTask.ModelExportEntity.MODEL).findFirst().get();
+		// A binary model file contains everything, so is imported on its own
+		if (modelSource.format == ModelExportFormat.BINARY) {
+			if (modelImportSources.size() > 1) {
+				throw new PrismException("No other files can be imported alongside a binary model file");
+			}
+			prism.loadModelFromExplicitFiles(new BinaryModelImporter(modelSource.file));
+			return;
+		}
 		PrismExplicitImporter importer = new PrismExplicitImporter(modelSource.file, typeOverride);
 		for (ModelImportSource modelImportSource : modelImportSources) {
 			switch (modelImportSource.entity) {
@@ -747,6 +759,12 @@ public class PrismCL implements PrismModelListener
 					}
 					importer.setLabelsFile(modelImportSource.file);
 					break;
+				case PLAYERS:
+					if (importer.getPlayersFile() != null) {
+						throw new PrismException("Multiple player files provided for model import");
+					}
+					importer.setPlayersFile(modelImportSource.file);
+					break;
 				case STATE_REWARDS:
 					importer.addStateRewardsFile(modelImportSource.file);
 					break;
@@ -1902,6 +1920,10 @@ public class PrismCL implements PrismModelListener
 				modelImportSources.add(new ModelImportSource(ModelExportTask.ModelExportEntity.MODEL, ModelExportFormat.EXPLICIT, new File(basename + ".tra")));
 				modelImportSources.add(new ModelImportSource(ModelExportTask.ModelExportEntity.STATES, ModelExportFormat.EXPLICIT, new File(basename + ".sta")));
 				modelImportSources.add(new ModelImportSource(ModelExportTask.ModelExportEntity.LABELS, ModelExportFormat.EXPLICIT, new File(basename + ".lab")));
+				// Players file only present for games
+				if (new File(basename + ".pla").exists()) {
+					modelImportSources.add(new ModelImportSource(ModelExportTask.ModelExportEntity.PLAYERS, ModelExportFormat.EXPLICIT, new File(basename + ".pla")));
+				}
 				addStateRewardImports(basename, false);
 				addTransitionRewardImports(basename, false);
 			} else if (ext.equals("tra")) {
@@ -1911,6 +1933,11 @@ public class PrismCL implements PrismModelListener
 				modelImportSources.add(new ModelImportSource(ModelExportTask.ModelExportEntity.STATES, ModelExportFormat.EXPLICIT, new File(basename + ".sta")));
 			} else if (ext.equals("lab")) {
 				modelImportSources.add(new ModelImportSource(ModelExportTask.ModelExportEntity.LABELS, ModelExportFormat.EXPLICIT, new File(basename + ".lab")));
+			} else if (ext.equals("pla")) {
+				modelImportSources.add(new ModelImportSource(ModelExportTask.ModelExportEntity.PLAYERS, ModelExportFormat.EXPLICIT, new File(basename + ".pla")));
+			} else if (ext.equals(BinaryModelFormat.EXTENSION)) {
+				modelFilename = basename + "." + ext;
+				modelImportSources.add(new ModelImportSource(ModelExportTask.ModelExportEntity.MODEL, ModelExportFormat.BINARY, new File(modelFilename)));
 			} else if (ext.equals("srew")) {
 				addStateRewardImports(basename, true);
 			} else if (ext.equals("trew")) {
@@ -2081,6 +2108,7 @@ public class PrismCL implements PrismModelListener
 				newModelExportTasks.add(ModelExportTask.fromFilename(basename, "sta"));
 				newModelExportTasks.add(ModelExportTask.fromFilename(basename, "obs"));
 				newModelExportTasks.add(ModelExportTask.fromFilename(basename, "lab"));
+				newModelExportTasks.add(ModelExportTask.fromFilename(basename, "pla"));
 			} else if (ext.equals("rew")) {
 				newModelExportTasks.add(ModelExportTask.fromFilename(basename, "srew"));
 				newModelExportTasks.add(ModelExportTask.fromFilename(basename, "trew"));
@@ -2116,6 +2144,9 @@ public class PrismCL implements PrismModelListener
 					case "drn":
 						exportOptions.setFormat(ModelExportFormat.DRN);
 						break;
+					case "binary":
+						exportOptions.setFormat(ModelExportFormat.BINARY);
+						break;
 					default:
 						throw new PrismException("Unknown value \"" + optVal + "\" provided for \"format\" option of -exportmodel");
 				}
@@ -2653,9 +2684,11 @@ public class PrismCL implements PrismModelListener
 			mainLog.println("Import the model directly from text file(s).");
 			mainLog.println("Use a list of file extensions to indicate which files should be read, e.g.:");
 			mainLog.println("\n -importmodel in.tra,sta\n");
-			mainLog.println("Possible extensions are: .tra, .sta, .lab, .srew, .trew");
+			mainLog.println("Possible extensions are: .tra, .sta, .lab, .pla, .srew, .trew");
 			mainLog.println("Use extension .all to import all, e.g.:");
 			mainLog.println("\n -importmodel in.all\n");
+			mainLog.println("Alternatively, import a model previously exported in binary format, e.g.:");
+			mainLog.println("\n -importmodel in.pbin\n");
 		}
 		// -importresults
 		else if (sw.equals("importresults")) {
@@ -2696,13 +2729,13 @@ public class PrismCL implements PrismModelListener
 			mainLog.println("Export the built model to file(s) (or to the screen if <file>=\"stdout\").");
 			mainLog.println("Use a list of file extensions to indicate which files should be generated, e.g.:");
 			mainLog.println("\n -exportmodel out.tra,sta\n");
-			mainLog.println("Possible extensions are: .tra, .srew, .trew, .sta, .lab, .obs, .dot, .drn");
-			mainLog.println("Use extension .all to export all (except .dot/.drn) and .rew to export both .srew/.trew, e.g.:");
+			mainLog.println("Possible extensions are: .tra, .srew, .trew, .sta, .lab, .obs, .pla, .dot, .drn, .pbin");
+			mainLog.println("Use extension .all to export all (except .dot/.drn/.pbin) and .rew to export both .srew/.trew, e.g.:");
 			mainLog.println("\n -exportmodel out.all\n");
 			mainLog.println("Omit the file basename to use the basename of the model file, e.g.:");
 			mainLog.println("\n -exportmodel .all\n");
 			mainLog.println("If provided, <options> is a comma-separated list of options taken from:");
-			mainLog.println(" * format (=explicit/matlab/dot/drn) - model export format");
+			mainLog.println(" * format (=explicit/matlab/dot/drn/binary) - model export format");
 			mainLog.println(" * matlab - same as format=matlab");
 			mainLog.println(" * rows - export matrices with one row/distribution on each line");
 			mainLog.println(" * proplabels - export labels from a properties file into the same file, too");
@@ -85,6 +85,7 @@ public class PrismSettings implements Observer
 	public static final	String PRISM_PROB1							= "prism.prob1";
 	public static final	String PRISM_PRE_REL					= "prism.preRel";
 	public static final	String PRISM_FIX_DEADLOCKS					= "prism.fixDeadlocks";
+	public static final	String PRISM_NUM_THREADS					= "prism.numThreads";
 	public static final	String PRISM_DO_PROB_CHECKS					= "prism.doProbChecks";
 	public static final	String PRISM_SUM_ROUND_OFF					= "prism.sumRoundOff";
 	public static final	String PRISM_COMPACT						= "prism.compact";
@@ -97,6 +98,7 @@ public class PrismSettings implements Observer
 	public static final	String PRISM_MDP_SOLN_METHOD				= "prism.mdpSolnMethod";
 	public static final	String PRISM_MDP_MULTI_SOLN_METHOD			= "prism.mdpMultiSolnMethod";
 	public static final	String PRISM_STPG_SOLN_METHOD				= "prism.stpgSolnMethod";
+	public static final	String PRISM_CSG_SOLN_METHOD				= "prism.csgSolnMethod";
 	public static final	String PRISM_IMDP_SOLN_METHOD				= "prism.imdpSolnMethod";
 	public static final	String PRISM_TERM_CRIT						= "prism.termCrit";//"prism.termination";
 	public static final	String PRISM_TERM_CRIT_PARAM				= "prism.termCritParam";//"prism.terminationEpsilon";
@@ -135,6 +137,8 @@ public class PrismSettings implements Observer
 
 	// csg and equilibria
 	public static final String PRISM_ZS_LP_SCALE_FACTOR			= "prism.lpscalefactor";
+	public static final String PRISM_ZS_MATRIX_GAME_SOLVER			= "prism.zsMatrixGameSolver";
+	public static final String PRISM_CSG_EQ_CACHE_SIZE				= "prism.csgEqCacheSize";
 
     // multi-objective synthesis for games
 	public static final     String PRISM_MULTI_GAUSS_SEIDEL					= "prism.multiGaussSeidel";
@@ -149,6 +153,7 @@ public class PrismSettings implements Observer
 	public static final     String PRISM_MULTI_ROUNDING					= "prism.multiRounding";
         public static final	String PRISM_MULTI_BASELINE_ACCURACY 		= "prism.baselineAccuracy";
         public static final	String PRISM_MULTI_INCREASE_FACTOR		= "prism.increaseFactor";
+	public static final	String PRISM_MULTI_PARETO_ENGINE			= "prism.multiParetoEngine";
         // logging
         public static final	String LOG_MULTI_C_PARETO			= "log.multiCPareto";
         public static final	String LOG_MULTI_D_PARETO			= "log.multiDPareto";
@@ -296,8 +301,10 @@ public class PrismSettings implements Observer
 																			"Which method to use when solving Markov decision processes." },
 			{ CHOICE_TYPE,		PRISM_MDP_MULTI_SOLN_METHOD,			"MDP multi-objective solution method",				"4.0.3",			"Value iteration",											"Value iteration,Gauss-Seidel,Linear programming",
 																			"Which method to use when solving multi-objective queries on Markov decision processes." },
-			{ CHOICE_TYPE,		PRISM_STPG_SOLN_METHOD,					"STPG solution method",				"4.7",			"Gauss-Seidel",																"Value iteration,Gauss-Seidel",
+			{ CHOICE_TYPE,		PRISM_STPG_SOLN_METHOD,					"STPG solution method",				"4.7",			"Gauss-Seidel",																"Value iteration,Gauss-Seidel,Strategy iteration",
 																			"Which method to use when solving stochastic two-player games." },
+			{ CHOICE_TYPE,		PRISM_CSG_SOLN_METHOD,					"CSG solution method",				"4.8.1",			"Value iteration",																"Value iteration,Gauss-Seidel",
+																			"Which method to use when solving concurrent stochastic games (Gauss-Seidel updates values in place)." },
 			{ CHOICE_TYPE,		PRISM_IMDP_SOLN_METHOD,					"IMDP/DTMC solution method",				"4.7",			"Gauss-Seidel",																"Value iteration,Gauss-Seidel",
 																			"Which method to use when solving interval Markov decision processes and Markov chains." },
 			{ CHOICE_TYPE,		PRISM_TERM_CRIT,						"Termination criteria",					"2.1",			"Relative",																	"Absolute,Relative",
@@ -327,6 +334,8 @@ public class PrismSettings implements Observer
 																			"Constrain to fair adversaries when model checking MDPs." },
 			{ BOOLEAN_TYPE,		PRISM_FIX_DEADLOCKS,					"Automatically fix deadlocks",			"4.0.3",		Boolean.valueOf(true),															"",																							
 																			"Automatically fix deadlocks, where necessary, when constructing probabilistic models." },
+			{ INTEGER_TYPE,		PRISM_NUM_THREADS,						"Number of threads",					"4.8.1",		Integer.valueOf(1),															"1,",
+																			"Number of threads to use in the explicit engine (e.g. for model construction and value iteration for games)." },
 			{ BOOLEAN_TYPE,		PRISM_DO_PROB_CHECKS,					"Do probability/rate checks",			"2.1",			Boolean.valueOf(true),															"",																							
 																			"Perform sanity checks on model probabilities/rates when constructing probabilistic models." },
 			{ DOUBLE_TYPE,		PRISM_SUM_ROUND_OFF,					"Probability sum threshold",					"2.1",			Double.valueOf(1.0E-5),													"0.0,",
@@ -372,9 +381,15 @@ public class PrismSettings implements Observer
 																			"Value iteration starts computing points rounded to the maximum reward in each dimension divided by the baseline accuracy, and this accuracy is increased by the increase factor after every iteration." },
 			{ DOUBLE_TYPE,		PRISM_MULTI_INCREASE_FACTOR,					"Increase factor for conjunctive query value iteration",			"4.0.3",			Double.valueOf(1.01),															"0,",
 																			"Accuracy of conjunctive query value iteration is increased by the increase factor after every iteration." },
+			{ CHOICE_TYPE,		PRISM_MULTI_PARETO_ENGINE,					"Pareto set engine for multi-objective SGs",			"4.8.1",			"PPL",															"PPL,Java",
+																			"Representation of Pareto sets in the multi-objective games engine: exact polyhedra using the Parma Polyhedra Library (PPL), or vertex lists in floating point (Java). The Java engine is only used for queries with at most four objectives; PPL is always used otherwise, and for Pareto set computation and strategy synthesis." },
 			// CSG ZERO-SUM LP SCALE FACTOR
 			{ DOUBLE_TYPE,		PRISM_ZS_LP_SCALE_FACTOR, 					"Scale factor for LPs",			"4.5", 				Double.valueOf(1.0), 			"1,",
 																			"Scale factor used when building linear programs for solving matrix games"},
+			{ BOOLEAN_TYPE,		PRISM_ZS_MATRIX_GAME_SOLVER,				"Use built-in matrix game solver",	"4.8.1",			Boolean.valueOf(true),			"",
+																			"Solve small matrix games directly (saddle points, dominance, closed forms, simplex), only using LPs (LpSolve) for larger ones."},
+			{ INTEGER_TYPE,		PRISM_CSG_EQ_CACHE_SIZE,					"Equilibria cache size",		"4.8.1",			Integer.valueOf(0),			"0,",
+																			"Maximum number of games whose equilibria are cached (and reused for identical games) during equilibria computation for CSGs; 0 disables the cache."},
 
 			// OUTPUT OPTIONS:
 			{ BOOLEAN_TYPE,		PRISM_VERBOSE,							"Verbose output",						"2.1",		Boolean.valueOf(false),															"",																							
@@ -1151,6 +1166,7 @@ public class PrismSettings implements Observer
 			set(PRISM_MDP_MULTI_SOLN_METHOD, "Gauss-Seidel");
 			set(PRISM_MULTI_GAUSS_SEIDEL, "true");
 			set(PRISM_STPG_SOLN_METHOD, "Gauss-Seidel");
+			set(PRISM_CSG_SOLN_METHOD, "Gauss-Seidel");
 			set(PRISM_IMDP_SOLN_METHOD, "Gauss-Seidel");
 		} else if (sw.equals("bgaussseidel") || sw.equals("bgs")) {
 			set(PRISM_LIN_EQ_METHOD, "Backwards Gauss-Seidel");
@@ -1172,15 +1188,35 @@ public class PrismSettings implements Observer
 			set(PRISM_MDP_SOLN_METHOD, "Value iteration");
 			set(PRISM_MDP_MULTI_SOLN_METHOD, "Value iteration");
 			set(PRISM_STPG_SOLN_METHOD, "Value iteration");
+			set(PRISM_CSG_SOLN_METHOD, "Value iteration");
 			set(PRISM_IMDP_SOLN_METHOD, "Value iteration");
 		} else if (sw.equals("politer")) {
 			set(PRISM_MDP_SOLN_METHOD, "Policy iteration");
 		} else if (sw.equals("modpoliter")) {
 			set(PRISM_MDP_SOLN_METHOD, "Modified policy iteration");
+		} else if (sw.equals("stratiter")) {
+			set(PRISM_STPG_SOLN_METHOD, "Strategy iteration");
 		} else if (sw.equals("linprog") || sw.equals("lp")) {
 			set(PRISM_MDP_SOLN_METHOD, "Linear programming");
 			set(PRISM_MDP_MULTI_SOLN_METHOD, "Linear programming");
 		}
+		else if (sw.equals("zslpsolve")) {// Always use LPs for matrix games (zero-sum)
+			set(PRISM_ZS_MATRIX_GAME_SOLVER, false);
+		}
+		else if (sw.equals("eqcachesize")) {// Size of cache of equilibria (nonzero-sum)
+			if (i < args.length - 1) {
+				try {
+					j = Integer.parseInt(args[++i]);
+					if (j < 0)
+						throw new NumberFormatException("");
+					set(PRISM_CSG_EQ_CACHE_SIZE, j);
+				} catch (NumberFormatException e) {
+					throw new PrismException("Invalid value for -" + sw + " switch");
+				}
+			} else {
+				throw new PrismException("No value specified for -" + sw + " switch");
+			}
+		}
 		else if (sw.equals("lpscalefactor")) {// Scale factor for LPs (zero-sum)
 			if (i < args.length - 1) {
 				try {
@@ -1341,6 +1377,21 @@ public class PrismSettings implements Observer
 		else if (sw.equals("nofixdl")) {
 			set(PRISM_FIX_DEADLOCKS, false);
 		}
+		// Number of threads (explicit engine)
+		else if (sw.equals("threads")) {
+			if (i < args.length - 1) {
+				try {
+					j = Integer.parseInt(args[++i]);
+					if (j < 1)
+						throw new NumberFormatException("");
+					set(PRISM_NUM_THREADS, j);
+				} catch (NumberFormatException e) {
+					throw new PrismException("Invalid value for -" + sw + " switch");
+				}
+			} else {
+				throw new PrismException("No value specified for -" + sw + " switch");
+			}
+		}
 		// Fairness on/off
 		else if (sw.equals("fair")) {
 			set(PRISM_FAIRNESS, true);
@@ -1546,6 +1597,22 @@ public class PrismSettings implements Observer
 		else if (sw.equals("multirounding")) {
 			set(PRISM_MULTI_ROUNDING, true);
 		}
+		else if (sw.equals("multijacobi")) {
+			set(PRISM_MULTI_GAUSS_SEIDEL, false);
+		}
+		else if (sw.equals("paretoengine")) {
+			if (i < args.length - 1) {
+				s = args[++i];
+				if (s.equals("ppl"))
+					set(PRISM_MULTI_PARETO_ENGINE, "PPL");
+				else if (s.equals("java"))
+					set(PRISM_MULTI_PARETO_ENGINE, "Java");
+				else
+					throw new PrismException("Unrecognised option for -" + sw + " switch (options are: ppl, java)");
+			} else {
+				throw new PrismException("No parameter specified for -" + sw + " switch");
+			}
+		}
 		else if (sw.equals("logcpareto")) {
 			set(LOG_MULTI_C_PARETO, true);
 		}
@@ -2079,6 +2146,7 @@ public class PrismSettings implements Observer
 		mainLog.println("-gaussseidel (or -gs) .......... Use Gauss-Seidel value iteration for solving MDPs");
 		mainLog.println("-politer ....................... Use policy iteration for solving MDPs");
 		mainLog.println("-modpoliter .................... Use modified policy iteration for solving MDPs");
+		mainLog.println("-stratiter ..................... Use strategy iteration for solving turn-based games");
 		mainLog.println("-intervaliter (or -ii) ......... Use interval iteration to solve MDPs/MCs (see -help -ii)");
 		mainLog.println("-topological ................... Use topological value iteration");
 		mainLog.println();
@@ -2099,6 +2167,7 @@ public class PrismSettings implements Observer
 		mainLog.println("-nofair ........................ Don't use fairness (for model checking of MDPs) [default]");
 		mainLog.println("-fixdl ......................... Automatically put self-loops in deadlock states [default]");
 		mainLog.println("-nofixdl ....................... Do not automatically put self-loops in deadlock states");
+		mainLog.println("-threads <n> ................... Number of threads to use (explicit engine) [default: 1]");
 		mainLog.println("-noprobchecks .................. Disable checks on model probabilities/rates");
 		mainLog.println("-sumroundoff <x> ............... Set probability sum threshold [default: 1-e5]");
 		mainLog.println("-zerorewardcheck ............... Check for absence of zero-reward loops");
@@ -2132,11 +2201,15 @@ public class PrismSettings implements Observer
 		mainLog.println("-multiminm <n> ................. Set the minimum box size (M) for mean-payoff objectives.");
 		mainLog.println("-multimaxm <n> ................. Set the maximum box size (M) for mean-payoff objectives.");
 		mainLog.println("-multirounding ................. Enable rounding for the multi-objective engine.");
+		mainLog.println("-multijacobi ................... Use Jacobi (not Gauss-Seidel) value iteration in the multi-objective engine.");
+		mainLog.println("-paretoengine <name> ........... Pareto sets in the multi-objective engine (ppl, java) [default: ppl]");
 		mainLog.println("-baselineaccuracy <n> .......... Baseline accuracy for CQs.");
 		mainLog.println("-increasefactor <x> ............ Factor by which accuracy is increased every iteration for CQs.");
 		mainLog.println();
 		mainLog.println("CSG EQUILIBRIA COMPUTATION");
 		mainLog.println("-lpscalefactor <n> ............. Scale factor used when building linear programs for solving matrix games [default: 1.0]");
+		mainLog.println("-zslpsolve ..................... Always use linear programs (LpSolve) to solve matrix games, not the built-in solver");
+		mainLog.println("-eqcachesize <n> ............... Maximum number of games whose equilibria are cached (0 = no cache) [default: 0]");
 		mainLog.println();
 		mainLog.println("OUTPUT OPTIONS:");
 		mainLog.println("-verbose (or -v) ............... Verbose mode: print out state lists and probability vectors");
@@ -31,8 +31,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import parser.ExpressionCompiler.CompiledUpdate;
 import parser.State;
 import parser.VarList;
 import parser.ast.ASTElement;
@@ -82,6 +84,9 @@ public class ChoiceListFlexi<Value> implements Choice<Value>
 	// Is the value of containsPrimes known yet?
 	protected boolean containsPrimeKnown;
 	
+	// Compiled versions of (some of) the Update objects (optional, may be null)
+	protected Map<Update, CompiledUpdate> compiledUpdates;
+	
 	/**
 	 * Create empty choice.
 	 */
@@ -118,6 +123,7 @@ public class ChoiceListFlexi<Value> implements Choice<Value>
 			probability.add(p);
 		}
 		clockGuard = ch.clockGuard;
+		compiledUpdates = ch.compiledUpdates;
 	}
 
 	// Set methods
@@ -139,6 +145,15 @@ public class ChoiceListFlexi<Value> implements Choice<Value>
 	}
 	/*** ***/
 	
+	/**
+	 * Set the compiled versions of Update objects to be used when computing target states
+	 * (optional; any Update not in the map is evaluated as usual).
+	 */
+	public void setCompiledUpdates(Map<Update, CompiledUpdate> compiledUpdates)
+	{
+		this.compiledUpdates = compiledUpdates;
+	}
+
 	/**
 	 * Set the clock guard
 	 */
@@ -293,8 +308,14 @@ public class ChoiceListFlexi<Value> implements Choice<Value>
 		}
 		// Otherwise usual computation
 		State newState = new State(currentState);
-		for (Update up : updates.get(i))
-			up.update(currentState, newState, eval.exact(), varList);
+		for (Update up : updates.get(i)) {
+			CompiledUpdate upCompiled = compiledUpdates == null ? null : compiledUpdates.get(up);
+			if (upCompiled != null) {
+				upCompiled.update(currentState, newState);
+			} else {
+				up.update(currentState, newState, eval.exact(), varList);
+			}
+		}
 		return newState;
 	}
 
@@ -0,0 +1,126 @@
+//==============================================================================
+//
+//	Copyright (c) 2026-
+//
+//------------------------------------------------------------------------------
+//
+//	This file is part of PRISM.
+//
+//	PRISM is free software; you can redistribute it and/or modify
+//	it under the terms of the GNU General Public License as published by
+//	the Free Software Foundation; either version 2 of the License, or
+//	(at your option) any later version.
+//
+//	PRISM is distributed in the hope that it will be useful,
+//	but WITHOUT ANY WARRANTY; without even the implied warranty of
+//	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//	GNU General Public License for more details.
+//
+//	You should have received a copy of the GNU General Public License
+//	along with PRISM; if not, write to the Free Software Foundation,
+//	Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+//
+//==============================================================================
+
+package simulator;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import parser.State;
+
+/**
+ * Cache of the enabled commands of a single module, i.e., those whose guard is true.
+ * Since the guards only read a subset of the model's variables, the set of enabled commands
+ * is a function of the projection of a state onto those variables, which is used as the key.
+ * The cache is a bounded LRU map; it switches itself off if it turns out to be ineffective
+ * (i.e., if projections are rarely repeated).
+ */
+class EnabledCommandsCache
+{
+	// Default maximum number of entries in the cache
+	public static final int DEFAULT_CAPACITY = 4096;
+
+	// Number of lookups after which the hit rate is checked
+	private static final int CHECK_LOOKUPS = 10000;
+	// Minimum hit rate (as a fraction) needed to keep caching
+	private static final double MIN_HIT_RATE = 0.25;
+
+	// Indices of the variables appearing in the module's guards
+	private int vars[];
+	// The cache (LRU, via access ordering)
+	private LinkedHashMap<State, BitSet> cache;
+	// Stats, used to decide whether caching is worthwhile
+	private long lookups;
+	private long hits;
+	private boolean enabled;
+
+	/**
+	 * Create a cache keyed on the values of the variables with indices {@code vars}.
+	 * @param vars Indices of the variables read by the module's guards
+	 * @param capacity Maximum number of entries
+	 */
+	public EnabledCommandsCache(int vars[], int capacity)
+	{
+		this.vars = vars.clone();
+		cache = new LinkedHashMap<State, BitSet>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<State, BitSet> eldest)
+			{
+				return size() > capacity;
+			}
+		};
+		enabled = true;
+	}
+
+	/**
+	 * Is caching (still) switched on?
+	 */
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Get the projection of a state onto the guard variables, to be used as a key.
+	 */
+	public State getKey(State state)
+	{
+		int n = vars.length;
+		State key = new State(n);
+		for (int i = 0; i < n; i++) {
+			key.varValues[i] = state.varValues[vars[i]];
+		}
+		return key;
+	}
+
+	/**
+	 * Look up the enabled commands for a key (see {@link #getKey(State)}),
+	 * returning null if they are not stored. The returned BitSet should not be modified.
+	 */
+	public BitSet get(State key)
+	{
+		BitSet res = cache.get(key);
+		lookups++;
+		if (res != null) {
+			hits++;
+		}
+		if (lookups == CHECK_LOOKUPS && hits < MIN_HIT_RATE * lookups) {
+			enabled = false;
+			cache.clear();
+		}
+		return res;
+	}
+
+	/**
+	 * Store the enabled commands for a key (see {@link #getKey(State)}).
+	 */
+	public void put(State key, BitSet enabledCommands)
+	{
+		if (enabled) {
+			cache.put(key, enabledCommands);
+		}
+	}
+}
@@ -9,7 +9,11 @@ import param.BigRational;
 import param.Function;
 import param.FunctionFactory;
 import parser.EvaluateContext;
+import parser.EvaluateContext.EvalMode;
 import parser.EvaluateContextState;
+import parser.ExpressionCompiler;
+import parser.ExpressionCompiler.CompiledBoolean;
+import parser.ExpressionCompiler.CompiledDouble;
 import parser.State;
 import parser.Values;
 import parser.VarList;
@@ -80,6 +84,11 @@ public class ModulesFileModelGenerator<Value> implements ModelGenerator<Value>,
 	// Global clock invariant (conjunction of per-module invariants)
 	protected Expression invariant;
 	
+	// Compiled versions (see ExpressionCompiler) of the guards/values for
+	// each item of each reward struct, where available, otherwise null
+	protected CompiledBoolean compiledRewardGuards[][];
+	protected CompiledDouble compiledRewards[][];
+	
 	/**
 	 * Build a ModulesFileModelGenerator for a particular PRISM model, represented by a {@link ModulesFile} instance.
 	 * This method assumes that doubles are used to represent probabilities (rather than, say, exact arithmetic).
@@ -250,6 +259,27 @@ public class ModulesFileModelGenerator<Value> implements ModelGenerator<Value>,
 		ec.setEvaluationMode(eval.evalMode());
 	}
 	
+	/**
+	 * Copy constructor: build a ModulesFileModelGenerator for the same model (and constant values)
+	 * as {@code modelGen}, but with its own copy of the model and data structures for exploration.
+	 * @param modelGen The generator to copy
+	 */
+	protected ModulesFileModelGenerator(ModulesFileModelGenerator<Value> modelGen) throws PrismException
+	{
+		parent = modelGen.parent;
+		eval = modelGen.eval;
+		evalInt = modelGen.evalInt;
+		originalModulesFile = modelGen.originalModulesFile;
+		modulesFile = (ModulesFile) modelGen.modulesFile.deepCopy();
+		modelType = modelGen.modelType;
+		mfConstants = modelGen.mfConstants;
+		if (mfConstants != null) {
+			initialiseExploration();
+		}
+		ec = new EvaluateContextState(mfConstants, new State(modulesFile.getNumVars()));
+		ec.setEvaluationMode(eval.evalMode());
+	}
+	
 	/**
 	 * (Re-)Initialise the class ready for model exploration
 	 * (can only be done once any constants needed have been provided)
@@ -289,6 +319,15 @@ public class ModulesFileModelGenerator<Value> implements ModelGenerator<Value>,
 		if (!eval.exact()) {
 			modulesFile = (ModulesFile) modulesFile.simplify();
 		}
+		initialiseExploration();
+	}
+	
+	/**
+	 * Extract model info and create the data structures for exploring the model
+	 * (once constants have been evaluated and replaced in {@code modulesFile})
+	 */
+	private void initialiseExploration() throws PrismException
+	{
 		// Get info
 		varList = modulesFile.createVarList();
 		labelList = modulesFile.getLabelList();
@@ -307,6 +346,47 @@ public class ModulesFileModelGenerator<Value> implements ModelGenerator<Value>,
 		}
 		transitionListBuilt = false;
 		transitionListIntBuilt = false;
+		compileRewards();
+	}
+	
+	/**
+	 * Compile (where possible) the guards and values of the reward structures,
+	 * which are then used in place of the corresponding {@link Expression}s
+	 * (only done for double-valued models).
+	 */
+	private void compileRewards()
+	{
+		compiledRewardGuards = null;
+		compiledRewards = null;
+		if (eval.evalMode() != EvalMode.FP || !(eval.one() instanceof Double) || modelType.realTime()) {
+			return;
+		}
+		ExpressionCompiler compiler = new ExpressionCompiler(modulesFile.getConstantValues());
+		int numRewardStructs = modulesFile.getNumRewardStructs();
+		compiledRewardGuards = new CompiledBoolean[numRewardStructs][];
+		compiledRewards = new CompiledDouble[numRewardStructs][];
+		for (int r = 0; r < numRewardStructs; r++) {
+			RewardStruct rewStr = modulesFile.getRewardStruct(r);
+			int n = rewStr.getNumItems();
+			compiledRewardGuards[r] = new CompiledBoolean[n];
+			compiledRewards[r] = new CompiledDouble[n];
+			for (int i = 0; i < n; i++) {
+				compiledRewardGuards[r][i] = compiler.compileBoolean(rewStr.getStates(i));
+				compiledRewards[r][i] = compiler.compileDouble(rewStr.getReward(i));
+			}
+		}
+	}
+	
+	@Override
+	public boolean isCopySupported()
+	{
+		return true;
+	}
+
+	@Override
+	public ModulesFileModelGenerator<Value> createCopy() throws PrismException
+	{
+		return new ModulesFileModelGenerator<>(this);
 	}
 	
 	// Methods for ModelInfo interface
@@ -867,9 +947,9 @@ public class ModulesFileModelGenerator<Value> implements ModelGenerator<Value>,
 		for (int i = 0; i < n; i++) {
 			if (!rewStr.getRewardStructItem(i).isTransitionReward()) {
 				Expression guard = rewStr.getStates(i);
-				boolean guardSat = guard.evaluateBoolean(ec.setState(state));
+				boolean guardSat = evaluateRewardGuard(r, i, guard, state);
 				if (guardSat) {
-					Value rew = eval.evaluate(rewStr.getReward(i), modulesFile.getConstantValues(), state);
+					Value rew = evaluateReward(r, i, rewStr.getReward(i), state);
 					// Check reward is finite/non-negative (would be checked at model construction time,
 					// but more fine grained error reporting can be done here)
 					// We omit the check in symbolic (parametric) cases - too expensive
@@ -904,9 +984,9 @@ public class ModulesFileModelGenerator<Value> implements ModelGenerator<Value>,
 					Expression guard = rewStr.getStates(i);
 					String cmdAction = rewStr.getSynch(i);
 					if (action == null ? (cmdAction.isEmpty()) : action.equals(cmdAction)) {
-						boolean guardSat = guard.evaluateBoolean(ec.setState(state));
+						boolean guardSat = evaluateRewardGuard(r, i, guard, state);
 						if (guardSat) {
-							Value rew = eval.evaluate(rewStr.getReward(i), modulesFile.getConstantValues(), state);
+							Value rew = evaluateReward(r, i, rewStr.getReward(i), state);
 							// Check reward is finite/non-negative (would be checked at model construction time,
 							// but more fine grained error reporting can be done here)
 							// We omit the check in symbolic (parametric) cases - too expensive
@@ -945,9 +1025,9 @@ public class ModulesFileModelGenerator<Value> implements ModelGenerator<Value>,
 					tmp = (BitSet) indexes.clone();
 					tmp.andNot(active);
 					if (indexes.isEmpty() || (!indexes.isEmpty() && tmp.isEmpty())) {
-						boolean guardSat = guard.evaluateBoolean(ec.setState(state));
+						boolean guardSat = evaluateRewardGuard(r, i, guard, state);
 						if (guardSat) {
-							Value rew = eval.evaluate(rewStr.getReward(i), modulesFile.getConstantValues(), state);
+							Value rew = evaluateReward(r, i, rewStr.getReward(i), state);
 							// Check reward is finite/non-negative (would be checked at model construction time,
 							// but more fine grained error reporting can be done here)
 							// Note use of original model since modulesFile may have been simplified
@@ -969,6 +1049,34 @@ public class ModulesFileModelGenerator<Value> implements ModelGenerator<Value>,
 
 	// Local utility methods
 	
+	/**
+	 * Evaluate the guard {@code guard} of the ith item of the rth reward struct in a state
+	 * (using the compiled version, if available).
+	 */
+	private boolean evaluateRewardGuard(int r, int i, Expression guard, State state) throws PrismLangException
+	{
+		CompiledBoolean guardCompiled = compiledRewardGuards == null ? null : compiledRewardGuards[r][i];
+		if (guardCompiled != null) {
+			return guardCompiled.evaluate(state);
+		}
+		return guard.evaluateBoolean(ec.setState(state));
+	}
+	
+	/**
+	 * Evaluate the reward {@code reward} of the ith item of the rth reward struct in a state
+	 * (using the compiled version, if available).
+	 */
+	@SuppressWarnings("unchecked")
+	private Value evaluateReward(int r, int i, Expression reward, State state) throws PrismLangException
+	{
+		CompiledDouble rewardCompiled = compiledRewards == null ? null : compiledRewards[r][i];
+		if (rewardCompiled != null) {
+			// Compiled rewards are only created for double-valued models
+			return (Value) Double.valueOf(rewardCompiled.evaluate(state));
+		}
+		return eval.evaluate(reward, modulesFile.getConstantValues(), state);
+	}
+	
 	/**
 	 * Returns the current list of available transitions, generating it first if this has not yet been done.
 	 */
@@ -31,11 +31,17 @@ import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import parser.EvaluateContext.EvalMode;
 import parser.EvaluateContextState;
+import parser.ExpressionCompiler;
+import parser.ExpressionCompiler.CompiledBoolean;
+import parser.ExpressionCompiler.CompiledDouble;
+import parser.ExpressionCompiler.CompiledUpdate;
 import parser.State;
 import parser.VarList;
 import parser.ast.Command;
@@ -78,6 +84,17 @@ public class Updater<Value> extends PrismComponent
 	// For real-time models, info about which vars are clocks (bitset over variable indices)
 	protected BitSet clockVars;
 	
+	// Compiled versions of expressions (see ExpressionCompiler), where available, otherwise null:
+	// Element i,j of compiledGuards is the guard of the jth command of module i
+	protected CompiledBoolean compiledGuards[][];
+	// Probabilities for each Updates object (only for double-valued models)
+	protected Map<Updates, CompiledDouble[]> compiledProbabilities;
+	// Compiled Update objects (passed to the ChoiceListFlexi objects created)
+	protected Map<Update, CompiledUpdate> compiledUpdates;
+	
+	// Caches of enabled commands for each module (null if not used for a module)
+	protected EnabledCommandsCache enabledCommandsCaches[];
+	
 	// Temporary storage:
 
 	// Element i,j of updateLists is a list of the updates from module i labelled with action j
@@ -172,6 +189,137 @@ public class Updater<Value> extends PrismComponent
 		}
 		clockGuards = new HashMap<Updates, Expression>();
 		numPlayers = modulesFile.getNumPlayers();
+		
+		// Compile expressions for guards, probabilities and updates, where possible
+		compileExpressions();
+		// Set up caching of enabled commands
+		createEnabledCommandsCaches();
+	}
+
+	/**
+	 * Compile (where possible) the guards, probabilities and updates of the model's commands,
+	 * which are then used in place of the corresponding {@link Expression}s during exploration.
+	 * This is only done for non-exact evaluation, and not for real-time models
+	 * (where guards and updates involve clocks).
+	 */
+	private void compileExpressions()
+	{
+		if (eval.evalMode() != EvalMode.FP || modelType.realTime()) {
+			return;
+		}
+		ExpressionCompiler compiler = new ExpressionCompiler(modulesFile.getConstantValues());
+		boolean compileProbs = eval.one() instanceof Double;
+		compiledGuards = new CompiledBoolean[numModules][];
+		compiledProbabilities = new IdentityHashMap<>();
+		compiledUpdates = new IdentityHashMap<>();
+		for (int m = 0; m < numModules; m++) {
+			Module module = modulesFile.getModule(m);
+			int n = module.getNumCommands();
+			compiledGuards[m] = new CompiledBoolean[n];
+			for (int i = 0; i < n; i++) {
+				Command command = module.getCommand(i);
+				compiledGuards[m][i] = compiler.compileBoolean(command.getGuard());
+				Updates ups = command.getUpdates();
+				int numUpdates = ups.getNumUpdates();
+				if (compileProbs) {
+					CompiledDouble probs[] = new CompiledDouble[numUpdates];
+					for (int k = 0; k < numUpdates; k++) {
+						Expression p = ups.getProbability(k);
+						probs[k] = p == null ? null : compiler.compileDouble(p);
+					}
+					compiledProbabilities.put(ups, probs);
+				}
+				for (int k = 0; k < numUpdates; k++) {
+					CompiledUpdate up = compiler.compileUpdate(ups.getUpdate(k));
+					if (up != null) {
+						compiledUpdates.put(ups.getUpdate(k), up);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Set up, for each module, a cache of its enabled commands, keyed on the values of
+	 * the variables that appear in its guards (see {@link EnabledCommandsCache}).
+	 * This is not done for real-time models (where guards are evaluated partially),
+	 * or for modules whose guards refer to something other than the model's variables.
+	 */
+	private void createEnabledCommandsCaches()
+	{
+		enabledCommandsCaches = new EnabledCommandsCache[numModules];
+		if (modelType.realTime()) {
+			return;
+		}
+		for (int m = 0; m < numModules; m++) {
+			Module module = modulesFile.getModule(m);
+			int n = module.getNumCommands();
+			BitSet vars = new BitSet();
+			boolean ok = n > 1;
+			for (int i = 0; i < n && ok; i++) {
+				try {
+					for (String name : module.getCommand(i).getGuard().getAllVars()) {
+						int v = varList.getIndex(name);
+						if (v == -1) {
+							ok = false;
+							break;
+						}
+						vars.set(v);
+					}
+				} catch (PrismLangException e) {
+					ok = false;
+				}
+			}
+			if (ok) {
+				enabledCommandsCaches[m] = new EnabledCommandsCache(vars.stream().toArray(), EnabledCommandsCache.DEFAULT_CAPACITY);
+			}
+		}
+	}
+	
+	/**
+	 * Get the set of commands of module m whose guards are true in a state,
+	 * using (and updating) the cache of enabled commands for the module.
+	 * Returns null if caching is not being used for the module, or if evaluating
+	 * some guard results in an error (this is left to the caller to report).
+	 * The returned BitSet should not be modified.
+	 */
+	protected BitSet getEnabledCommands(int m, State state)
+	{
+		EnabledCommandsCache cache = enabledCommandsCaches[m];
+		if (cache == null || !cache.isEnabled()) {
+			return null;
+		}
+		State key = cache.getKey(state);
+		BitSet enabled = cache.get(key);
+		if (enabled == null) {
+			Module module = modulesFile.getModule(m);
+			int n = module.getNumCommands();
+			enabled = new BitSet(n);
+			try {
+				for (int i = 0; i < n; i++) {
+					if (evaluateGuard(m, i, module.getCommand(i), state)) {
+						enabled.set(i);
+					}
+				}
+			} catch (PrismLangException e) {
+				return null;
+			}
+			cache.put(key, enabled);
+		}
+		return enabled;
+	}
+
+	/**
+	 * Evaluate the guard of the ith command of module m in a state
+	 * (using the compiled version, if available).
+	 */
+	protected boolean evaluateGuard(int m, int i, Command command, State state) throws PrismLangException
+	{
+		CompiledBoolean guard = compiledGuards == null ? null : compiledGuards[m][i];
+		if (guard != null) {
+			return guard.evaluate(state);
+		}
+		return command.getGuard().evaluateBoolean(ec.setState(state));
 	}
 
 	/**
@@ -369,6 +517,7 @@ public class Updater<Value> extends PrismComponent
 		module = modulesFile.getModule(m);
 		n = module.getNumCommands();
 		e = -1;
+		BitSet enabled = getEnabledCommands(m, state);
 
 		for (i = 0; i < n; i++) {
 			command = module.getCommand(i);
@@ -380,7 +529,7 @@ public class Updater<Value> extends PrismComponent
 				   										   + " from to player " + p
 				   										   + " has an unlabelled command");
 				}
-				else if (command.getGuard().evaluateBoolean(state)) {
+				else if (enabled != null ? enabled.get(i) : evaluateGuard(m, i, command, state)) {
 					if (e == -1) {
 						active.set(i);
 						e = i;
@@ -391,7 +540,7 @@ public class Updater<Value> extends PrismComponent
 				}
 			}
 			else {
-				if (command.getGuard().evaluateBoolean(state)) {
+				if (enabled != null ? enabled.get(i) : evaluateGuard(m, i, command, state)) {
 					indexes.clear();
 					for(int j : command.getSynchIndices()) {
 						indexes.set(j);
@@ -677,6 +826,18 @@ public class Updater<Value> extends PrismComponent
 	protected void calculateUpdatesForModule(int m, State state) throws PrismLangException
 	{
 		Module module = modulesFile.getModule(m);
+		// Where possible, get the enabled commands from the cache
+		BitSet enabled = getEnabledCommands(m, state);
+		if (enabled != null) {
+			for (int i = enabled.nextSetBit(0); i >= 0; i = enabled.nextSetBit(i + 1)) {
+				Command command = module.getCommand(i);
+				int j = command.getSynchIndex();
+				updateLists.get(m).get(j).add(command.getUpdates());
+				enabledSynchs.set(j);
+				enabledModules[j].set(m);
+			}
+			return;
+		}
 		int n = module.getNumCommands();
 		for (int i = 0; i < n; i++) {
 			Command command = module.getCommand(i);
@@ -695,7 +856,7 @@ public class Updater<Value> extends PrismComponent
 					guardSat = true;
 				}
 			} else {
-				guardSat = command.getGuard().evaluateBoolean(ec.setState(state));
+				guardSat = evaluateGuard(m, i, command, state);
 			}
 			// If the command is enabled, update stored info
 			if (guardSat) {
@@ -715,13 +876,27 @@ public class Updater<Value> extends PrismComponent
 	 * If the probability is not specified in the update, it is assumed to be 1.
 	 */
 	protected Value getProbabilityInState(Updates ups, int i, State state) throws PrismLangException
+	{
+		return getProbabilityInState(ups, compiledProbabilities == null ? null : compiledProbabilities.get(ups), i, state);
+	}
+	
+	/**
+	 * Evaluate the probability (or rate) of the ith update, in the context of a state,
+	 * using the compiled probabilities {@code probs} for {@code ups}, if available (non-null).
+	 * If the probability is not specified in the update, it is assumed to be 1.
+	 */
+	@SuppressWarnings("unchecked")
+	private Value getProbabilityInState(Updates ups, CompiledDouble probs[], int i, State state) throws PrismLangException
 	{
 		Expression p = ups.getProbability(i);
 		if (p == null) {
 			return eval.one();
-		} else {
-			return eval.evaluate(p, state);
 		}
+		if (probs != null && probs[i] != null) {
+			// Compiled probabilities are only created for double-valued models
+			return (Value) Double.valueOf(probs[i].evaluate(state));
+		}
+		return eval.evaluate(p, state);
 	}
 	
 	/**
@@ -742,11 +917,13 @@ public class Updater<Value> extends PrismComponent
 		// Create choice and add all info
 		ch = new ChoiceListFlexi<Value>(eval);
 		ch.setModuleOrActionIndex(moduleOrActionIndex);
+		ch.setCompiledUpdates(compiledUpdates);
 		n = ups.getNumUpdates();
 		sum = eval.zero();
+		CompiledDouble probs[] = compiledProbabilities == null ? null : compiledProbabilities.get(ups);
 		for (i = 0; i < n; i++) {
 			// Compute probability/rate
-			p = getProbabilityInState(ups, i, state);
+			p = getProbabilityInState(ups, probs, i, state);
 			// Check that probabilities/rates are finite (non-infinite, non-NaN) and non-negative
 			// We omit the check in symbolic (parametric) cases - too expensive
 			// Note: we indicate errors in whole Updates object because the offending
@@ -1712,6 +1712,9 @@ public class StateModelChecker extends PrismComponent implements ModelChecker
 		if (exportOptions.getFormat() == ModelExportFormat.DRN) {
 			throw new PrismException("DRN export not yet supported by the symbolic engine");
 		}
+		if (exportOptions.getFormat() == ModelExportFormat.BINARY) {
+			throw new PrismException("Binary export not yet supported by the symbolic engine");
+		}
 
 		int precision = exportOptions.getModelPrecision();
 		try {
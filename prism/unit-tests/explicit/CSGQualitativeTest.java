@@ -0,0 +1,118 @@
+package explicit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import parser.Values;
+import parser.ast.Coalition;
+import parser.ast.ModulesFile;
+import prism.Prism;
+import prism.PrismDevNullLog;
+import prism.PrismException;
+
+/**
+ * Tests that the qualitative algorithms for CSGs (AF, AFG, G) computed using {@link CSGQualitative}
+ * (which is done when the predecessor relation is enabled, i.e., by default)
+ * give the same results as the original fixed point computations (i.e., with -noprerel),
+ * for each coalition (and with the coalitions swapped), with and without remain sets,
+ * for random target/remain sets on the zero-sum test models.
+ */
+public class CSGQualitativeTest
+{
+	private static final String MODELS_DIR = "../prism-tests/functionality/verify/csgs/zerosum/";
+
+	@Test
+	public void testRps() throws Exception
+	{
+		check("rps2.prism", new Values(), "player1", "player2");
+	}
+
+	@Test
+	public void testJamming() throws Exception
+	{
+		Values consts = new Values();
+		consts.addValue("slots", 3);
+		check("jamming4.prism", consts, "user", "jammer");
+	}
+
+	@Test
+	public void testRobotCoordination() throws Exception
+	{
+		Values consts = new Values();
+		consts.addValue("l", 3);
+		consts.addValue("q", 0.1);
+		check("robot_coordination2.prism", consts, "robot1", "robot2");
+	}
+
+	@Test
+	public void testAloha() throws Exception
+	{
+		Values consts = new Values();
+		consts.addValue("bcmax", 1);
+		consts.addValue("D", 4);
+		consts.addValue("q", 0.9);
+		check("aloha_backoff2.prism", consts, "usr1", "usr2");
+	}
+
+	/**
+	 * Build a CSG and compare AF/AFG/G with and without the predecessor relation,
+	 * for coalitions of either player, as a maximiser and as a minimiser.
+	 * The same model checker is used throughout (with the predecessor relation),
+	 * so that the stored support matrices are reused, and transposed when the coalitions swap.
+	 */
+	@SuppressWarnings("unchecked")
+	private void check(String modelFile, Values consts, String player1, String player2) throws Exception
+	{
+		File file = new File(MODELS_DIR + modelFile);
+		assumeTrue(file.exists(), "test model " + file + " not available");
+		Prism prism = new Prism(new PrismDevNullLog());
+		try {
+			prism.initialise();
+			prism.setEngine(Prism.EXPLICIT);
+			ModulesFile modulesFile = prism.parseModelFile(file);
+			prism.loadPRISMModel(modulesFile);
+			prism.setPRISMModelConstants(consts);
+			prism.buildModel();
+			CSG<Double> csg = (CSG<Double>) prism.getBuiltModelExplicit();
+			CSGModelChecker withPreRel = new CSGModelChecker(prism);
+			withPreRel.setPreRel(true);
+			CSGModelChecker noPreRel = new CSGModelChecker(prism);
+			noPreRel.setPreRel(false);
+			Random random = new Random(modelFile.hashCode());
+			int n = csg.getNumStates();
+			for (int i = 0; i < 8; i++) {
+				Coalition coalition = new Coalition(Collections.singletonList((i & 1) == 0 ? player1 : player2));
+				boolean min = (i & 2) != 0;
+				withPreRel.buildCoalitions(csg, coalition, min);
+				noPreRel.buildCoalitions(csg, coalition, min);
+				String desc = modelFile + ", coalition " + coalition.getPlayers() + (min ? " (min)" : " (max)");
+				BitSet a = randomSet(random, n, 0.8);
+				BitSet b = randomSet(random, n, i < 4 ? 0.1 : 0.5);
+				assertEquals(noPreRel.AF(csg, b), withPreRel.AF(csg, b), "AF: " + desc);
+				assertEquals(noPreRel.AF(csg, a, b), withPreRel.AF(csg, a, b), "AF (remain): " + desc);
+				assertEquals(noPreRel.AFG(csg, b), withPreRel.AFG(csg, b), "AFG: " + desc);
+				assertEquals(noPreRel.G(csg, a), withPreRel.G(csg, a), "G: " + desc);
+			}
+		} finally {
+			prism.closeDown();
+		}
+	}
+
+	private static BitSet randomSet(Random random, int n, double p)
+	{
+		BitSet set = new BitSet(n);
+		for (int s = 0; s < n; s++) {
+			if (random.nextDouble() < p) {
+				set.set(s);
+			}
+		}
+		return set;
+	}
+}
@@ -0,0 +1,238 @@
+package explicit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import explicit.CSGModelCheckerEquilibria.CSGResultStatus;
+import prism.Pair;
+import prism.PrismException;
+
+/**
+ * Tests for {@link CSGSupportEnumerationParallel}, using a stub solver
+ * (so that no SMT solver is needed), for which the result for each support
+ * is a fixed function of the support, and which takes some time for each check.
+ */
+public class CSGSupportEnumerationParallelTest
+{
+	private static final int NUM_PLAYERS = 3;
+
+	@Test
+	public void testSameResults() throws PrismException
+	{
+		List<BitSet> supports = randomSupports(new Random(1), 60);
+		List<EquilibriumResult> expected = compute(1, supports, null, null);
+		for (EquilibriumResult result : expected) {
+			assertNotNull(result);
+		}
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		List<EquilibriumResult> results = compute(4, supports, null, threads);
+		assertResultsEqual(expected, results);
+		assertTrue(threads.size() > 1, "only one thread was used");
+	}
+
+	@Test
+	public void testEarlyStop() throws PrismException
+	{
+		Random random = new Random(2);
+		for (int k = 0; k < 10; k++) {
+			List<BitSet> supports = randomSupports(random, 60);
+			// Stop at the first equilibrium with payoffs at least (3,3,3), if any
+			double target[] = new double[] { 3, 3, 3 };
+			int first = supports.size();
+			for (int i = 0; i < supports.size(); i++) {
+				EquilibriumResult result = stubResult(supports.get(i));
+				if (result.getStatus() == CSGResultStatus.SAT && result.getPayoffVector().stream().allMatch(v -> v >= 3)) {
+					first = i;
+					break;
+				}
+			}
+			List<EquilibriumResult> expected = compute(1, supports, target, null);
+			List<EquilibriumResult> results = compute(4, supports, target, null);
+			assertResultsEqual(expected, results);
+			for (int i = 0; i < supports.size(); i++) {
+				if (i <= first) {
+					assertNotNull(results.get(i));
+				} else {
+					assertNull(results.get(i));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCounts() throws PrismException
+	{
+		List<BitSet> supports = randomSupports(new Random(3), 40);
+		double target[] = new double[] { 0, 0, 0 };
+		int first = 0;
+		while (stubResult(supports.get(first)).getStatus() != CSGResultStatus.SAT) {
+			first++;
+		}
+		try (CSGSupportEnumerationParallel engine = new CSGSupportEnumerationParallel(1, () -> new StubSupportEnumeration(null), null, NUM_PLAYERS)) {
+			engine.computeEquilibria(supports, new HashMap<>(), null);
+			assertEquals(supports.size(), engine.getNumChecked());
+			assertEquals(0, engine.getNumSkipped());
+			engine.computeEquilibria(supports, new HashMap<>(), target);
+			assertEquals(supports.size() + first + 1, engine.getNumChecked());
+			assertEquals(supports.size() - first - 1, engine.getNumSkipped());
+		}
+	}
+
+	/**
+	 * Check supports using a given number of threads (recording the threads used in {@code threads}, if non-null).
+	 */
+	private static List<EquilibriumResult> compute(int numThreads, List<BitSet> supports, double target[], Set<Thread> threads) throws PrismException
+	{
+		try (CSGSupportEnumerationParallel engine = new CSGSupportEnumerationParallel(numThreads, () -> new StubSupportEnumeration(threads), null, NUM_PLAYERS)) {
+			assertEquals(numThreads, engine.getNumThreads());
+			return engine.computeEquilibria(supports, new HashMap<>(), target);
+		}
+	}
+
+	private static void assertResultsEqual(List<EquilibriumResult> expected, List<EquilibriumResult> results)
+	{
+		assertEquals(expected.size(), results.size());
+		for (int i = 0; i < expected.size(); i++) {
+			if (expected.get(i) == null) {
+				assertNull(results.get(i));
+			} else {
+				assertEquals(expected.get(i).getStatus(), results.get(i).getStatus());
+				assertEquals(expected.get(i).getPayoffVector(), results.get(i).getPayoffVector());
+			}
+		}
+	}
+
+	private static List<BitSet> randomSupports(Random random, int n)
+	{
+		List<BitSet> supports = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			BitSet supp = new BitSet();
+			for (int j = 0; j < 9; j++) {
+				if (random.nextBoolean()) {
+					supp.set(j);
+				}
+			}
+			supports.add(supp);
+		}
+		return supports;
+	}
+
+	/**
+	 * The result of the stub solver for a support: unsatisfiable for some supports,
+	 * otherwise an "equilibrium" whose payoffs depend on the support.
+	 */
+	private static EquilibriumResult stubResult(BitSet supp)
+	{
+		EquilibriumResult result = new EquilibriumResult();
+		ArrayList<Double> payoffs = new ArrayList<>();
+		if (supp.cardinality() % 3 == 0) {
+			result.setStatus(CSGResultStatus.UNSAT);
+		} else {
+			result.setStatus(CSGResultStatus.SAT);
+			for (int p = 0; p < NUM_PLAYERS; p++) {
+				payoffs.add((double) ((supp.hashCode() >>> (2 * p)) % 5));
+			}
+		}
+		result.setPayoffVector(payoffs);
+		result.setStrategy(new ArrayList<>());
+		return result;
+	}
+
+	/**
+	 * Stub solver context, which checks that it is never used by two threads at once.
+	 */
+	private static class StubSupportEnumeration implements CSGSupportEnumeration
+	{
+		private AtomicBoolean inUse = new AtomicBoolean();
+		private Set<Thread> threads;
+
+		StubSupportEnumeration(Set<Thread> threads)
+		{
+			this.threads = threads;
+		}
+
+		@Override
+		public EquilibriumResult computeEquilibria(BitSet supp, HashMap<Integer, int[]> map)
+		{
+			if (!inUse.compareAndSet(false, true)) {
+				throw new IllegalStateException("solver context used by two threads at once");
+			}
+			try {
+				if (threads != null) {
+					threads.add(Thread.currentThread());
+				}
+				Thread.sleep(supp.hashCode() % 3);
+				return stubResult(supp);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			} finally {
+				inUse.set(false);
+			}
+		}
+
+		@Override
+		public void init()
+		{
+		}
+
+		@Override
+		public void setNumPlayers(int n)
+		{
+		}
+
+		@Override
+		public void setIndexes(ArrayList<ArrayList<Integer>> a)
+		{
+		}
+
+		@Override
+		public void computeConstraints(BitSet supp)
+		{
+		}
+
+		@Override
+		public void computeSupport(BitSet supp, HashMap<Integer, int[]> map)
+		{
+		}
+
+		@Override
+		public void translateAssertions(HashMap<Integer, HashMap<Integer, ArrayList<Pair<BitSet, Double>>>> assertionsIdx, HashMap<Integer, int[]> map)
+		{
+		}
+
+		@Override
+		public void setGradient(HashMap<Integer, HashMap<Integer, ArrayList<Pair<BitSet, Double>>>> gradient)
+		{
+		}
+
+		@Override
+		public void setAssertions(HashMap<Integer, HashMap<Integer, ArrayList<Pair<BitSet, Double>>>> assertions)
+		{
+		}
+
+		@Override
+		public void setMap(HashMap<Integer, int[]> map)
+		{
+		}
+
+		@Override
+		public ArrayList<Distribution<Double>> getStrat()
+		{
+			return new ArrayList<>();
+		}
+	}
+}
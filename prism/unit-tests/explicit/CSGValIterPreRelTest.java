@@ -0,0 +1,170 @@
+package explicit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import parser.Values;
+import parser.ast.ModulesFile;
+import parser.ast.PropertiesFile;
+import prism.Prism;
+import prism.PrismException;
+import prism.PrismPrintStreamLog;
+import prism.PrismSettings;
+import prism.Result;
+import prism.StateVector;
+
+/**
+ * Tests that CSG value iteration restricted to states with a changed successor
+ * (which is done when the predecessor relation is enabled, i.e., by default)
+ * gives the same values for all states, after the same number of iterations,
+ * as value iteration over all states (i.e., with -noprerel).
+ */
+public class CSGValIterPreRelTest
+{
+	private static final String MODELS_DIR = "../prism-tests/functionality/verify/csgs/zerosum/";
+
+	private static final Pattern ITERS = Pattern.compile("Value iteration converged after (\\d+) iterations");
+	private static final Pattern GAMES = Pattern.compile("Matrix games solved: (\\d+) \\(of (\\d+) for full sweeps\\)");
+
+	private static final String ROBOT_PROPS[] = {
+			"<<robot1>>Pmax=? [ !\"crash\" U \"goal1\" ]",
+			"<<robot1>>Pmin=? [ !\"crash\" U \"goal1\" ]",
+			"<<robot2>>Pmax=? [ F \"goal2\" ]",
+			"<<robot2>>Pmin=? [ F \"goal2\" ]",
+			"<<robot1>>R{\"time1\"}min=? [ F \"goal1\" ]",
+			"<<robot1>>R{\"time1\"}max=? [ F \"goal1\" ]",
+			"<<robot2>>R{\"time2\"}min=? [ F \"goal2\" ]",
+	};
+
+	private static final String JAMMING_PROPS[] = {
+			"<<user>>Pmax=? [ F sent>=slots/2 ]",
+			"<<user>>Pmin=? [ G sent<slots/2 ]",
+			"<<jammer>>Pmin=? [ F sent>=slots/2 ]",
+			"<<user>>R{\"rew\"}max=? [ F t=slots+1 ]",
+			"<<jammer>>R{\"rew\"}min=? [ F t=slots+1 ]",
+	};
+
+	@Test
+	public void testRobotCoordination() throws Exception
+	{
+		Values consts = new Values();
+		consts.addValue("l", 4);
+		consts.addValue("q", 0.1);
+		checkAllMethods("robot_coordination2.prism", consts, ROBOT_PROPS);
+	}
+
+	@Test
+	public void testJamming() throws Exception
+	{
+		Values consts = new Values();
+		consts.addValue("slots", 5);
+		checkAllMethods("jamming4.prism", consts, JAMMING_PROPS);
+	}
+
+	/**
+	 * Check Jacobi, Gauss-Seidel and topological value iteration.
+	 */
+	private void checkAllMethods(String modelFile, Values consts, String props[]) throws Exception
+	{
+		int[] games = check(modelFile, consts, props, "Value iteration", false);
+		// The restriction to states with changed successors should save some work
+		assertTrue(games[0] < games[1], "no matrix games were skipped");
+		check(modelFile, consts, props, "Gauss-Seidel", false);
+		check(modelFile, consts, props, "Gauss-Seidel", true);
+	}
+
+	/**
+	 * Model check some properties with and without the predecessor relation and compare.
+	 * Returns the total number of matrix games solved (with the predecessor relation) and
+	 * the number that would be needed for full sweeps, if reported (i.e., for Jacobi).
+	 */
+	private int[] check(String modelFile, Values consts, String props[], String method, boolean topological) throws Exception
+	{
+		File file = new File(MODELS_DIR + modelFile);
+		assumeTrue(file.exists(), "test model " + file + " not available");
+		Run withPreRel = new Run(file, consts, props, method, topological, true);
+		Run noPreRel = new Run(file, consts, props, method, topological, false);
+		if (!method.equals("Value iteration") || topological) {
+			assertTrue(withPreRel.inPlace && noPreRel.inPlace, "value iteration was not done in place");
+		}
+		for (int i = 0; i < props.length; i++) {
+			String desc = props[i] + " (" + method + (topological ? ", topological" : "") + ")";
+			assertArrayEquals(noPreRel.values.get(i), withPreRel.values.get(i), 0.0, desc);
+			assertEquals(noPreRel.iters.get(i), withPreRel.iters.get(i), desc);
+		}
+		return new int[] { withPreRel.gamesSolved, withPreRel.gamesFull };
+	}
+
+	/**
+	 * Results of model checking some properties on a model.
+	 */
+	private static class Run
+	{
+		/** Values for all states, for each property */
+		List<double[]> values = new ArrayList<>();
+		/** Value iteration iterations, for each property */
+		List<List<Integer>> iters = new ArrayList<>();
+		/** Total matrix games solved, and needed for full sweeps, if reported */
+		int gamesSolved, gamesFull;
+		/** Whether in-place (Gauss-Seidel style) value iteration was used */
+		boolean inPlace;
+
+		Run(File file, Values consts, String props[], String method, boolean topological, boolean preRel) throws Exception
+		{
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			Prism prism = new Prism(new PrismPrintStreamLog(new PrintStream(out, true)));
+			try {
+				prism.initialise();
+				prism.setVerbose(true);
+				prism.getSettings().set(PrismSettings.PRISM_PRE_REL, preRel);
+				prism.getSettings().set(PrismSettings.PRISM_CSG_SOLN_METHOD, method);
+				prism.getSettings().set(PrismSettings.PRISM_TOPOLOGICAL_VI, topological);
+				ModulesFile modulesFile = prism.parseModelFile(file);
+				prism.loadPRISMModel(modulesFile);
+				prism.setPRISMModelConstants(consts);
+				for (String prop : props) {
+					out.reset();
+					PropertiesFile propertiesFile = prism.parsePropertiesString("filter(store, " + prop + ")");
+					Result result = prism.modelCheck(propertiesFile, propertiesFile.getPropertyObject(0));
+					values.add(toArray(result.getVector()));
+					String log = out.toString();
+					inPlace |= log.contains("Gauss-Seidel)");
+					List<Integer> propIters = new ArrayList<>();
+					Matcher m = ITERS.matcher(log);
+					while (m.find()) {
+						propIters.add(Integer.parseInt(m.group(1)));
+					}
+					iters.add(propIters);
+					m = GAMES.matcher(log);
+					while (m.find()) {
+						gamesSolved += Integer.parseInt(m.group(1));
+						gamesFull += Integer.parseInt(m.group(2));
+					}
+				}
+			} finally {
+				prism.closeDown();
+			}
+		}
+
+		private static double[] toArray(StateVector vect) throws PrismException
+		{
+			double arr[] = new double[vect.getSize()];
+			for (int i = 0; i < arr.length; i++) {
+				arr[i] = ((Number) vect.getValue(i)).doubleValue();
+			}
+			return arr;
+		}
+	}
+}
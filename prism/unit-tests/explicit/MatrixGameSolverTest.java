@@ -0,0 +1,309 @@
+package explicit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import lpsolve.LpSolve;
+import lpsolve.LpSolveException;
+
+/**
+ * Tests for {@link MatrixGameSolver}: values are compared against the solution of the
+ * corresponding linear program by LpSolve and strategies are checked to be optimal
+ * (strategies themselves need not be unique, so are only compared where they are).
+ */
+public class MatrixGameSolverTest
+{
+	private static final double TOL = 1e-9;
+
+	private static boolean lpSolveAvailable;
+
+	@BeforeAll
+	public static void loadLpSolve()
+	{
+		try {
+			LpSolve.lpSolveVersion();
+			lpSolveAvailable = true;
+		} catch (UnsatisfiedLinkError e) {
+			lpSolveAvailable = false;
+		}
+	}
+
+	@Test
+	public void testSaddlePoint() throws LpSolveException
+	{
+		double a[][] = { { 3, 1, 4 }, { 2, 0, 1 }, { 5, 2, 6 } };
+		MatrixGameSolver solver = checkGame(a);
+		assertEquals(2.0, solver.getValue(), TOL);
+		assertArrayEquals(new double[] { 0, 0, 1 }, prefix(solver.getRowStrategy(), 3), TOL);
+		assertArrayEquals(new double[] { 0, 1, 0 }, prefix(solver.getColumnStrategy(), 3), TOL);
+	}
+
+	@Test
+	public void testDominance() throws LpSolveException
+	{
+		// Row 2 is dominated by row 0; then column 2 is dominated by column 0
+		double a[][] = { { 4, 0, 5 }, { 0, 4, 5 }, { 0, 0, -1 } };
+		MatrixGameSolver solver = checkGame(a);
+		assertEquals(2.0, solver.getValue(), TOL);
+		assertArrayEquals(new double[] { 0.5, 0.5, 0 }, prefix(solver.getRowStrategy(), 3), TOL);
+		assertArrayEquals(new double[] { 0.5, 0.5, 0 }, prefix(solver.getColumnStrategy(), 3), TOL);
+		// Dominance down to 2xn and mx2
+		checkGame(new double[][] { { 3, 0, 1 }, { 0, 3, 1 }, { -1, -1, 0 } });
+		checkGame(new double[][] { { 3, 0, -1 }, { 0, 3, -1 }, { 1, 1, 0 } });
+	}
+
+	@Test
+	public void test2x2() throws LpSolveException
+	{
+		double a[][] = { { 1, -1 }, { -1, 1 } };
+		MatrixGameSolver solver = checkGame(a);
+		assertEquals(0.0, solver.getValue(), TOL);
+		assertArrayEquals(new double[] { 0.5, 0.5 }, prefix(solver.getRowStrategy(), 2), TOL);
+		assertArrayEquals(new double[] { 0.5, 0.5 }, prefix(solver.getColumnStrategy(), 2), TOL);
+		double b[][] = { { 2, -1 }, { -1, 1 } };
+		solver = checkGame(b);
+		assertEquals(0.2, solver.getValue(), TOL);
+		assertArrayEquals(new double[] { 0.4, 0.6 }, prefix(solver.getRowStrategy(), 2), TOL);
+		assertArrayEquals(new double[] { 0.4, 0.6 }, prefix(solver.getColumnStrategy(), 2), TOL);
+		// Probabilities, as arising from a CSG
+		checkGame(new double[][] { { 0.9, 0.2 }, { 0.1, 0.6 } });
+	}
+
+	@Test
+	public void test2xnAndmx2() throws LpSolveException
+	{
+		double a[][] = { { 1, 3, -1, 2 }, { -2, -1, 4, 0 } };
+		checkGame(a);
+		checkGame(transpose(a));
+		// Lower envelope with several segments meeting at the optimum
+		double b[][] = { { 0, 1, 2, 3, 4 }, { 4, 3, 2, 1, 0 } };
+		MatrixGameSolver solver = checkGame(b);
+		assertEquals(2.0, solver.getValue(), TOL);
+		solver = checkGame(transpose(b));
+		assertEquals(2.0, solver.getValue(), TOL);
+		Random random = new Random(2);
+		for (int k = 0; k < 200; k++) {
+			double c[][] = randomGame(random, 2, 3 + random.nextInt(6), false);
+			checkGame(c);
+			checkGame(transpose(c));
+		}
+	}
+
+	@Test
+	public void testSimplex() throws LpSolveException
+	{
+		// Rock-paper-scissors
+		double a[][] = { { 0, -1, 1 }, { 1, 0, -1 }, { -1, 1, 0 } };
+		MatrixGameSolver solver = checkGame(a);
+		assertEquals(0.0, solver.getValue(), TOL);
+		double third[] = { 1.0 / 3, 1.0 / 3, 1.0 / 3 };
+		assertArrayEquals(third, prefix(solver.getRowStrategy(), 3), TOL);
+		assertArrayEquals(third, prefix(solver.getColumnStrategy(), 3), TOL);
+		// Rock-paper-scissors-lizard-Spock
+		double b[][] = { { 0, -1, 1, 1, -1 }, { 1, 0, -1, -1, 1 }, { -1, 1, 0, 1, -1 }, { -1, 1, -1, 0, 1 }, { 1, -1, 1, -1, 0 } };
+		solver = checkGame(b);
+		assertEquals(0.0, solver.getValue(), TOL);
+		Random random = new Random(3);
+		for (int k = 0; k < 500; k++) {
+			checkGame(randomGame(random, 3 + random.nextInt(8), 3 + random.nextInt(8), false));
+		}
+	}
+
+	@Test
+	public void testDegenerate() throws LpSolveException
+	{
+		// All entries equal
+		MatrixGameSolver solver = checkGame(new double[][] { { 0.5, 0.5, 0.5 }, { 0.5, 0.5, 0.5 } });
+		assertEquals(0.5, solver.getValue(), TOL);
+		// Identical rows and columns
+		checkGame(new double[][] { { 1, 0, 0 }, { 1, 0, 0 }, { 0, 1, 1 } });
+		checkGame(new double[][] { { 1, 0, 1, 0 }, { 0, 1, 0, 1 }, { 1, 0, 1, 0 } });
+		// Ties everywhere
+		checkGame(new double[][] { { 1, 1, 0 }, { 1, 0, 1 }, { 0, 1, 1 } });
+		checkGame(new double[][] { { 0, 0, 0 }, { 0, 0, 0 }, { 0, 0, 1 } });
+		// Random games with few distinct entries
+		Random random = new Random(4);
+		for (int k = 0; k < 500; k++) {
+			checkGame(randomGame(random, 2 + random.nextInt(6), 2 + random.nextInt(6), true));
+		}
+	}
+
+	@Test
+	public void testLarge() throws LpSolveException
+	{
+		MatrixGameSolver solver = new MatrixGameSolver();
+		Random random = new Random(5);
+		// Largest games that are solved directly
+		int max = MatrixGameSolver.MAX_SIZE;
+		checkGame(randomGame(random, max, max, false));
+		checkGame(randomGame(random, max, 2, false));
+		// Anything larger is left to an LP solver
+		assertFalse(solver.solve(randomGame(random, max + 1, 2, false), max + 1, 2));
+		assertFalse(solver.solve(randomGame(random, 2, max + 1, false), 2, max + 1));
+		assertFalse(solver.solve(randomGame(random, max + 1, max + 1, false), max + 1, max + 1));
+		// The same solver can still be used after a failure
+		checkGame(solver, new double[][] { { 1, -1 }, { -1, 1 } });
+	}
+
+	@Test
+	public void testReuse() throws LpSolveException
+	{
+		// Solve games of varying sizes (which should not affect each other) with a single solver
+		MatrixGameSolver solver = new MatrixGameSolver();
+		Random random = new Random(6);
+		for (int k = 0; k < 200; k++) {
+			checkGame(solver, randomGame(random, 1 + random.nextInt(12), 1 + random.nextInt(12), k % 2 == 0));
+		}
+	}
+
+	/**
+	 * Solve a game with a new solver and check the result against LpSolve.
+	 */
+	private static MatrixGameSolver checkGame(double a[][]) throws LpSolveException
+	{
+		MatrixGameSolver solver = new MatrixGameSolver();
+		checkGame(solver, a);
+		return solver;
+	}
+
+	/**
+	 * Solve a game and check the result: the value should match that found by LpSolve
+	 * and the strategies should be distributions that guarantee the value.
+	 */
+	private static void checkGame(MatrixGameSolver solver, double a[][]) throws LpSolveException
+	{
+		assumeTrue(lpSolveAvailable, "LpSolve library not available");
+		int m = a.length;
+		int n = a[0].length;
+		// Pass in a larger array to check that only the given part is used
+		double big[][] = new double[m + 1][n + 1];
+		for (int i = 0; i <= m; i++) {
+			for (int j = 0; j <= n; j++) {
+				big[i][j] = (i < m && j < n) ? a[i][j] : Double.MAX_VALUE;
+			}
+		}
+		assertTrue(solver.solve(big, m, n));
+		double value = solver.getValue();
+		assertEquals(lpValue(a), value, TOL);
+		// Value for the column player, as a maximiser in the negated transposed game
+		assertEquals(-lpValue(negate(transpose(a))), value, TOL);
+		double x[] = solver.getRowStrategy();
+		double y[] = solver.getColumnStrategy();
+		checkDistribution(x, m);
+		checkDistribution(y, n);
+		for (int j = 0; j < n; j++) {
+			double sum = 0.0;
+			for (int i = 0; i < m; i++) {
+				sum += x[i] * a[i][j];
+			}
+			assertTrue(sum >= value - TOL, "row strategy does not guarantee the value");
+		}
+		for (int i = 0; i < m; i++) {
+			double sum = 0.0;
+			for (int j = 0; j < n; j++) {
+				sum += y[j] * a[i][j];
+			}
+			assertTrue(sum <= value + TOL, "column strategy does not guarantee the value");
+		}
+	}
+
+	/**
+	 * Check that the first n entries of an array form a probability distribution.
+	 */
+	private static void checkDistribution(double dist[], int n)
+	{
+		double sum = 0.0;
+		for (int i = 0; i < n; i++) {
+			assertTrue(dist[i] >= 0.0, "negative probability");
+			sum += dist[i];
+		}
+		assertEquals(1.0, sum, TOL);
+	}
+
+	/**
+	 * Compute the value of a game (row player maximising) with LpSolve, i.e.,
+	 * maximise v s.t. sum_i x_i a_ij &gt;= v for all j, sum_i x_i = 1, x &gt;= 0.
+	 */
+	private static double lpValue(double a[][]) throws LpSolveException
+	{
+		int m = a.length;
+		int n = a[0].length;
+		LpSolve lp = LpSolve.makeLp(0, m + 1);
+		try {
+			lp.setVerbose(LpSolve.CRITICAL);
+			lp.setUnbounded(m + 1);
+			double row[] = new double[m + 2];
+			for (int j = 0; j < n; j++) {
+				for (int i = 0; i < m; i++) {
+					row[i + 1] = a[i][j];
+				}
+				row[m + 1] = -1.0;
+				lp.addConstraint(row, LpSolve.GE, 0.0);
+			}
+			for (int i = 0; i < m; i++) {
+				row[i + 1] = 1.0;
+			}
+			row[m + 1] = 0.0;
+			lp.addConstraint(row, LpSolve.EQ, 1.0);
+			double obj[] = new double[m + 2];
+			obj[m + 1] = 1.0;
+			lp.setObjFn(obj);
+			lp.setMaxim();
+			assertEquals(LpSolve.OPTIMAL, lp.solve());
+			return lp.getObjective();
+		} finally {
+			lp.deleteLp();
+		}
+	}
+
+	/**
+	 * Generate a random game, with entries in [-1,1) or, if {@code ties} is true, in {0,1,2}.
+	 */
+	private static double[][] randomGame(Random random, int m, int n, boolean ties)
+	{
+		double a[][] = new double[m][n];
+		for (int i = 0; i < m; i++) {
+			for (int j = 0; j < n; j++) {
+				a[i][j] = ties ? random.nextInt(3) : 2.0 * random.nextDouble() - 1.0;
+			}
+		}
+		return a;
+	}
+
+	private static double[][] transpose(double a[][])
+	{
+		double t[][] = new double[a[0].length][a.length];
+		for (int i = 0; i < a.length; i++) {
+			for (int j = 0; j < a[0].length; j++) {
+				t[j][i] = a[i][j];
+			}
+		}
+		return t;
+	}
+
+	private static double[][] negate(double a[][])
+	{
+		double b[][] = new double[a.length][a[0].length];
+		for (int i = 0; i < a.length; i++) {
+			for (int j = 0; j < a[0].length; j++) {
+				b[i][j] = -a[i][j];
+			}
+		}
+		return b;
+	}
+
+	private static double[] prefix(double a[], int n)
+	{
+		double b[] = new double[n];
+		System.arraycopy(a, 0, b, 0, n);
+		return b;
+	}
+}
@@ -0,0 +1,283 @@
+package explicit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import lpsolve.LpSolve;
+import lpsolve.LpSolveException;
+
+/**
+ * Tests for {@link ParetoVertexSet} in 3 and 4 dimensions, on random sets: membership is compared
+ * against a linear program solved by LpSolve (for points not too close to the boundary),
+ * every vertex is checked to be extreme, and weighted sums are checked via their support functions.
+ */
+public class ParetoVertexSetTest
+{
+	private static final int NUM_SETS = 300;
+
+	private static final int NUM_POINTS = 50;
+
+	/** Points closer than this to the boundary (according to the LP) are not compared */
+	private static final double MARGIN = 1e-6;
+
+	private static boolean lpSolveAvailable;
+
+	@BeforeAll
+	public static void loadLpSolve()
+	{
+		try {
+			LpSolve.lpSolveVersion();
+			lpSolveAvailable = true;
+		} catch (UnsatisfiedLinkError e) {
+			lpSolveAvailable = false;
+		}
+	}
+
+	@Test
+	public void testFromPoints() throws LpSolveException
+	{
+		assumeTrue(lpSolveAvailable, "LpSolve library not available");
+		Random random = new Random(1);
+		for (int k = 0; k < NUM_SETS; k++) {
+			int n = 3 + k % 2;
+			List<double[]> points = randomPoints(random, n, 1 + random.nextInt(k < NUM_SETS / 2 ? 8 : 25), 0.0, 1.0);
+			ParetoVertexSet set = ParetoVertexSet.fromPoints(n, points);
+			String desc = "set " + k + " (n=" + n + ")";
+			checkVertices(set, points, desc);
+			for (double[] x : randomPoints(random, n, NUM_POINTS, 0.0, 1.0)) {
+				checkContains(set.contains(x), margin(points, x, -1), desc + ", point " + Arrays.toString(x));
+			}
+		}
+	}
+
+	@Test
+	public void testHull() throws LpSolveException
+	{
+		assumeTrue(lpSolveAvailable, "LpSolve library not available");
+		Random random = new Random(2);
+		for (int k = 0; k < NUM_SETS; k++) {
+			int n = 3 + k % 2;
+			List<double[]> points1 = randomPoints(random, n, 1 + random.nextInt(10), 0.0, 1.0);
+			List<double[]> points2 = randomPoints(random, n, 1 + random.nextInt(10), 0.0, 1.0);
+			List<ParetoVertexSet> sets = new ArrayList<>();
+			sets.add(ParetoVertexSet.fromPoints(n, points1));
+			sets.add(ParetoVertexSet.empty(n));
+			sets.add(ParetoVertexSet.fromPoints(n, points2));
+			ParetoVertexSet hull = ParetoVertexSet.hull(n, sets);
+			List<double[]> points = new ArrayList<>(points1);
+			points.addAll(points2);
+			String desc = "set " + k + " (n=" + n + ")";
+			checkVertices(hull, points, desc);
+			for (double[] x : randomPoints(random, n, NUM_POINTS, 0.0, 1.0)) {
+				checkContains(hull.contains(x), margin(points, x, -1), desc + ", point " + Arrays.toString(x));
+			}
+		}
+	}
+
+	@Test
+	public void testIntersection() throws LpSolveException
+	{
+		assumeTrue(lpSolveAvailable, "LpSolve library not available");
+		Random random = new Random(3);
+		for (int k = 0; k < NUM_SETS; k++) {
+			int n = 3 + k % 2;
+			List<double[]> points1 = randomPoints(random, n, 1 + random.nextInt(12), 0.0, 1.0);
+			List<double[]> points2 = randomPoints(random, n, 1 + random.nextInt(12), 0.0, 1.0);
+			ParetoVertexSet set = ParetoVertexSet.intersection(ParetoVertexSet.fromPoints(n, points1), ParetoVertexSet.fromPoints(n, points2));
+			String desc = "set " + k + " (n=" + n + ")";
+			checkVertices(set, null, desc);
+			for (double[] x : randomPoints(random, n, NUM_POINTS, 0.0, 1.0)) {
+				double margin = Math.min(margin(points1, x, -1), margin(points2, x, -1));
+				checkContains(set.contains(x), margin, desc + ", point " + Arrays.toString(x));
+			}
+		}
+	}
+
+	@Test
+	public void testCutBox() throws LpSolveException
+	{
+		assumeTrue(lpSolveAvailable, "LpSolve library not available");
+		Random random = new Random(4);
+		long M = 2;
+		for (int k = 0; k < NUM_SETS; k++) {
+			int n = 3 + k % 2;
+			List<double[]> points = randomPoints(random, n, 1 + random.nextInt(15), -3.0, 1.0);
+			ParetoVertexSet set = ParetoVertexSet.fromPoints(n, points).cutBox(M);
+			String desc = "set " + k + " (n=" + n + ")";
+			checkVertices(set, null, desc);
+			for (double[] x : randomPoints(random, n, NUM_POINTS, -3.0, 1.0)) {
+				checkContains(set.contains(x), margin(points, x, M), desc + ", point " + Arrays.toString(x));
+			}
+		}
+	}
+
+	@Test
+	public void testWeightedSum() throws LpSolveException
+	{
+		assumeTrue(lpSolveAvailable, "LpSolve library not available");
+		Random random = new Random(5);
+		for (int k = 0; k < NUM_SETS; k++) {
+			int n = 3 + k % 2;
+			int numSets = 1 + random.nextInt(3);
+			ParetoVertexSet sets[] = new ParetoVertexSet[numSets];
+			double probs[] = new double[numSets];
+			for (int t = 0; t < numSets; t++) {
+				sets[t] = ParetoVertexSet.fromPoints(n, randomPoints(random, n, 1 + random.nextInt(8), 0.0, 1.0));
+				probs[t] = 1.0 / numSets;
+			}
+			ParetoVertexSet sum = ParetoVertexSet.weightedSum(n, probs, sets);
+			String desc = "set " + k + " (n=" + n + ")";
+			checkVertices(sum, null, desc);
+			// The support function (for non-negative weights) of a Minkowski sum is the sum of those of the sets
+			for (double[] w : randomPoints(random, n, NUM_POINTS, 0.0, 1.0)) {
+				double expected = 0.0;
+				for (int t = 0; t < numSets; t++) {
+					expected += probs[t] * support(sets[t], w);
+				}
+				assertEquals(expected, support(sum, w), 1e-9, desc + ", weights " + Arrays.toString(w));
+			}
+		}
+	}
+
+	/**
+	 * Check that every vertex of a set is extreme, i.e., not in the downward closure
+	 * of the convex hull of the other vertices and, if {@code points} is non-null, that
+	 * every vertex is one of {@code points} (the points from which the set was built).
+	 */
+	private static void checkVertices(ParetoVertexSet set, List<double[]> points, String desc) throws LpSolveException
+	{
+		int numVertices = set.getNumVertices();
+		for (int i = 0; i < numVertices; i++) {
+			double[] v = set.getVertex(i);
+			if (points != null) {
+				assertTrue(points.stream().anyMatch(p -> maxDiff(p, v) < 1e-9), desc + ": vertex " + Arrays.toString(v) + " is not an input point");
+			}
+			List<double[]> others = new ArrayList<>();
+			for (int j = 0; j < numVertices; j++) {
+				if (j != i) {
+					others.add(set.getVertex(j));
+				}
+			}
+			assertTrue(margin(others, v, -1) < 0.0, desc + ": vertex " + Arrays.toString(v) + " is not extreme");
+		}
+	}
+
+	/**
+	 * Check the result of a membership query against the margin computed by the LP,
+	 * unless the point is too close to the boundary.
+	 */
+	private static void checkContains(boolean contains, double margin, String desc)
+	{
+		if (margin >= MARGIN) {
+			assertTrue(contains, desc + " should be in the set");
+		} else if (margin <= -MARGIN) {
+			assertFalse(contains, desc + " should not be in the set");
+		}
+	}
+
+	/**
+	 * Compute, with LpSolve, the maximum t such that x + (t,...,t) is in the downward closure of the convex hull
+	 * of {@code points} (intersected with the box [-M,0]^n if M &gt;= 0), i.e., maximise t s.t.
+	 * sum_j l_j p_j &gt;= y &gt;= x + t, sum_j l_j = 1, l &gt;= 0 (and -M &lt;= y &lt;= 0).
+	 * Returns negative infinity if there are no points (or none dominating a point of the box).
+	 */
+	private static double margin(List<double[]> points, double[] x, long M) throws LpSolveException
+	{
+		int k = points.size();
+		int n = x.length;
+		if (k == 0) {
+			return Double.NEGATIVE_INFINITY;
+		}
+		LpSolve lp = LpSolve.makeLp(0, k + n + 1);
+		try {
+			lp.setVerbose(LpSolve.CRITICAL);
+			for (int i = 0; i < n; i++) {
+				if (M >= 0) {
+					lp.setLowbo(k + i + 1, -M);
+					lp.setUpbo(k + i + 1, 0.0);
+				} else {
+					lp.setUnbounded(k + i + 1);
+				}
+			}
+			lp.setUnbounded(k + n + 1);
+			for (int i = 0; i < n; i++) {
+				double row[] = new double[k + n + 2];
+				for (int j = 0; j < k; j++) {
+					row[j + 1] = points.get(j)[i];
+				}
+				row[k + i + 1] = -1.0;
+				lp.addConstraint(row, LpSolve.GE, 0.0);
+				row = new double[k + n + 2];
+				row[k + i + 1] = 1.0;
+				row[k + n + 1] = -1.0;
+				lp.addConstraint(row, LpSolve.GE, x[i]);
+			}
+			double row[] = new double[k + n + 2];
+			for (int j = 0; j < k; j++) {
+				row[j + 1] = 1.0;
+			}
+			lp.addConstraint(row, LpSolve.EQ, 1.0);
+			double obj[] = new double[k + n + 2];
+			obj[k + n + 1] = 1.0;
+			lp.setObjFn(obj);
+			lp.setMaxim();
+			int res = lp.solve();
+			if (res == LpSolve.INFEASIBLE) {
+				return Double.NEGATIVE_INFINITY;
+			}
+			assertEquals(LpSolve.OPTIMAL, res);
+			return lp.getObjective();
+		} finally {
+			lp.deleteLp();
+		}
+	}
+
+	/**
+	 * Get the maximum of w.v over the vertices v of a set.
+	 */
+	private static double support(ParetoVertexSet set, double[] w)
+	{
+		double max = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < set.getNumVertices(); i++) {
+			double[] v = set.getVertex(i);
+			double sum = 0.0;
+			for (int j = 0; j < w.length; j++) {
+				sum += w[j] * v[j];
+			}
+			max = Math.max(max, sum);
+		}
+		return max;
+	}
+
+	private static List<double[]> randomPoints(Random random, int n, int num, double lo, double hi)
+	{
+		List<double[]> points = new ArrayList<>(num);
+		for (int k = 0; k < num; k++) {
+			double[] p = new double[n];
+			for (int i = 0; i < n; i++) {
+				p[i] = lo + (hi - lo) * random.nextDouble();
+			}
+			points.add(p);
+		}
+		return points;
+	}
+
+	private static double maxDiff(double[] a, double[] b)
+	{
+		double max = 0.0;
+		for (int i = 0; i < a.length; i++) {
+			max = Math.max(max, Math.abs(a[i] - b[i]));
+		}
+		return max;
+	}
+}
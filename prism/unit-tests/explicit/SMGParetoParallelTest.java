@@ -0,0 +1,114 @@
+package explicit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import explicit.rewards.Rewards;
+import parser.ast.ModulesFile;
+import parser.ast.PropertiesFile;
+import prism.Prism;
+import prism.PrismDevNullLog;
+import prism.PrismException;
+import prism.PrismSettings;
+import strat.StochasticUpdateStrategy;
+
+/**
+ * Tests that multi-objective queries with three objectives on SMGs, using the Java Pareto engine
+ * and Jacobi iteration, are actually run on multiple threads when requested,
+ * and give the same results as with a single thread.
+ */
+public class SMGParetoParallelTest
+{
+	private static final String MODEL_FILE = "../prism-tests/functionality/verify/smgs/multi/cq_chain.prism";
+
+	private static final String PROPS[] = {
+			"<<p1>> (R{\"r1\"}>=23.3 [ C ] & R{\"r2\"}>=23.3 [ C ] & R{\"r3\"}>=23.3 [ C ])",
+			"<<p1>> (R{\"r1\"}>=23.4 [ C ] & R{\"r2\"}>=23.4 [ C ] & R{\"r3\"}>=23.4 [ C ])",
+			"<<p1>> (R{\"r1\"}>=35 [ C ] & R{\"r2\"}>=35 [ C ] & R{\"r3\"}>=0.1 [ C ])",
+	};
+
+	@Test
+	public void testThreeObjectives() throws Exception
+	{
+		File file = new File(MODEL_FILE);
+		assumeTrue(file.exists(), "test model " + file + " not available");
+		Set<Thread> threads1 = ConcurrentHashMap.newKeySet();
+		List<Object> results1 = check(file, 1, threads1);
+		assertEquals(1, threads1.size(), "more than one thread was used");
+		Set<Thread> threads4 = ConcurrentHashMap.newKeySet();
+		List<Object> results4 = check(file, 4, threads4);
+		assertTrue(threads4.size() > 1, "only one thread was used");
+		assertEquals(results1, results4);
+	}
+
+	/**
+	 * Model check the properties with the Java Pareto engine, Jacobi iteration and the given number of threads,
+	 * recording the threads on which the Pareto sets of states are computed.
+	 */
+	private List<Object> check(File file, int numThreads, Set<Thread> threads) throws Exception
+	{
+		Prism prism = new Prism(new PrismDevNullLog());
+		try {
+			prism.initialise();
+			prism.setEngine(Prism.EXPLICIT);
+			prism.getSettings().set(PrismSettings.PRISM_MULTI_PARETO_ENGINE, "Java");
+			prism.getSettings().set(PrismSettings.PRISM_MULTI_GAUSS_SEIDEL, false);
+			prism.getSettings().set(PrismSettings.PRISM_NUM_THREADS, numThreads);
+			ModulesFile modulesFile = prism.parseModelFile(file);
+			prism.loadPRISMModel(modulesFile);
+			prism.buildModel();
+			List<Object> results = new ArrayList<>();
+			for (String prop : PROPS) {
+				PropertiesFile propertiesFile = prism.parsePropertiesString(prop);
+				SMGModelChecker mc = new RecordingModelChecker(prism, threads);
+				mc.setModelCheckingInfo(prism.getModelInfo(), propertiesFile, prism.getRewardGenerator());
+				mc.setComputeParetoSet(false);
+				results.add(mc.check(prism.getBuiltModelExplicit(), propertiesFile.getProperty(0)).getResult());
+			}
+			return results;
+		} finally {
+			prism.closeDown();
+		}
+	}
+
+	/**
+	 * Model checker that uses a Java Pareto engine which records the threads it is used on.
+	 */
+	private static class RecordingModelChecker extends SMGModelChecker
+	{
+		private Set<Thread> threads;
+
+		RecordingModelChecker(Prism prism, Set<Thread> threads) throws PrismException
+		{
+			super(prism);
+			this.threads = threads;
+		}
+
+		@Override
+		public Entry<StateValues, StochasticUpdateStrategy> checkMQ(SMG<Double> smg, MultiParameters params, boolean construct_strategy) throws PrismException
+		{
+			assertTrue(useJavaParetoEngine(params, construct_strategy), "Java Pareto engine not used");
+			return checkMQ(new ParetoEngineVertex()
+			{
+				@Override
+				public ParetoVertexSet pMultiObjectiveSingle(SMG<Double> smg, int s, ParetoVertexSet[] Xk, List<Rewards<Double>> rewards, long baseline_accuracy,
+						double[] biggest_reward, List<ParetoVertexSet> distPolys, boolean rounding, boolean union_with_previous, boolean cut, long M)
+						throws PrismException
+				{
+					threads.add(Thread.currentThread());
+					return super.pMultiObjectiveSingle(smg, s, Xk, rewards, baseline_accuracy, biggest_reward, distPolys, rounding, union_with_previous, cut, M);
+				}
+			}, smg, params, construct_strategy);
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package explicit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.junit.jupiter.api.Test;
+
+import parser.ast.ModulesFile;
+import parser.ast.PropertiesFile;
+import prism.Prism;
+import prism.PrismDevNullLog;
+import prism.PrismException;
+import prism.PrismLog;
+import prism.PrismSettings;
+import strat.StochasticUpdateStrategy;
+
+/**
+ * Tests that the CQ value iteration for multi-objective queries on SMGs restricted to states
+ * with a changed successor (which is done when the predecessor relation is enabled, i.e., by default)
+ * computes exactly the same Pareto sets for all states, in every iteration, as the iteration
+ * over all states (i.e., with -noprerel). This uses the Java Pareto engine, with Gauss-Seidel
+ * and Jacobi iteration, and (for the latter) also with multiple threads.
+ */
+public class SMGParetoPreRelTest
+{
+	private static final String MODELS_DIR = "../prism-tests/functionality/verify/smgs/multi/";
+
+	@Test
+	public void testTotal() throws Exception
+	{
+		checkAllMethods("cq_total.prism");
+	}
+
+	@Test
+	public void testChain() throws Exception
+	{
+		checkAllMethods("cq_chain.prism");
+	}
+
+	private void checkAllMethods(String modelFile) throws Exception
+	{
+		check(modelFile, true, 1);
+		check(modelFile, false, 1);
+		check(modelFile, false, 4);
+	}
+
+	/**
+	 * Model check all properties for a model with and without the predecessor relation and compare
+	 * the Pareto sets after each iteration and the results.
+	 */
+	private void check(String modelFile, boolean gaussSeidel, int numThreads) throws Exception
+	{
+		File file = new File(MODELS_DIR + modelFile);
+		assumeTrue(file.exists(), "test model " + file + " not available");
+		Run withPreRel = new Run(file, gaussSeidel, numThreads, true);
+		Run noPreRel = new Run(file, gaussSeidel, numThreads, false);
+		String method = (gaussSeidel ? "Gauss-Seidel" : "Jacobi") + ", " + numThreads + " thread(s)";
+		assertEquals(noPreRel.results, withPreRel.results, modelFile + " (" + method + ")");
+		for (int i = 0; i < noPreRel.results.size(); i++) {
+			List<ParetoVertexSet[]> expected = noPreRel.iterates.get(i);
+			List<ParetoVertexSet[]> actual = withPreRel.iterates.get(i);
+			String desc = modelFile + ", property " + (i + 1) + " (" + method + ")";
+			assertFalse(expected.isEmpty(), desc + ": no iterations recorded");
+			assertEquals(expected.size(), actual.size(), desc + ": number of iterations");
+			for (int k = 0; k < expected.size(); k++) {
+				assertTrue(Arrays.equals(expected.get(k), actual.get(k)), desc + ": Pareto sets differ after iteration " + (k + 1));
+			}
+		}
+	}
+
+	/**
+	 * Results of model checking all properties for a model, and the Pareto sets after each iteration.
+	 */
+	private static class Run
+	{
+		/** Result, for each property */
+		List<Object> results = new ArrayList<>();
+		/** Pareto sets of all states after each iteration, for each property */
+		List<List<ParetoVertexSet[]>> iterates = new ArrayList<>();
+
+		Run(File file, boolean gaussSeidel, int numThreads, boolean preRel) throws Exception
+		{
+			Prism prism = new Prism(new PrismDevNullLog());
+			try {
+				prism.initialise();
+				prism.setEngine(Prism.EXPLICIT);
+				prism.getSettings().set(PrismSettings.PRISM_MULTI_PARETO_ENGINE, "Java");
+				prism.getSettings().set(PrismSettings.PRISM_MULTI_GAUSS_SEIDEL, gaussSeidel);
+				prism.getSettings().set(PrismSettings.PRISM_NUM_THREADS, numThreads);
+				prism.getSettings().set(PrismSettings.PRISM_PRE_REL, preRel);
+				prism.getSettings().set(PrismSettings.LOG_MULTI_C_PARETO, true);
+				ModulesFile modulesFile = prism.parseModelFile(file);
+				prism.loadPRISMModel(modulesFile);
+				prism.buildModel();
+				PropertiesFile propertiesFile = prism.parsePropertiesFile(new File(file.getPath() + ".props"));
+				for (int i = 0; i < propertiesFile.getNumProperties(); i++) {
+					List<ParetoVertexSet[]> propIterates = new ArrayList<>();
+					SMGModelChecker mc = new RecordingModelChecker(prism, propIterates);
+					mc.setModelCheckingInfo(prism.getModelInfo(), propertiesFile, prism.getRewardGenerator());
+					mc.setComputeParetoSet(false);
+					results.add(mc.check(prism.getBuiltModelExplicit(), propertiesFile.getProperty(i)).getResult());
+					iterates.add(propIterates);
+				}
+			} finally {
+				prism.closeDown();
+			}
+		}
+	}
+
+	/**
+	 * Model checker that uses a Java Pareto engine which records the Pareto sets of all states
+	 * whenever they are logged, i.e., after each iteration of the CQ value iteration.
+	 */
+	private static class RecordingModelChecker extends SMGModelChecker
+	{
+		private List<ParetoVertexSet[]> iterates;
+
+		RecordingModelChecker(Prism prism, List<ParetoVertexSet[]> iterates) throws PrismException
+		{
+			super(prism);
+			this.iterates = iterates;
+		}
+
+		@Override
+		public Entry<StateValues, StochasticUpdateStrategy> checkMQ(SMG<Double> smg, MultiParameters params, boolean construct_strategy) throws PrismException
+		{
+			assertTrue(useJavaParetoEngine(params, construct_strategy), "Java Pareto engine not used");
+			return checkMQ(new ParetoEngineVertex()
+			{
+				@Override
+				public void print(ParetoVertexSet[] sets, int n, int s, PrismLog log)
+				{
+					iterates.add(sets.clone());
+					super.print(sets, n, s, log);
+				}
+			}, smg, params, construct_strategy);
+		}
+	}
+}
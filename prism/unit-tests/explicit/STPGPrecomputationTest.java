@@ -0,0 +1,97 @@
+package explicit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import prism.PrismDevNullLog;
+import prism.PrismException;
+
+/**
+ * Tests that the Prob0/Prob1 precomputations for turn-based games computed as attractors
+ * (which is done when the predecessor relation is enabled, i.e., by default)
+ * give the same results as the fixed point computations (i.e., with -noprerel),
+ * on randomly generated games.
+ */
+public class STPGPrecomputationTest
+{
+	private static final int NUM_GAMES = 1000;
+
+	@Test
+	public void testRandomGames() throws PrismException
+	{
+		Random random = new Random(1);
+		for (int k = 0; k < NUM_GAMES; k++) {
+			int numStates = 1 + random.nextInt(k < NUM_GAMES / 2 ? 8 : 40);
+			SMGSimple<Double> smg = randomGame(random, numStates);
+			checkGame(random, smg, "game " + k);
+			checkGame(random, new SMGSparse(smg), "game " + k + " (sparse)");
+		}
+	}
+
+	/**
+	 * Compare Prob0/Prob1 with and without the predecessor relation, for all min/max combinations,
+	 * for a few random target and remain sets (and also with no remain set and with no target states).
+	 */
+	private void checkGame(Random random, SMG<Double> smg, String desc) throws PrismException
+	{
+		STPGModelChecker withPreRel = newModelChecker(true);
+		STPGModelChecker noPreRel = newModelChecker(false);
+		int n = smg.getNumStates();
+		for (int i = 0; i < 4; i++) {
+			BitSet target = i == 0 ? new BitSet() : randomSet(random, n, 0.2);
+			BitSet remain = i < 2 ? null : randomSet(random, n, 0.7);
+			for (int mm = 0; mm < 4; mm++) {
+				boolean min1 = (mm & 1) != 0;
+				boolean min2 = (mm & 2) != 0;
+				String descFull = desc + ", target " + target + ", remain " + remain + ", min1=" + min1 + ", min2=" + min2;
+				assertEquals(noPreRel.prob0(smg, remain, target, min1, min2), withPreRel.prob0(smg, remain, target, min1, min2), "Prob0: " + descFull);
+				assertEquals(noPreRel.prob1(smg, remain, target, min1, min2), withPreRel.prob1(smg, remain, target, min1, min2), "Prob1: " + descFull);
+			}
+		}
+	}
+
+	private static STPGModelChecker newModelChecker(boolean preRel) throws PrismException
+	{
+		STPGModelChecker mc = new STPGModelChecker(null);
+		mc.setLog(new PrismDevNullLog());
+		mc.setPreRel(preRel);
+		return mc;
+	}
+
+	/**
+	 * Generate a random two-player game, in which some states are deadlocks (have no choices),
+	 * and choices have one or more successors.
+	 */
+	private static SMGSimple<Double> randomGame(Random random, int numStates)
+	{
+		SMGSimple<Double> smg = new SMGSimple<>(numStates);
+		for (int s = 0; s < numStates; s++) {
+			smg.setPlayer(s, random.nextInt(2));
+			int numChoices = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(3);
+			for (int i = 0; i < numChoices; i++) {
+				Distribution<Double> distr = Distribution.ofDouble();
+				int numSuccs = 1 + random.nextInt(Math.min(3, numStates));
+				for (int j = 0; j < numSuccs; j++) {
+					distr.add(random.nextInt(numStates), 1.0 / numSuccs);
+				}
+				smg.addChoice(s, distr);
+			}
+		}
+		return smg;
+	}
+
+	private static BitSet randomSet(Random random, int n, double p)
+	{
+		BitSet set = new BitSet(n);
+		for (int s = 0; s < n; s++) {
+			if (random.nextDouble() < p) {
+				set.set(s);
+			}
+		}
+		return set;
+	}
+}